@@ -111,6 +111,34 @@ public final class Constants {
 	 */
 	public static final String LICENSE_KEY_EXPIRATION_DATE = "_EXPIRATION_DATE";
 
+	/**
+	 * This is the key for the serial identifier in the license file. The serial is used to revoke a license.
+	 *
+	 * @since 3.0.0
+	 */
+	public static final String LICENSE_KEY_SERIAL = "_SERIAL";
+
+	/**
+	 * This is the key for the digest of the base license in a renewal file.
+	 *
+	 * @since 3.0.0
+	 */
+	public static final String LICENSE_KEY_BASE_LICENSE_DIGEST = "_BASE_LICENSE_DIGEST";
+
+	/**
+	 * This is the key for the fingerprint of the host to which the license is bound.
+	 *
+	 * @since 3.0.0
+	 */
+	public static final String LICENSE_KEY_BOUND_HOST = "_BOUND_HOST";
+
+	/**
+	 * This is the key for the number of floating seats in the license file.
+	 *
+	 * @since 3.0.0
+	 */
+	public static final String LICENSE_KEY_SEATS = "_SEATS";
+
 	private Constants( ) {
 		// Avoid instantiation
 	}
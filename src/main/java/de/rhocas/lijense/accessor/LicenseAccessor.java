@@ -0,0 +1,68 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.accessor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface describing the entries of a license. For each such interface, the {@link LicenseAccessorProcessor} generates a class in the same
+ * package with the suffix {@code Accessor}, which implements the interface. The generated class is bound to a license with its static {@code bind} method.
+ * All values are read, parsed, and validated once during the binding and are stored in final fields, which means that the methods of the interface are plain
+ * field reads afterwards.<br>
+ * <br>
+ * Each abstract method of the interface must be annotated with {@link LicenseKey}, must not have parameters, and must return one of the primitive types,
+ * {@link String}, or {@link java.time.LocalDate}. An example:
+ *
+ * <pre>
+ * &#64;LicenseAccessor
+ * public interface ProductLicense {
+ *
+ * 	&#64;LicenseKey( value = "maxUsers", defaultValue = "5" )
+ * 	int getMaxUsers( );
+ *
+ * 	&#64;LicenseKey( "module.reporting.active" )
+ * 	boolean isReportingActive( );
+ *
+ * }
+ *
+ * ProductLicense productLicense = ProductLicenseAccessor.bind( license );
+ * </pre>
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+@Documented
+@Retention( RetentionPolicy.SOURCE )
+@Target( ElementType.TYPE )
+public @interface LicenseAccessor {
+
+}
@@ -0,0 +1,296 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.accessor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+import de.rhocas.lijense.license.LicenseException;
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * This annotation processor generates the accessor classes for interfaces annotated with {@link LicenseAccessor}. It is registered as a service and is
+ * therefore used automatically by the Java compiler if liJense is on the class path (or on the processor path). Invalid interfaces and invalid default values
+ * are reported as compilation errors.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+@SupportedAnnotationTypes( "de.rhocas.lijense.accessor.LicenseAccessor" )
+public final class LicenseAccessorProcessor extends AbstractProcessor {
+
+	private static final String ACCESSOR_SUFFIX = "Accessor";
+	private static final String UTIL_CLASS = LicenseAccessorUtil.class.getName( );
+	private static final UnmodifiableLicense EMPTY_LICENSE = new UnmodifiableLicense( Collections.emptyMap( ) );
+
+	@Override
+	public SourceVersion getSupportedSourceVersion( ) {
+		return SourceVersion.latestSupported( );
+	}
+
+	@Override
+	public boolean process( final Set<? extends TypeElement> aAnnotations, final RoundEnvironment aRoundEnvironment ) {
+		for ( final Element element : aRoundEnvironment.getElementsAnnotatedWith( LicenseAccessor.class ) ) {
+			if ( element.getKind( ) != ElementKind.INTERFACE ) {
+				error( element, "@LicenseAccessor is only allowed on interfaces" );
+			} else if ( element.getEnclosingElement( ).getKind( ) != ElementKind.PACKAGE ) {
+				error( element, "@LicenseAccessor is only allowed on top-level interfaces" );
+			} else if ( !( ( TypeElement ) element ).getTypeParameters( ).isEmpty( ) ) {
+				error( element, "@LicenseAccessor is not allowed on generic interfaces" );
+			} else {
+				processInterface( ( TypeElement ) element );
+			}
+		}
+
+		return true;
+	}
+
+	private void processInterface( final TypeElement aInterface ) {
+		final List<Accessor> accessors = new ArrayList<>( );
+		final Set<String> methodNames = new HashSet<>( );
+		boolean valid = true;
+
+		for ( final ExecutableElement method : ElementFilter.methodsIn( processingEnv.getElementUtils( ).getAllMembers( aInterface ) ) ) {
+			// The same method can be inherited from more than one super interface, but it must be implemented only once
+			if ( method.getEnclosingElement( ).getKind( ) != ElementKind.INTERFACE || !method.getModifiers( ).contains( Modifier.ABSTRACT )
+					|| !methodNames.add( method.getSimpleName( ).toString( ) ) ) {
+				continue;
+			}
+
+			final Accessor accessor = createAccessor( method );
+			if ( accessor == null ) {
+				valid = false;
+			} else {
+				accessors.add( accessor );
+			}
+		}
+
+		if ( valid ) {
+			writeAccessorClass( aInterface, accessors );
+		}
+	}
+
+	private Accessor createAccessor( final ExecutableElement aMethod ) {
+		final LicenseKey licenseKey = aMethod.getAnnotation( LicenseKey.class );
+		if ( licenseKey == null ) {
+			error( aMethod, "The method must be annotated with @LicenseKey" );
+			return null;
+		}
+		if ( !aMethod.getParameters( ).isEmpty( ) || !aMethod.getTypeParameters( ).isEmpty( ) ) {
+			error( aMethod, "The method must not have parameters" );
+			return null;
+		}
+
+		final ValueType valueType = ValueType.of( aMethod.getReturnType( ) );
+		if ( valueType == null ) {
+			error( aMethod, "The return type " + aMethod.getReturnType( ) + " is not supported" );
+			return null;
+		}
+
+		// The default value is parsed exactly as it would be parsed for a license without the entry
+		if ( !LicenseKey.NO_DEFAULT_VALUE.equals( licenseKey.defaultValue( ) ) ) {
+			try {
+				valueType.validateDefaultValue( licenseKey.value( ), licenseKey.defaultValue( ) );
+			} catch ( final LicenseException ex ) {
+				error( aMethod, "The default value '" + licenseKey.defaultValue( ) + "' is not a valid " + valueType.ivTypeName );
+				return null;
+			}
+		}
+
+		// The field name is derived from the complete method name, as methods like getFoo and foo would otherwise share the same field
+		final String methodName = aMethod.getSimpleName( ).toString( );
+		return new Accessor( methodName, "iv" + capitalize( methodName ), valueType, licenseKey.value( ), licenseKey.defaultValue( ) );
+	}
+
+	private void writeAccessorClass( final TypeElement aInterface, final List<Accessor> aAccessors ) {
+		final String packageName = processingEnv.getElementUtils( ).getPackageOf( aInterface ).getQualifiedName( ).toString( );
+		final String interfaceName = aInterface.getSimpleName( ).toString( );
+		final String className = interfaceName + ACCESSOR_SUFFIX;
+		final String qualifiedClassName = packageName.isEmpty( ) ? className : packageName + '.' + className;
+
+		try ( final Writer writer = processingEnv.getFiler( ).createSourceFile( qualifiedClassName, aInterface ).openWriter( ); final PrintWriter printWriter = new PrintWriter( writer ) ) {
+			printWriter.println( "// This file has been generated by liJense from " + aInterface.getQualifiedName( ) + ". Do not edit." );
+			printWriter.println( );
+			if ( !packageName.isEmpty( ) ) {
+				printWriter.println( "package " + packageName + ";" );
+				printWriter.println( );
+			}
+			printWriter.println( "public final class " + className + " implements " + interfaceName + " {" );
+			printWriter.println( );
+
+			for ( final Accessor accessor : aAccessors ) {
+				printWriter.println( "\tprivate final " + accessor.ivValueType.ivTypeName + " " + accessor.ivFieldName + ";" );
+			}
+			printWriter.println( );
+
+			printWriter.println( "\tprivate " + className + "( final de.rhocas.lijense.license.UnmodifiableLicense aLicense ) throws de.rhocas.lijense.license.LicenseException {" );
+			for ( final Accessor accessor : aAccessors ) {
+				final String defaultValue = LicenseKey.NO_DEFAULT_VALUE.equals( accessor.ivDefaultValue ) ? LicenseKey.class.getName( ) + ".NO_DEFAULT_VALUE" : toLiteral( accessor.ivDefaultValue );
+				printWriter.println( "\t\t" + accessor.ivFieldName + " = " + UTIL_CLASS + "." + accessor.ivValueType.ivUtilMethod + "( aLicense, " + toLiteral( accessor.ivKey ) + ", " + defaultValue + " );" );
+			}
+			printWriter.println( "\t}" );
+			printWriter.println( );
+
+			printWriter.println( "\t/**" );
+			printWriter.println( "\t * Reads and validates all values of the given license." );
+			printWriter.println( "\t */" );
+			printWriter.println( "\tpublic static " + className + " bind( final de.rhocas.lijense.license.UnmodifiableLicense aLicense ) throws de.rhocas.lijense.license.LicenseException {" );
+			printWriter.println( "\t\treturn new " + className + "( aLicense );" );
+			printWriter.println( "\t}" );
+
+			for ( final Accessor accessor : aAccessors ) {
+				printWriter.println( );
+				printWriter.println( "\t@Override" );
+				printWriter.println( "\tpublic " + accessor.ivValueType.ivTypeName + " " + accessor.ivMethodName + "( ) {" );
+				printWriter.println( "\t\treturn " + accessor.ivFieldName + ";" );
+				printWriter.println( "\t}" );
+			}
+
+			printWriter.println( );
+			printWriter.println( "}" );
+		} catch ( final IOException ex ) {
+			error( aInterface, "Could not write the accessor class: " + ex.getMessage( ) );
+		}
+	}
+
+	private void error( final Element aElement, final String aMessage ) {
+		processingEnv.getMessager( ).printMessage( Kind.ERROR, aMessage, aElement );
+	}
+
+	private static String capitalize( final String aString ) {
+		return Character.toUpperCase( aString.charAt( 0 ) ) + aString.substring( 1 );
+	}
+
+	static String toLiteral( final String aString ) {
+		final StringBuilder builder = new StringBuilder( "\"" );
+
+		for ( int index = 0; index < aString.length( ); index++ ) {
+			final char character = aString.charAt( index );
+
+			if ( character == '\\' || character == '"' ) {
+				builder.append( '\\' ).append( character );
+			} else if ( character < 0x20 ) {
+				// Unicode escapes would be translated before the lexical analysis, which is why line breaks must use octal escapes
+				builder.append( String.format( "\\%03o", ( int ) character ) );
+			} else if ( character > 0x7E ) {
+				builder.append( String.format( "\\u%04x", ( int ) character ) );
+			} else {
+				builder.append( character );
+			}
+		}
+
+		return builder.append( '"' ).toString( );
+	}
+
+	/**
+	 * This enumeration contains the supported return types of the accessor methods.
+	 */
+	private enum ValueType {
+
+		BOOLEAN( "boolean", "toBoolean", LicenseAccessorUtil::toBoolean ),
+		BYTE( "byte", "toByte", LicenseAccessorUtil::toByte ),
+		SHORT( "short", "toShort", LicenseAccessorUtil::toShort ),
+		INT( "int", "toInt", LicenseAccessorUtil::toInt ),
+		LONG( "long", "toLong", LicenseAccessorUtil::toLong ),
+		FLOAT( "float", "toFloat", LicenseAccessorUtil::toFloat ),
+		DOUBLE( "double", "toDouble", LicenseAccessorUtil::toDouble ),
+		CHAR( "char", "toChar", LicenseAccessorUtil::toChar ),
+		STRING( "java.lang.String", "toString", LicenseAccessorUtil::toString ),
+		LOCAL_DATE( "java.time.LocalDate", "toLocalDate", LicenseAccessorUtil::toLocalDate );
+
+		private final String ivTypeName;
+		private final String ivUtilMethod;
+		private final ValueReader ivValueReader;
+
+		ValueType( final String aTypeName, final String aUtilMethod, final ValueReader aValueReader ) {
+			ivTypeName = aTypeName;
+			ivUtilMethod = aUtilMethod;
+			ivValueReader = aValueReader;
+		}
+
+		static ValueType of( final TypeMirror aType ) {
+			final String typeName = aType.toString( );
+			for ( final ValueType valueType : values( ) ) {
+				if ( valueType.ivTypeName.equals( typeName ) ) {
+					return valueType;
+				}
+			}
+			return null;
+		}
+
+		void validateDefaultValue( final String aKey, final String aDefaultValue ) throws LicenseException {
+			ivValueReader.read( EMPTY_LICENSE, aKey, aDefaultValue );
+		}
+
+	}
+
+	@FunctionalInterface
+	private interface ValueReader {
+
+		void read( UnmodifiableLicense aLicense, String aKey, String aDefaultValue ) throws LicenseException;
+
+	}
+
+	private static final class Accessor {
+
+		private final String ivMethodName;
+		private final ValueType ivValueType;
+		private final String ivKey;
+		private final String ivDefaultValue;
+		private final String ivFieldName;
+
+		Accessor( final String aMethodName, final String aFieldName, final ValueType aValueType, final String aKey, final String aDefaultValue ) {
+			ivMethodName = aMethodName;
+			ivFieldName = aFieldName;
+			ivValueType = aValueType;
+			ivKey = aKey;
+			ivDefaultValue = aDefaultValue;
+		}
+
+	}
+
+}
@@ -0,0 +1,349 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.accessor;
+
+import static de.rhocas.lijense.Constants.LOCAL_DATE_FORMAT;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Objects;
+
+import de.rhocas.lijense.license.LicenseException;
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * This util class reads and validates the values of licenses for the accessor classes generated by the {@link LicenseAccessorProcessor}. Each method reads
+ * the value of the given key. If the license does not contain the key or if the value is empty, the given default value is used instead. If there is no
+ * default value ({@link LicenseKey#NO_DEFAULT_VALUE}), the entry is mandatory.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LicenseAccessorUtil {
+
+	private LicenseAccessorUtil( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+	/**
+	 * Reads the value for the given key as string. In contrast to the other methods, an empty value is returned as it is.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 * @param aKey
+	 *            The key. Must not be {@code null}.
+	 * @param aDefaultValue
+	 *            The default value. Must not be {@code null}.
+	 *
+	 * @return The value.
+	 *
+	 * @throws LicenseException
+	 *             If the license does not contain the mandatory entry.
+	 * @throws NullPointerException
+	 * 	           If any of the parameters is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static String toString( final UnmodifiableLicense aLicense, final String aKey, final String aDefaultValue ) throws LicenseException {
+		Objects.requireNonNull( aLicense, "The license must not be null." );
+		Objects.requireNonNull( aKey, "The key must not be null." );
+		Objects.requireNonNull( aDefaultValue, "The default value must not be null." );
+
+		final String value = aLicense.getValue( aKey );
+		if ( value != null ) {
+			return value;
+		}
+		if ( LicenseKey.NO_DEFAULT_VALUE.equals( aDefaultValue ) ) {
+			throw new LicenseException( "The license does not contain the mandatory entry '" + aKey + "'" );
+		}
+		return aDefaultValue;
+	}
+
+	/**
+	 * Reads the value for the given key as boolean. Only {@code true} and {@code false} (ignoring the case) are valid values.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 * @param aKey
+	 *            The key. Must not be {@code null}.
+	 * @param aDefaultValue
+	 *            The default value. Must not be {@code null}.
+	 *
+	 * @return The value.
+	 *
+	 * @throws LicenseException
+	 *             If the license does not contain the mandatory entry or if the value is not valid.
+	 * @throws NullPointerException
+	 * 	           If any of the parameters is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static boolean toBoolean( final UnmodifiableLicense aLicense, final String aKey, final String aDefaultValue ) throws LicenseException {
+		final String value = getValue( aLicense, aKey, aDefaultValue ).toLowerCase( Locale.ENGLISH );
+		if ( "true".equals( value ) ) {
+			return true;
+		}
+		if ( "false".equals( value ) ) {
+			return false;
+		}
+		throw new LicenseException( "The value of the entry '" + aKey + "' is not a valid boolean" );
+	}
+
+	/**
+	 * Reads the value for the given key as byte.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 * @param aKey
+	 *            The key. Must not be {@code null}.
+	 * @param aDefaultValue
+	 *            The default value. Must not be {@code null}.
+	 *
+	 * @return The value.
+	 *
+	 * @throws LicenseException
+	 *             If the license does not contain the mandatory entry or if the value is not valid.
+	 * @throws NullPointerException
+	 * 	           If any of the parameters is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static byte toByte( final UnmodifiableLicense aLicense, final String aKey, final String aDefaultValue ) throws LicenseException {
+		try {
+			return Byte.parseByte( getValue( aLicense, aKey, aDefaultValue ) );
+		} catch ( final NumberFormatException ex ) {
+			throw new LicenseException( "The value of the entry '" + aKey + "' is not a valid byte", ex );
+		}
+	}
+
+	/**
+	 * Reads the value for the given key as short.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 * @param aKey
+	 *            The key. Must not be {@code null}.
+	 * @param aDefaultValue
+	 *            The default value. Must not be {@code null}.
+	 *
+	 * @return The value.
+	 *
+	 * @throws LicenseException
+	 *             If the license does not contain the mandatory entry or if the value is not valid.
+	 * @throws NullPointerException
+	 * 	           If any of the parameters is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static short toShort( final UnmodifiableLicense aLicense, final String aKey, final String aDefaultValue ) throws LicenseException {
+		try {
+			return Short.parseShort( getValue( aLicense, aKey, aDefaultValue ) );
+		} catch ( final NumberFormatException ex ) {
+			throw new LicenseException( "The value of the entry '" + aKey + "' is not a valid short", ex );
+		}
+	}
+
+	/**
+	 * Reads the value for the given key as int.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 * @param aKey
+	 *            The key. Must not be {@code null}.
+	 * @param aDefaultValue
+	 *            The default value. Must not be {@code null}.
+	 *
+	 * @return The value.
+	 *
+	 * @throws LicenseException
+	 *             If the license does not contain the mandatory entry or if the value is not valid.
+	 * @throws NullPointerException
+	 * 	           If any of the parameters is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static int toInt( final UnmodifiableLicense aLicense, final String aKey, final String aDefaultValue ) throws LicenseException {
+		try {
+			return Integer.parseInt( getValue( aLicense, aKey, aDefaultValue ) );
+		} catch ( final NumberFormatException ex ) {
+			throw new LicenseException( "The value of the entry '" + aKey + "' is not a valid int", ex );
+		}
+	}
+
+	/**
+	 * Reads the value for the given key as long.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 * @param aKey
+	 *            The key. Must not be {@code null}.
+	 * @param aDefaultValue
+	 *            The default value. Must not be {@code null}.
+	 *
+	 * @return The value.
+	 *
+	 * @throws LicenseException
+	 *             If the license does not contain the mandatory entry or if the value is not valid.
+	 * @throws NullPointerException
+	 * 	           If any of the parameters is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static long toLong( final UnmodifiableLicense aLicense, final String aKey, final String aDefaultValue ) throws LicenseException {
+		try {
+			return Long.parseLong( getValue( aLicense, aKey, aDefaultValue ) );
+		} catch ( final NumberFormatException ex ) {
+			throw new LicenseException( "The value of the entry '" + aKey + "' is not a valid long", ex );
+		}
+	}
+
+	/**
+	 * Reads the value for the given key as float.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 * @param aKey
+	 *            The key. Must not be {@code null}.
+	 * @param aDefaultValue
+	 *            The default value. Must not be {@code null}.
+	 *
+	 * @return The value.
+	 *
+	 * @throws LicenseException
+	 *             If the license does not contain the mandatory entry or if the value is not valid.
+	 * @throws NullPointerException
+	 * 	           If any of the parameters is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static float toFloat( final UnmodifiableLicense aLicense, final String aKey, final String aDefaultValue ) throws LicenseException {
+		try {
+			return Float.parseFloat( getValue( aLicense, aKey, aDefaultValue ) );
+		} catch ( final NumberFormatException ex ) {
+			throw new LicenseException( "The value of the entry '" + aKey + "' is not a valid float", ex );
+		}
+	}
+
+	/**
+	 * Reads the value for the given key as double.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 * @param aKey
+	 *            The key. Must not be {@code null}.
+	 * @param aDefaultValue
+	 *            The default value. Must not be {@code null}.
+	 *
+	 * @return The value.
+	 *
+	 * @throws LicenseException
+	 *             If the license does not contain the mandatory entry or if the value is not valid.
+	 * @throws NullPointerException
+	 * 	           If any of the parameters is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static double toDouble( final UnmodifiableLicense aLicense, final String aKey, final String aDefaultValue ) throws LicenseException {
+		try {
+			return Double.parseDouble( getValue( aLicense, aKey, aDefaultValue ) );
+		} catch ( final NumberFormatException ex ) {
+			throw new LicenseException( "The value of the entry '" + aKey + "' is not a valid double", ex );
+		}
+	}
+
+	/**
+	 * Reads the value for the given key as char. The value must consist of exactly one character.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 * @param aKey
+	 *            The key. Must not be {@code null}.
+	 * @param aDefaultValue
+	 *            The default value. Must not be {@code null}.
+	 *
+	 * @return The value.
+	 *
+	 * @throws LicenseException
+	 *             If the license does not contain the mandatory entry or if the value is not valid.
+	 * @throws NullPointerException
+	 * 	           If any of the parameters is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static char toChar( final UnmodifiableLicense aLicense, final String aKey, final String aDefaultValue ) throws LicenseException {
+		final String value = getValue( aLicense, aKey, aDefaultValue );
+		if ( value.length( ) != 1 ) {
+			throw new LicenseException( "The value of the entry '" + aKey + "' is not a valid char" );
+		}
+		return value.charAt( 0 );
+	}
+
+	/**
+	 * Reads the value for the given key as local date.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 * @param aKey
+	 *            The key. Must not be {@code null}.
+	 * @param aDefaultValue
+	 *            The default value. Must not be {@code null}.
+	 *
+	 * @return The value.
+	 *
+	 * @throws LicenseException
+	 *             If the license does not contain the mandatory entry or if the value is not valid.
+	 * @throws NullPointerException
+	 * 	           If any of the parameters is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static LocalDate toLocalDate( final UnmodifiableLicense aLicense, final String aKey, final String aDefaultValue ) throws LicenseException {
+		try {
+			return LocalDate.from( LOCAL_DATE_FORMAT.parse( getValue( aLicense, aKey, aDefaultValue ) ) );
+		} catch ( final DateTimeParseException ex ) {
+			throw new LicenseException( "The value of the entry '" + aKey + "' is not a valid date", ex );
+		}
+	}
+
+	private static String getValue( final UnmodifiableLicense aLicense, final String aKey, final String aDefaultValue ) throws LicenseException {
+		Objects.requireNonNull( aLicense, "The license must not be null." );
+		Objects.requireNonNull( aKey, "The key must not be null." );
+		Objects.requireNonNull( aDefaultValue, "The default value must not be null." );
+
+		final String value = aLicense.getValue( aKey );
+		if ( value != null && !value.isEmpty( ) ) {
+			return value;
+		}
+		if ( LicenseKey.NO_DEFAULT_VALUE.equals( aDefaultValue ) ) {
+			throw new LicenseException( "The license does not contain the mandatory entry '" + aKey + "'" );
+		}
+		return aDefaultValue;
+	}
+
+}
@@ -0,0 +1,73 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.accessor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a method of an interface annotated with {@link LicenseAccessor} to an entry of the license.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+@Documented
+@Retention( RetentionPolicy.SOURCE )
+@Target( ElementType.METHOD )
+public @interface LicenseKey {
+
+	/**
+	 * This value marks that an entry has no default value.
+	 *
+	 * @since 3.0.0
+	 */
+	String NO_DEFAULT_VALUE = "\u0000";
+
+	/**
+	 * The key of the entry in the license.
+	 *
+	 * @return The key.
+	 *
+	 * @since 3.0.0
+	 */
+	String value( );
+
+	/**
+	 * The value which is used if the license does not contain the entry (or if the entry is empty). The default value is validated during the compilation. If
+	 * no default value is given, the entry is mandatory.
+	 *
+	 * @return The default value.
+	 *
+	 * @since 3.0.0
+	 */
+	String defaultValue( ) default NO_DEFAULT_VALUE;
+
+}
@@ -0,0 +1,326 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.host;
+
+import java.io.IOException;
+import java.net.NetworkInterface;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import de.rhocas.lijense.Constants;
+import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.provider.ProviderUtil;
+
+/**
+ * This is the fingerprint of the current machine, which is used to bind licenses to hosts. The fingerprint is the digest of the machine identifier of the
+ * operating system. Only if the machine identifier is not available, the hardware addresses of the permanent physical network interfaces are used instead.
+ * Loopback, virtual, bridge, container, tunnel, wireless, and USB interfaces are ignored, as they appear and disappear during the lifetime of a machine.<br>
+ * <br>
+ * Computing the fingerprint is slow. It is therefore computed once and kept. It is computed again only when it is requested after the refresh interval has
+ * passed. The refresh is performed by one of the requesting threads, while all other threads continue to use the previous fingerprint. If the refresh fails,
+ * the previous fingerprint is kept until the next refresh.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class MachineFingerprint {
+
+	private static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofHours( 1 );
+	private static final MachineFingerprint DEFAULT_INSTANCE = new MachineFingerprint( DEFAULT_REFRESH_INTERVAL );
+	private static final Path[] MACHINE_ID_FILES = { Paths.get( "/etc/machine-id" ), Paths.get( "/var/lib/dbus/machine-id" ) };
+	private static final Path NETWORK_DEVICES_DIRECTORY = Paths.get( "/sys/class/net" );
+	private static final String[] TRANSIENT_INTERFACE_PREFIXES = { "docker", "br-", "veth", "virbr", "vnet", "vmnet", "vboxnet", "tun", "tap", "wg", "ppp", "wl",
+			"ww", "usb", "utun", "awdl", "llw", "bridge" };
+
+	private final Callable<byte[]> ivComputation;
+	private final LongSupplier ivClock;
+	private final AtomicBoolean ivRefreshing = new AtomicBoolean( );
+	private final Object ivLock = new Object( );
+
+	private volatile long ivRefreshInterval;
+	private volatile long ivNextRefresh;
+	private volatile byte[] ivFingerprint;
+
+	/**
+	 * Creates a new instance of this class.
+	 *
+	 * @param aRefreshInterval
+	 *            The interval after which the fingerprint is computed again. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given interval is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the given interval is not positive.
+	 *
+	 * @since 3.0.0
+	 */
+	public MachineFingerprint( final Duration aRefreshInterval ) {
+		this( aRefreshInterval, MachineFingerprint::compute, System::nanoTime );
+	}
+
+	MachineFingerprint( final Duration aRefreshInterval, final Callable<byte[]> aComputation, final LongSupplier aClock ) {
+		ivComputation = aComputation;
+		ivClock = aClock;
+
+		setRefreshInterval( aRefreshInterval );
+	}
+
+	/**
+	 * Delivers the instance which is used by the loading methods of {@link de.rhocas.lijense.license.LicenseUtil} to check the host binding of a license.
+	 * Its refresh interval is one hour by default.
+	 *
+	 * @return The default instance.
+	 *
+	 * @since 3.0.0
+	 */
+	public static MachineFingerprint getDefault( ) {
+		return DEFAULT_INSTANCE;
+	}
+
+	/**
+	 * Sets the interval after which the fingerprint is computed again. The new interval is used starting with the next refresh.
+	 *
+	 * @param aRefreshInterval
+	 *            The new interval. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given interval is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the given interval is not positive.
+	 *
+	 * @since 3.0.0
+	 */
+	public void setRefreshInterval( final Duration aRefreshInterval ) {
+		Objects.requireNonNull( aRefreshInterval, "The interval must not be null." );
+		if ( aRefreshInterval.isNegative( ) || aRefreshInterval.isZero( ) ) {
+			throw new IllegalArgumentException( "The interval must be positive." );
+		}
+
+		ivRefreshInterval = aRefreshInterval.toNanos( );
+	}
+
+	/**
+	 * Delivers the fingerprint of the current machine.
+	 *
+	 * @return A copy of the fingerprint.
+	 *
+	 * @throws HostException
+	 *             If the fingerprint has not been computed yet and could not be computed now.
+	 *
+	 * @since 3.0.0
+	 */
+	public byte[] get( ) throws HostException {
+		return getCurrentFingerprint( ).clone( );
+	}
+
+	/**
+	 * Checks whether the given fingerprint is the fingerprint of the current machine. Unless the fingerprint has to be computed, this is only a comparison of
+	 * the byte arrays.
+	 *
+	 * @param aFingerprint
+	 *            The expected fingerprint. Must not be {@code null}.
+	 *
+	 * @return true if and only if the fingerprints are equal.
+	 *
+	 * @throws HostException
+	 *             If the fingerprint has not been computed yet and could not be computed now.
+	 * @throws NullPointerException
+	 * 	           If the given fingerprint is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean matches( final byte[] aFingerprint ) throws HostException {
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+
+		return MessageDigest.isEqual( getCurrentFingerprint( ), aFingerprint );
+	}
+
+	/**
+	 * Computes the fingerprint again immediately, regardless of the refresh interval.
+	 *
+	 * @throws HostException
+	 *             If the fingerprint could not be computed. The previous fingerprint is kept in this case.
+	 *
+	 * @since 3.0.0
+	 */
+	public void refresh( ) throws HostException {
+		final long now = ivClock.getAsLong( );
+
+		final byte[] fingerprint;
+		try {
+			fingerprint = ivComputation.call( );
+		} catch ( final HostException ex ) {
+			throw ex;
+		} catch ( final Exception ex ) {
+			throw new HostException( "Could not compute the fingerprint of the machine", ex );
+		} finally {
+			// A failed computation is not repeated before the next refresh, as every request would otherwise perform it
+			ivNextRefresh = now + ivRefreshInterval;
+		}
+
+		ivFingerprint = fingerprint;
+	}
+
+	/**
+	 * Computes the fingerprint of the current machine without any caching.
+	 *
+	 * @return The fingerprint.
+	 *
+	 * @throws HostException
+	 *             If the network interfaces could not be enumerated or if the digest algorithm is not provided by the underlying Java runtime environment.
+	 *
+	 * @since 3.0.0
+	 */
+	public static byte[] compute( ) throws HostException {
+		try {
+			final String machineId = readMachineId( );
+
+			final Map<String, byte[]> hardwareAddresses = new HashMap<>( );
+			if ( machineId == null ) {
+				for ( final NetworkInterface networkInterface : Collections.list( NetworkInterface.getNetworkInterfaces( ) ) ) {
+					if ( !networkInterface.isLoopback( ) && !networkInterface.isVirtual( ) && !networkInterface.isPointToPoint( ) ) {
+						final byte[] hardwareAddress = networkInterface.getHardwareAddress( );
+						if ( hardwareAddress != null && hardwareAddress.length > 0 ) {
+							hardwareAddresses.put( networkInterface.getName( ), hardwareAddress );
+						}
+					}
+				}
+			}
+
+			return compute( machineId, hardwareAddresses, NETWORK_DEVICES_DIRECTORY );
+		} catch ( final IOException | NoSuchAlgorithmException ex ) {
+			throw new HostException( "Could not compute the fingerprint of the machine", ex );
+		}
+	}
+
+	static byte[] compute( final String aMachineId, final Map<String, byte[]> aHardwareAddresses, final Path aNetworkDevicesDirectory ) throws NoSuchAlgorithmException {
+		final MessageDigest messageDigest = ProviderUtil.createMessageDigest( );
+
+		// The machine identifier is stable on its own. Network interfaces come and go (containers, bridges, VPNs, USB adapters), which is why they are only used
+		// as fallback.
+		if ( aMachineId != null ) {
+			messageDigest.update( aMachineId.getBytes( Constants.LICENSE_ENCODING_CHARSET ) );
+			return messageDigest.digest( );
+		}
+
+		// The order of the interfaces is not specified, which is why we sort the addresses
+		final List<String> hardwareAddresses = new ArrayList<>( );
+		for ( final Map.Entry<String, byte[]> entry : aHardwareAddresses.entrySet( ) ) {
+			if ( isPermanentInterface( entry.getKey( ), aNetworkDevicesDirectory ) ) {
+				hardwareAddresses.add( IOUtil.binaryToString( entry.getValue( ) ) );
+			}
+		}
+		Collections.sort( hardwareAddresses );
+
+		for ( final String hardwareAddress : hardwareAddresses ) {
+			messageDigest.update( hardwareAddress.getBytes( Constants.LICENSE_ENCODING_CHARSET ) );
+		}
+
+		return messageDigest.digest( );
+	}
+
+	static boolean isPermanentInterface( final String aName, final Path aNetworkDevicesDirectory ) {
+		for ( final String transientInterfacePrefix : TRANSIENT_INTERFACE_PREFIXES ) {
+			if ( aName.startsWith( transientInterfacePrefix ) ) {
+				return false;
+			}
+		}
+
+		if ( !Files.isDirectory( aNetworkDevicesDirectory ) ) {
+			// Without sysfs, the name is the only information we have
+			return true;
+		}
+
+		// Only interfaces backed by a device are physical. Wireless and USB adapters can be switched off or unplugged at any time.
+		final Path interfaceDirectory = aNetworkDevicesDirectory.resolve( aName );
+		final Path deviceDirectory = interfaceDirectory.resolve( "device" );
+		if ( !Files.exists( deviceDirectory ) || Files.exists( interfaceDirectory.resolve( "wireless" ) ) ) {
+			return false;
+		}
+
+		try {
+			return !deviceDirectory.toRealPath( ).toString( ).contains( "/usb" );
+		} catch ( final IOException ex ) {
+			return false;
+		}
+	}
+
+	private static String readMachineId( ) throws IOException {
+		for ( final Path machineIdFile : MACHINE_ID_FILES ) {
+			if ( Files.isReadable( machineIdFile ) ) {
+				final String machineId = new String( Files.readAllBytes( machineIdFile ), Constants.LICENSE_ENCODING_CHARSET ).trim( );
+				if ( !machineId.isEmpty( ) ) {
+					return machineId;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	private byte[] getCurrentFingerprint( ) throws HostException {
+		final byte[] fingerprint = ivFingerprint;
+
+		if ( fingerprint == null ) {
+			synchronized ( ivLock ) {
+				if ( ivFingerprint == null ) {
+					refresh( );
+				}
+				return ivFingerprint;
+			}
+		}
+
+		// Only one thread performs the refresh. All other threads use the previous fingerprint in the meantime.
+		if ( ivClock.getAsLong( ) - ivNextRefresh >= 0 && ivRefreshing.compareAndSet( false, true ) ) {
+			try {
+				refresh( );
+			} catch ( final HostException ex ) {
+				return fingerprint;
+			} finally {
+				ivRefreshing.set( false );
+			}
+			return ivFingerprint;
+		}
+
+		return fingerprint;
+	}
+
+}
@@ -0,0 +1,64 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.io;
+
+/**
+ * This is a pool for the temporary buffers which are used while reading streams. A pool can be installed with {@link IOUtil#setBufferPool(BufferPool)} to
+ * reduce the allocations under sustained load. Implementations must be thread-safe.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ *
+ * @see ThreadLocalBufferPool
+ */
+public interface BufferPool {
+
+	/**
+	 * Delivers a buffer with at least the given size. The content of the buffer is undefined.
+	 *
+	 * @param aMinimalSize
+	 *            The minimal size of the buffer.
+	 *
+	 * @return The buffer.
+	 *
+	 * @since 3.0.0
+	 */
+	byte[] acquire( int aMinimalSize );
+
+	/**
+	 * Returns a buffer to the pool. The buffer must no longer be used afterwards. A buffer does not have to be returned, in which case it is simply collected by
+	 * the garbage collector.
+	 *
+	 * @param aBuffer
+	 *            The buffer.
+	 *
+	 * @since 3.0.0
+	 */
+	void release( byte[] aBuffer );
+
+}
@@ -0,0 +1,108 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.io;
+
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * This is an internal helper class which provides the remaining content of a heap or direct {@link ByteBuffer} as {@link InputStream} without copying it. The
+ * stream works on a duplicate of the buffer. The position and the limit of the given buffer are therefore not changed.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class ByteBufferInputStream extends InputStream {
+
+	private final ByteBuffer ivBuffer;
+
+	/**
+	 * Creates a new stream for the remaining content of the given buffer.
+	 *
+	 * @param aBuffer
+	 *            The buffer to read from. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given buffer is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public ByteBufferInputStream( final ByteBuffer aBuffer ) {
+		Objects.requireNonNull( aBuffer, "The buffer must not be null." );
+
+		ivBuffer = aBuffer.duplicate( );
+	}
+
+	@Override
+	public int read( ) {
+		if ( !ivBuffer.hasRemaining( ) ) {
+			return -1;
+		}
+
+		return ivBuffer.get( ) & 0xFF;
+	}
+
+	@Override
+	public int read( final byte[] aBuffer, final int aOffset, final int aLength ) {
+		if ( aOffset < 0 || aLength < 0 || aLength > aBuffer.length - aOffset ) {
+			throw new IndexOutOfBoundsException( );
+		}
+
+		if ( aLength == 0 ) {
+			return 0;
+		}
+
+		final int remaining = ivBuffer.remaining( );
+		if ( remaining == 0 ) {
+			return -1;
+		}
+
+		final int length = Math.min( aLength, remaining );
+		ivBuffer.get( aBuffer, aOffset, length );
+		return length;
+	}
+
+	@Override
+	public long skip( final long aCount ) {
+		if ( aCount <= 0 ) {
+			return 0;
+		}
+
+		final int count = ( int ) Math.min( aCount, ivBuffer.remaining( ) );
+		( ( Buffer ) ivBuffer ).position( ivBuffer.position( ) + count );
+		return count;
+	}
+
+	@Override
+	public int available( ) {
+		return ivBuffer.remaining( );
+	}
+
+}
@@ -28,13 +28,15 @@ package de.rhocas.lijense.io;
 
 import static de.rhocas.lijense.Constants.LICENSE_ENCODING_CHARSET;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Base64.Decoder;
 import java.util.Base64.Encoder;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This is an internal helper util class to handle some IO issues.
@@ -45,6 +47,10 @@ import java.util.Objects;
  */
 public final class IOUtil {
 
+	private static final int DEFAULT_BUFFER_SIZE = 1024;
+
+	private static final AtomicReference<BufferPool> BUFFER_POOL = new AtomicReference<>( );
+
 	private IOUtil( ) {
 		throw new AssertionError( "This util class must not be initialized." );
 	}
@@ -67,20 +73,164 @@ public final class IOUtil {
 	public static byte[] readAllBytes( final InputStream aStream ) throws IOException {
 		Objects.requireNonNull( aStream, "The stream must not be null." );
 
-		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream( );
+		return IOSupport.readAllBytes( aStream );
+	}
+
+	/**
+	 * This method reads all bytes from the given stream, but not more than the given maximal size. The memory usage is therefore bounded even for hostile streams.
+	 * The number of available bytes of the stream is used as size hint. The stream is not closed.
+	 *
+	 * @param aStream
+	 *            The stream to read from. Must not be {@code null}.
+	 * @param aMaximalSize
+	 *            The maximal number of bytes to read. Must not be negative.
+	 *
+	 * @return All bytes from the stream.
+	 *
+	 * @throws SizeLimitExceededException
+	 *             If the stream contains more than the maximal number of bytes.
+	 * @throws IOException
+	 *             If something went wrong while reading from the stream.
+	 * @throws IllegalArgumentException
+	 *             If the maximal size is negative.
+	 * @throws NullPointerException
+	 * 	           If the given stream is {@code null}.
+	 *
+	 * @since 3.0.0
+	 *
+	 * @see #readAllBytes(InputStream, int, int)
+	 */
+	public static byte[] readAllBytes( final InputStream aStream, final int aMaximalSize ) throws IOException {
+		Objects.requireNonNull( aStream, "The stream must not be null." );
+
+		return readAllBytes( aStream, aStream.available( ), aMaximalSize );
+	}
+
+	/**
+	 * This method reads all bytes from the given stream, but not more than the given maximal size. If the size hint is exact, the bytes are read into a single
+	 * array which is returned without any further copy. Otherwise the bytes are read into growing buffers from the {@link #setBufferPool(BufferPool) buffer
+	 * pool}, which means that only the returned array is allocated once the pool is warmed up. The stream is not closed.
+	 *
+	 * @param aStream
+	 *            The stream to read from. Must not be {@code null}.
+	 * @param aSizeHint
+	 *            The expected number of bytes, for instance the length of a file. A value less or equal to zero means that the number of bytes is unknown.
+	 * @param aMaximalSize
+	 *            The maximal number of bytes to read. Must not be negative.
+	 *
+	 * @return All bytes from the stream.
+	 *
+	 * @throws SizeLimitExceededException
+	 *             If the stream contains more than the maximal number of bytes.
+	 * @throws IOException
+	 *             If something went wrong while reading from the stream.
+	 * @throws IllegalArgumentException
+	 *             If the maximal size is negative.
+	 * @throws NullPointerException
+	 * 	           If the given stream is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static byte[] readAllBytes( final InputStream aStream, final int aSizeHint, final int aMaximalSize ) throws IOException {
+		Objects.requireNonNull( aStream, "The stream must not be null." );
+		if ( aMaximalSize < 0 ) {
+			throw new IllegalArgumentException( "The maximal size must not be negative." );
+		}
+
+		final BufferPool bufferPool = BUFFER_POOL.get( );
+		byte[] buffer = acquire( bufferPool, Math.min( aSizeHint > 0 ? aSizeHint : DEFAULT_BUFFER_SIZE, aMaximalSize ) );
+		int count = 0;
+		try {
+			while ( true ) {
+				if ( count == buffer.length ) {
+					// The buffer is full, so we have to check whether the stream is at its end before we grow the buffer
+					final int next = aStream.read( );
+					if ( next == -1 ) {
+						break;
+					}
+					if ( count >= aMaximalSize ) {
+						throw new SizeLimitExceededException( "The stream exceeds the maximal size of " + aMaximalSize + " bytes" );
+					}
 
-		final byte[] buffer = new byte[1024];
+					final byte[] newBuffer = acquire( bufferPool, ( int ) Math.min( Math.max( buffer.length * 2L, DEFAULT_BUFFER_SIZE ), aMaximalSize ) );
+					System.arraycopy( buffer, 0, newBuffer, 0, count );
+					release( bufferPool, buffer );
+					buffer = newBuffer;
+					buffer[count++] = ( byte ) next;
+				} else {
+					// Like the stream reading of older versions, we consider a stream which does not deliver any data as finished
+					final int read = aStream.read( buffer, count, buffer.length - count );
+					if ( read <= 0 ) {
+						break;
+					}
 
-		int read;
-		do {
-			read = aStream.read( buffer );
+					count += read;
+					if ( count > aMaximalSize ) {
+						// Pooled buffers can be larger than the maximal size
+						throw new SizeLimitExceededException( "The stream exceeds the maximal size of " + aMaximalSize + " bytes" );
+					}
+				}
+			}
 
-			if ( read > 0 ) {
-				outputStream.write( buffer, 0, read );
+			if ( count == buffer.length ) {
+				// The buffer is handed over to the caller and must therefore not be released
+				final byte[] result = buffer;
+				buffer = null;
+				return result;
+			}
+			return Arrays.copyOf( buffer, count );
+		} finally {
+			if ( buffer != null ) {
+				release( bufferPool, buffer );
 			}
-		} while ( read > 0 );
+		}
+	}
+
+	/**
+	 * Installs a pool for the temporary buffers of {@link #readAllBytes(InputStream, int, int)}. The pool applies to all threads.
+	 *
+	 * @param aBufferPool
+	 *            The buffer pool. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given buffer pool is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void setBufferPool( final BufferPool aBufferPool ) {
+		Objects.requireNonNull( aBufferPool, "The buffer pool must not be null." );
+
+		BUFFER_POOL.set( aBufferPool );
+	}
+
+	/**
+	 * Removes the installed buffer pool, so that the temporary buffers are allocated again.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void resetBufferPool( ) {
+		BUFFER_POOL.set( null );
+	}
+
+	/**
+	 * Delivers the installed buffer pool.
+	 *
+	 * @return The buffer pool or an empty optional if the temporary buffers are allocated.
+	 *
+	 * @since 3.0.0
+	 */
+	public static Optional<BufferPool> getBufferPool( ) {
+		return Optional.ofNullable( BUFFER_POOL.get( ) );
+	}
+
+	private static byte[] acquire( final BufferPool aBufferPool, final int aMinimalSize ) {
+		return aBufferPool != null ? aBufferPool.acquire( aMinimalSize ) : new byte[aMinimalSize];
+	}
 
-		return outputStream.toByteArray( );
+	private static void release( final BufferPool aBufferPool, final byte[] aBuffer ) {
+		if ( aBufferPool != null ) {
+			aBufferPool.release( aBuffer );
+		}
 	}
 
 	/**
@@ -140,8 +290,8 @@ public final class IOUtil {
 	public static byte[] binaryStringToBinary( final byte[] aString ) {
 		Objects.requireNonNull( aString, "The string must not be null." );
 
-		final String base64EncodedString = new String( aString, LICENSE_ENCODING_CHARSET );
-		return stringToBinary( base64EncodedString );
+		// Base64 uses only ASCII characters, so we can decode the bytes directly without an intermediate string
+		return Base64.getDecoder( ).decode( aString );
 	}
 
 	/**
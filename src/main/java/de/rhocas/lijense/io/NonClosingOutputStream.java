@@ -0,0 +1,70 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * This is an internal helper class which protects an output stream from being closed. Closing this stream only flushes the underlying stream. This allows
+ * to use wrapping streams, which have to be closed to write their final bytes, on streams which are owned by the caller.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class NonClosingOutputStream extends FilterOutputStream {
+
+	/**
+	 * Creates a new stream for the given stream.
+	 *
+	 * @param aStream
+	 *            The underlying stream. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given stream is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public NonClosingOutputStream( final OutputStream aStream ) {
+		super( Objects.requireNonNull( aStream, "The stream must not be null." ) );
+	}
+
+	@Override
+	public void write( final byte[] aBuffer, final int aOffset, final int aLength ) throws IOException {
+		// The default implementation of the filter would write each byte separately
+		out.write( aBuffer, aOffset, aLength );
+	}
+
+	@Override
+	public void close( ) throws IOException {
+		out.flush( );
+	}
+
+}
@@ -0,0 +1,95 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.io;
+
+/**
+ * This is a {@link BufferPool} which keeps one buffer per size class and thread. The size classes are powers of two between 1 KiB and the maximal pooled size.
+ * As each thread has its own buffers, the pool needs no synchronization. The pool keeps at most about twice the maximal pooled size per thread. Larger
+ * buffers are not pooled.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class ThreadLocalBufferPool implements BufferPool {
+
+	private static final int MINIMAL_SIZE_CLASS = 10;
+
+	private final int ivMaximalSizeClass;
+	private final ThreadLocal<byte[][]> ivBuffers;
+
+	/**
+	 * Creates a new pool.
+	 *
+	 * @param aMaximalPooledSize
+	 *            The maximal size of pooled buffers. It is rounded up to the next power of two. Must be between 1 KiB and 1 GiB.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If the maximal pooled size is out of range.
+	 *
+	 * @since 3.0.0
+	 */
+	public ThreadLocalBufferPool( final int aMaximalPooledSize ) {
+		if ( aMaximalPooledSize < 1 << MINIMAL_SIZE_CLASS || aMaximalPooledSize > 1 << 30 ) {
+			throw new IllegalArgumentException( "The maximal pooled size must be between 1 KiB and 1 GiB." );
+		}
+
+		ivMaximalSizeClass = sizeClass( aMaximalPooledSize );
+		ivBuffers = ThreadLocal.withInitial( ( ) -> new byte[ivMaximalSizeClass + 1][] );
+	}
+
+	@Override
+	public byte[] acquire( final int aMinimalSize ) {
+		final int sizeClass = sizeClass( aMinimalSize );
+		if ( sizeClass > ivMaximalSizeClass ) {
+			return new byte[aMinimalSize];
+		}
+
+		final byte[][] buffers = ivBuffers.get( );
+		final byte[] buffer = buffers[sizeClass];
+		if ( buffer != null ) {
+			buffers[sizeClass] = null;
+			return buffer;
+		}
+		return new byte[1 << sizeClass];
+	}
+
+	@Override
+	public void release( final byte[] aBuffer ) {
+		final int length = aBuffer.length;
+
+		// Only buffers from this pool (or buffers which could be from this pool) are kept
+		if ( Integer.bitCount( length ) == 1 && length >= 1 << MINIMAL_SIZE_CLASS && length <= 1 << ivMaximalSizeClass ) {
+			ivBuffers.get( )[Integer.numberOfTrailingZeros( length )] = aBuffer;
+		}
+	}
+
+	private static int sizeClass( final int aSize ) {
+		return aSize <= 1 << MINIMAL_SIZE_CLASS ? MINIMAL_SIZE_CLASS : Integer.SIZE - Integer.numberOfLeadingZeros( aSize - 1 );
+	}
+
+}
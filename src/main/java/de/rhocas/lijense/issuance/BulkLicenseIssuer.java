@@ -0,0 +1,338 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.issuance;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import de.rhocas.lijense.license.LicenseException;
+import de.rhocas.lijense.license.LicenseUtil;
+import de.rhocas.lijense.license.ModifiableLicense;
+
+/**
+ * This class issues license files in bulk. The records are streamed line by line from the input, converted into {@link ModifiableLicense} objects, signed in
+ * parallel, and written into the output directory. The queue between the reading thread and the signing threads is bounded. If it is full, the reading
+ * thread blocks until the signing threads catch up. The memory usage is therefore independent of the size of the input.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class BulkLicenseIssuer {
+
+	/**
+	 * This is the key of the record entry containing the name of the output file. The entry is not written into the license. If a record does not contain the
+	 * entry, the file is named after the number of the record. Existing files are never overwritten. A record whose file exists already (for instance, because
+	 * it has been written by a previous run or by another record) is rejected.
+	 *
+	 * @since 3.0.0
+	 */
+	public static final String FILE_KEY = "_FILE";
+
+	private final PrivateKey ivPrivateKey;
+	private final File ivOutputDirectory;
+	private final int ivThreads;
+	private final int ivQueueCapacity;
+
+	/**
+	 * Creates a new issuer.
+	 *
+	 * @param aPrivateKey
+	 *            The private key for the signatures. Must not be {@code null}.
+	 * @param aOutputDirectory
+	 *            The directory for the license files. Must not be {@code null}.
+	 * @param aThreads
+	 *            The number of signing threads. Must be positive.
+	 * @param aQueueCapacity
+	 *            The maximal number of records waiting to be signed. Must be positive.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given key or the given directory is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the number of threads or the queue capacity is not positive.
+	 *
+	 * @since 3.0.0
+	 */
+	public BulkLicenseIssuer( final PrivateKey aPrivateKey, final File aOutputDirectory, final int aThreads, final int aQueueCapacity ) {
+		Objects.requireNonNull( aPrivateKey, "The key must not be null." );
+		Objects.requireNonNull( aOutputDirectory, "The directory must not be null." );
+
+		if ( aThreads <= 0 ) {
+			throw new IllegalArgumentException( "The number of threads must be positive." );
+		}
+		if ( aQueueCapacity <= 0 ) {
+			throw new IllegalArgumentException( "The queue capacity must be positive." );
+		}
+
+		ivPrivateKey = aPrivateKey;
+		ivOutputDirectory = aOutputDirectory;
+		ivThreads = aThreads;
+		ivQueueCapacity = aQueueCapacity;
+	}
+
+	/**
+	 * Issues the licenses for all records in the given input. The method returns after all licenses have been written. The reader is not closed. If the
+	 * current thread is interrupted, the remaining records are abandoned and the interrupt flag of the thread remains set.
+	 *
+	 * @param aInput
+	 *            The input. Must not be {@code null}.
+	 * @param aFormat
+	 *            The format of the input. Must not be {@code null}.
+	 * @param aErrorConsumer
+	 *            Receives a message for every record which could not be issued. Must not be {@code null}.
+	 *
+	 * @return The statistics of the run.
+	 *
+	 * @throws IOException
+	 *             If the input could not be read.
+	 * @throws InterruptedException
+	 *             If the current thread has been interrupted while waiting for the signing threads.
+	 * @throws NullPointerException
+	 * 	           If the given input, the given format, or the given consumer is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public IssuanceStatistics issue( final Reader aInput, final RecordFormat aFormat, final Consumer<String> aErrorConsumer ) throws IOException, InterruptedException {
+		Objects.requireNonNull( aInput, "The input must not be null." );
+		Objects.requireNonNull( aFormat, "The format must not be null." );
+		Objects.requireNonNull( aErrorConsumer, "The consumer must not be null." );
+
+		final IssuanceStatistics statistics = new IssuanceStatistics( );
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor( ivThreads, ivThreads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>( ivQueueCapacity ),
+				( runnable, threadPoolExecutor ) -> {
+					// Backpressure: The reading thread waits until there is space in the queue again
+					try {
+						threadPoolExecutor.getQueue( ).put( runnable );
+					} catch ( final InterruptedException ex ) {
+						Thread.currentThread( ).interrupt( );
+						throw new RejectedExecutionException( ex );
+					}
+				} );
+
+		try {
+			final BufferedReader reader = new BufferedReader( aInput );
+
+			List<String> header = null;
+			long recordNumber = 0;
+			String line;
+			while ( ( line = reader.readLine( ) ) != null ) {
+				if ( line.trim( ).isEmpty( ) ) {
+					continue;
+				}
+
+				if ( aFormat == RecordFormat.CSV && header == null ) {
+					header = parseCsvLine( line );
+					continue;
+				}
+
+				recordNumber++;
+				final long currentRecordNumber = recordNumber;
+				final String currentLine = line;
+				final List<String> currentHeader = header;
+
+				executor.execute( ( ) -> issueRecord( currentRecordNumber, currentLine, aFormat, currentHeader, statistics, aErrorConsumer ) );
+			}
+
+			executor.shutdown( );
+			while ( !executor.awaitTermination( 1, TimeUnit.SECONDS ) ) {
+				// Wait until all queued records are issued
+			}
+		} catch ( final RejectedExecutionException ex ) {
+			// The interrupt flag has already been restored by the rejection handler
+			throw new InterruptedException( "Interrupted while waiting for the signing threads" );
+		} catch ( final InterruptedException ex ) {
+			Thread.currentThread( ).interrupt( );
+			throw ex;
+		} finally {
+			// Abandons the remaining records if the issuance has been aborted. Otherwise, the executor has already been terminated.
+			executor.shutdownNow( );
+			statistics.finish( );
+		}
+
+		return statistics;
+	}
+
+	private void issueRecord( final long aRecordNumber, final String aLine, final RecordFormat aFormat, final List<String> aHeader, final IssuanceStatistics aStatistics, final Consumer<String> aErrorConsumer ) {
+		final long startTime = System.nanoTime( );
+
+		try {
+			final Map<String, String> record = aFormat == RecordFormat.CSV ? parseCsvRecord( aHeader, aLine ) : parsePropertiesRecord( aLine );
+
+			final String fileName = record.containsKey( FILE_KEY ) ? record.remove( FILE_KEY ) : "license-" + aRecordNumber + ".dat";
+			final File targetFile = new File( ivOutputDirectory, fileName );
+			if ( !targetFile.getCanonicalFile( ).toPath( ).startsWith( ivOutputDirectory.getCanonicalFile( ).toPath( ) ) ) {
+				throw new IllegalArgumentException( "The file name '" + fileName + "' points outside of the output directory" );
+			}
+
+			final ModifiableLicense license = new ModifiableLicense( );
+			for ( final Map.Entry<String, String> entry : record.entrySet( ) ) {
+				license.setValue( entry.getKey( ), entry.getValue( ) );
+			}
+
+			saveLicense( license, targetFile.toPath( ), fileName );
+
+			aStatistics.recordIssued( System.nanoTime( ) - startTime );
+		} catch ( final LicenseException | IOException | RuntimeException ex ) {
+			aStatistics.recordFailed( );
+			aErrorConsumer.accept( "Record " + aRecordNumber + ": " + ex.getMessage( ) );
+		}
+	}
+
+	private void saveLicense( final ModifiableLicense aLicense, final Path aTargetFile, final String aFileName ) throws LicenseException, IOException {
+		// The file is created exclusively, so that neither licenses of previous runs nor licenses of other records (even on case-insensitive file systems) are
+		// overwritten
+		final FileChannel channel;
+		try {
+			channel = FileChannel.open( aTargetFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE );
+		} catch ( final FileAlreadyExistsException ex ) {
+			final FileAlreadyExistsException exception = new FileAlreadyExistsException( null, null, "The file '" + aFileName + "' exists already" );
+			exception.initCause( ex );
+			throw exception;
+		}
+
+		try {
+			try {
+				LicenseUtil.writeLicenseFile( aLicense, ivPrivateKey, channel );
+			} finally {
+				channel.close( );
+			}
+		} catch ( final LicenseException | IOException ex ) {
+			// A partially written license must not remain
+			Files.deleteIfExists( aTargetFile );
+			throw ex;
+		}
+	}
+
+	private static Map<String, String> parseCsvRecord( final List<String> aHeader, final String aLine ) {
+		final List<String> values = parseCsvLine( aLine );
+		if ( values.size( ) > aHeader.size( ) ) {
+			throw new IllegalArgumentException( "The record contains more values than the header" );
+		}
+
+		final Map<String, String> record = new LinkedHashMap<>( );
+		for ( int index = 0; index < values.size( ); index++ ) {
+			final String value = values.get( index );
+			if ( !value.isEmpty( ) ) {
+				record.put( aHeader.get( index ), value );
+			}
+		}
+		return record;
+	}
+
+	static List<String> parseCsvLine( final String aLine ) {
+		final List<String> values = new ArrayList<>( );
+		final StringBuilder value = new StringBuilder( );
+
+		boolean quoted = false;
+		for ( int index = 0; index < aLine.length( ); index++ ) {
+			final char character = aLine.charAt( index );
+
+			if ( quoted ) {
+				if ( character == '"' ) {
+					if ( index + 1 < aLine.length( ) && aLine.charAt( index + 1 ) == '"' ) {
+						value.append( '"' );
+						index++;
+					} else {
+						quoted = false;
+					}
+				} else {
+					value.append( character );
+				}
+			} else if ( character == '"' ) {
+				quoted = true;
+			} else if ( character == ',' ) {
+				values.add( value.toString( ).trim( ) );
+				value.setLength( 0 );
+			} else {
+				value.append( character );
+			}
+		}
+
+		if ( quoted ) {
+			throw new IllegalArgumentException( "The record contains an unterminated quote" );
+		}
+
+		values.add( value.toString( ).trim( ) );
+		return values;
+	}
+
+	static Map<String, String> parsePropertiesRecord( final String aLine ) {
+		final Map<String, String> record = new LinkedHashMap<>( );
+		final StringBuilder key = new StringBuilder( );
+		final StringBuilder value = new StringBuilder( );
+
+		StringBuilder current = key;
+		for ( int index = 0; index < aLine.length( ); index++ ) {
+			final char character = aLine.charAt( index );
+
+			if ( character == '\\' && index + 1 < aLine.length( ) ) {
+				current.append( aLine.charAt( ++index ) );
+			} else if ( character == '=' && current == key ) {
+				current = value;
+			} else if ( character == ';' ) {
+				addPropertiesEntry( record, key, value );
+				current = key;
+			} else {
+				current.append( character );
+			}
+		}
+
+		addPropertiesEntry( record, key, value );
+		return record;
+	}
+
+	private static void addPropertiesEntry( final Map<String, String> aRecord, final StringBuilder aKey, final StringBuilder aValue ) {
+		final String key = aKey.toString( ).trim( );
+		if ( !key.isEmpty( ) ) {
+			aRecord.put( key, aValue.toString( ).trim( ) );
+		} else if ( aValue.length( ) > 0 ) {
+			throw new IllegalArgumentException( "The record contains a value without key" );
+		}
+
+		aKey.setLength( 0 );
+		aValue.setLength( 0 );
+	}
+
+}
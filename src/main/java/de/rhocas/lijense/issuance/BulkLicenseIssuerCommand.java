@@ -0,0 +1,122 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.issuance;
+
+import static de.rhocas.lijense.Constants.LICENSE_ENCODING_CHARSET;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.security.PrivateKey;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import de.rhocas.lijense.key.KeyException;
+import de.rhocas.lijense.key.KeyUtil;
+
+/**
+ * This is the command line entry point for the {@link BulkLicenseIssuer}. Usage:
+ *
+ * <pre>
+ * java -cp lijense.jar de.rhocas.lijense.issuance.BulkLicenseIssuerCommand --private-key &lt;file&gt; --input &lt;file&gt; --output &lt;directory&gt;
+ *      [--format csv|properties] [--threads &lt;n&gt;] [--queue &lt;n&gt;]
+ * </pre>
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class BulkLicenseIssuerCommand {
+
+	private static final String USAGE = "Usage: --private-key <file> --input <file> --output <directory> [--format csv|properties] [--threads <n>] [--queue <n>]";
+
+	private BulkLicenseIssuerCommand( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+	/**
+	 * The main method of the command.
+	 *
+	 * @param aArguments
+	 *            The command line arguments.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void main( final String[] aArguments ) {
+		System.exit( run( aArguments, System.out, System.err ) );
+	}
+
+	static int run( final String[] aArguments, final PrintStream aOut, final PrintStream aErr ) {
+		final Map<String, String> options = new HashMap<>( );
+		for ( int index = 0; index < aArguments.length; index += 2 ) {
+			if ( !aArguments[index].startsWith( "--" ) || index + 1 >= aArguments.length ) {
+				aErr.println( USAGE );
+				return 1;
+			}
+			options.put( aArguments[index].substring( 2 ), aArguments[index + 1] );
+		}
+
+		final String privateKeyFile = options.get( "private-key" );
+		final String inputFile = options.get( "input" );
+		final String outputDirectory = options.get( "output" );
+		if ( privateKeyFile == null || inputFile == null || outputDirectory == null ) {
+			aErr.println( USAGE );
+			return 1;
+		}
+
+		try {
+			final RecordFormat format = RecordFormat.valueOf( options.getOrDefault( "format", "csv" ).toUpperCase( Locale.ENGLISH ) );
+			final int threads = Integer.parseInt( options.getOrDefault( "threads", Integer.toString( Runtime.getRuntime( ).availableProcessors( ) ) ) );
+			final int queueCapacity = Integer.parseInt( options.getOrDefault( "queue", Integer.toString( threads * 16 ) ) );
+
+			final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromFile( new File( privateKeyFile ) );
+			final File outputFile = new File( outputDirectory );
+			Files.createDirectories( outputFile.toPath( ) );
+
+			final BulkLicenseIssuer issuer = new BulkLicenseIssuer( privateKey, outputFile, threads, queueCapacity );
+			final IssuanceStatistics statistics;
+			try ( final Reader reader = new InputStreamReader( Files.newInputStream( new File( inputFile ).toPath( ) ), LICENSE_ENCODING_CHARSET ) ) {
+				statistics = issuer.issue( reader, format, aErr::println );
+			}
+
+			aOut.println( statistics );
+			return statistics.getFailedCount( ) == 0 ? 0 : 2;
+		} catch ( final IllegalArgumentException | KeyException | IOException ex ) {
+			aErr.println( ex.getMessage( ) );
+			return 1;
+		} catch ( final InterruptedException ex ) {
+			Thread.currentThread( ).interrupt( );
+			aErr.println( ex.getMessage( ) );
+			return 1;
+		}
+	}
+
+}
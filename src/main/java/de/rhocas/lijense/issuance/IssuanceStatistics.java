@@ -0,0 +1,179 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.issuance;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.rhocas.lijense.statistics.LatencyHistogram;
+
+/**
+ * This class collects the throughput and latency statistics of a {@link BulkLicenseIssuer} run. The latencies are recorded in a {@link LatencyHistogram},
+ * which means that the memory usage does not depend on the number of records. Percentiles are therefore approximations (the upper bound of the corresponding
+ * bucket).<br>
+ * <br>
+ * This class is thread-safe.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class IssuanceStatistics {
+
+	private final LongAdder ivIssuedCount = new LongAdder( );
+	private final LongAdder ivFailedCount = new LongAdder( );
+	private final LongAdder ivTotalLatency = new LongAdder( );
+	private final LatencyHistogram ivHistogram = new LatencyHistogram( );
+	private final long ivStartTime = System.nanoTime( );
+	private volatile long ivEndTime;
+
+	IssuanceStatistics( ) {
+		// Only created by the issuer
+	}
+
+	void recordIssued( final long aLatencyInNanos ) {
+		ivIssuedCount.increment( );
+		ivTotalLatency.add( aLatencyInNanos );
+		ivHistogram.record( aLatencyInNanos );
+	}
+
+	void recordFailed( ) {
+		ivFailedCount.increment( );
+	}
+
+	void finish( ) {
+		ivEndTime = System.nanoTime( );
+	}
+
+	/**
+	 * Returns the number of successfully issued licenses.
+	 *
+	 * @return The number of issued licenses.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getIssuedCount( ) {
+		return ivIssuedCount.sum( );
+	}
+
+	/**
+	 * Returns the number of records which could not be issued.
+	 *
+	 * @return The number of failed records.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getFailedCount( ) {
+		return ivFailedCount.sum( );
+	}
+
+	/**
+	 * Returns the elapsed time of the run. If the run is not finished yet, the time until now is returned.
+	 *
+	 * @param aTimeUnit
+	 *            The time unit of the result.
+	 *
+	 * @return The elapsed time.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getElapsedTime( final TimeUnit aTimeUnit ) {
+		final long endTime = ivEndTime != 0 ? ivEndTime : System.nanoTime( );
+		return aTimeUnit.convert( endTime - ivStartTime, TimeUnit.NANOSECONDS );
+	}
+
+	/**
+	 * Returns the throughput of the run.
+	 *
+	 * @return The number of issued licenses per second.
+	 *
+	 * @since 3.0.0
+	 */
+	public double getThroughput( ) {
+		final long elapsedTime = Math.max( 1, getElapsedTime( TimeUnit.NANOSECONDS ) );
+		return getIssuedCount( ) * 1e9 / elapsedTime;
+	}
+
+	/**
+	 * Returns the mean latency of a single license (creating, signing, and writing).
+	 *
+	 * @param aTimeUnit
+	 *            The time unit of the result.
+	 *
+	 * @return The mean latency.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getMeanLatency( final TimeUnit aTimeUnit ) {
+		final long issuedCount = getIssuedCount( );
+		final long meanLatency = issuedCount > 0 ? ivTotalLatency.sum( ) / issuedCount : 0;
+		return aTimeUnit.convert( meanLatency, TimeUnit.NANOSECONDS );
+	}
+
+	/**
+	 * Returns the maximal latency of a single license (creating, signing, and writing).
+	 *
+	 * @param aTimeUnit
+	 *            The time unit of the result.
+	 *
+	 * @return The maximal latency.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getMaximalLatency( final TimeUnit aTimeUnit ) {
+		return ivHistogram.getMaximalLatency( aTimeUnit );
+	}
+
+	/**
+	 * Returns an approximation for the given percentile of the latencies.
+	 *
+	 * @param aPercentile
+	 *            The percentile. Must be between 0 and 100.
+	 * @param aTimeUnit
+	 *            The time unit of the result.
+	 *
+	 * @return The upper bound of the histogram bucket containing the percentile.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If the given percentile is out of range.
+	 *
+	 * @since 3.0.0
+	 *
+	 * @see LatencyHistogram#getLatencyPercentile(double, TimeUnit)
+	 */
+	public long getLatencyPercentile( final double aPercentile, final TimeUnit aTimeUnit ) {
+		return ivHistogram.getLatencyPercentile( aPercentile, aTimeUnit );
+	}
+
+	@Override
+	public String toString( ) {
+		return String.format( "issued=%d, failed=%d, elapsed=%d ms, throughput=%.1f/s, latency mean=%d us, p50=%d us, p99=%d us, max=%d us", getIssuedCount( ),
+				getFailedCount( ), getElapsedTime( TimeUnit.MILLISECONDS ), getThroughput( ), getMeanLatency( TimeUnit.MICROSECONDS ),
+				getLatencyPercentile( 50, TimeUnit.MICROSECONDS ), getLatencyPercentile( 99, TimeUnit.MICROSECONDS ), getMaximalLatency( TimeUnit.MICROSECONDS ) );
+	}
+
+}
@@ -0,0 +1,55 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.issuance;
+
+/**
+ * This enumeration contains the supported formats for the input records of the {@link BulkLicenseIssuer}. In both formats, a record occupies exactly one
+ * line. The optional entry {@link BulkLicenseIssuer#FILE_KEY} contains the name of the output file and is not written into the license.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public enum RecordFormat {
+
+	/**
+	 * Comma-separated values. The first line is a header containing the keys of the license entries. Values can be quoted with double quotes. A double quote
+	 * within a quoted value is escaped by another double quote. Empty values are not written into the license.
+	 *
+	 * @since 3.0.0
+	 */
+	CSV,
+
+	/**
+	 * Properties per line. Each line contains the license entries as {@code key=value} pairs separated by semicolons. The characters {@code ;}, {@code =},
+	 * and {@code \} can be escaped with a backslash.
+	 *
+	 * @since 3.0.0
+	 */
+	PROPERTIES
+
+}
@@ -0,0 +1,66 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.journal;
+
+/**
+ * This exception indicates that something went wrong while writing or reading a license journal.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class JournalException extends Exception {
+
+	private static final long serialVersionUID = -2735829416043651870L;
+
+	/**
+	 * Creates a new instance of this exception.
+	 *
+	 * @param aMessage
+	 *            The message.
+	 *
+	 * @since 3.0.0
+	 */
+	public JournalException( final String aMessage ) {
+		super( aMessage );
+	}
+
+	/**
+	 * Creates a new instance of this exception.
+	 *
+	 * @param aMessage
+	 *            The message.
+	 * @param aCause
+	 *            The root cause.
+	 *
+	 * @since 3.0.0
+	 */
+	public JournalException( final String aMessage, final Throwable aCause ) {
+		super( aMessage, aCause );
+	}
+
+}
@@ -0,0 +1,231 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.journal;
+
+import static de.rhocas.lijense.Constants.LICENSE_ENCODING_CHARSET;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This is a hash index from the 64-bit hash of a key to the position of the latest record of this key in the journal. The index is an open addressing hash
+ * table in a memory-mapped file. It is not forced to the disk on every change. Instead, the header contains the length of the journal if the index has been
+ * closed properly. Otherwise the index has to be rebuilt from the journal. This class is not thread-safe.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+final class JournalIndex implements Closeable {
+
+	static final long NO_POSITION = -1;
+
+	private static final int MAGIC_NUMBER = 0x4C4A4A49;
+	private static final int VERSION = 1;
+	private static final int HEADER_LENGTH = 32;
+	private static final int SLOT_LENGTH = 16;
+	private static final int INITIAL_CAPACITY = 1 << 12;
+	private static final long EMPTY_HASH = 0;
+
+	private final FileChannel ivChannel;
+	private MappedByteBuffer ivBuffer;
+	private final boolean ivRebuildRequired;
+	private int ivCapacity;
+	private int ivSize;
+
+	private JournalIndex( final FileChannel aChannel, final MappedByteBuffer aBuffer, final int aCapacity, final int aSize, final boolean aRebuildRequired ) {
+		ivChannel = aChannel;
+		ivBuffer = aBuffer;
+		ivCapacity = aCapacity;
+		ivSize = aSize;
+		ivRebuildRequired = aRebuildRequired;
+	}
+
+	/**
+	 * Opens the index in the given file. If the index has not been closed properly for a journal of the given length, an empty index is returned instead.
+	 */
+	static JournalIndex open( final Path aPath, final long aJournalLength ) throws IOException {
+		final FileChannel channel = FileChannel.open( aPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE );
+		try {
+			final long size = channel.size( );
+			if ( size >= HEADER_LENGTH && size <= Integer.MAX_VALUE ) {
+				final MappedByteBuffer buffer = channel.map( MapMode.READ_WRITE, 0, size );
+				final int capacity = buffer.getInt( 8 );
+				final int entries = buffer.getInt( 12 );
+				final boolean valid = buffer.getInt( 0 ) == MAGIC_NUMBER && buffer.getInt( 4 ) == VERSION && capacity > 0 && Integer.bitCount( capacity ) == 1
+						&& size == HEADER_LENGTH + ( long ) capacity * SLOT_LENGTH && entries >= 0 && entries < capacity;
+				if ( valid && buffer.getLong( 16 ) == aJournalLength ) {
+					return new JournalIndex( channel, buffer, capacity, entries, false );
+				}
+			}
+
+			final JournalIndex index = new JournalIndex( channel, null, 0, 0, true );
+			index.remap( INITIAL_CAPACITY );
+			return index;
+		} catch ( final IOException ex ) {
+			channel.close( );
+			throw ex;
+		}
+	}
+
+	/**
+	 * Delivers whether the index has been created empty and has to be rebuilt from the journal.
+	 */
+	boolean isRebuildRequired( ) {
+		return ivRebuildRequired;
+	}
+
+	/**
+	 * Delivers the position stored for the given hash or {@link #NO_POSITION}.
+	 */
+	long get( final long aHash ) {
+		final int mask = ivCapacity - 1;
+		for ( int slot = ( int ) aHash & mask;; slot = ( slot + 1 ) & mask ) {
+			final int offset = HEADER_LENGTH + slot * SLOT_LENGTH;
+			final long hash = ivBuffer.getLong( offset );
+			if ( hash == EMPTY_HASH ) {
+				return NO_POSITION;
+			}
+			if ( hash == aHash ) {
+				return ivBuffer.getLong( offset + Long.BYTES );
+			}
+		}
+	}
+
+	/**
+	 * Stores the position for the given hash and delivers the previous position or {@link #NO_POSITION}.
+	 */
+	long put( final long aHash, final long aPosition ) throws IOException {
+		if ( ( ivSize + 1 ) * 2L > ivCapacity ) {
+			resize( );
+		}
+
+		final int mask = ivCapacity - 1;
+		for ( int slot = ( int ) aHash & mask;; slot = ( slot + 1 ) & mask ) {
+			final int offset = HEADER_LENGTH + slot * SLOT_LENGTH;
+			final long hash = ivBuffer.getLong( offset );
+			if ( hash == EMPTY_HASH ) {
+				ivBuffer.putLong( offset, aHash );
+				ivBuffer.putLong( offset + Long.BYTES, aPosition );
+				ivSize++;
+				ivBuffer.putInt( 12, ivSize );
+				return NO_POSITION;
+			}
+			if ( hash == aHash ) {
+				final long previousPosition = ivBuffer.getLong( offset + Long.BYTES );
+				ivBuffer.putLong( offset + Long.BYTES, aPosition );
+				return previousPosition;
+			}
+		}
+	}
+
+	/**
+	 * Marks the index as modified. It has to be rebuilt if it is not closed properly afterwards.
+	 */
+	void markModified( ) {
+		ivBuffer.putLong( 16, NO_POSITION );
+		ivBuffer.force( );
+	}
+
+	/**
+	 * Marks the index as closed properly for a journal of the given length and closes the index.
+	 */
+	void close( final long aJournalLength ) throws IOException {
+		ivBuffer.putLong( 16, aJournalLength );
+		ivBuffer.force( );
+		close( );
+	}
+
+	@Override
+	public void close( ) throws IOException {
+		ivChannel.close( );
+	}
+
+	static long hash( final String aKey ) {
+		// FNV-1a over the encoded key, followed by the finalization step of MurmurHash3 to spread the bits over the slots
+		long hash = 0xCBF29CE484222325L;
+		for ( final byte b : aKey.getBytes( LICENSE_ENCODING_CHARSET ) ) {
+			hash ^= b & 0xFF;
+			hash *= 0x100000001B3L;
+		}
+
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		hash *= 0xC4CEB9FE1A85EC53L;
+		hash ^= hash >>> 33;
+
+		// The empty hash marks free slots
+		return hash == EMPTY_HASH ? 1 : hash;
+	}
+
+	private void resize( ) throws IOException {
+		final int oldCapacity = ivCapacity;
+		final long[] hashes = new long[ivSize];
+		final long[] positions = new long[ivSize];
+
+		int entries = 0;
+		for ( int slot = 0; slot < oldCapacity; slot++ ) {
+			final int offset = HEADER_LENGTH + slot * SLOT_LENGTH;
+			final long hash = ivBuffer.getLong( offset );
+			if ( hash != EMPTY_HASH ) {
+				hashes[entries] = hash;
+				positions[entries] = ivBuffer.getLong( offset + Long.BYTES );
+				entries++;
+			}
+		}
+
+		// The index is marked as modified, so a crash during the resize only results in a rebuild
+		remap( oldCapacity * 2 );
+		for ( int i = 0; i < entries; i++ ) {
+			put( hashes[i], positions[i] );
+		}
+	}
+
+	private void remap( final int aCapacity ) throws IOException {
+		final long size = HEADER_LENGTH + ( long ) aCapacity * SLOT_LENGTH;
+		if ( size > Integer.MAX_VALUE ) {
+			throw new IOException( "The index is too large" );
+		}
+
+		ivChannel.truncate( 0 );
+		ivBuffer = ivChannel.map( MapMode.READ_WRITE, 0, size );
+		ivBuffer.putInt( 0, MAGIC_NUMBER );
+		ivBuffer.putInt( 4, VERSION );
+		ivBuffer.putInt( 8, aCapacity );
+		ivBuffer.putInt( 12, 0 );
+		ivBuffer.putLong( 16, NO_POSITION );
+		ivCapacity = aCapacity;
+		ivSize = 0;
+	}
+
+}
@@ -0,0 +1,593 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.journal;
+
+import static de.rhocas.lijense.Constants.LICENSE_KEY_SERIAL;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import de.rhocas.lijense.license.LicenseException;
+import de.rhocas.lijense.license.LicenseUtil;
+import de.rhocas.lijense.license.ModifiableLicense;
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * This is an append-only journal for issued licenses. All licenses are stored as signed binary license files (see
+ * {@link LicenseUtil#createBinaryLicenseFile(ModifiableLicense, PrivateKey)}) in a single log file. Memory-mapped indexes allow to find the licenses by their
+ * serial and by the value of a customer key without scanning the log.<br>
+ * <br>
+ * The journal is thread-safe. Concurrent appends are committed in groups: the thread which gets to write the log next writes all pending records with a
+ * single write and a single force to the disk. Each record is protected by a checksum. If the journal has not been closed properly, an incomplete record at
+ * the end of the log is discarded and the indexes are rebuilt when the journal is opened again. A damaged record is only considered incomplete if no valid
+ * record follows it. Damaged records anywhere else in the log are never discarded and lead to a {@link JournalException} instead. Records larger than the
+ * {@link LicenseUtil#getLimits() maximal decoded size} are considered damaged.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LicenseJournal implements AutoCloseable {
+
+	private static final String LOG_FILE_NAME = "licenses.journal";
+	private static final String SERIAL_INDEX_FILE_NAME = "serial.index";
+	private static final String CUSTOMER_INDEX_FILE_NAME = "customer.index";
+
+	/**
+	 * Each record consists of the length of the license, the checksum, the position of the previous record of the same customer, and the license itself.
+	 */
+	private static final int RECORD_HEADER_LENGTH = 16;
+	private static final int SCAN_BUFFER_SIZE = 1 << 16;
+
+	private final Queue<PendingRecord> ivPendingRecords = new ConcurrentLinkedQueue<>( );
+	private final ReentrantLock ivCommitLock = new ReentrantLock( );
+	private final ReadWriteLock ivIndexLock = new ReentrantReadWriteLock( );
+	private final String ivCustomerKey;
+	private final FileChannel ivLogChannel;
+	private final JournalIndex ivSerialIndex;
+	private final JournalIndex ivCustomerIndex;
+
+	private volatile long ivLogLength;
+	private boolean ivClosed;
+
+	/**
+	 * Opens the journal in the given directory. If the directory does not contain a journal yet, a new journal is created.
+	 *
+	 * @param aDirectory
+	 *            The directory of the journal. Must not be {@code null}.
+	 * @param aCustomerKey
+	 *            The key of the licenses which identifies the customer. Must not be {@code null}.
+	 *
+	 * @throws JournalException
+	 *             If the journal could not be opened. This could indicate that the log contains a damaged record which is not at its end.
+	 * @throws NullPointerException
+	 * 	           If the given directory or the given key is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public LicenseJournal( final File aDirectory, final String aCustomerKey ) throws JournalException {
+		Objects.requireNonNull( aDirectory, "The directory must not be null." );
+		Objects.requireNonNull( aCustomerKey, "The key must not be null." );
+
+		ivCustomerKey = aCustomerKey;
+
+		final Path directory = aDirectory.toPath( );
+		FileChannel logChannel = null;
+		JournalIndex serialIndex = null;
+		JournalIndex customerIndex = null;
+		try {
+			logChannel = FileChannel.open( directory.resolve( LOG_FILE_NAME ), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE );
+			final long logLength = logChannel.size( );
+			serialIndex = JournalIndex.open( directory.resolve( SERIAL_INDEX_FILE_NAME ), logLength );
+			customerIndex = JournalIndex.open( directory.resolve( CUSTOMER_INDEX_FILE_NAME ), logLength );
+		} catch ( final IOException ex ) {
+			closeQuietly( logChannel, serialIndex, customerIndex, ex );
+			throw new JournalException( "Could not open the journal", ex );
+		}
+
+		ivLogChannel = logChannel;
+		ivSerialIndex = serialIndex;
+		ivCustomerIndex = customerIndex;
+
+		try {
+			// The indexes are empty if they have not been closed properly, so we have to rebuild them
+			ivLogLength = recover( );
+			ivSerialIndex.markModified( );
+			ivCustomerIndex.markModified( );
+		} catch ( final IOException | LicenseException ex ) {
+			closeQuietly( logChannel, serialIndex, customerIndex, ex );
+			throw new JournalException( "Could not open the journal", ex );
+		} catch ( final JournalException ex ) {
+			closeQuietly( logChannel, serialIndex, customerIndex, ex );
+			throw ex;
+		}
+	}
+
+	/**
+	 * Creates a new license file and appends it to the journal. The method returns once the license has been written to the disk.
+	 *
+	 * @param aLicense
+	 *            The license to be saved. Must not be {@code null}.
+	 * @param aPrivateKey
+	 *            The private key for the signature. Must not be {@code null}.
+	 *
+	 * @return The new license file as raw binary data (see {@link LicenseUtil#createBinaryLicenseFile(ModifiableLicense, PrivateKey)}).
+	 *
+	 * @throws JournalException
+	 *             If the license could not be created or appended.
+	 * @throws NullPointerException
+	 * 	           If the given license or the given key is {@code null}.
+	 * @throws IllegalStateException
+	 *             If the journal has already been closed.
+	 *
+	 * @since 3.0.0
+	 */
+	public byte[] append( final ModifiableLicense aLicense, final PrivateKey aPrivateKey ) throws JournalException {
+		final byte[] binaryLicense;
+		try {
+			binaryLicense = LicenseUtil.createBinaryLicenseFile( aLicense, aPrivateKey );
+		} catch ( final LicenseException ex ) {
+			throw new JournalException( "Could not create the license", ex );
+		}
+
+		final PendingRecord pendingRecord = new PendingRecord( binaryLicense, aLicense.getProperty( LICENSE_KEY_SERIAL ), aLicense.getProperty( ivCustomerKey ) );
+		ivPendingRecords.add( pendingRecord );
+
+		// Whoever gets the lock first commits all pending records, including the ones of the threads waiting for the lock
+		ivCommitLock.lock( );
+		try {
+			if ( !pendingRecord.ivCommitted ) {
+				if ( ivClosed ) {
+					ivPendingRecords.remove( pendingRecord );
+					throw new IllegalStateException( "The journal has already been closed." );
+				}
+				commitPendingRecords( );
+			}
+		} finally {
+			ivCommitLock.unlock( );
+		}
+
+		if ( pendingRecord.ivFailure != null ) {
+			throw new JournalException( "Could not append the license", pendingRecord.ivFailure );
+		}
+		return binaryLicense;
+	}
+
+	/**
+	 * Finds the latest license with the given serial.
+	 *
+	 * @param aSerial
+	 *            The serial. Must not be {@code null}.
+	 *
+	 * @return The license file as raw binary data or an empty optional if the journal does not contain a license with the serial.
+	 *
+	 * @throws JournalException
+	 *             If the journal could not be read.
+	 * @throws NullPointerException
+	 * 	           If the given serial is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public Optional<byte[]> findBySerial( final String aSerial ) throws JournalException {
+		Objects.requireNonNull( aSerial, "The serial must not be null." );
+
+		final long position = getPosition( ivSerialIndex, aSerial );
+		if ( position == JournalIndex.NO_POSITION ) {
+			return Optional.empty( );
+		}
+
+		try {
+			// The index is based on hashes, so we have to make sure that this is the correct license
+			final Record record = readCheckedRecord( position, ivLogLength );
+			return aSerial.equals( record.getLicense( ).getSerial( ) ) ? Optional.of( record.ivBinaryLicense ) : Optional.empty( );
+		} catch ( final IOException | LicenseException ex ) {
+			throw new JournalException( "Could not read the journal", ex );
+		}
+	}
+
+	/**
+	 * Finds all licenses of the given customer.
+	 *
+	 * @param aCustomer
+	 *            The value of the customer key. Must not be {@code null}.
+	 *
+	 * @return The license files as raw binary data, starting with the latest license.
+	 *
+	 * @throws JournalException
+	 *             If the journal could not be read.
+	 * @throws NullPointerException
+	 * 	           If the given customer is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public List<byte[]> findByCustomer( final String aCustomer ) throws JournalException {
+		Objects.requireNonNull( aCustomer, "The customer must not be null." );
+
+		final List<byte[]> licenses = new ArrayList<>( );
+		try {
+			// The records of a customer are chained within the log
+			long position = getPosition( ivCustomerIndex, aCustomer );
+			final long logLength = ivLogLength;
+			while ( position != JournalIndex.NO_POSITION ) {
+				final Record record = readCheckedRecord( position, logLength );
+				if ( aCustomer.equals( record.getLicense( ).getValue( ivCustomerKey ) ) ) {
+					licenses.add( record.ivBinaryLicense );
+				}
+				position = record.ivPreviousCustomerPosition;
+			}
+		} catch ( final IOException | LicenseException ex ) {
+			throw new JournalException( "Could not read the journal", ex );
+		}
+		return licenses;
+	}
+
+	/**
+	 * Passes all licenses in the journal to the given consumer, starting with the oldest license. This can be used to export the journal.
+	 *
+	 * @param aConsumer
+	 *            The consumer for the license files as raw binary data. Must not be {@code null}.
+	 *
+	 * @throws JournalException
+	 *             If the journal could not be read.
+	 * @throws NullPointerException
+	 * 	           If the given consumer is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public void forEach( final Consumer<byte[]> aConsumer ) throws JournalException {
+		Objects.requireNonNull( aConsumer, "The consumer must not be null." );
+
+		final long logLength = ivLogLength;
+		try {
+			long position = 0;
+			while ( position < logLength ) {
+				final Record record = readCheckedRecord( position, logLength );
+				aConsumer.accept( record.ivBinaryLicense );
+				position += RECORD_HEADER_LENGTH + record.ivBinaryLicense.length;
+			}
+		} catch ( final IOException ex ) {
+			throw new JournalException( "Could not read the journal", ex );
+		}
+	}
+
+	/**
+	 * Closes the journal and marks the indexes as consistent, so that they do not have to be rebuilt when the journal is opened again.
+	 *
+	 * @throws JournalException
+	 *             If the journal could not be closed properly.
+	 *
+	 * @since 3.0.0
+	 */
+	@Override
+	public void close( ) throws JournalException {
+		ivCommitLock.lock( );
+		ivIndexLock.writeLock( ).lock( );
+		try {
+			if ( ivClosed ) {
+				return;
+			}
+			ivClosed = true;
+
+			try {
+				ivLogChannel.force( true );
+				ivSerialIndex.close( ivLogLength );
+				ivCustomerIndex.close( ivLogLength );
+				ivLogChannel.close( );
+			} catch ( final IOException ex ) {
+				closeQuietly( ivLogChannel, ivSerialIndex, ivCustomerIndex, ex );
+				throw new JournalException( "Could not close the journal", ex );
+			}
+		} finally {
+			ivIndexLock.writeLock( ).unlock( );
+			ivCommitLock.unlock( );
+		}
+	}
+
+	private void commitPendingRecords( ) {
+		final List<PendingRecord> batch = new ArrayList<>( );
+		PendingRecord pendingRecord;
+		while ( ( pendingRecord = ivPendingRecords.poll( ) ) != null ) {
+			batch.add( pendingRecord );
+		}
+
+		final long startPosition = ivLogLength;
+		try {
+			// Assemble all records. Records of the same customer within the batch have to be chained as well
+			final Map<String, Long> customerPositions = new HashMap<>( );
+			final ByteBuffer[] buffers = new ByteBuffer[batch.size( ) * 2];
+			long position = startPosition;
+			for ( int i = 0; i < batch.size( ); i++ ) {
+				final PendingRecord record = batch.get( i );
+				record.ivPosition = position;
+
+				long previousCustomerPosition = JournalIndex.NO_POSITION;
+				if ( record.ivCustomer != null ) {
+					final Long batchPosition = customerPositions.put( record.ivCustomer, position );
+					previousCustomerPosition = batchPosition != null ? batchPosition : getPosition( ivCustomerIndex, record.ivCustomer );
+				}
+
+				buffers[i * 2] = createRecordHeader( record.ivBinaryLicense, previousCustomerPosition );
+				buffers[i * 2 + 1] = ByteBuffer.wrap( record.ivBinaryLicense );
+				position += RECORD_HEADER_LENGTH + record.ivBinaryLicense.length;
+			}
+
+			// A single write and a single force for the whole group
+			ivLogChannel.position( startPosition );
+			long remaining = position - startPosition;
+			while ( remaining > 0 ) {
+				remaining -= ivLogChannel.write( buffers );
+			}
+			ivLogChannel.force( false );
+
+			ivIndexLock.writeLock( ).lock( );
+			try {
+				for ( final PendingRecord record : batch ) {
+					index( record.ivPosition, record.ivSerial, record.ivCustomer );
+				}
+				ivLogLength = position;
+			} finally {
+				ivIndexLock.writeLock( ).unlock( );
+			}
+		} catch ( final IOException ex ) {
+			// Incomplete records are removed from the log again - and would be discarded on the next recovery otherwise
+			try {
+				ivLogChannel.truncate( startPosition );
+			} catch ( final IOException truncateException ) {
+				ex.addSuppressed( truncateException );
+			}
+			for ( final PendingRecord record : batch ) {
+				record.ivFailure = ex;
+			}
+		}
+
+		for ( final PendingRecord record : batch ) {
+			record.ivCommitted = true;
+		}
+	}
+
+	private long recover( ) throws IOException, LicenseException, JournalException {
+		final long logLength = ivLogChannel.size( );
+		if ( !ivSerialIndex.isRebuildRequired( ) && !ivCustomerIndex.isRebuildRequired( ) ) {
+			// The journal has been closed properly
+			return logLength;
+		}
+
+		long position = 0;
+		while ( position < logLength ) {
+			final Optional<Record> record = readValidRecord( position, logLength );
+			if ( !record.isPresent( ) ) {
+				// Only the last record can have been interrupted by a crash. Truncating the log anywhere else would discard committed licenses.
+				if ( !isLastRecord( position, logLength ) ) {
+					throw new JournalException( "The journal contains a damaged record at position " + position );
+				}
+
+				// The remaining bytes belong to an incomplete record
+				ivLogChannel.truncate( position );
+				ivLogChannel.force( true );
+				break;
+			}
+
+			// Indexing a record again is harmless, so we can rebuild both indexes even if only one of them is affected
+			final UnmodifiableLicense license = record.get( ).getLicense( );
+			index( position, license.getSerial( ), license.getValue( ivCustomerKey ) );
+			position += RECORD_HEADER_LENGTH + record.get( ).ivBinaryLicense.length;
+		}
+
+		return position;
+	}
+
+	private void index( final long aPosition, final String aSerial, final String aCustomer ) throws IOException {
+		if ( aSerial != null ) {
+			ivSerialIndex.put( JournalIndex.hash( aSerial ), aPosition );
+		}
+		if ( aCustomer != null ) {
+			ivCustomerIndex.put( JournalIndex.hash( aCustomer ), aPosition );
+		}
+	}
+
+	private long getPosition( final JournalIndex aIndex, final String aKey ) {
+		ivIndexLock.readLock( ).lock( );
+		try {
+			return aIndex.get( JournalIndex.hash( aKey ) );
+		} finally {
+			ivIndexLock.readLock( ).unlock( );
+		}
+	}
+
+	private Record readCheckedRecord( final long aPosition, final long aLogLength ) throws IOException, JournalException {
+		final Optional<Record> record = readValidRecord( aPosition, aLogLength );
+		if ( !record.isPresent( ) ) {
+			throw new JournalException( "The journal contains a damaged record at position " + aPosition );
+		}
+		return record.get( );
+	}
+
+	private boolean isLastRecord( final long aPosition, final long aLogLength ) throws IOException {
+		if ( aLogLength - aPosition >= RECORD_HEADER_LENGTH ) {
+			final ByteBuffer header = ByteBuffer.allocate( RECORD_HEADER_LENGTH );
+			readFully( header, aPosition );
+
+			// A record with a valid length field which is followed by further bytes is complete and therefore damaged
+			final int length = header.getInt( 0 );
+			if ( isValidLength( length ) && aLogLength - aPosition - RECORD_HEADER_LENGTH > length ) {
+				return false;
+			}
+		}
+
+		// The length field itself could be damaged, in which case we cannot determine where the next record would start. The record is only the last one if no
+		// valid record follows at any position.
+		return !containsValidRecord( aPosition + 1, aLogLength );
+	}
+
+	private boolean containsValidRecord( final long aPosition, final long aLogLength ) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate( SCAN_BUFFER_SIZE );
+
+		long bufferPosition = aPosition;
+		while ( aLogLength - bufferPosition >= RECORD_HEADER_LENGTH ) {
+			( ( Buffer ) buffer ).clear( );
+			( ( Buffer ) buffer ).limit( ( int ) Math.min( buffer.capacity( ), aLogLength - bufferPosition ) );
+			readFully( buffer, bufferPosition );
+
+			// The buffers overlap, so that each header is contained completely in one of them
+			final int candidates = buffer.limit( ) - RECORD_HEADER_LENGTH + 1;
+			for ( int offset = 0; offset < candidates; offset++ ) {
+				// Reading the license is expensive, so we check the plausibility of the header first
+				final long candidatePosition = bufferPosition + offset;
+				final long previousCustomerPosition = buffer.getLong( offset + 8 );
+				final boolean plausible = isValidLength( buffer.getInt( offset ) ) && previousCustomerPosition >= JournalIndex.NO_POSITION && previousCustomerPosition < candidatePosition;
+				if ( plausible && readValidRecord( candidatePosition, aLogLength ).isPresent( ) ) {
+					return true;
+				}
+			}
+			bufferPosition += candidates;
+		}
+
+		return false;
+	}
+
+	private Optional<Record> readValidRecord( final long aPosition, final long aLogLength ) throws IOException {
+		if ( aLogLength - aPosition < RECORD_HEADER_LENGTH ) {
+			return Optional.empty( );
+		}
+
+		final ByteBuffer header = ByteBuffer.allocate( RECORD_HEADER_LENGTH );
+		readFully( header, aPosition );
+
+		// The length is checked against the limits before we allocate the buffer, as a damaged length field could be arbitrarily large
+		final int length = header.getInt( 0 );
+		if ( !isValidLength( length ) || aLogLength - aPosition - RECORD_HEADER_LENGTH < length ) {
+			return Optional.empty( );
+		}
+
+		final ByteBuffer binaryLicense = ByteBuffer.allocate( length );
+		readFully( binaryLicense, aPosition + RECORD_HEADER_LENGTH );
+
+		final long previousCustomerPosition = header.getLong( 8 );
+		if ( header.getInt( 4 ) != calculateChecksum( binaryLicense.array( ), previousCustomerPosition ) ) {
+			return Optional.empty( );
+		}
+
+		return Optional.of( new Record( binaryLicense.array( ), previousCustomerPosition ) );
+	}
+
+	private static boolean isValidLength( final int aLength ) {
+		return aLength > 0 && aLength <= LicenseUtil.getLimits( ).getMaximalDecodedSize( );
+	}
+
+	private void readFully( final ByteBuffer aBuffer, final long aPosition ) throws IOException {
+		long position = aPosition;
+		while ( aBuffer.hasRemaining( ) ) {
+			final int read = ivLogChannel.read( aBuffer, position );
+			if ( read < 0 ) {
+				throw new IOException( "Unexpected end of the journal" );
+			}
+			position += read;
+		}
+	}
+
+	private static ByteBuffer createRecordHeader( final byte[] aBinaryLicense, final long aPreviousCustomerPosition ) {
+		final ByteBuffer header = ByteBuffer.allocate( RECORD_HEADER_LENGTH );
+		header.putInt( aBinaryLicense.length );
+		header.putInt( calculateChecksum( aBinaryLicense, aPreviousCustomerPosition ) );
+		header.putLong( aPreviousCustomerPosition );
+		( ( Buffer ) header ).flip( );
+		return header;
+	}
+
+	private static int calculateChecksum( final byte[] aBinaryLicense, final long aPreviousCustomerPosition ) {
+		final CRC32 checksum = new CRC32( );
+		checksum.update( ByteBuffer.allocate( Long.BYTES ).putLong( aPreviousCustomerPosition ).array( ) );
+		checksum.update( aBinaryLicense );
+		return ( int ) checksum.getValue( );
+	}
+
+	private static void closeQuietly( final FileChannel aLogChannel, final JournalIndex aSerialIndex, final JournalIndex aCustomerIndex, final Exception aException ) {
+		for ( final AutoCloseable closeable : new AutoCloseable[] { aLogChannel, aSerialIndex, aCustomerIndex } ) {
+			if ( closeable != null ) {
+				try {
+					closeable.close( );
+				} catch ( final Exception ex ) {
+					aException.addSuppressed( ex );
+				}
+			}
+		}
+	}
+
+	private static final class PendingRecord {
+
+		private final byte[] ivBinaryLicense;
+		private final String ivSerial;
+		private final String ivCustomer;
+
+		private long ivPosition;
+		private boolean ivCommitted;
+		private IOException ivFailure;
+
+		PendingRecord( final byte[] aBinaryLicense, final String aSerial, final String aCustomer ) {
+			ivBinaryLicense = aBinaryLicense;
+			ivSerial = aSerial;
+			ivCustomer = aCustomer;
+		}
+
+	}
+
+	private static final class Record {
+
+		private final byte[] ivBinaryLicense;
+		private final long ivPreviousCustomerPosition;
+
+		Record( final byte[] aBinaryLicense, final long aPreviousCustomerPosition ) {
+			ivBinaryLicense = aBinaryLicense;
+			ivPreviousCustomerPosition = aPreviousCustomerPosition;
+		}
+
+		UnmodifiableLicense getLicense( ) throws LicenseException {
+			return LicenseUtil.loadLicenseFileWithoutValidationFromBinary( ivBinaryLicense );
+		}
+
+	}
+
+}
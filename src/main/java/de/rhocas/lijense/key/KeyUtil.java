@@ -26,8 +26,6 @@
 
 package de.rhocas.lijense.key;
 
-import static de.rhocas.lijense.Constants.FINGERPRINT_ALGORITHM;
-import static de.rhocas.lijense.Constants.KEY_ALGORITHM;
 import static de.rhocas.lijense.Constants.KEY_SIZE;
 import static de.rhocas.lijense.Constants.RANDOM_ALGORITHM;
 
@@ -52,6 +50,7 @@ import java.util.Arrays;
 import java.util.Objects;
 
 import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.provider.ProviderUtil;
 
 /**
  * This is a util class to generate, save, and load private and public RSA keys for the usage within liJense.
@@ -79,7 +78,7 @@ public final class KeyUtil {
 	 */
 	public static KeyPair generateNewKeyPair( ) throws KeyException {
 		try {
-			final KeyPairGenerator keyGen = KeyPairGenerator.getInstance( KEY_ALGORITHM );
+			final KeyPairGenerator keyGen = ProviderUtil.createKeyPairGenerator( );
 
 			final SecureRandom random = SecureRandom.getInstance( RANDOM_ALGORITHM );
 			keyGen.initialize( KEY_SIZE, random );
@@ -181,7 +180,7 @@ public final class KeyUtil {
 
 		try {
 			final PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec( aArray );
-			final KeyFactory keyFactory = KeyFactory.getInstance( KEY_ALGORITHM );
+			final KeyFactory keyFactory = ProviderUtil.createKeyFactory( );
 
 			return keyFactory.generatePrivate( keySpec );
 		} catch ( final NoSuchAlgorithmException | InvalidKeySpecException ex ) {
@@ -244,7 +243,9 @@ public final class KeyUtil {
 		Objects.requireNonNull( aStream, "The stream must not be null." );
 
 		try {
-			final byte[] encodedKey = IOUtil.readAllBytes( aStream );
+			// Files and in-memory streams know their size, which allows us to read the key into a single array of the exact size
+			final int available = aStream.available( );
+			final byte[] encodedKey = available > 0 ? IOUtil.readAllBytes( aStream, available, Integer.MAX_VALUE ) : IOUtil.readAllBytes( aStream );
 			return IOUtil.binaryStringToBinary( encodedKey );
 		} catch ( final IOException ex ) {
 			throw new KeyException( "Could not load the key", ex );
@@ -271,7 +272,7 @@ public final class KeyUtil {
 
 		try {
 			final X509EncodedKeySpec keySpec = new X509EncodedKeySpec( aArray );
-			final KeyFactory keyFactory = KeyFactory.getInstance( KEY_ALGORITHM );
+			final KeyFactory keyFactory = ProviderUtil.createKeyFactory( );
 
 			return keyFactory.generatePublic( keySpec );
 		} catch ( final NoSuchAlgorithmException | InvalidKeySpecException ex ) {
@@ -299,7 +300,7 @@ public final class KeyUtil {
 		Objects.requireNonNull( aPublicKey, "The key must not be null." );
 
 		try {
-			final MessageDigest messageDigest = MessageDigest.getInstance( FINGERPRINT_ALGORITHM );
+			final MessageDigest messageDigest = ProviderUtil.createMessageDigest( );
 			return messageDigest.digest( aPublicKey.getEncoded( ) );
 		} catch ( final NoSuchAlgorithmException ex ) {
 			throw new KeyException( "Could not calculate the fingerprint of the public key", ex );
@@ -0,0 +1,67 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.lease;
+
+/**
+ * This class contains the constants of the binary protocol between {@link SeatLeaseClient} and {@link SeatLeaseServer}. Each connection carries a single
+ * request and is closed by the server after the response, so that idle clients never occupy a thread of the server. Each request starts with a single byte
+ * for the operation, followed by the number of elements and the elements:
+ *
+ * <ul>
+ * <li>{@link #ACQUIRE}: The number of seats. The response contains the number of acquired leases and their identifiers.</li>
+ * <li>{@link #RENEW}: The number of leases and their identifiers. The response contains the number of leases and one byte per lease, which is 1 if the lease
+ * has been renewed and 0 if it has been lost.</li>
+ * <li>{@link #RELEASE}: The number of leases and their identifiers. The response contains the number of released leases.</li>
+ * </ul>
+ *
+ * All numbers are written in big-endian byte order. Counts are integers and identifiers are longs.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+final class LeaseProtocol {
+
+	static final byte ACQUIRE = 1;
+	static final byte RENEW = 2;
+	static final byte RELEASE = 3;
+
+	/**
+	 * This is the maximal number of elements within a single request.
+	 */
+	static final int MAXIMAL_BATCH_SIZE = 65536;
+
+	/**
+	 * This is the maximal time in milliseconds the server waits for a request and the client waits for a response.
+	 */
+	static final int TIMEOUT = 10000;
+
+	private LeaseProtocol( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+}
@@ -0,0 +1,264 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.lease;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This is the client for a {@link SeatLeaseServer}. The client keeps track of the leases it holds. All of them are renewed with a single request by
+ * {@link #renewAll()}, which has to be called periodically within the lease duration of the server. Closing the client releases all of its leases. Each
+ * request is sent over a new connection, which is closed by the server after the response.<br>
+ * <br>
+ * This class is thread-safe. The requests of multiple threads are sent one after another.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class SeatLeaseClient implements AutoCloseable {
+
+	private final InetSocketAddress ivAddress;
+	private final Set<Long> ivLeases = new LinkedHashSet<>( );
+
+	/**
+	 * Creates a new client for the server with the given address. The client connects once to make sure that the server is reachable.
+	 *
+	 * @param aAddress
+	 *            The address of the server. Must not be {@code null}.
+	 *
+	 * @throws IOException
+	 *             If the client could not connect to the server.
+	 * @throws NullPointerException
+	 * 	           If the given address is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public SeatLeaseClient( final InetSocketAddress aAddress ) throws IOException {
+		Objects.requireNonNull( aAddress, "The address must not be null." );
+
+		ivAddress = aAddress;
+		connect( ).close( );
+	}
+
+	/**
+	 * Tries to lease a seat.
+	 *
+	 * @return The identifier of the lease or {@link SeatLeaseTable#NO_LEASE}, if all seats are leased.
+	 *
+	 * @throws IOException
+	 *             If the communication with the server failed.
+	 *
+	 * @since 3.0.0
+	 */
+	public long acquire( ) throws IOException {
+		final long[] leases = acquire( 1 );
+		return leases.length > 0 ? leases[0] : SeatLeaseTable.NO_LEASE;
+	}
+
+	/**
+	 * Tries to lease the given number of seats with a single request.
+	 *
+	 * @param aCount
+	 *            The number of seats. Must not be negative and must not exceed 65536.
+	 *
+	 * @return The identifiers of the leases. The array contains less elements than requested if not enough seats are available.
+	 *
+	 * @throws IOException
+	 *             If the communication with the server failed.
+	 * @throws IllegalArgumentException
+	 *             If the given number is negative or too large.
+	 *
+	 * @since 3.0.0
+	 */
+	public synchronized long[] acquire( final int aCount ) throws IOException {
+		if ( aCount < 0 || aCount > LeaseProtocol.MAXIMAL_BATCH_SIZE ) {
+			throw new IllegalArgumentException( "The number of seats must be between 0 and " + LeaseProtocol.MAXIMAL_BATCH_SIZE + "." );
+		}
+
+		try ( final Connection connection = connect( ) ) {
+			connection.ivOutputStream.writeByte( LeaseProtocol.ACQUIRE );
+			connection.ivOutputStream.writeInt( aCount );
+			connection.ivOutputStream.flush( );
+
+			final long[] leases = new long[connection.ivInputStream.readInt( )];
+			for ( int i = 0; i < leases.length; i++ ) {
+				leases[i] = connection.ivInputStream.readLong( );
+				ivLeases.add( leases[i] );
+			}
+			return leases;
+		}
+	}
+
+	/**
+	 * Renews all leases of this client with a single request. Leases which could not be renewed (because they have already expired) are no longer held by this
+	 * client.
+	 *
+	 * @return The identifiers of the leases which have been lost.
+	 *
+	 * @throws IOException
+	 *             If the communication with the server failed.
+	 *
+	 * @since 3.0.0
+	 */
+	public synchronized long[] renewAll( ) throws IOException {
+		final long[] leases = getLeases( );
+		final long[] lostLeases = new long[leases.length];
+		int lost = 0;
+
+		// The renewals are sent in batches of the maximal size
+		for ( int start = 0; start < leases.length; start += LeaseProtocol.MAXIMAL_BATCH_SIZE ) {
+			final int count = Math.min( LeaseProtocol.MAXIMAL_BATCH_SIZE, leases.length - start );
+
+			try ( final Connection connection = connect( ) ) {
+				connection.ivOutputStream.writeByte( LeaseProtocol.RENEW );
+				connection.ivOutputStream.writeInt( count );
+				for ( int i = start; i < start + count; i++ ) {
+					connection.ivOutputStream.writeLong( leases[i] );
+				}
+				connection.ivOutputStream.flush( );
+
+				final int responseCount = connection.ivInputStream.readInt( );
+				if ( responseCount != count ) {
+					throw new IOException( "The server responded with an unexpected number of leases" );
+				}
+				for ( int i = start; i < start + count; i++ ) {
+					if ( connection.ivInputStream.readByte( ) == 0 ) {
+						lostLeases[lost++] = leases[i];
+						ivLeases.remove( leases[i] );
+					}
+				}
+			}
+		}
+
+		return Arrays.copyOf( lostLeases, lost );
+	}
+
+	/**
+	 * Releases the given lease.
+	 *
+	 * @param aLease
+	 *            The identifier of the lease.
+	 *
+	 * @return true if and only if the lease has been released. If the lease has already expired or has already been released, false is returned.
+	 *
+	 * @throws IOException
+	 *             If the communication with the server failed.
+	 *
+	 * @since 3.0.0
+	 */
+	public synchronized boolean release( final long aLease ) throws IOException {
+		ivLeases.remove( aLease );
+		return release( new long[] { aLease } ) == 1;
+	}
+
+	/**
+	 * Delivers the leases which are currently held by this client.
+	 *
+	 * @return The identifiers of the leases.
+	 *
+	 * @since 3.0.0
+	 */
+	public synchronized long[] getLeases( ) {
+		return ivLeases.stream( ).mapToLong( Long::longValue ).toArray( );
+	}
+
+	/**
+	 * Releases all leases of this client.
+	 *
+	 * @throws IOException
+	 *             If the communication with the server failed.
+	 *
+	 * @since 3.0.0
+	 */
+	@Override
+	public synchronized void close( ) throws IOException {
+		final long[] leases = getLeases( );
+		for ( int start = 0; start < leases.length; start += LeaseProtocol.MAXIMAL_BATCH_SIZE ) {
+			release( Arrays.copyOfRange( leases, start, Math.min( leases.length, start + LeaseProtocol.MAXIMAL_BATCH_SIZE ) ) );
+		}
+		ivLeases.clear( );
+	}
+
+	private int release( final long[] aLeases ) throws IOException {
+		try ( final Connection connection = connect( ) ) {
+			connection.ivOutputStream.writeByte( LeaseProtocol.RELEASE );
+			connection.ivOutputStream.writeInt( aLeases.length );
+			for ( final long lease : aLeases ) {
+				connection.ivOutputStream.writeLong( lease );
+			}
+			connection.ivOutputStream.flush( );
+
+			return connection.ivInputStream.readInt( );
+		}
+	}
+
+	private Connection connect( ) throws IOException {
+		final Socket socket = new Socket( );
+		try {
+			socket.setTcpNoDelay( true );
+			socket.setSoTimeout( LeaseProtocol.TIMEOUT );
+			socket.connect( ivAddress, LeaseProtocol.TIMEOUT );
+			return new Connection( socket );
+		} catch ( final IOException ex ) {
+			socket.close( );
+			throw ex;
+		}
+	}
+
+	/**
+	 * This is a connection for a single request.
+	 */
+	private static final class Connection implements AutoCloseable {
+
+		private final Socket ivSocket;
+		private final DataInputStream ivInputStream;
+		private final DataOutputStream ivOutputStream;
+
+		Connection( final Socket aSocket ) throws IOException {
+			ivSocket = aSocket;
+			ivInputStream = new DataInputStream( new BufferedInputStream( aSocket.getInputStream( ) ) );
+			ivOutputStream = new DataOutputStream( new BufferedOutputStream( aSocket.getOutputStream( ) ) );
+		}
+
+		@Override
+		public void close( ) throws IOException {
+			ivSocket.close( );
+		}
+
+	}
+
+}
@@ -0,0 +1,314 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.lease;
+
+import static de.rhocas.lijense.Constants.LICENSE_KEY_SEATS;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * This is a lightweight server which hands out leases for the floating seats of a license. The number of seats is read from the entry
+ * {@link de.rhocas.lijense.Constants#LICENSE_KEY_SEATS} of the license. Clients connect with a {@link SeatLeaseClient} via a socket (usually on the loopback
+ * interface). The server can be embedded in the application or be started as a separate process with {@link SeatLeaseServerCommand}.<br>
+ * <br>
+ * The leases are managed in a lock-free {@link SeatLeaseTable}. Each connection carries a single request and is handled by a task of the given executor.
+ * Clients do not keep connections open between their requests and renew all of their leases with a single request. A bounded executor is therefore only
+ * occupied while requests are processed, no matter how many clients hold leases. This means that thousands of clients can renew their leases without the
+ * server becoming a bottleneck.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class SeatLeaseServer implements AutoCloseable {
+
+	private final SeatLeaseTable ivLeaseTable;
+	private final ServerSocket ivServerSocket;
+	private final ExecutorService ivExecutorService;
+	private final Set<Socket> ivConnections = ConcurrentHashMap.newKeySet( );
+	private final Thread ivAcceptorThread;
+
+	/**
+	 * Creates a new server for the seats of the given license. The server is not started before {@link #start()} is called.
+	 *
+	 * @param aLicense
+	 *            The license containing the number of seats. Must not be {@code null}.
+	 * @param aLeaseDuration
+	 *            The time after which a lease expires unless it is renewed. Must not be {@code null}.
+	 * @param aAddress
+	 *            The address the server should be bound to. Must not be {@code null}. Use port 0 for an arbitrary free port.
+	 * @param aExecutorService
+	 *            The executor handling the connections. Must not be {@code null}. The executor is shut down when the server is closed. See
+	 *            {@link de.rhocas.lijense.server.LicenseVerificationServer#createDefaultExecutorService(int)}.
+	 *
+	 * @throws LeaseException
+	 *             If the license does not contain a valid number of seats.
+	 * @throws IOException
+	 *             If the server could not be bound to the given address.
+	 * @throws NullPointerException
+	 * 	           If the given license, the given duration, the given address, or the given executor is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the given duration is shorter than a millisecond.
+	 *
+	 * @since 3.0.0
+	 */
+	public SeatLeaseServer( final UnmodifiableLicense aLicense, final Duration aLeaseDuration, final InetSocketAddress aAddress, final ExecutorService aExecutorService ) throws LeaseException, IOException {
+		this( new SeatLeaseTable( getSeats( aLicense ), aLeaseDuration ), aAddress, aExecutorService );
+	}
+
+	/**
+	 * Creates a new server for the given lease table. The server is not started before {@link #start()} is called.
+	 *
+	 * @param aLeaseTable
+	 *            The lease table. Must not be {@code null}.
+	 * @param aAddress
+	 *            The address the server should be bound to. Must not be {@code null}. Use port 0 for an arbitrary free port.
+	 * @param aExecutorService
+	 *            The executor handling the connections. Must not be {@code null}. The executor is shut down when the server is closed.
+	 *
+	 * @throws IOException
+	 *             If the server could not be bound to the given address.
+	 * @throws NullPointerException
+	 * 	           If the given table, the given address, or the given executor is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public SeatLeaseServer( final SeatLeaseTable aLeaseTable, final InetSocketAddress aAddress, final ExecutorService aExecutorService ) throws IOException {
+		Objects.requireNonNull( aLeaseTable, "The table must not be null." );
+		Objects.requireNonNull( aAddress, "The address must not be null." );
+		Objects.requireNonNull( aExecutorService, "The executor must not be null." );
+
+		ivLeaseTable = aLeaseTable;
+		ivExecutorService = aExecutorService;
+		ivServerSocket = new ServerSocket( );
+		ivServerSocket.bind( aAddress );
+
+		ivAcceptorThread = new Thread( this::acceptConnections, "liJense seat lease server" );
+	}
+
+	/**
+	 * Starts the server.
+	 *
+	 * @since 3.0.0
+	 */
+	public void start( ) {
+		ivAcceptorThread.start( );
+	}
+
+	/**
+	 * Returns the address the server is bound to.
+	 *
+	 * @return The address.
+	 *
+	 * @since 3.0.0
+	 */
+	public InetSocketAddress getAddress( ) {
+		return ( InetSocketAddress ) ivServerSocket.getLocalSocketAddress( );
+	}
+
+	/**
+	 * Returns the lease table of the server. The table can be used to lease seats within the same process.
+	 *
+	 * @return The lease table.
+	 *
+	 * @since 3.0.0
+	 */
+	public SeatLeaseTable getLeaseTable( ) {
+		return ivLeaseTable;
+	}
+
+	/**
+	 * Stops the server, closes all connections, and shuts down its executor. The leases remain in the table until they expire.
+	 *
+	 * @throws IOException
+	 *             If the server socket could not be closed.
+	 *
+	 * @since 3.0.0
+	 */
+	@Override
+	public void close( ) throws IOException {
+		try {
+			ivServerSocket.close( );
+		} finally {
+			for ( final Socket connection : ivConnections ) {
+				closeQuietly( connection );
+			}
+			ivExecutorService.shutdown( );
+		}
+	}
+
+	private static int getSeats( final UnmodifiableLicense aLicense ) throws LeaseException {
+		Objects.requireNonNull( aLicense, "The license must not be null." );
+
+		final int seats;
+		try {
+			seats = aLicense.getValueAsInt( LICENSE_KEY_SEATS, -1 );
+		} catch ( final NumberFormatException ex ) {
+			throw new LeaseException( "The number of seats in the license is not a number", ex );
+		}
+
+		if ( seats < 0 ) {
+			throw new LeaseException( "The license does not contain a number of seats" );
+		}
+		return seats;
+	}
+
+	private void acceptConnections( ) {
+		while ( !ivServerSocket.isClosed( ) ) {
+			final Socket connection;
+			try {
+				connection = ivServerSocket.accept( );
+			} catch ( final IOException ex ) {
+				// The server socket has been closed
+				return;
+			}
+
+			ivConnections.add( connection );
+			try {
+				ivExecutorService.execute( ( ) -> handleConnection( connection ) );
+			} catch ( final RejectedExecutionException ex ) {
+				ivConnections.remove( connection );
+				closeQuietly( connection );
+			}
+		}
+	}
+
+	private void handleConnection( final Socket aConnection ) {
+		try {
+			aConnection.setTcpNoDelay( true );
+			// A client which does not send its request must not occupy the thread
+			aConnection.setSoTimeout( LeaseProtocol.TIMEOUT );
+
+			final DataInputStream inputStream = new DataInputStream( new BufferedInputStream( aConnection.getInputStream( ) ) );
+			final DataOutputStream outputStream = new DataOutputStream( new BufferedOutputStream( aConnection.getOutputStream( ) ) );
+			if ( handleRequest( inputStream, outputStream ) ) {
+				outputStream.flush( );
+			}
+		} catch ( final IOException ex ) {
+			// The client closed the connection or the connection is broken. Either way, all we can do is to close it.
+		} finally {
+			ivConnections.remove( aConnection );
+			closeQuietly( aConnection );
+		}
+	}
+
+	private boolean handleRequest( final DataInputStream aInputStream, final DataOutputStream aOutputStream ) throws IOException {
+		final int operation = aInputStream.read( );
+		if ( operation < 0 ) {
+			return false;
+		}
+
+		final int count = aInputStream.readInt( );
+		if ( count < 0 || count > LeaseProtocol.MAXIMAL_BATCH_SIZE ) {
+			return false;
+		}
+
+		switch ( operation ) {
+			case LeaseProtocol.ACQUIRE:
+				handleAcquire( count, aOutputStream );
+				return true;
+			case LeaseProtocol.RENEW:
+				handleRenew( readLeases( aInputStream, count ), aOutputStream );
+				return true;
+			case LeaseProtocol.RELEASE:
+				handleRelease( readLeases( aInputStream, count ), aOutputStream );
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private void handleAcquire( final int aCount, final DataOutputStream aOutputStream ) throws IOException {
+		final long[] leases = new long[aCount];
+
+		int acquired = 0;
+		while ( acquired < aCount ) {
+			final long lease = ivLeaseTable.acquire( );
+			if ( lease == SeatLeaseTable.NO_LEASE ) {
+				break;
+			}
+			leases[acquired++] = lease;
+		}
+
+		aOutputStream.writeInt( acquired );
+		for ( int i = 0; i < acquired; i++ ) {
+			aOutputStream.writeLong( leases[i] );
+		}
+	}
+
+	private void handleRenew( final long[] aLeases, final DataOutputStream aOutputStream ) throws IOException {
+		final boolean[] renewed = ivLeaseTable.renew( aLeases );
+
+		aOutputStream.writeInt( renewed.length );
+		for ( final boolean leaseRenewed : renewed ) {
+			aOutputStream.writeByte( leaseRenewed ? 1 : 0 );
+		}
+	}
+
+	private void handleRelease( final long[] aLeases, final DataOutputStream aOutputStream ) throws IOException {
+		int released = 0;
+		for ( final long lease : aLeases ) {
+			if ( ivLeaseTable.release( lease ) ) {
+				released++;
+			}
+		}
+
+		aOutputStream.writeInt( released );
+	}
+
+	private static long[] readLeases( final DataInputStream aInputStream, final int aCount ) throws IOException {
+		final long[] leases = new long[aCount];
+		for ( int i = 0; i < aCount; i++ ) {
+			leases[i] = aInputStream.readLong( );
+		}
+		return leases;
+	}
+
+	private static void closeQuietly( final Socket aSocket ) {
+		try {
+			aSocket.close( );
+		} catch ( final IOException ex ) {
+			// Nothing we can do about it
+		}
+	}
+
+}
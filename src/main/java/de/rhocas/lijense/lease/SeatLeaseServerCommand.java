@@ -0,0 +1,128 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.lease;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import de.rhocas.lijense.key.KeyException;
+import de.rhocas.lijense.key.KeyUtil;
+import de.rhocas.lijense.license.LicenseException;
+import de.rhocas.lijense.license.LicenseUtil;
+import de.rhocas.lijense.license.UnmodifiableLicense;
+import de.rhocas.lijense.server.LicenseVerificationServer;
+
+/**
+ * This is the command line entry point for the {@link SeatLeaseServer}. The server is bound to the loopback interface and runs until the process is
+ * terminated. Usage:
+ *
+ * <pre>
+ * java -cp lijense.jar de.rhocas.lijense.lease.SeatLeaseServerCommand --public-key &lt;file&gt; --license &lt;file&gt; [--port &lt;n&gt;]
+ *      [--lease-seconds &lt;n&gt;] [--threads &lt;n&gt;]
+ * </pre>
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class SeatLeaseServerCommand {
+
+	private static final String USAGE = "Usage: --public-key <file> --license <file> [--port <n>] [--lease-seconds <n>] [--threads <n>]";
+
+	private SeatLeaseServerCommand( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+	/**
+	 * The main method of the command.
+	 *
+	 * @param aArguments
+	 *            The command line arguments.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void main( final String[] aArguments ) {
+		final Optional<SeatLeaseServer> server = start( aArguments, System.out, System.err );
+		if ( !server.isPresent( ) ) {
+			System.exit( 1 );
+		}
+
+		Runtime.getRuntime( ).addShutdownHook( new Thread( ( ) -> {
+			try {
+				server.get( ).close( );
+			} catch ( final IOException ex ) {
+				System.err.println( ex.getMessage( ) );
+			}
+		} ) );
+	}
+
+	static Optional<SeatLeaseServer> start( final String[] aArguments, final PrintStream aOut, final PrintStream aErr ) {
+		final Map<String, String> options = new HashMap<>( );
+		for ( int index = 0; index < aArguments.length; index += 2 ) {
+			if ( !aArguments[index].startsWith( "--" ) || index + 1 >= aArguments.length ) {
+				aErr.println( USAGE );
+				return Optional.empty( );
+			}
+			options.put( aArguments[index].substring( 2 ), aArguments[index + 1] );
+		}
+
+		final String publicKeyFile = options.get( "public-key" );
+		final String licenseFile = options.get( "license" );
+		if ( publicKeyFile == null || licenseFile == null ) {
+			aErr.println( USAGE );
+			return Optional.empty( );
+		}
+
+		try {
+			final int port = Integer.parseInt( options.getOrDefault( "port", "0" ) );
+			final Duration leaseDuration = Duration.ofSeconds( Long.parseLong( options.getOrDefault( "lease-seconds", "60" ) ) );
+			final int threads = Integer.parseInt( options.getOrDefault( "threads", Integer.toString( Runtime.getRuntime( ).availableProcessors( ) * 4 ) ) );
+
+			final PublicKey publicKey = KeyUtil.loadPublicKeyFromFile( new File( publicKeyFile ) );
+			final UnmodifiableLicense license = LicenseUtil.loadLicenseFile( publicKey, new File( licenseFile ), Optional.empty( ) );
+
+			final InetSocketAddress address = new InetSocketAddress( InetAddress.getLoopbackAddress( ), port );
+			final SeatLeaseServer server = new SeatLeaseServer( license, leaseDuration, address, LicenseVerificationServer.createDefaultExecutorService( threads ) );
+			server.start( );
+
+			aOut.println( "Leasing " + server.getLeaseTable( ).getSeats( ) + " seats on " + server.getAddress( ) );
+			return Optional.of( server );
+		} catch ( final IllegalArgumentException | KeyException | LicenseException | LeaseException | IOException ex ) {
+			aErr.println( ex.getMessage( ) );
+			return Optional.empty( );
+		}
+	}
+
+}
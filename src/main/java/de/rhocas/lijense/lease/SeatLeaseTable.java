@@ -0,0 +1,266 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.lease;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * This table keeps track of the leases of floating seats. Each seat is a single atomic value containing a generation and the expiration time of the current
+ * lease. Leases are acquired, renewed, and released with a single compare-and-set operation on the seat, which means that the table is lock-free. A lease
+ * which is not renewed in time expires and its seat can be leased again. As the generation of a seat is incremented with each new lease, an expired lease can
+ * not be renewed anymore.<br>
+ * <br>
+ * This class is thread-safe.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class SeatLeaseTable {
+
+	/**
+	 * This value is returned by {@link #acquire()} if no seat is available.
+	 *
+	 * @since 3.0.0
+	 */
+	public static final long NO_LEASE = -1;
+
+	private static final int EXPIRATION_BITS = 40;
+	private static final long EXPIRATION_MASK = ( 1L << EXPIRATION_BITS ) - 1;
+	private static final long GENERATION_MASK = ( 1L << Long.SIZE - EXPIRATION_BITS ) - 1;
+
+	private final AtomicLongArray ivSeats;
+	private final Duration ivLeaseDuration;
+	private final long ivLeaseDurationMillis;
+	private final LongSupplier ivClock;
+	private final long ivStartTime;
+
+	/**
+	 * Creates a new table with all seats available.
+	 *
+	 * @param aSeats
+	 *            The number of seats. Must not be negative.
+	 * @param aLeaseDuration
+	 *            The time after which a lease expires unless it is renewed. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given duration is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the number of seats is negative or if the given duration is shorter than a millisecond.
+	 *
+	 * @since 3.0.0
+	 */
+	public SeatLeaseTable( final int aSeats, final Duration aLeaseDuration ) {
+		this( aSeats, aLeaseDuration, System::nanoTime );
+	}
+
+	SeatLeaseTable( final int aSeats, final Duration aLeaseDuration, final LongSupplier aClock ) {
+		Objects.requireNonNull( aLeaseDuration, "The duration must not be null." );
+		if ( aSeats < 0 ) {
+			throw new IllegalArgumentException( "The number of seats must not be negative." );
+		}
+		if ( aLeaseDuration.toMillis( ) <= 0 ) {
+			throw new IllegalArgumentException( "The duration must be at least one millisecond." );
+		}
+
+		ivSeats = new AtomicLongArray( aSeats );
+		ivLeaseDuration = aLeaseDuration;
+		ivLeaseDurationMillis = aLeaseDuration.toMillis( );
+		ivClock = aClock;
+		ivStartTime = aClock.getAsLong( );
+	}
+
+	/**
+	 * Tries to lease a seat.
+	 *
+	 * @return The identifier of the lease or {@link #NO_LEASE}, if all seats are leased.
+	 *
+	 * @since 3.0.0
+	 */
+	public long acquire( ) {
+		final int seats = ivSeats.length( );
+		if ( seats == 0 ) {
+			return NO_LEASE;
+		}
+
+		final long now = getCurrentTime( );
+
+		// We start at a random seat, as concurrent callers would otherwise compete for the same seats
+		final int firstSeat = ThreadLocalRandom.current( ).nextInt( seats );
+		for ( int i = 0; i < seats; i++ ) {
+			final int seat = ( firstSeat + i ) % seats;
+
+			long state;
+			while ( getExpiration( state = ivSeats.get( seat ) ) <= now ) {
+				final long generation = getGeneration( state ) + 1 & GENERATION_MASK;
+				if ( ivSeats.compareAndSet( seat, state, createState( generation, now + ivLeaseDurationMillis ) ) ) {
+					return generation << Integer.SIZE | seat;
+				}
+			}
+		}
+
+		return NO_LEASE;
+	}
+
+	/**
+	 * Renews the given lease, unless it has already expired or has been released.
+	 *
+	 * @param aLease
+	 *            The identifier of the lease.
+	 *
+	 * @return true if and only if the lease has been renewed.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean renew( final long aLease ) {
+		return update( aLease, getCurrentTime( ), true );
+	}
+
+	/**
+	 * Renews the given leases, unless they have already expired or have been released.
+	 *
+	 * @param aLeases
+	 *            The identifiers of the leases. Must not be {@code null}.
+	 *
+	 * @return An array containing for each lease whether it has been renewed.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given array is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean[] renew( final long[] aLeases ) {
+		Objects.requireNonNull( aLeases, "The leases must not be null." );
+
+		// All leases of a batch are renewed with the same timestamp
+		final long now = getCurrentTime( );
+		final boolean[] renewed = new boolean[aLeases.length];
+		for ( int i = 0; i < aLeases.length; i++ ) {
+			renewed[i] = update( aLeases[i], now, true );
+		}
+		return renewed;
+	}
+
+	/**
+	 * Releases the given lease, which makes its seat available again.
+	 *
+	 * @param aLease
+	 *            The identifier of the lease.
+	 *
+	 * @return true if and only if the lease has been released. If the lease has already expired or has already been released, false is returned.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean release( final long aLease ) {
+		return update( aLease, getCurrentTime( ), false );
+	}
+
+	/**
+	 * Delivers the number of seats.
+	 *
+	 * @return The number of seats.
+	 *
+	 * @since 3.0.0
+	 */
+	public int getSeats( ) {
+		return ivSeats.length( );
+	}
+
+	/**
+	 * Delivers the number of seats which are currently leased.
+	 *
+	 * @return The number of active leases.
+	 *
+	 * @since 3.0.0
+	 */
+	public int getActiveLeases( ) {
+		final long now = getCurrentTime( );
+
+		int activeLeases = 0;
+		for ( int seat = 0; seat < ivSeats.length( ); seat++ ) {
+			if ( getExpiration( ivSeats.get( seat ) ) > now ) {
+				activeLeases++;
+			}
+		}
+		return activeLeases;
+	}
+
+	/**
+	 * Delivers the time after which a lease expires unless it is renewed.
+	 *
+	 * @return The lease duration.
+	 *
+	 * @since 3.0.0
+	 */
+	public Duration getLeaseDuration( ) {
+		return ivLeaseDuration;
+	}
+
+	private boolean update( final long aLease, final long aNow, final boolean aRenew ) {
+		final long seat = aLease & 0xFFFFFFFFL;
+		final long generation = aLease >>> Integer.SIZE;
+		if ( aLease < 0 || seat >= ivSeats.length( ) ) {
+			return false;
+		}
+
+		final int index = ( int ) seat;
+		final long newState = createState( generation, aRenew ? aNow + ivLeaseDurationMillis : 0 );
+
+		long state;
+		while ( getGeneration( state = ivSeats.get( index ) ) == generation && getExpiration( state ) > aNow ) {
+			if ( ivSeats.compareAndSet( index, state, newState ) ) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Delivers the milliseconds since the creation of the table. The time starts with one, as an expiration time of zero marks an available seat.
+	 */
+	private long getCurrentTime( ) {
+		return ( ivClock.getAsLong( ) - ivStartTime ) / 1_000_000L + 1;
+	}
+
+	private static long createState( final long aGeneration, final long aExpiration ) {
+		return aGeneration << EXPIRATION_BITS | aExpiration & EXPIRATION_MASK;
+	}
+
+	private static long getGeneration( final long aState ) {
+		return aState >>> EXPIRATION_BITS;
+	}
+
+	private static long getExpiration( final long aState ) {
+		return aState & EXPIRATION_MASK;
+	}
+
+}
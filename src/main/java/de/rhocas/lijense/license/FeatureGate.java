@@ -0,0 +1,207 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class allows fast checks whether features are active in a license. A {@link Feature} handle is resolved only once per key and gets a fixed index
+ * within the gate. The gate keeps the states of all features in an immutable array, which is published with a single volatile field. This means that a check
+ * on a hot path is a field read and an array access instead of hashing the key, looking it up and parsing the value (as it is done by
+ * {@link UnmodifiableLicense#isFeatureActive(String)}). If the license is exchanged with {@link #setLicense(UnmodifiableLicense)}, the states of all features
+ * are exchanged atomically. A reader sees either the old or the new license for all features, but never a mixture of both.<br>
+ * <br>
+ * This class is thread-safe.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class FeatureGate {
+
+	private final Map<String, Feature> ivFeatures = new ConcurrentHashMap<>( );
+	private volatile State ivState;
+
+	/**
+	 * Creates a new gate without a license. All features are inactive until a license is set.
+	 *
+	 * @since 3.0.0
+	 */
+	public FeatureGate( ) {
+		this( null );
+	}
+
+	/**
+	 * Creates a new gate for the given license.
+	 *
+	 * @param aLicense
+	 *            The license. Can be {@code null}, in which case all features are inactive.
+	 *
+	 * @since 3.0.0
+	 */
+	public FeatureGate( final UnmodifiableLicense aLicense ) {
+		ivState = new State( aLicense, new boolean[0] );
+	}
+
+	/**
+	 * Returns the handle for the given feature. The handle should be resolved once and kept (for instance in a final field). The same handle is returned for
+	 * the same key.
+	 *
+	 * @param aKey
+	 *            The key of the feature. Must not be {@code null}.
+	 *
+	 * @return The handle for the feature.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given key is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public Feature getFeature( final String aKey ) {
+		Objects.requireNonNull( aKey, "The key must not be null." );
+
+		final Feature feature = ivFeatures.get( aKey );
+		if ( feature != null ) {
+			return feature;
+		}
+
+		// New handles are created under the same lock as the license is exchanged. Otherwise a new handle could miss a concurrent exchange.
+		synchronized ( this ) {
+			return ivFeatures.computeIfAbsent( aKey, this::createFeature );
+		}
+	}
+
+	/**
+	 * Exchanges the license of this gate. All handles of this gate are updated afterwards.
+	 *
+	 * @param aLicense
+	 *            The new license. Can be {@code null}, in which case all features are inactive.
+	 *
+	 * @since 3.0.0
+	 */
+	public synchronized void setLicense( final UnmodifiableLicense aLicense ) {
+		final boolean[] activeFeatures = new boolean[ivState.ivActiveFeatures.length];
+		for ( final Feature feature : ivFeatures.values( ) ) {
+			activeFeatures[feature.ivIndex] = isFeatureActive( aLicense, feature.ivKey );
+		}
+
+		// All handles read the same state, which means that they are updated with this single write
+		ivState = new State( aLicense, activeFeatures );
+	}
+
+	/**
+	 * Returns the current license of this gate.
+	 *
+	 * @return The current license or an empty optional, if no license is set.
+	 *
+	 * @since 3.0.0
+	 */
+	public Optional<UnmodifiableLicense> getLicense( ) {
+		return Optional.ofNullable( ivState.ivLicense );
+	}
+
+	private Feature createFeature( final String aKey ) {
+		// This is called under the lock of the gate
+		final State state = ivState;
+		final int index = state.ivActiveFeatures.length;
+
+		final boolean[] activeFeatures = Arrays.copyOf( state.ivActiveFeatures, index + 1 );
+		activeFeatures[index] = isFeatureActive( state.ivLicense, aKey );
+		ivState = new State( state.ivLicense, activeFeatures );
+
+		return new Feature( this, aKey, index );
+	}
+
+	private static boolean isFeatureActive( final UnmodifiableLicense aLicense, final String aKey ) {
+		return aLicense != null && aLicense.isFeatureActive( aKey );
+	}
+
+	/**
+	 * This is the handle for a single feature within a {@link FeatureGate}.
+	 *
+	 * @author Nils Christian Ehmke
+	 *
+	 * @since 3.0.0
+	 */
+	public static final class Feature {
+
+		private final FeatureGate ivGate;
+		private final String ivKey;
+		private final int ivIndex;
+
+		Feature( final FeatureGate aGate, final String aKey, final int aIndex ) {
+			ivGate = aGate;
+			ivKey = aKey;
+			ivIndex = aIndex;
+		}
+
+		/**
+		 * Returns the key of this feature.
+		 *
+		 * @return The key.
+		 *
+		 * @since 3.0.0
+		 */
+		public String getKey( ) {
+			return ivKey;
+		}
+
+		/**
+		 * This method checks whether this feature is active in the current license of the gate. The semantic is the same as in
+		 * {@link UnmodifiableLicense#isFeatureActive(String)}.
+		 *
+		 * @return true if and only if the feature is active.
+		 *
+		 * @since 3.0.0
+		 */
+		public boolean isActive( ) {
+			// The state containing this feature has been published before the handle
+			return ivGate.ivState.ivActiveFeatures[ivIndex];
+		}
+
+	}
+
+	/**
+	 * This is an immutable snapshot of the license and the states of all features at that time.
+	 */
+	private static final class State {
+
+		private final UnmodifiableLicense ivLicense;
+		private final boolean[] ivActiveFeatures;
+
+		State( final UnmodifiableLicense aLicense, final boolean[] aActiveFeatures ) {
+			ivLicense = aLicense;
+			ivActiveFeatures = aActiveFeatures;
+		}
+
+	}
+
+}
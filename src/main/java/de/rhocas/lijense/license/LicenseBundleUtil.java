@@ -0,0 +1,188 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import de.rhocas.lijense.Constants;
+import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.provider.ProviderUtil;
+
+/**
+ * This is a util class to create license bundles within liJense. A bundle is a set of licenses (for instance one per device) which are signed together with
+ * a single RSA operation. For this purpose, a Merkle tree is built over the payloads of all licenses and only the root of the tree is signed. Each license of
+ * the bundle is encoded separately and contains its payload, the hashes needed to recalculate the root (the inclusion proof), and the signature of the root.
+ * Bundled licenses are loaded with a {@link LicenseBundleVerifier}, which checks the signature of each root only once.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LicenseBundleUtil {
+
+	static final int MAGIC_NUMBER = 0x4C4A424C;
+	static final int VERSION = 1;
+
+	private static final byte LEAF_PREFIX = 0;
+	private static final byte NODE_PREFIX = 1;
+
+	private LicenseBundleUtil( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+	/**
+	 * This method creates a new license bundle. The internal properties files are filled with the given {@link ModifiableLicense}s and the root of the Merkle
+	 * tree over all properties files is signed by using the given private key.
+	 *
+	 * @param aLicenses
+	 *            The licenses to be bundled. Must not be {@code null} and must not contain {@code null}.
+	 * @param aPrivateKey
+	 *            The private key for the signature. Must not be {@code null}.
+	 *
+	 * @return The bundled licenses as Base64 encoded strings in the same order as the given licenses.
+	 *
+	 * @throws LicenseException
+	 *             If something went wrong while creating the bundle. This indicated usually that the algorithms are not provided by the underlying Java
+	 *             runtime environment or that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given licenses, one of the given licenses, or the given key is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static List<String> createLicenseBundle( final List<ModifiableLicense> aLicenses, final PrivateKey aPrivateKey ) throws LicenseException {
+		Objects.requireNonNull( aLicenses, "The licenses must not be null." );
+		Objects.requireNonNull( aPrivateKey, "The key must not be null." );
+
+		if ( aLicenses.isEmpty( ) ) {
+			return Collections.emptyList( );
+		}
+
+		try {
+			// Store the licenses as binary content
+			final byte[][] payloads = new byte[aLicenses.size( )][];
+			final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream( );
+			for ( int index = 0; index < payloads.length; index++ ) {
+				final ModifiableLicense license = Objects.requireNonNull( aLicenses.get( index ), "The licenses must not contain null." );
+
+				byteArrayOutputStream.reset( );
+				license.storeToXML( byteArrayOutputStream, "liJense", Constants.LICENSE_ENCODING );
+				payloads[index] = byteArrayOutputStream.toByteArray( );
+			}
+
+			// Build the Merkle tree level by level
+			final MessageDigest messageDigest = ProviderUtil.createMessageDigest( );
+			final List<byte[][]> levels = new ArrayList<>( );
+
+			byte[][] level = new byte[payloads.length][];
+			for ( int index = 0; index < payloads.length; index++ ) {
+				level[index] = hashLeaf( messageDigest, payloads[index] );
+			}
+			levels.add( level );
+
+			while ( level.length > 1 ) {
+				final byte[][] nextLevel = new byte[( level.length + 1 ) / 2][];
+				for ( int index = 0; index < nextLevel.length; index++ ) {
+					final int leftIndex = index * 2;
+					nextLevel[index] = leftIndex + 1 < level.length ? hashNode( messageDigest, level[leftIndex], level[leftIndex + 1] ) : level[leftIndex];
+				}
+				level = nextLevel;
+				levels.add( level );
+			}
+
+			// Now calculate the signature of the root - this is the only RSA operation for the whole bundle
+			final Signature signature = ProviderUtil.createSignature( );
+			signature.initSign( aPrivateKey );
+			signature.update( level[0] );
+			final byte[] binarySignature = signature.sign( );
+
+			// Finally we can encode each license with its inclusion proof
+			final List<String> bundle = new ArrayList<>( payloads.length );
+			for ( int index = 0; index < payloads.length; index++ ) {
+				bundle.add( encodeBundledLicense( payloads[index], index, payloads.length, levels, binarySignature ) );
+			}
+			return bundle;
+		} catch ( final NoSuchAlgorithmException | IOException | InvalidKeyException | SignatureException ex ) {
+			throw new LicenseException( "Could not create the license bundle", ex );
+		}
+	}
+
+	private static String encodeBundledLicense( final byte[] aPayload, final int aLeafIndex, final int aLeafCount, final List<byte[][]> aLevels, final byte[] aSignature ) throws IOException {
+		final List<byte[]> proof = new ArrayList<>( );
+
+		int index = aLeafIndex;
+		for ( int levelIndex = 0; levelIndex < aLevels.size( ) - 1; levelIndex++ ) {
+			final byte[][] level = aLevels.get( levelIndex );
+			final int siblingIndex = index ^ 1;
+			if ( siblingIndex < level.length ) {
+				proof.add( level[siblingIndex] );
+			}
+			index /= 2;
+		}
+
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream( );
+		try ( final DataOutputStream outputStream = new DataOutputStream( byteArrayOutputStream ) ) {
+			outputStream.writeInt( MAGIC_NUMBER );
+			outputStream.writeInt( VERSION );
+			outputStream.writeInt( aPayload.length );
+			outputStream.write( aPayload );
+			outputStream.writeInt( aLeafIndex );
+			outputStream.writeInt( aLeafCount );
+			outputStream.writeInt( proof.size( ) );
+			for ( final byte[] hash : proof ) {
+				outputStream.write( hash );
+			}
+			outputStream.writeInt( aSignature.length );
+			outputStream.write( aSignature );
+		}
+
+		return IOUtil.binaryToString( byteArrayOutputStream.toByteArray( ) );
+	}
+
+	static byte[] hashLeaf( final MessageDigest aMessageDigest, final byte[] aPayload ) {
+		aMessageDigest.update( LEAF_PREFIX );
+		return aMessageDigest.digest( aPayload );
+	}
+
+	static byte[] hashNode( final MessageDigest aMessageDigest, final byte[] aLeft, final byte[] aRight ) {
+		aMessageDigest.update( NODE_PREFIX );
+		aMessageDigest.update( aLeft );
+		return aMessageDigest.digest( aRight );
+	}
+
+}
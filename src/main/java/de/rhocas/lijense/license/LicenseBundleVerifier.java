@@ -0,0 +1,210 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.key.KeyException;
+import de.rhocas.lijense.key.KeyUtil;
+import de.rhocas.lijense.provider.ProviderUtil;
+
+/**
+ * This class loads and verifies licenses created with {@link LicenseBundleUtil#createLicenseBundle(java.util.List, java.security.PrivateKey)}. The root of
+ * the Merkle tree is recalculated from the payload and the inclusion proof of the license, which needs only a few hash operations. The signature of a root
+ * is checked only for the first license of a bundle. Further licenses of the same bundle are verified without any RSA operation.<br>
+ * <br>
+ * This class is thread-safe.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LicenseBundleVerifier {
+
+	private static final int MAXIMAL_CACHED_ROOTS = 1024;
+
+	private final PublicKey ivPublicKey;
+	private final Set<ByteBuffer> ivVerifiedRoots = ConcurrentHashMap.newKeySet( );
+
+	/**
+	 * Creates a new verifier. Optionally, one can also verify the public key with the fingerprint. This is done only once. It is strongly recommended to use
+	 * this fingerprint in production environment.
+	 *
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signatures. Must not be {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 *
+	 * @throws LicenseException
+	 *             If the actual fingerprint of the public key does not match the expected fingerprint or if the fingerprint could not be calculated.
+	 * @throws NullPointerException
+	 * 	           If the given key or the given fingerprint is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public LicenseBundleVerifier( final PublicKey aPublicKey, final Optional<byte[]> aFingerprint ) throws LicenseException {
+		Objects.requireNonNull( aPublicKey, "The key must not be null." );
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+
+		try {
+			if ( aFingerprint.isPresent( ) && !KeyUtil.isFingerprintValid( aPublicKey, aFingerprint.get( ) ) ) {
+				throw new LicenseException( "The actual fingerprint of the public key does not match the expected fingerprint." );
+			}
+		} catch ( final KeyException ex ) {
+			throw new LicenseException( "Could not check the fingerprint", ex );
+		}
+
+		ivPublicKey = aPublicKey;
+	}
+
+	/**
+	 * This method loads a bundled license from the given Base64-encoded string and verifies it.
+	 *
+	 * @param aString
+	 *            The string. Must not be {@code null}.
+	 *
+	 * @return The license content.
+	 *
+	 * @throws LicenseException
+	 *             If the license could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime environment, that
+	 *             the string is malformed, that the digital signature of the bundle is not valid, or that the license is bound to another host.
+	 * @throws NullPointerException
+	 * 	           If the given string is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public UnmodifiableLicense loadBundledLicense( final String aString ) throws LicenseException {
+		Objects.requireNonNull( aString, "The string must not be null." );
+
+		// The remaining structure is bounded by the length of the data, so the encoded size is the only limit to check
+		if ( aString.length( ) > LicenseUtil.getLimits( ).getMaximalEncodedSize( ) ) {
+			throw new LicenseException( "The license exceeds the configured limits" );
+		}
+
+		try {
+			final byte[] binaryData = IOUtil.stringToBinary( aString );
+			final DataInputStream inputStream = new DataInputStream( new ByteArrayInputStream( binaryData ) );
+
+			if ( inputStream.readInt( ) != LicenseBundleUtil.MAGIC_NUMBER || inputStream.readInt( ) != LicenseBundleUtil.VERSION ) {
+				throw new LicenseException( "The bundled license is malformed" );
+			}
+
+			final byte[] payload = readArray( inputStream, binaryData.length );
+			final int leafIndex = inputStream.readInt( );
+			final int leafCount = inputStream.readInt( );
+			final int proofLength = inputStream.readInt( );
+			if ( leafIndex < 0 || leafIndex >= leafCount || proofLength < 0 || proofLength > Integer.SIZE ) {
+				throw new LicenseException( "The bundled license is malformed" );
+			}
+
+			// Recalculate the root from the payload and the inclusion proof
+			final MessageDigest messageDigest = ProviderUtil.createMessageDigest( );
+			byte[] hash = LicenseBundleUtil.hashLeaf( messageDigest, payload );
+
+			int index = leafIndex;
+			int count = leafCount;
+			int usedProofHashes = 0;
+			while ( count > 1 ) {
+				final boolean hasSibling = ( index ^ 1 ) < count;
+				if ( hasSibling ) {
+					if ( usedProofHashes == proofLength ) {
+						throw new LicenseException( "The bundled license is malformed" );
+					}
+
+					final byte[] sibling = new byte[messageDigest.getDigestLength( )];
+					inputStream.readFully( sibling );
+					usedProofHashes++;
+
+					hash = ( index & 1 ) == 0 ? LicenseBundleUtil.hashNode( messageDigest, hash, sibling ) : LicenseBundleUtil.hashNode( messageDigest, sibling, hash );
+				}
+
+				index /= 2;
+				count = ( count + 1 ) / 2;
+			}
+
+			if ( usedProofHashes != proofLength ) {
+				throw new LicenseException( "The bundled license is malformed" );
+			}
+
+			// Now we can verify the signature of the root - if necessary
+			final byte[] binarySignature = readArray( inputStream, binaryData.length );
+			verifyRoot( hash, binarySignature );
+
+			// If everything is valid, we can load the properties file
+			final UnmodifiableLicense license = LicenseUtil.createUnmodifiableLicense( payload, 0, payload.length );
+			LicenseUtil.checkBoundHost( license );
+			return license;
+		} catch ( final IllegalArgumentException | IOException | NoSuchAlgorithmException | InvalidKeyException | SignatureException ex ) {
+			throw new LicenseException( "Could not load the bundled license", ex );
+		}
+	}
+
+	private void verifyRoot( final byte[] aRoot, final byte[] aSignature ) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException, LicenseException {
+		final ByteBuffer root = ByteBuffer.wrap( aRoot );
+		if ( ivVerifiedRoots.contains( root ) ) {
+			return;
+		}
+
+		final Signature signature = ProviderUtil.createSignature( );
+		signature.initVerify( ivPublicKey );
+		signature.update( aRoot );
+		if ( !signature.verify( aSignature ) ) {
+			throw new LicenseException( "The license is not valid" );
+		}
+
+		if ( ivVerifiedRoots.size( ) >= MAXIMAL_CACHED_ROOTS ) {
+			ivVerifiedRoots.clear( );
+		}
+		ivVerifiedRoots.add( root );
+	}
+
+	private static byte[] readArray( final DataInputStream aInputStream, final int aMaximalLength ) throws IOException, LicenseException {
+		final int length = aInputStream.readInt( );
+		if ( length < 0 || length > aMaximalLength ) {
+			throw new LicenseException( "The bundled license is malformed" );
+		}
+
+		final byte[] array = new byte[length];
+		aInputStream.readFully( array );
+		return array;
+	}
+
+}
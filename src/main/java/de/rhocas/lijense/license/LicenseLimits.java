@@ -0,0 +1,134 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+/**
+ * This class contains the limits which are enforced while loading licenses. The limits are checked before the signature is verified or the content is parsed,
+ * which means that malformed or hostile license files are rejected quickly and with bounded memory usage. The limits can be changed with
+ * {@link LicenseUtil#setLimits(LicenseLimits)}.<br>
+ * <br>
+ * This class is immutable.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LicenseLimits {
+
+	/**
+	 * These are the default limits. They allow licenses with about a megabyte of content, which is far more than usual licenses need.
+	 *
+	 * @since 3.0.0
+	 */
+	public static final LicenseLimits DEFAULT = new LicenseLimits( 1 << 20, 3 << 18, 2, 1 << 20 );
+
+	private final int ivMaximalEncodedSize;
+	private final int ivMaximalDecodedSize;
+	private final int ivMaximalEntries;
+	private final int ivMaximalInflatedSize;
+
+	/**
+	 * Creates new limits.
+	 *
+	 * @param aMaximalEncodedSize
+	 *            The maximal size of a Base64 encoded license in bytes. Must be positive.
+	 * @param aMaximalDecodedSize
+	 *            The maximal size of the binary license archive in bytes. Must be positive.
+	 * @param aMaximalEntries
+	 *            The maximal number of entries in the license archive. Must be at least 2 (license and signature).
+	 * @param aMaximalInflatedSize
+	 *            The maximal inflated size of a single entry of the license archive in bytes. Must be positive.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If one of the limits is out of range.
+	 *
+	 * @since 3.0.0
+	 */
+	public LicenseLimits( final int aMaximalEncodedSize, final int aMaximalDecodedSize, final int aMaximalEntries, final int aMaximalInflatedSize ) {
+		if ( aMaximalEncodedSize <= 0 || aMaximalDecodedSize <= 0 || aMaximalInflatedSize <= 0 ) {
+			throw new IllegalArgumentException( "The maximal sizes must be positive." );
+		}
+		if ( aMaximalEntries < 2 ) {
+			throw new IllegalArgumentException( "The maximal number of entries must be at least 2." );
+		}
+
+		ivMaximalEncodedSize = aMaximalEncodedSize;
+		ivMaximalDecodedSize = aMaximalDecodedSize;
+		ivMaximalEntries = aMaximalEntries;
+		ivMaximalInflatedSize = aMaximalInflatedSize;
+	}
+
+	/**
+	 * Delivers the maximal size of a Base64 encoded license.
+	 *
+	 * @return The maximal size in bytes.
+	 *
+	 * @since 3.0.0
+	 */
+	public int getMaximalEncodedSize( ) {
+		return ivMaximalEncodedSize;
+	}
+
+	/**
+	 * Delivers the maximal size of the binary license archive.
+	 *
+	 * @return The maximal size in bytes.
+	 *
+	 * @since 3.0.0
+	 */
+	public int getMaximalDecodedSize( ) {
+		return ivMaximalDecodedSize;
+	}
+
+	/**
+	 * Delivers the maximal number of entries in the license archive.
+	 *
+	 * @return The maximal number of entries.
+	 *
+	 * @since 3.0.0
+	 */
+	public int getMaximalEntries( ) {
+		return ivMaximalEntries;
+	}
+
+	/**
+	 * Delivers the maximal inflated size of a single entry of the license archive.
+	 *
+	 * @return The maximal size in bytes.
+	 *
+	 * @since 3.0.0
+	 */
+	public int getMaximalInflatedSize( ) {
+		return ivMaximalInflatedSize;
+	}
+
+	@Override
+	public String toString( ) {
+		return String.format( "encoded=%d, decoded=%d, entries=%d, inflated=%d", ivMaximalEncodedSize, ivMaximalDecodedSize, ivMaximalEntries, ivMaximalInflatedSize );
+	}
+
+}
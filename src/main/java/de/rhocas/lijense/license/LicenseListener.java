@@ -0,0 +1,86 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import java.io.File;
+
+/**
+ * This is a listener which is notified by the {@link LicenseRevalidationScheduler} about changes of a registered license file. All methods are called from
+ * the thread of the scheduler and should therefore return quickly.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public interface LicenseListener {
+
+	/**
+	 * This method is called when the license file has been loaded and verified for the first time or when the content of the file changed and the new content
+	 * has been verified successfully.
+	 *
+	 * @param aFile
+	 *            The license file.
+	 * @param aLicense
+	 *            The verified license.
+	 *
+	 * @since 3.0.0
+	 */
+	default void licenseLoaded( final File aFile, final UnmodifiableLicense aLicense ) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * This method is called exactly once per loaded license when the license crosses its expiration day. If the license is already expired when it is loaded,
+	 * the method is called right after {@link #licenseLoaded(File, UnmodifiableLicense)}.
+	 *
+	 * @param aFile
+	 *            The license file.
+	 * @param aLicense
+	 *            The expired license.
+	 *
+	 * @since 3.0.0
+	 */
+	default void licenseExpired( final File aFile, final UnmodifiableLicense aLicense ) {
+		// Nothing to do by default
+	}
+
+	/**
+	 * This method is called when the license file could no longer be loaded or verified, even when checked once more after a short delay. This usually
+	 * indicates that the file has been tampered with. The method is called only once until the license file can be verified successfully again.
+	 *
+	 * @param aFile
+	 *            The license file.
+	 * @param aException
+	 *            The exception describing the problem.
+	 *
+	 * @since 3.0.0
+	 */
+	default void licenseInvalid( final File aFile, final LicenseException aException ) {
+		// Nothing to do by default
+	}
+
+}
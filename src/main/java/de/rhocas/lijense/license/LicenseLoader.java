@@ -0,0 +1,86 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import java.io.File;
+import java.security.PublicKey;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * This is a loader which is used by the {@link LicenseRegistry} to load and verify the license of a tenant. The loader can be called concurrently for
+ * different tenants.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+@FunctionalInterface
+public interface LicenseLoader {
+
+	/**
+	 * This method loads and verifies the license of the given tenant.
+	 *
+	 * @param aTenant
+	 *            The tenant.
+	 *
+	 * @return The verified license.
+	 *
+	 * @throws LicenseException
+	 *             If the license could not be loaded or verified.
+	 *
+	 * @since 3.0.0
+	 */
+	UnmodifiableLicense loadLicense( String aTenant ) throws LicenseException;
+
+	/**
+	 * Creates a loader which loads the license of a tenant from a file by using {@link LicenseUtil#loadLicenseFile(PublicKey, File, Optional)}.
+	 *
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signature. Must not be {@code null}.
+	 * @param aFileResolver
+	 *            The function which resolves the license file of a tenant. Must not be {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 *
+	 * @return A new loader.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given key, the given function, or the given fingerprint is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	static LicenseLoader fromFiles( final PublicKey aPublicKey, final Function<String, File> aFileResolver, final Optional<byte[]> aFingerprint ) {
+		Objects.requireNonNull( aPublicKey, "The key must not be null." );
+		Objects.requireNonNull( aFileResolver, "The function must not be null." );
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+
+		return aTenant -> LicenseUtil.loadLicenseFile( aPublicKey, aFileResolver.apply( aTenant ), aFingerprint );
+	}
+
+}
@@ -0,0 +1,165 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * This is a view on all entries of a license within a namespace. The namespace {@code module.reporting} contains for instance the entry
+ * {@code module.reporting.export.pdf}, which can be accessed with the relative key {@code export.pdf}. The view should be created once and kept, as the
+ * lookups within the view do not allocate memory and need only logarithmic time.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ *
+ * @see UnmodifiableLicense#getNamespace(String)
+ */
+public final class LicenseNamespace {
+
+	private final SortedKeyIndex ivIndex;
+	private final String ivName;
+	private final String ivPrefix;
+	private final int ivStart;
+	private final int ivEnd;
+
+	LicenseNamespace( final SortedKeyIndex aIndex, final String aName ) {
+		ivIndex = aIndex;
+		ivName = aName;
+		ivPrefix = aName.isEmpty( ) ? "" : aName + '.';
+		ivStart = aIndex.getStartOfPrefix( ivPrefix );
+		ivEnd = aIndex.getEndOfPrefix( ivPrefix, ivStart );
+	}
+
+	/**
+	 * Delivers the name of the namespace.
+	 *
+	 * @return The name.
+	 *
+	 * @since 3.0.0
+	 */
+	public String getName( ) {
+		return ivName;
+	}
+
+	/**
+	 * Returns the value for the given relative key.
+	 *
+	 * @param aRelativeKey
+	 *            The key relative to the namespace. Must not be {@code null}.
+	 *
+	 * @return The value for the key or {@code null} if the namespace does not contain the key.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given key is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public String getValue( final String aRelativeKey ) {
+		Objects.requireNonNull( aRelativeKey, "The key must not be null." );
+
+		return ivIndex.getValue( ivPrefix, aRelativeKey, ivStart, ivEnd );
+	}
+
+	/**
+	 * This method checks whether a given feature within the namespace is active or not. If the given key is not available or the value is {@code null}, empty
+	 * or {@code false}, the method returns {@code false}. Otherwise {@code true} is returned.
+	 *
+	 * @param aRelativeKey
+	 *            The key relative to the namespace. Must not be {@code null}.
+	 *
+	 * @return true if and only if the given feature is active.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given key is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean isFeatureActive( final String aRelativeKey ) {
+		return Boolean.parseBoolean( getValue( aRelativeKey ) );
+	}
+
+	/**
+	 * Creates a view on a namespace within this namespace.
+	 *
+	 * @param aRelativeName
+	 *            The name of the namespace relative to this namespace. Must not be {@code null}.
+	 *
+	 * @return The view on the namespace.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given name is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public LicenseNamespace getNamespace( final String aRelativeName ) {
+		Objects.requireNonNull( aRelativeName, "The name must not be null." );
+
+		return new LicenseNamespace( ivIndex, ivPrefix + aRelativeName );
+	}
+
+	/**
+	 * Delivers the number of entries within the namespace.
+	 *
+	 * @return The number of entries.
+	 *
+	 * @since 3.0.0
+	 */
+	public int size( ) {
+		return ivEnd - ivStart;
+	}
+
+	/**
+	 * Checks whether the namespace contains no entries.
+	 *
+	 * @return true if and only if the namespace is empty.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean isEmpty( ) {
+		return ivStart == ivEnd;
+	}
+
+	/**
+	 * Passes all entries within the namespace in lexicographical order of the keys to the given consumer. The consumer gets the full keys.
+	 *
+	 * @param aConsumer
+	 *            The consumer. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given consumer is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public void forEach( final BiConsumer<String, String> aConsumer ) {
+		Objects.requireNonNull( aConsumer, "The consumer must not be null." );
+
+		ivIndex.forEach( ivStart, ivEnd, aConsumer );
+	}
+
+}
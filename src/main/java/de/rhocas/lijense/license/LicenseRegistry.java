@@ -0,0 +1,398 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This is a thread-safe registry for the licenses of many tenants. The license of a tenant is loaded and verified lazily on the first access. Concurrent
+ * accesses to a tenant which is not loaded yet are collapsed into a single verification. Accesses to loaded licenses do not lock.<br>
+ * <br>
+ * The registry estimates the memory used by the loaded licenses. When the estimation exceeds the memory budget, the least recently used licenses are evicted.
+ * Licenses which have not been used for the given idle time are evicted as well. Evicted licenses are loaded again on the next access. In order to keep
+ * loads independent of the number of tenants, the least recently used license is approximated by sampling a few licenses at a time.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LicenseRegistry {
+
+	/**
+	 * The access time of an entry is only updated if it changed more than this. This avoids writes to shared memory on every read.
+	 */
+	private static final long ACCESS_TIME_GRANULARITY = TimeUnit.MILLISECONDS.toNanos( 10 );
+
+	/**
+	 * This is the number of licenses which are inspected to find a single license to evict.
+	 */
+	private static final int EVICTION_SAMPLE_SIZE = 8;
+
+	private static final long LICENSE_OVERHEAD = 128;
+	private static final long LICENSE_ENTRY_OVERHEAD = 64;
+
+	private final Map<String, Entry> ivEntries = new ConcurrentHashMap<>( );
+	private final AtomicLong ivEstimatedMemoryUsage = new AtomicLong( );
+	private final ReentrantLock ivEvictionLock = new ReentrantLock( );
+	private final LicenseLoader ivLoader;
+	private final long ivMemoryBudget;
+	private final long ivIdleTime;
+
+	/**
+	 * The samples are taken in the order of the map, continuing where the last sample ended. This means that every license is inspected over time. The cursor
+	 * is guarded by the eviction lock.
+	 */
+	private Iterator<Entry> ivEvictionCursor = Collections.emptyIterator( );
+
+	/**
+	 * Creates a new registry.
+	 *
+	 * @param aLoader
+	 *            The loader which is used to load and verify the license of a tenant. Must not be {@code null}.
+	 * @param aMemoryBudget
+	 *            The estimated memory in bytes which can be used by the loaded licenses. Must be positive.
+	 * @param aIdleTime
+	 *            The time after which unused licenses are evicted. Must not be {@code null} and must be positive.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given loader or the given idle time is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the memory budget or the idle time is not positive.
+	 *
+	 * @since 3.0.0
+	 */
+	public LicenseRegistry( final LicenseLoader aLoader, final long aMemoryBudget, final Duration aIdleTime ) {
+		Objects.requireNonNull( aLoader, "The loader must not be null." );
+		Objects.requireNonNull( aIdleTime, "The idle time must not be null." );
+
+		if ( aMemoryBudget <= 0 ) {
+			throw new IllegalArgumentException( "The memory budget must be positive." );
+		}
+		if ( aIdleTime.isNegative( ) || aIdleTime.isZero( ) ) {
+			throw new IllegalArgumentException( "The idle time must be positive." );
+		}
+
+		ivLoader = aLoader;
+		ivMemoryBudget = aMemoryBudget;
+		ivIdleTime = aIdleTime.toNanos( );
+	}
+
+	/**
+	 * Delivers the license of the given tenant. If the license is not loaded yet, it is loaded and verified by the calling thread. Other threads requesting
+	 * the same tenant in the meantime wait for this verification. If the license could not be loaded, the failure is not cached and the next access tries
+	 * again.
+	 *
+	 * @param aTenant
+	 *            The tenant. Must not be {@code null}.
+	 *
+	 * @return The verified license of the tenant.
+	 *
+	 * @throws LicenseException
+	 *             If the license could not be loaded or verified or if the thread has been interrupted while waiting for the license.
+	 * @throws NullPointerException
+	 * 	           If the given tenant is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public UnmodifiableLicense getLicense( final String aTenant ) throws LicenseException {
+		Objects.requireNonNull( aTenant, "The tenant must not be null." );
+
+		final Entry existingEntry = ivEntries.get( aTenant );
+		if ( existingEntry != null && existingEntry.isLoaded( ) ) {
+			// This is the fast path without any locks
+			existingEntry.touch( );
+			return existingEntry.ivLicense;
+		}
+
+		final Entry newEntry = new Entry( aTenant );
+		final Entry entry = existingEntry != null ? existingEntry : ivEntries.computeIfAbsent( aTenant, key -> newEntry );
+		if ( entry == newEntry ) {
+			// This thread is responsible for the verification
+			entry.ivTask.run( );
+		}
+
+		try {
+			final UnmodifiableLicense license = entry.ivTask.get( );
+			entry.touch( );
+			return license;
+		} catch ( final InterruptedException ex ) {
+			Thread.currentThread( ).interrupt( );
+			throw new LicenseException( "Interrupted while waiting for the license", ex );
+		} catch ( final ExecutionException ex ) {
+			final Throwable cause = ex.getCause( );
+			if ( cause instanceof LicenseException ) {
+				throw ( LicenseException ) cause;
+			}
+			if ( cause instanceof RuntimeException ) {
+				throw ( RuntimeException ) cause;
+			}
+			throw ( Error ) cause;
+		}
+	}
+
+	/**
+	 * Delivers the license of the given tenant if it is currently loaded. This method never loads a license.
+	 *
+	 * @param aTenant
+	 *            The tenant. Must not be {@code null}.
+	 *
+	 * @return The license of the tenant or an empty optional if the license is not loaded.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given tenant is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public Optional<UnmodifiableLicense> getLicenseIfLoaded( final String aTenant ) {
+		Objects.requireNonNull( aTenant, "The tenant must not be null." );
+
+		final Entry entry = ivEntries.get( aTenant );
+		if ( entry == null || !entry.isLoaded( ) ) {
+			return Optional.empty( );
+		}
+
+		entry.touch( );
+		return Optional.of( entry.ivLicense );
+	}
+
+	/**
+	 * Removes the license of the given tenant from the registry. The license is loaded again on the next access. This should be called when the license of
+	 * the tenant has been exchanged.
+	 *
+	 * @param aTenant
+	 *            The tenant. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given tenant is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public void invalidate( final String aTenant ) {
+		Objects.requireNonNull( aTenant, "The tenant must not be null." );
+
+		final Entry entry = ivEntries.remove( aTenant );
+		if ( entry != null ) {
+			entry.release( );
+		}
+	}
+
+	/**
+	 * Evicts all licenses which have not been used for the idle time. After a license has been loaded, a few licenses are checked automatically. This method
+	 * should be called periodically if idle licenses should be evicted in a timely manner.
+	 *
+	 * @since 3.0.0
+	 */
+	public void evictIdleLicenses( ) {
+		ivEvictionLock.lock( );
+		try {
+			final long now = System.nanoTime( );
+			for ( final Entry entry : ivEntries.values( ) ) {
+				if ( entry.isEvictable( ) && now - entry.ivLastAccess > ivIdleTime ) {
+					remove( entry );
+				}
+			}
+
+			evictSampledLicenses( );
+		} finally {
+			ivEvictionLock.unlock( );
+		}
+	}
+
+	/**
+	 * Delivers the number of licenses which are currently loaded or being loaded.
+	 *
+	 * @return The number of licenses.
+	 *
+	 * @since 3.0.0
+	 */
+	public int size( ) {
+		return ivEntries.size( );
+	}
+
+	/**
+	 * Delivers the estimated memory in bytes which is currently used by the loaded licenses.
+	 *
+	 * @return The estimated memory usage.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getEstimatedMemoryUsage( ) {
+		return ivEstimatedMemoryUsage.get( );
+	}
+
+	private UnmodifiableLicense load( final Entry aEntry ) throws LicenseException {
+		final UnmodifiableLicense license;
+		try {
+			license = ivLoader.loadLicense( aEntry.ivTenant );
+		} catch ( final LicenseException | RuntimeException | Error ex ) {
+			// Failures are not cached
+			ivEntries.remove( aEntry.ivTenant, aEntry );
+			throw ex;
+		}
+
+		aEntry.ivLicense = license;
+		aEntry.ivLastAccess = System.nanoTime( );
+		aEntry.account( estimateMemoryUsage( license ) );
+
+		// The entry might have been invalidated while it has been loaded
+		if ( ivEntries.get( aEntry.ivTenant ) != aEntry ) {
+			aEntry.release( );
+		}
+
+		// Only one thread evicts at a time. The other threads do not have to wait, as the eviction covers their entries as well
+		if ( ivEvictionLock.tryLock( ) ) {
+			try {
+				evictSampledLicenses( );
+			} finally {
+				ivEvictionLock.unlock( );
+			}
+		}
+
+		return license;
+	}
+
+	private void evictSampledLicenses( ) {
+		final long now = System.nanoTime( );
+
+		// A single sample is always taken, so that idle licenses are evicted over time. Further samples are only taken while we exceed the budget.
+		boolean evicted;
+		do {
+			Entry leastRecentlyUsedEntry = null;
+			long leastRecentAccess = 0;
+			for ( int sample = 0; sample < EVICTION_SAMPLE_SIZE; sample++ ) {
+				final Entry entry = nextEvictionCandidate( );
+				if ( entry == null ) {
+					break;
+				}
+				if ( !entry.isEvictable( ) ) {
+					continue;
+				}
+
+				// The access time is read only once, as other threads keep changing it
+				final long lastAccess = entry.ivLastAccess;
+				if ( now - lastAccess > ivIdleTime ) {
+					remove( entry );
+				} else if ( leastRecentlyUsedEntry == null || lastAccess - leastRecentAccess < 0 ) {
+					leastRecentlyUsedEntry = entry;
+					leastRecentAccess = lastAccess;
+				}
+			}
+
+			evicted = false;
+			if ( leastRecentlyUsedEntry != null && ivEstimatedMemoryUsage.get( ) > ivMemoryBudget ) {
+				remove( leastRecentlyUsedEntry );
+				evicted = true;
+			}
+		} while ( evicted && ivEstimatedMemoryUsage.get( ) > ivMemoryBudget );
+	}
+
+	private Entry nextEvictionCandidate( ) {
+		if ( !ivEvictionCursor.hasNext( ) ) {
+			ivEvictionCursor = ivEntries.values( ).iterator( );
+			if ( !ivEvictionCursor.hasNext( ) ) {
+				return null;
+			}
+		}
+		return ivEvictionCursor.next( );
+	}
+
+	private void remove( final Entry aEntry ) {
+		if ( ivEntries.remove( aEntry.ivTenant, aEntry ) ) {
+			aEntry.release( );
+		}
+	}
+
+	private static long estimateMemoryUsage( final UnmodifiableLicense aLicense ) {
+		long memoryUsage = LICENSE_OVERHEAD;
+		for ( final Map.Entry<String, String> entry : aLicense.getEntries( ).entrySet( ) ) {
+			memoryUsage += LICENSE_ENTRY_OVERHEAD + 2L * ( entry.getKey( ).length( ) + entry.getValue( ).length( ) );
+		}
+		return memoryUsage;
+	}
+
+	private final class Entry {
+
+		private final String ivTenant;
+		private final FutureTask<UnmodifiableLicense> ivTask;
+
+		/**
+		 * The estimated memory usage which has been added to the registry. It is zero while the license is being loaded and negative once the entry has been
+		 * removed.
+		 */
+		private final AtomicLong ivAccountedMemoryUsage = new AtomicLong( );
+
+		private volatile UnmodifiableLicense ivLicense;
+		private volatile long ivLastAccess;
+
+		Entry( final String aTenant ) {
+			ivTenant = aTenant;
+			ivTask = new FutureTask<>( ( ) -> load( this ) );
+		}
+
+		boolean isLoaded( ) {
+			return ivLicense != null;
+		}
+
+		boolean isEvictable( ) {
+			// Entries which have already been removed can still be returned by the cursor
+			return ivLicense != null && ivAccountedMemoryUsage.get( ) >= 0;
+		}
+
+		void touch( ) {
+			final long now = System.nanoTime( );
+			if ( now - ivLastAccess > ACCESS_TIME_GRANULARITY ) {
+				ivLastAccess = now;
+			}
+		}
+
+		void account( final long aMemoryUsage ) {
+			if ( ivAccountedMemoryUsage.compareAndSet( 0, aMemoryUsage ) ) {
+				ivEstimatedMemoryUsage.addAndGet( aMemoryUsage );
+			}
+		}
+
+		void release( ) {
+			final long memoryUsage = ivAccountedMemoryUsage.getAndSet( -1 );
+			if ( memoryUsage > 0 ) {
+				ivEstimatedMemoryUsage.addAndGet( -memoryUsage );
+			}
+		}
+
+	}
+
+}
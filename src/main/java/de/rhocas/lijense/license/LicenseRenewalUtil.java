@@ -0,0 +1,196 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import static de.rhocas.lijense.Constants.LICENSE_ENCODING_CHARSET;
+import static de.rhocas.lijense.Constants.LICENSE_KEY_BASE_LICENSE_DIGEST;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.provider.ProviderUtil;
+
+/**
+ * This is a util class to renew licenses within liJense without shipping the full license again. A renewal file is a small license file containing only the
+ * changed entries (for instance the expiration date) and the digest of the base license it applies to. It is signed like any other license file, but its
+ * content is stored in an own archive entry. This means that a renewal file is rejected by {@link LicenseUtil} and can never be used as standalone license.
+ * When the renewal is applied to an already verified base license, only the small renewal file has to be verified and parsed.<br>
+ * <br>
+ * The digest of a license is calculated over its entries in a canonical form. This means that a renewed license can be renewed again. Renewals can only add
+ * or change entries. They cannot remove entries from the base license.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LicenseRenewalUtil {
+
+	private LicenseRenewalUtil( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+	/**
+	 * This method creates a new renewal file for the given base license. The internal properties file is filled with the given changes and the digest of the
+	 * base license and is signed by using the given private key.
+	 *
+	 * @param aBaseLicense
+	 *            The license to be renewed. Must not be {@code null}.
+	 * @param aChanges
+	 *            The changed entries. Must not be {@code null}.
+	 * @param aPrivateKey
+	 *            The private key for the signature. Must not be {@code null}.
+	 *
+	 * @return The new renewal file as Base64 encoded string.
+	 *
+	 * @throws LicenseException
+	 *             If something went wrong while creating the renewal. This indicated usually that the algorithms are not provided by the underlying Java
+	 *             runtime environment or that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given license, the given changes, or the given key is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static String createRenewalFile( final UnmodifiableLicense aBaseLicense, final ModifiableLicense aChanges, final PrivateKey aPrivateKey ) throws LicenseException {
+		Objects.requireNonNull( aBaseLicense, "The license must not be null." );
+		Objects.requireNonNull( aChanges, "The changes must not be null." );
+		Objects.requireNonNull( aPrivateKey, "The key must not be null." );
+
+		final ModifiableLicense renewal = new ModifiableLicense( );
+		renewal.putAll( aChanges );
+		renewal.setValue( LICENSE_KEY_BASE_LICENSE_DIGEST, IOUtil.binaryToString( calculateLicenseDigest( aBaseLicense ) ) );
+
+		return LicenseUtil.createRenewalFile( renewal, aPrivateKey );
+	}
+
+	/**
+	 * This method loads the renewal from the given Base64-encoded string, verifies the digital signature with the public key, and applies the renewal to the
+	 * given base license. The base license is not verified again. Optionally, one can also verify the public key with the fingerprint. It is strongly
+	 * recommended to use this fingerprint in production environment.
+	 *
+	 * @param aBaseLicense
+	 *            The already verified license to be renewed. Must not be {@code null}.
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signature. Must not be {@code null}.
+	 * @param aRenewal
+	 *            The renewal file as Base64 encoded string. Must not be {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 *
+	 * @return The renewed license.
+	 *
+	 * @throws LicenseException
+	 *             If the renewal could not be loaded or applied. This could indicate that the algorithms are not provided by the underlying Java runtime
+	 *             environment, that the actual fingerprint of the public key does not match the expected fingerprint, that the digital signature of the
+	 *             renewal is not valid, that the renewal does not belong to the given base license, or that the renewed license is bound to another host.
+	 * @throws NullPointerException
+	 * 	           If the given license, the given key, the given renewal, or the given fingerprint is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static UnmodifiableLicense applyRenewal( final UnmodifiableLicense aBaseLicense, final PublicKey aPublicKey, final String aRenewal, final Optional<byte[]> aFingerprint ) throws LicenseException {
+		Objects.requireNonNull( aBaseLicense, "The license must not be null." );
+
+		final UnmodifiableLicense renewal = LicenseUtil.loadRenewalFileFromString( aPublicKey, aRenewal, aFingerprint );
+
+		// Make sure that the renewal belongs to the given base license
+		final String baseLicenseDigest = renewal.getValue( LICENSE_KEY_BASE_LICENSE_DIGEST );
+		if ( baseLicenseDigest == null ) {
+			throw new LicenseException( "The renewal does not contain the digest of the base license" );
+		}
+
+		final byte[] expectedDigest;
+		try {
+			expectedDigest = IOUtil.stringToBinary( baseLicenseDigest );
+		} catch ( final IllegalArgumentException ex ) {
+			throw new LicenseException( "The renewal does not contain a valid digest of the base license", ex );
+		}
+
+		if ( !MessageDigest.isEqual( expectedDigest, calculateLicenseDigest( aBaseLicense ) ) ) {
+			throw new LicenseException( "The renewal does not belong to the given base license" );
+		}
+
+		// Now we can apply the changes
+		final Map<String, String> map = new HashMap<>( aBaseLicense.getEntries( ) );
+		map.putAll( renewal.getEntries( ) );
+		map.remove( LICENSE_KEY_BASE_LICENSE_DIGEST );
+
+		// The renewal can change the host binding, which means that we have to check the renewed license
+		final UnmodifiableLicense renewedLicense = new UnmodifiableLicense( map );
+		LicenseUtil.checkBoundHost( renewedLicense );
+		return renewedLicense;
+	}
+
+	/**
+	 * This method calculates the digest of the given license. The digest is calculated over the entries sorted by key and does therefore not depend on the
+	 * encoding of the license file.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 *
+	 * @return The digest of the license.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given license is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static byte[] calculateLicenseDigest( final UnmodifiableLicense aLicense ) {
+		Objects.requireNonNull( aLicense, "The license must not be null." );
+
+		final MessageDigest messageDigest;
+		try {
+			messageDigest = ProviderUtil.createMessageDigest( );
+		} catch ( final NoSuchAlgorithmException ex ) {
+			// SHA-512 is available in every Java runtime environment
+			throw new IllegalStateException( ex );
+		}
+
+		// Each key and value is prefixed with its length, so that different entries can never result in the same input for the digest
+		for ( final Map.Entry<String, String> entry : new TreeMap<>( aLicense.getEntries( ) ).entrySet( ) ) {
+			updateDigest( messageDigest, entry.getKey( ) );
+			updateDigest( messageDigest, entry.getValue( ) );
+		}
+
+		return messageDigest.digest( );
+	}
+
+	private static void updateDigest( final MessageDigest aMessageDigest, final String aString ) {
+		final byte[] bytes = aString.getBytes( LICENSE_ENCODING_CHARSET );
+		aMessageDigest.update( ByteBuffer.allocate( Integer.BYTES ).putInt( bytes.length ).array( ) );
+		aMessageDigest.update( bytes );
+	}
+
+}
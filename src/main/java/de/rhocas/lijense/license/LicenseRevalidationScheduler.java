@@ -0,0 +1,351 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import static de.rhocas.lijense.Constants.LICENSE_KEY_EXPIRATION_DATE;
+
+import java.io.File;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This scheduler revalidates registered license files periodically on a single shared daemon thread with a low priority. Each registered file is checked by
+ * a {@link LicenseRevalidator}, which means that unchanged files do not cause any RSA operations. The first periodic revalidation of each file is shifted by
+ * a random phase and each further revalidation by a random jitter, so that the work of many registered files is spread over the period instead of causing
+ * CPU spikes. The expiration of a license is not polled. Instead a single task is scheduled for the day after the expiration date. A file which can no longer
+ * be verified is checked once more after a short delay before the failure is reported, because the file might just be written.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LicenseRevalidationScheduler implements AutoCloseable {
+
+	private static final long CONFIRMATION_DELAY_IN_NANOS = TimeUnit.MILLISECONDS.toNanos( 500 );
+
+	private final ScheduledThreadPoolExecutor ivExecutor;
+	private final long ivPeriodInNanos;
+	private final long ivJitterInNanos;
+	private final Set<Registration> ivRegistrations = ConcurrentHashMap.newKeySet( );
+
+	/**
+	 * Creates a new scheduler and starts its thread.
+	 *
+	 * @param aPeriod
+	 *            The period between two revalidations of the same license file. Must not be {@code null} and must be positive.
+	 * @param aJitter
+	 *            The maximal random deviation from the period. Must not be {@code null}, must not be negative, and must be smaller than the period.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given period or the given jitter is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the given period or the given jitter is out of range.
+	 *
+	 * @since 3.0.0
+	 */
+	public LicenseRevalidationScheduler( final Duration aPeriod, final Duration aJitter ) {
+		Objects.requireNonNull( aPeriod, "The period must not be null." );
+		Objects.requireNonNull( aJitter, "The jitter must not be null." );
+
+		if ( aPeriod.isNegative( ) || aPeriod.isZero( ) ) {
+			throw new IllegalArgumentException( "The period must be positive." );
+		}
+		if ( aJitter.isNegative( ) || aJitter.compareTo( aPeriod ) >= 0 ) {
+			throw new IllegalArgumentException( "The jitter must not be negative and must be smaller than the period." );
+		}
+
+		ivPeriodInNanos = aPeriod.toNanos( );
+		ivJitterInNanos = aJitter.toNanos( );
+
+		ivExecutor = new ScheduledThreadPoolExecutor( 1, runnable -> {
+			final Thread thread = new Thread( runnable, "liJense-revalidation" );
+			thread.setDaemon( true );
+			thread.setPriority( Thread.MIN_PRIORITY );
+			return thread;
+		} );
+		ivExecutor.setRemoveOnCancelPolicy( true );
+	}
+
+	/**
+	 * Registers a new license file. The file is loaded and verified right away on the thread of the scheduler and revalidated periodically afterwards.
+	 * Optionally, one can also verify the public key with the fingerprint. It is strongly recommended to use this fingerprint in production environment.
+	 *
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signature. Must not be {@code null}.
+	 * @param aFile
+	 *            The license file. Must not be {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 * @param aListener
+	 *            The listener which is notified about changes of the license. Must not be {@code null}.
+	 *
+	 * @return The new registration.
+	 *
+	 * @throws LicenseException
+	 *             If the license file could not be registered. This could indicate that the algorithms are not provided by the underlying Java runtime
+	 *             environment or that the actual fingerprint of the public key does not match the expected fingerprint.
+	 * @throws NullPointerException
+	 * 	           If the given key, the given file, the given fingerprint, or the given listener is {@code null}.
+	 * @throws IllegalStateException
+	 *             If the scheduler has already been closed.
+	 *
+	 * @since 3.0.0
+	 */
+	public Registration register( final PublicKey aPublicKey, final File aFile, final Optional<byte[]> aFingerprint, final LicenseListener aListener ) throws LicenseException {
+		Objects.requireNonNull( aListener, "The listener must not be null." );
+
+		final LicenseRevalidator revalidator = new LicenseRevalidator( aPublicKey, aFile, aFingerprint );
+		final Registration registration = new Registration( revalidator, aListener );
+
+		try {
+			ivRegistrations.add( registration );
+			ivExecutor.execute( ( ) -> registration.revalidate( true ) );
+		} catch ( final RejectedExecutionException ex ) {
+			ivRegistrations.remove( registration );
+			revalidator.close( );
+			throw new IllegalStateException( "The scheduler has already been closed.", ex );
+		}
+
+		return registration;
+	}
+
+	/**
+	 * Cancels all registrations and stops the thread of the scheduler.
+	 *
+	 * @since 3.0.0
+	 */
+	@Override
+	public void close( ) {
+		for ( final Registration registration : ivRegistrations ) {
+			registration.cancel( );
+		}
+		ivExecutor.shutdown( );
+	}
+
+	private long nextDelayInNanos( final boolean aFirstRun ) {
+		final ThreadLocalRandom random = ThreadLocalRandom.current( );
+
+		if ( aFirstRun ) {
+			// The first periodic run gets a random phase to spread the work of all registrations over the period
+			return random.nextLong( ivPeriodInNanos ) + 1;
+		} else if ( ivJitterInNanos > 0 ) {
+			return ivPeriodInNanos + random.nextLong( -ivJitterInNanos, ivJitterInNanos + 1 );
+		} else {
+			return ivPeriodInNanos;
+		}
+	}
+
+	/**
+	 * This is a single license file registered at the scheduler.
+	 *
+	 * @author Nils Christian Ehmke
+	 *
+	 * @since 3.0.0
+	 */
+	public final class Registration {
+
+		private final LicenseRevalidator ivRevalidator;
+		private final LicenseListener ivListener;
+		private volatile UnmodifiableLicense ivLicense;
+		private volatile boolean ivCancelled;
+		private volatile ScheduledFuture<?> ivRevalidationFuture;
+		private volatile ScheduledFuture<?> ivExpirationFuture;
+		private boolean ivInvalidReported;
+		private boolean ivFailurePending;
+
+		Registration( final LicenseRevalidator aRevalidator, final LicenseListener aListener ) {
+			ivRevalidator = aRevalidator;
+			ivListener = aListener;
+		}
+
+		/**
+		 * Returns the license file of this registration.
+		 *
+		 * @return The license file.
+		 *
+		 * @since 3.0.0
+		 */
+		public File getFile( ) {
+			return ivRevalidator.getFile( );
+		}
+
+		/**
+		 * Returns the license which has been verified during the last revalidation.
+		 *
+		 * @return The last verified license or an empty optional, if the last revalidation failed or if the license has not been loaded yet.
+		 *
+		 * @since 3.0.0
+		 */
+		public Optional<UnmodifiableLicense> getLicense( ) {
+			return Optional.ofNullable( ivLicense );
+		}
+
+		/**
+		 * Cancels this registration. The license file is no longer revalidated and the listener is no longer notified.
+		 *
+		 * @since 3.0.0
+		 */
+		public void cancel( ) {
+			ivCancelled = true;
+			ivRegistrations.remove( this );
+
+			cancelFuture( ivRevalidationFuture );
+			cancelFuture( ivExpirationFuture );
+
+			// The revalidator is not thread-safe and has therefore to be closed by the thread of the scheduler
+			try {
+				ivExecutor.execute( ivRevalidator::close );
+			} catch ( final RejectedExecutionException ex ) {
+				// The scheduler is already terminated and the revalidator can no longer be in use
+				ivRevalidator.close( );
+			}
+		}
+
+		private void revalidate( final boolean aFirstRun ) {
+			if ( ivCancelled ) {
+				return;
+			}
+
+			try {
+				final UnmodifiableLicense license = ivRevalidator.revalidate( );
+				ivInvalidReported = false;
+				ivFailurePending = false;
+
+				if ( license != ivLicense ) {
+					ivLicense = license;
+
+					// The bookkeeping is finished before the listener is notified
+					final LicenseException expirationFailure = scheduleExpiration( license );
+					notifyListener( ( ) -> ivListener.licenseLoaded( getFile( ), license ) );
+					if ( expirationFailure != null ) {
+						notifyListener( ( ) -> ivListener.licenseInvalid( getFile( ), expirationFailure ) );
+					}
+				}
+			} catch ( final LicenseException ex ) {
+				if ( ivInvalidReported ) {
+					// The failure has already been reported
+				} else if ( !ivFailurePending ) {
+					// The file might be written at the moment. The failure is reported only if it persists.
+					ivFailurePending = true;
+				} else {
+					ivFailurePending = false;
+					ivInvalidReported = true;
+					ivLicense = null;
+					cancelFuture( ivExpirationFuture );
+					notifyListener( ( ) -> ivListener.licenseInvalid( getFile( ), ex ) );
+				}
+			} finally {
+				scheduleRevalidation( aFirstRun );
+			}
+		}
+
+		private void scheduleRevalidation( final boolean aFirstRun ) {
+			if ( !ivCancelled ) {
+				// A pending failure is confirmed before the first periodic run gets its random phase
+				final boolean firstRun = ivFailurePending && aFirstRun;
+				final long delay = ivFailurePending ? CONFIRMATION_DELAY_IN_NANOS : nextDelayInNanos( aFirstRun );
+
+				try {
+					ivRevalidationFuture = ivExecutor.schedule( ( ) -> revalidate( firstRun ), delay, TimeUnit.NANOSECONDS );
+				} catch ( final RejectedExecutionException ex ) {
+					// The scheduler has been closed in the meantime
+				}
+			}
+		}
+
+		private LicenseException scheduleExpiration( final UnmodifiableLicense aLicense ) {
+			cancelFuture( ivExpirationFuture );
+
+			final LocalDate expirationDate;
+			try {
+				expirationDate = aLicense.getValueAsLocalDate( LICENSE_KEY_EXPIRATION_DATE, null );
+			} catch ( final DateTimeParseException ex ) {
+				return new LicenseException( "The expiration date could not be parsed", ex );
+			}
+
+			if ( expirationDate != null ) {
+				// The license is expired as soon as the day after the expiration date starts
+				final long expirationInstant = expirationDate.plusDays( 1 ).atStartOfDay( ZoneId.systemDefault( ) ).toInstant( ).toEpochMilli( );
+				scheduleExpirationCheck( aLicense, expirationInstant );
+			}
+			return null;
+		}
+
+		private void scheduleExpirationCheck( final UnmodifiableLicense aLicense, final long aExpirationInstant ) {
+			final long delay = Math.max( 0, aExpirationInstant - System.currentTimeMillis( ) );
+
+			try {
+				ivExpirationFuture = ivExecutor.schedule( ( ) -> checkExpiration( aLicense, aExpirationInstant ), delay, TimeUnit.MILLISECONDS );
+			} catch ( final RejectedExecutionException ex ) {
+				// The scheduler has been closed in the meantime
+			}
+		}
+
+		private void checkExpiration( final UnmodifiableLicense aLicense, final long aExpirationInstant ) {
+			if ( ivCancelled || aLicense != ivLicense ) {
+				return;
+			}
+
+			if ( System.currentTimeMillis( ) < aExpirationInstant ) {
+				// The wall clock has been adjusted in the meantime
+				scheduleExpirationCheck( aLicense, aExpirationInstant );
+			} else {
+				notifyListener( ( ) -> ivListener.licenseExpired( getFile( ), aLicense ) );
+			}
+		}
+
+		private void notifyListener( final Runnable aNotification ) {
+			try {
+				aNotification.run( );
+			} catch ( final RuntimeException ex ) {
+				// A failing listener must neither stop the revalidation nor the notification of further events. The failure is reported nevertheless.
+				final Thread thread = Thread.currentThread( );
+				thread.getUncaughtExceptionHandler( ).uncaughtException( thread, ex );
+			}
+		}
+
+		private void cancelFuture( final ScheduledFuture<?> aFuture ) {
+			if ( aFuture != null ) {
+				aFuture.cancel( false );
+			}
+		}
+
+	}
+
+}
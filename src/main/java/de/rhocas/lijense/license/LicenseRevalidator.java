@@ -0,0 +1,366 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Base64.Decoder;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import de.rhocas.lijense.io.SizeLimitExceededException;
+import de.rhocas.lijense.key.KeyException;
+import de.rhocas.lijense.key.KeyUtil;
+import de.rhocas.lijense.provider.ProviderUtil;
+
+/**
+ * This class can be used to revalidate a license file periodically (for instance to detect that the file has been tampered with on disk). In contrast to
+ * {@link LicenseUtil#loadLicenseFile(PublicKey, File, Optional)}, all buffers as well as the {@link Inflater}, the {@link Signature}, and the
+ * {@link MessageDigest} are allocated only once and reused for every run. The digest of the raw file content is compared first. As long as the content of
+ * the file does not change, the already verified license is returned without any RSA operation. This means that the steady-state revalidation produces
+ * close to no garbage. The file is subject to the same {@link LicenseLimits} as the files loaded by {@link LicenseUtil}.<br>
+ * <br>
+ * Instances of this class are not thread-safe. They should be closed after usage in order to release the native resources of the inflater.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LicenseRevalidator implements AutoCloseable {
+
+	private static final int INITIAL_BUFFER_SIZE = 4096;
+
+	private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+	private static final int LOCAL_FILE_HEADER_LENGTH = 30;
+	private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+	private static final int DATA_DESCRIPTOR_LENGTH = 12;
+	private static final int FLAG_DATA_DESCRIPTOR = 0x08;
+	private static final int METHOD_STORED = 0;
+	private static final int METHOD_DEFLATED = 8;
+
+	private static final byte[] LICENSE_ENTRY_NAME = LicenseUtil.LICENSE_ENTRY.getBytes( StandardCharsets.US_ASCII );
+	private static final byte[] SIGNATURE_ENTRY_NAME = LicenseUtil.SIGNATURE_ENTRY.getBytes( StandardCharsets.US_ASCII );
+
+	private static final Decoder DECODER = Base64.getDecoder( );
+
+	private final File ivFile;
+	private final Signature ivSignature;
+	private final int ivSignatureLength;
+	private final MessageDigest ivMessageDigest;
+	private final Inflater ivInflater = new Inflater( true );
+	private final byte[] ivLastDigest;
+	private final byte[] ivCurrentDigest;
+	private final Entry ivLicenseEntry = new Entry( );
+	private final Entry ivSignatureEntry = new Entry( );
+	private final Entry ivAdditionalEntry = new Entry( );
+	private byte[] ivEncodedBuffer = new byte[0];
+	private byte[] ivDecodedBuffer = new byte[INITIAL_BUFFER_SIZE];
+	private UnmodifiableLicense ivLicense;
+
+	/**
+	 * Creates a new instance of this class. The license file is not loaded before the first call of {@link #revalidate()}. Optionally, one can also verify
+	 * the public key with the fingerprint. This is done only once. It is strongly recommended to use this fingerprint in production environment.
+	 *
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signature. Must not be {@code null}.
+	 * @param aFile
+	 *            The license file. Must not be {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 *
+	 * @throws LicenseException
+	 *             If the revalidator could not be created. This could indicate that the algorithms are not provided by the underlying Java runtime
+	 *             environment or that the actual fingerprint of the public key does not match the expected fingerprint.
+	 * @throws NullPointerException
+	 * 	           If the given key, the given file, or the given fingerprint is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public LicenseRevalidator( final PublicKey aPublicKey, final File aFile, final Optional<byte[]> aFingerprint ) throws LicenseException {
+		Objects.requireNonNull( aPublicKey, "The key must not be null." );
+		Objects.requireNonNull( aFile, "The file must not be null." );
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+
+		try {
+			// Check the fingerprint of the public key - if necessary
+			if ( aFingerprint.isPresent( ) ) {
+				if ( !KeyUtil.isFingerprintValid( aPublicKey, aFingerprint.get( ) ) ) {
+					throw new LicenseException( "The actual fingerprint of the public key does not match the expected fingerprint." );
+				}
+			}
+
+			ivFile = aFile;
+			ivSignature = ProviderUtil.createSignature( );
+			ivSignature.initVerify( aPublicKey );
+			ivSignatureLength = LicenseUtil.getSignatureLength( aPublicKey );
+			ivMessageDigest = ProviderUtil.createMessageDigest( );
+			ivLastDigest = new byte[ivMessageDigest.getDigestLength( )];
+			ivCurrentDigest = new byte[ivMessageDigest.getDigestLength( )];
+		} catch ( final KeyException | NoSuchAlgorithmException | InvalidKeyException ex ) {
+			throw new LicenseException( "Could not create the revalidator", ex );
+		}
+	}
+
+	/**
+	 * This method reads the license file and verifies it. If the content of the file did not change since the last successful verification, the previously
+	 * loaded license is returned without checking the digital signature again.
+	 *
+	 * @return The license content.
+	 *
+	 * @throws LicenseException
+	 *             If the license could not be loaded. This could indicate that an IO error occurred, that the license file is malformed, that the digital
+	 *             signature of the license file is not valid, or that the license is bound to another host.
+	 *
+	 * @since 3.0.0
+	 */
+	public UnmodifiableLicense revalidate( ) throws LicenseException {
+		try {
+			final LicenseLimits limits = LicenseUtil.getLimits( );
+			final int encodedLength = readFile( limits );
+			ivMessageDigest.update( ivEncodedBuffer, 0, encodedLength );
+			ivMessageDigest.digest( ivCurrentDigest, 0, ivCurrentDigest.length );
+
+			if ( ivLicense == null || !MessageDigest.isEqual( ivLastDigest, ivCurrentDigest ) ) {
+				// Make sure that a failed verification is not hidden by the next run
+				ivLicense = null;
+				ivLicense = verify( limits );
+				System.arraycopy( ivCurrentDigest, 0, ivLastDigest, 0, ivLastDigest.length );
+			}
+
+			return ivLicense;
+		} catch ( final SizeLimitExceededException ex ) {
+			ivLicense = null;
+			throw new LicenseException( "The license exceeds the configured limits", ex );
+		} catch ( final IOException | IllegalArgumentException | DigestException | DataFormatException | SignatureException ex ) {
+			ivLicense = null;
+			throw new LicenseException( "Could not load the license", ex );
+		}
+	}
+
+	/**
+	 * Returns the license which has been verified during the last call of {@link #revalidate()}.
+	 *
+	 * @return The last verified license or an empty optional, if the last revalidation failed or if the license has not been loaded yet.
+	 *
+	 * @since 3.0.0
+	 */
+	public Optional<UnmodifiableLicense> getLicense( ) {
+		return Optional.ofNullable( ivLicense );
+	}
+
+	/**
+	 * Returns the license file which is revalidated by this instance.
+	 *
+	 * @return The license file.
+	 *
+	 * @since 3.0.0
+	 */
+	public File getFile( ) {
+		return ivFile;
+	}
+
+	/**
+	 * Releases the native resources of this revalidator. The revalidator must no longer be used afterwards.
+	 *
+	 * @since 3.0.0
+	 */
+	@Override
+	public void close( ) {
+		ivInflater.end( );
+	}
+
+	private int readFile( final LicenseLimits aLimits ) throws IOException {
+		try ( final RandomAccessFile randomAccessFile = new RandomAccessFile( ivFile, "r" ) ) {
+			final long length = randomAccessFile.length( );
+			if ( length > aLimits.getMaximalEncodedSize( ) ) {
+				throw new SizeLimitExceededException( "The license exceeds the maximal size of " + aLimits.getMaximalEncodedSize( ) + " bytes" );
+			}
+
+			// The Base64 decoder works only on complete arrays. The buffer is therefore only exchanged if the length of the file changes.
+			if ( ivEncodedBuffer.length != length ) {
+				ivEncodedBuffer = new byte[( int ) length];
+			}
+
+			randomAccessFile.readFully( ivEncodedBuffer );
+			return ivEncodedBuffer.length;
+		}
+	}
+
+	private UnmodifiableLicense verify( final LicenseLimits aLimits ) throws LicenseException, IOException, DataFormatException, SignatureException {
+		// Base64 decoding
+		LicenseUtil.checkBase64Structure( ivEncodedBuffer, aLimits );
+		final int maximalDecodedLength = ivEncodedBuffer.length / 4 * 3;
+		if ( ivDecodedBuffer.length < maximalDecodedLength ) {
+			ivDecodedBuffer = new byte[maximalDecodedLength];
+		}
+		final int decodedLength = DECODER.decode( ivEncodedBuffer, ivDecodedBuffer );
+
+		// Now we should load both files in the archive
+		final int signaturePosition = readEntry( 0, decodedLength, ivLicenseEntry, LICENSE_ENTRY_NAME, aLimits );
+		int position = readEntry( signaturePosition, decodedLength, ivSignatureEntry, SIGNATURE_ENTRY_NAME, aLimits );
+
+		// Further entries are not used, but they are still limited, as they could be used to consume memory or time
+		int entries = 2;
+		while ( decodedLength - position >= 4 && readInt( position ) == LOCAL_FILE_HEADER_SIGNATURE ) {
+			entries++;
+			if ( entries > aLimits.getMaximalEntries( ) ) {
+				throw new SizeLimitExceededException( "The license archive exceeds the maximal number of " + aLimits.getMaximalEntries( ) + " entries" );
+			}
+			position = readEntry( position, decodedLength, ivAdditionalEntry, null, aLimits );
+		}
+
+		// Now we can verify the signature. A RSA signature has always the length of the modulus, which allows us to reject broken signatures early.
+		if ( ivSignatureLength > 0 && ivSignatureEntry.ivLength != ivSignatureLength ) {
+			throw new LicenseException( "The license is not valid" );
+		}
+
+		ivSignature.update( ivLicenseEntry.ivBuffer, 0, ivLicenseEntry.ivLength );
+		final boolean licenseValid = ivSignature.verify( ivSignatureEntry.ivBuffer, 0, ivSignatureEntry.ivLength );
+
+		if ( !licenseValid ) {
+			throw new LicenseException( "The license is not valid" );
+		}
+
+		// If everything is valid, we can load the properties file
+		final UnmodifiableLicense license = LicenseUtil.createUnmodifiableLicense( ivLicenseEntry.ivBuffer, 0, ivLicenseEntry.ivLength );
+		LicenseUtil.checkBoundHost( license );
+		return license;
+	}
+
+	private int readEntry( final int aPosition, final int aLimit, final Entry aEntry, final byte[] aExpectedName, final LicenseLimits aLimits ) throws LicenseException, SizeLimitExceededException, DataFormatException {
+		if ( aLimit - aPosition < LOCAL_FILE_HEADER_LENGTH || readInt( aPosition ) != LOCAL_FILE_HEADER_SIGNATURE ) {
+			throw new LicenseException( "The license archive is malformed" );
+		}
+
+		final int flags = readShort( aPosition + 6 );
+		final int method = readShort( aPosition + 8 );
+		final int compressedSize = readInt( aPosition + 18 );
+		final int nameLength = readShort( aPosition + 26 );
+		final int extraLength = readShort( aPosition + 28 );
+		final int dataPosition = aPosition + LOCAL_FILE_HEADER_LENGTH + nameLength + extraLength;
+		if ( dataPosition > aLimit || aExpectedName != null && !hasName( aPosition + LOCAL_FILE_HEADER_LENGTH, nameLength, aExpectedName ) ) {
+			throw new LicenseException( "The license archive is malformed" );
+		}
+
+		final int maximalInflatedSize = aLimits.getMaximalInflatedSize( );
+
+		int endPosition;
+		if ( method == METHOD_DEFLATED ) {
+			ivInflater.reset( );
+			ivInflater.setInput( ivDecodedBuffer, dataPosition, Math.max( 0, aLimit - dataPosition ) );
+
+			aEntry.ivLength = 0;
+			while ( !ivInflater.finished( ) ) {
+				if ( aEntry.ivLength == aEntry.ivBuffer.length ) {
+					// A single byte more than allowed is enough to detect that the entry exceeds the limit
+					aEntry.ivBuffer = Arrays.copyOf( aEntry.ivBuffer, ( int ) Math.min( aEntry.ivBuffer.length * 2L, maximalInflatedSize + 1L ) );
+				}
+
+				final int inflated = ivInflater.inflate( aEntry.ivBuffer, aEntry.ivLength, aEntry.ivBuffer.length - aEntry.ivLength );
+				if ( inflated == 0 && ( ivInflater.needsInput( ) || ivInflater.needsDictionary( ) ) ) {
+					throw new LicenseException( "The license archive is malformed" );
+				}
+				aEntry.ivLength += inflated;
+
+				if ( aEntry.ivLength > maximalInflatedSize ) {
+					throw new SizeLimitExceededException( "The archive entry exceeds the maximal size of " + maximalInflatedSize + " bytes" );
+				}
+			}
+
+			endPosition = aLimit - ivInflater.getRemaining( );
+		} else if ( method == METHOD_STORED && ( flags & FLAG_DATA_DESCRIPTOR ) == 0 ) {
+			if ( compressedSize < 0 || dataPosition > aLimit - compressedSize ) {
+				throw new LicenseException( "The license archive is malformed" );
+			}
+			if ( compressedSize > maximalInflatedSize ) {
+				throw new SizeLimitExceededException( "The archive entry exceeds the maximal size of " + maximalInflatedSize + " bytes" );
+			}
+
+			if ( aEntry.ivBuffer.length < compressedSize ) {
+				aEntry.ivBuffer = new byte[compressedSize];
+			}
+			System.arraycopy( ivDecodedBuffer, dataPosition, aEntry.ivBuffer, 0, compressedSize );
+			aEntry.ivLength = compressedSize;
+
+			endPosition = dataPosition + compressedSize;
+		} else {
+			throw new LicenseException( "The license archive is malformed" );
+		}
+
+		// Skip the optional data descriptor
+		if ( ( flags & FLAG_DATA_DESCRIPTOR ) != 0 ) {
+			if ( aLimit - endPosition >= 4 && readInt( endPosition ) == DATA_DESCRIPTOR_SIGNATURE ) {
+				endPosition += 4;
+			}
+			endPosition += DATA_DESCRIPTOR_LENGTH;
+		}
+
+		return endPosition;
+	}
+
+	private boolean hasName( final int aPosition, final int aLength, final byte[] aName ) {
+		if ( aLength != aName.length ) {
+			return false;
+		}
+
+		for ( int i = 0; i < aLength; i++ ) {
+			if ( ivDecodedBuffer[aPosition + i] != aName[i] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int readShort( final int aPosition ) {
+		return ( ivDecodedBuffer[aPosition] & 0xFF ) | ( ivDecodedBuffer[aPosition + 1] & 0xFF ) << 8;
+	}
+
+	private int readInt( final int aPosition ) {
+		return readShort( aPosition ) | readShort( aPosition + 2 ) << 16;
+	}
+
+	private static final class Entry {
+
+		private byte[] ivBuffer = new byte[INITIAL_BUFFER_SIZE];
+		private int ivLength;
+
+	}
+
+}
@@ -29,38 +29,61 @@ package de.rhocas.lijense.license;
 import static de.rhocas.lijense.Constants.LICENSE_ENCODING;
 import static de.rhocas.lijense.Constants.LICENSE_ENCODING_CHARSET;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.Signature;
 import java.security.SignatureException;
+import java.security.interfaces.RSAKey;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
-import de.rhocas.lijense.Constants;
+import de.rhocas.lijense.host.HostException;
+import de.rhocas.lijense.host.MachineFingerprint;
+import de.rhocas.lijense.io.ByteBufferInputStream;
 import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.io.NonClosingOutputStream;
+import de.rhocas.lijense.io.SizeLimitExceededException;
 import de.rhocas.lijense.key.KeyException;
 import de.rhocas.lijense.key.KeyUtil;
+import de.rhocas.lijense.provider.ProviderUtil;
+import de.rhocas.lijense.signer.LicenseSigner;
+import de.rhocas.lijense.signer.SignerException;
 
 /**
- * This is a util class to save and load license files within liJense.
+ * This is a util class to save and load license files within liJense. While loading, the {@link #getLimits() limits} and the structure of the license
+ * archive are checked before the signature is verified or the content is parsed.
  *
  * @author Nils Christian Ehmke
  *
@@ -68,6 +91,16 @@ import de.rhocas.lijense.key.KeyUtil;
  */
 public final class LicenseUtil {
 
+	static final String LICENSE_ENTRY = "license";
+	static final String SIGNATURE_ENTRY = "signature";
+
+	/**
+	 * Renewals are stored in an own entry, so that a renewal file can never be loaded as standalone license.
+	 */
+	static final String RENEWAL_ENTRY = "renewal";
+
+	private static final AtomicReference<LicenseLimits> LIMITS = new AtomicReference<>( LicenseLimits.DEFAULT );
+
 	private LicenseUtil( ) {
 		throw new AssertionError( "This util class must not be initialized." );
 	}
@@ -95,42 +128,163 @@ public final class LicenseUtil {
 		Objects.requireNonNull( aLicense, "The license must not be null." );
 		Objects.requireNonNull( aPrivateKey, "The key must not be null." );
 
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream( );
+		writeLicenseFile( aLicense, aPrivateKey, byteArrayOutputStream );
+		return new String( byteArrayOutputStream.toByteArray( ), LICENSE_ENCODING_CHARSET );
+	}
+
+	/**
+	 * This method creates a new license file without Base64 encoding. The internal properties file is filled with the given {@link ModifiableLicense} and is
+	 * signed by using the given private key. The result is about a quarter smaller than the Base64 encoded license file and should be used when the license is
+	 * transported over binary channels, such as databases or network protocols.
+	 *
+	 * @param aLicense
+	 *            The license to be saved. Must not be {@code null}.
+	 * @param aPrivateKey
+	 *            The private key for the signature. Must not be {@code null}.
+	 *
+	 * @return The new license file as raw binary data.
+	 *
+	 * @throws LicenseException
+	 *             If something went wrong while creating the license. This indicated usually that the algorithms are not provided by the underlying Java
+	 *             runtime environment or that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given license or the given key is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static byte[] createBinaryLicenseFile( final ModifiableLicense aLicense, final PrivateKey aPrivateKey ) throws LicenseException {
+		Objects.requireNonNull( aLicense, "The license must not be null." );
+		Objects.requireNonNull( aPrivateKey, "The key must not be null." );
+
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream( );
+		writeBinaryLicenseFile( aLicense, aPrivateKey, byteArrayOutputStream );
+		return byteArrayOutputStream.toByteArray( );
+	}
+
+	/**
+	 * This method creates a new license file and writes it Base64 encoded directly to the given stream. The internal properties file is filled with the given
+	 * {@link ModifiableLicense} and is signed by using the given private key. The license is signed, archived, and encoded while it is written, without
+	 * keeping copies of the whole license in memory. The stream is not closed.
+	 *
+	 * @param aLicense
+	 *            The license to be saved. Must not be {@code null}.
+	 * @param aPrivateKey
+	 *            The private key for the signature. Must not be {@code null}.
+	 * @param aStream
+	 *            The target stream. Must not be {@code null}.
+	 *
+	 * @throws LicenseException
+	 *             If something went wrong while creating the license. This indicated usually that the algorithms are not provided by the underlying Java
+	 *             runtime environment or that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given license, the given key, or the given stream is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void writeLicenseFile( final ModifiableLicense aLicense, final PrivateKey aPrivateKey, final OutputStream aStream ) throws LicenseException {
+		Objects.requireNonNull( aLicense, "The license must not be null." );
+		Objects.requireNonNull( aPrivateKey, "The key must not be null." );
+		Objects.requireNonNull( aStream, "The stream must not be null." );
+
 		try {
-			// Store the license as binary content
-			final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream( );
-			aLicense.storeToXML( byteArrayOutputStream, "liJense", Constants.LICENSE_ENCODING );
-			final byte[] binaryLicenseContent = byteArrayOutputStream.toByteArray( );
-
-			// Now calculate the signature
-			final Signature signature = Signature.getInstance( Constants.SIGNATURE_ALGORITHM );
-			signature.initSign( aPrivateKey );
-			signature.update( binaryLicenseContent );
-			final byte[] binarySignature = signature.sign( );
-
-			// Now we can store both in an archive
-			byteArrayOutputStream.reset( );
-			try ( final ZipOutputStream zipOutputStream = new ZipOutputStream( byteArrayOutputStream ) ) {
-				final ZipEntry licenseEntry = new ZipEntry( "license" );
-				zipOutputStream.putNextEntry( licenseEntry );
-				zipOutputStream.write( binaryLicenseContent );
-				zipOutputStream.closeEntry( );
-
-				final ZipEntry signatureEntry = new ZipEntry( "signature" );
-				zipOutputStream.putNextEntry( signatureEntry );
-				zipOutputStream.write( binarySignature );
-				zipOutputStream.closeEntry( );
+			// The encoder has to be closed to write the final bytes, but the stream of the caller must stay open
+			try ( final OutputStream base64OutputStream = Base64.getEncoder( ).wrap( new NonClosingOutputStream( aStream ) ) ) {
+				writeLicenseArchive( aLicense, aPrivateKey, base64OutputStream );
 			}
+		} catch ( final NoSuchAlgorithmException | IOException | InvalidKeyException | SignatureException ex ) {
+			throw new LicenseException( "Could not create the license", ex );
+		}
+	}
+
+	/**
+	 * This method creates a new license file and writes it Base64 encoded directly to the given channel. The internal properties file is filled with the given
+	 * {@link ModifiableLicense} and is signed by using the given private key. The license is signed, archived, and encoded while it is written, without
+	 * keeping copies of the whole license in memory. The channel is not closed.
+	 *
+	 * @param aLicense
+	 *            The license to be saved. Must not be {@code null}.
+	 * @param aPrivateKey
+	 *            The private key for the signature. Must not be {@code null}.
+	 * @param aChannel
+	 *            The target channel. Must not be {@code null}.
+	 *
+	 * @throws LicenseException
+	 *             If something went wrong while creating the license. This indicated usually that the algorithms are not provided by the underlying Java
+	 *             runtime environment or that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given license, the given key, or the given channel is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void writeLicenseFile( final ModifiableLicense aLicense, final PrivateKey aPrivateKey, final WritableByteChannel aChannel ) throws LicenseException {
+		Objects.requireNonNull( aChannel, "The channel must not be null." );
 
-			final byte[] binaryResult = byteArrayOutputStream.toByteArray( );
-			return IOUtil.binaryToString( binaryResult );
+		writeLicenseFile( aLicense, aPrivateKey, createChannelOutputStream( aChannel ) );
+	}
+
+	/**
+	 * This method creates a new license file without Base64 encoding and writes it directly to the given stream. The internal properties file is filled with
+	 * the given {@link ModifiableLicense} and is signed by using the given private key. The license is signed and archived while it is written, without
+	 * keeping copies of the whole license in memory. The stream is not closed.
+	 *
+	 * @param aLicense
+	 *            The license to be saved. Must not be {@code null}.
+	 * @param aPrivateKey
+	 *            The private key for the signature. Must not be {@code null}.
+	 * @param aStream
+	 *            The target stream. Must not be {@code null}.
+	 *
+	 * @throws LicenseException
+	 *             If something went wrong while creating the license. This indicated usually that the algorithms are not provided by the underlying Java
+	 *             runtime environment or that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given license, the given key, or the given stream is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void writeBinaryLicenseFile( final ModifiableLicense aLicense, final PrivateKey aPrivateKey, final OutputStream aStream ) throws LicenseException {
+		Objects.requireNonNull( aLicense, "The license must not be null." );
+		Objects.requireNonNull( aPrivateKey, "The key must not be null." );
+		Objects.requireNonNull( aStream, "The stream must not be null." );
+
+		try {
+			writeLicenseArchive( aLicense, aPrivateKey, aStream );
 		} catch ( final NoSuchAlgorithmException | IOException | InvalidKeyException | SignatureException ex ) {
 			throw new LicenseException( "Could not create the license", ex );
 		}
 	}
 
+	/**
+	 * This method creates a new license file without Base64 encoding and writes it directly to the given channel. The internal properties file is filled with
+	 * the given {@link ModifiableLicense} and is signed by using the given private key. The license is signed and archived while it is written, without
+	 * keeping copies of the whole license in memory. The channel is not closed.
+	 *
+	 * @param aLicense
+	 *            The license to be saved. Must not be {@code null}.
+	 * @param aPrivateKey
+	 *            The private key for the signature. Must not be {@code null}.
+	 * @param aChannel
+	 *            The target channel. Must not be {@code null}.
+	 *
+	 * @throws LicenseException
+	 *             If something went wrong while creating the license. This indicated usually that the algorithms are not provided by the underlying Java
+	 *             runtime environment or that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given license, the given key, or the given channel is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void writeBinaryLicenseFile( final ModifiableLicense aLicense, final PrivateKey aPrivateKey, final WritableByteChannel aChannel ) throws LicenseException {
+		Objects.requireNonNull( aChannel, "The channel must not be null." );
+
+		writeBinaryLicenseFile( aLicense, aPrivateKey, createChannelOutputStream( aChannel ) );
+	}
+
 	/**
 	 * This method creates a new license file and stores it in the given file. The internal properties file is filled with the given {@link ModifiableLicense}
-	 * and is signed by using the given private key.
+	 * and is signed by using the given private key. The license is written into a temporary file first, which replaces the given file only if the license
+	 * has been created completely.
 	 *
 	 * @param aLicense
 	 *            The license to be saved. Must not be {@code null}.
@@ -152,14 +306,158 @@ public final class LicenseUtil {
 		Objects.requireNonNull( aPrivateKey, "The key must not be null." );
 		Objects.requireNonNull( aFile, "The file must not be null." );
 
+		saveLicenseFile( aFile, stream -> writeLicenseArchive( aLicense, aPrivateKey, stream ) );
+	}
+
+	/**
+	 * This method creates a new license file. The internal properties file is filled with the given {@link ModifiableLicense} and is signed by the given
+	 * signer. Only the digest of the license content is passed to the signer, which means that the private key does not have to be available in the current
+	 * process.
+	 *
+	 * @param aLicense
+	 *            The license to be saved. Must not be {@code null}.
+	 * @param aSigner
+	 *            The signer for the signature. Must not be {@code null}.
+	 *
+	 * @return The new license file as Base64 encoded string.
+	 *
+	 * @throws LicenseException
+	 *             If something went wrong while creating the license. This indicated usually that the signer failed, that the algorithms are not provided by
+	 *             the underlying Java runtime environment, or that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given license or the given signer is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static String createLicenseFile( final ModifiableLicense aLicense, final LicenseSigner aSigner ) throws LicenseException {
+		Objects.requireNonNull( aLicense, "The license must not be null." );
+		Objects.requireNonNull( aSigner, "The signer must not be null." );
+
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream( );
+		writeLicenseFile( aLicense, aSigner, byteArrayOutputStream );
+		return new String( byteArrayOutputStream.toByteArray( ), LICENSE_ENCODING_CHARSET );
+	}
+
+	/**
+	 * This method creates a new license file without Base64 encoding. The internal properties file is filled with the given {@link ModifiableLicense} and is
+	 * signed by the given signer.
+	 *
+	 * @param aLicense
+	 *            The license to be saved. Must not be {@code null}.
+	 * @param aSigner
+	 *            The signer for the signature. Must not be {@code null}.
+	 *
+	 * @return The new license file as raw binary data.
+	 *
+	 * @throws LicenseException
+	 *             If something went wrong while creating the license. This indicated usually that the signer failed, that the algorithms are not provided by
+	 *             the underlying Java runtime environment, or that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given license or the given signer is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static byte[] createBinaryLicenseFile( final ModifiableLicense aLicense, final LicenseSigner aSigner ) throws LicenseException {
+		Objects.requireNonNull( aLicense, "The license must not be null." );
+		Objects.requireNonNull( aSigner, "The signer must not be null." );
+
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream( );
+		writeBinaryLicenseFile( aLicense, aSigner, byteArrayOutputStream );
+		return byteArrayOutputStream.toByteArray( );
+	}
+
+	/**
+	 * This method creates a new license file and writes it Base64 encoded directly to the given stream. The internal properties file is filled with the given
+	 * {@link ModifiableLicense} and is signed by the given signer. The stream is not closed.
+	 *
+	 * @param aLicense
+	 *            The license to be saved. Must not be {@code null}.
+	 * @param aSigner
+	 *            The signer for the signature. Must not be {@code null}.
+	 * @param aStream
+	 *            The target stream. Must not be {@code null}.
+	 *
+	 * @throws LicenseException
+	 *             If something went wrong while creating the license. This indicated usually that the signer failed, that the algorithms are not provided by
+	 *             the underlying Java runtime environment, or that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given license, the given signer, or the given stream is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void writeLicenseFile( final ModifiableLicense aLicense, final LicenseSigner aSigner, final OutputStream aStream ) throws LicenseException {
+		Objects.requireNonNull( aLicense, "The license must not be null." );
+		Objects.requireNonNull( aSigner, "The signer must not be null." );
+		Objects.requireNonNull( aStream, "The stream must not be null." );
+
 		try {
-			final String encodedLicense = createLicenseFile( aLicense, aPrivateKey );
-			Files.write( aFile.toPath( ), encodedLicense.getBytes( LICENSE_ENCODING ), StandardOpenOption.CREATE );
-		} catch ( final IOException ex ) {
-			throw new LicenseException( "Could not save the license", ex );
+			try ( final OutputStream base64OutputStream = Base64.getEncoder( ).wrap( new NonClosingOutputStream( aStream ) ) ) {
+				writeLicenseArchive( aLicense, LICENSE_ENTRY, createArchiveSigner( aSigner ), base64OutputStream );
+			}
+		} catch ( final NoSuchAlgorithmException | IOException | SignatureException ex ) {
+			throw new LicenseException( "Could not create the license", ex );
 		}
 	}
 
+	/**
+	 * This method creates a new license file without Base64 encoding and writes it directly to the given stream. The internal properties file is filled with
+	 * the given {@link ModifiableLicense} and is signed by the given signer. The stream is not closed.
+	 *
+	 * @param aLicense
+	 *            The license to be saved. Must not be {@code null}.
+	 * @param aSigner
+	 *            The signer for the signature. Must not be {@code null}.
+	 * @param aStream
+	 *            The target stream. Must not be {@code null}.
+	 *
+	 * @throws LicenseException
+	 *             If something went wrong while creating the license. This indicated usually that the signer failed, that the algorithms are not provided by
+	 *             the underlying Java runtime environment, or that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given license, the given signer, or the given stream is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void writeBinaryLicenseFile( final ModifiableLicense aLicense, final LicenseSigner aSigner, final OutputStream aStream ) throws LicenseException {
+		Objects.requireNonNull( aLicense, "The license must not be null." );
+		Objects.requireNonNull( aSigner, "The signer must not be null." );
+		Objects.requireNonNull( aStream, "The stream must not be null." );
+
+		try {
+			writeLicenseArchive( aLicense, LICENSE_ENTRY, createArchiveSigner( aSigner ), aStream );
+		} catch ( final NoSuchAlgorithmException | IOException | SignatureException ex ) {
+			throw new LicenseException( "Could not create the license", ex );
+		}
+	}
+
+	/**
+	 * This method creates a new license file and stores it in the given file. The internal properties file is filled with the given {@link ModifiableLicense}
+	 * and is signed by the given signer. The license is written into a temporary file first, which replaces the given file only if the license has been
+	 * created completely.
+	 *
+	 * @param aLicense
+	 *            The license to be saved. Must not be {@code null}.
+	 * @param aSigner
+	 *            The signer for the signature. Must not be {@code null}.
+	 * @param aFile
+	 *            The target file for the license file. Must not be {@code null}.
+	 *
+	 * @throws LicenseException
+	 *             If something went wrong while creating the license. This indicated usually that the signer failed, that the algorithms are not provided by
+	 *             the underlying Java runtime environment, or that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given license, the given signer, or the given file is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void saveLicenseFile( final ModifiableLicense aLicense, final LicenseSigner aSigner, final File aFile ) throws LicenseException {
+		Objects.requireNonNull( aLicense, "The license must not be null." );
+		Objects.requireNonNull( aSigner, "The signer must not be null." );
+		Objects.requireNonNull( aFile, "The file must not be null." );
+
+		saveLicenseFile( aFile, stream -> writeLicenseArchive( aLicense, LICENSE_ENTRY, createArchiveSigner( aSigner ), stream ) );
+	}
+
 	/**
 	 * This method loads the license from the given file and verifies the digital signature with the public key. Optionally, one can also verify the public key
 	 * with the fingerprint. It is strongly recommended to use this fingerprint in production environment.
@@ -175,8 +473,8 @@ public final class LicenseUtil {
 	 *
 	 * @throws LicenseException
 	 *             If the license could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime environment, that
-	 *             an IO error occurred, that the actual fingerprint of the public key does not match the expected fingerprint or that the digital signature of
-	 *             the license file is not valid.
+	 *             an IO error occurred, that the actual fingerprint of the public key does not match the expected fingerprint, that the digital signature of
+	 *             the license file is not valid or that the license is bound to another host.
 	 * @throws NullPointerException
 	 * 	           If the given key, the given file, or the given fingerprint is {@code null}.
 	 *
@@ -235,8 +533,8 @@ public final class LicenseUtil {
 	 *
 	 * @throws LicenseException
 	 *             If the license could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime environment, that
-	 *             an IO error occurred, that the actual fingerprint of the public key does not match the expected fingerprint or that the digital signature of
-	 *             the license file is not valid.
+	 *             an IO error occurred, that the actual fingerprint of the public key does not match the expected fingerprint, that the digital signature of
+	 *             the license file is not valid or that the license is bound to another host.
 	 * @throws NullPointerException
 	 * 	           If the given key, the given string, or the given fingerprint is {@code null}.
 	 *
@@ -290,8 +588,8 @@ public final class LicenseUtil {
 	 *
 	 * @throws LicenseException
 	 *             If the license could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime environment, that
-	 *             an IO error occurred, that the actual fingerprint of the public key does not match the expected fingerprint or that the digital signature of
-	 *             the license file is not valid.
+	 *             an IO error occurred, that the actual fingerprint of the public key does not match the expected fingerprint, that the digital signature of
+	 *             the license file is not valid or that the license is bound to another host.
 	 * @throws NullPointerException
 	 * 	           If the given key, the given stream, or the given fingerprint is {@code null}.
 	 *
@@ -302,7 +600,7 @@ public final class LicenseUtil {
 		Objects.requireNonNull( aStream, "The stream must not be null." );
 		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
 
-		return loadLicenseFileFromInputStream( Optional.of( aPublicKey ), aStream, aFingerprint, true );
+		return loadLicenseFileFromInputStream( Optional.of( aPublicKey ), aStream, aFingerprint, true, Optional.empty( ), LICENSE_ENTRY );
 	}
 
 	/**
@@ -325,10 +623,456 @@ public final class LicenseUtil {
 	public static UnmodifiableLicense loadLicenseFileWithoutValidationFromInputStream( final InputStream aStream ) throws LicenseException {
 		Objects.requireNonNull( aStream, "The stream must not be null." );
 
-		return loadLicenseFileFromInputStream( Optional.empty( ), aStream, Optional.empty( ), false );
+		return loadLicenseFileFromInputStream( Optional.empty( ), aStream, Optional.empty( ), false, Optional.empty( ), LICENSE_ENTRY );
+	}
+
+	/**
+	 * This method loads the license from the given raw binary data (without Base64 encoding) and verifies the digital signature with the public key.
+	 * Optionally, one can also verify the public key with the fingerprint. It is strongly recommended to use this fingerprint in production environment.
+	 *
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signature. Must not be {@code null}.
+	 * @param aBinary
+	 *            The binary data as created by {@link #createBinaryLicenseFile(ModifiableLicense, PrivateKey)}. Must not be {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 *
+	 * @return The license content.
+	 *
+	 * @throws LicenseException
+	 *             If the license could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime environment, that
+	 *             an IO error occurred, that the actual fingerprint of the public key does not match the expected fingerprint, that the digital signature of
+	 *             the license file is not valid or that the license is bound to another host.
+	 * @throws NullPointerException
+	 * 	           If the given key, the given array, or the given fingerprint is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static UnmodifiableLicense loadLicenseFileFromBinary( final PublicKey aPublicKey, final byte[] aBinary, final Optional<byte[]> aFingerprint ) throws LicenseException {
+		Objects.requireNonNull( aPublicKey, "The key must not be null." );
+		Objects.requireNonNull( aBinary, "The array must not be null." );
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+
+		return loadLicenseFileFromArchive( Optional.of( aPublicKey ), new ByteArrayInputStream( aBinary ), aFingerprint, true, Optional.empty( ), LICENSE_ENTRY );
+	}
+
+	/**
+	 * This method loads the license from the given raw binary data (without Base64 encoding), but does not verify it. This method should usually not be used
+	 * in production environment.
+	 *
+	 * @param aBinary
+	 *            The binary data as created by {@link #createBinaryLicenseFile(ModifiableLicense, PrivateKey)}. Must not be {@code null}.
+	 *
+	 * @return The license content.
+	 *
+	 * @throws LicenseException
+	 *             If the license could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime environment or
+	 *             that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given array is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static UnmodifiableLicense loadLicenseFileWithoutValidationFromBinary( final byte[] aBinary ) throws LicenseException {
+		Objects.requireNonNull( aBinary, "The array must not be null." );
+
+		return loadLicenseFileFromArchive( Optional.empty( ), new ByteArrayInputStream( aBinary ), Optional.empty( ), false, Optional.empty( ), LICENSE_ENTRY );
+	}
+
+	/**
+	 * This method loads the license from the remaining raw binary data (without Base64 encoding) of the given heap or direct buffer and verifies the digital
+	 * signature with the public key. The content of the buffer is not copied and its position is not changed. This allows for instance to verify licenses
+	 * directly from the receive buffer of a network server. Optionally, one can also verify the public key with the fingerprint. It is strongly recommended to
+	 * use this fingerprint in production environment.
+	 *
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signature. Must not be {@code null}.
+	 * @param aBuffer
+	 *            The buffer containing the binary data as created by {@link #createBinaryLicenseFile(ModifiableLicense, PrivateKey)}. Must not be
+	 *            {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 *
+	 * @return The license content.
+	 *
+	 * @throws LicenseException
+	 *             If the license could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime environment, that
+	 *             an IO error occurred, that the actual fingerprint of the public key does not match the expected fingerprint, that the digital signature of
+	 *             the license file is not valid or that the license is bound to another host.
+	 * @throws NullPointerException
+	 * 	           If the given key, the given buffer, or the given fingerprint is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static UnmodifiableLicense loadLicenseFileFromByteBuffer( final PublicKey aPublicKey, final ByteBuffer aBuffer, final Optional<byte[]> aFingerprint ) throws LicenseException {
+		Objects.requireNonNull( aPublicKey, "The key must not be null." );
+		Objects.requireNonNull( aBuffer, "The buffer must not be null." );
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+
+		return loadLicenseFileFromArchive( Optional.of( aPublicKey ), new ByteBufferInputStream( aBuffer ), aFingerprint, true, Optional.empty( ), LICENSE_ENTRY );
+	}
+
+	/**
+	 * This method loads the license from the remaining raw binary data (without Base64 encoding) of the given heap or direct buffer, but does not verify it.
+	 * The content of the buffer is not copied and its position is not changed. This method should usually not be used in production environment.
+	 *
+	 * @param aBuffer
+	 *            The buffer containing the binary data as created by {@link #createBinaryLicenseFile(ModifiableLicense, PrivateKey)}. Must not be
+	 *            {@code null}.
+	 *
+	 * @return The license content.
+	 *
+	 * @throws LicenseException
+	 *             If the license could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime environment or
+	 *             that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given buffer is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static UnmodifiableLicense loadLicenseFileWithoutValidationFromByteBuffer( final ByteBuffer aBuffer ) throws LicenseException {
+		Objects.requireNonNull( aBuffer, "The buffer must not be null." );
+
+		return loadLicenseFileFromArchive( Optional.empty( ), new ByteBufferInputStream( aBuffer ), Optional.empty( ), false, Optional.empty( ), LICENSE_ENTRY );
+	}
+
+	/**
+	 * This method loads the license from the given file and verifies the digital signature with the public key.
+	 * See {@link VerificationCache} for how the given cache is used.
+	 *
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signature. Must not be {@code null}.
+	 * @param aFile
+	 *            The license file. Must not be {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 * @param aVerificationCache
+	 *            The verification cache. Must not be {@code null}.
+	 *
+	 * @return The license content.
+	 *
+	 * @throws LicenseException
+	 *             If the license could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime environment, that
+	 *             an IO error occurred, that the actual fingerprint of the public key does not match the expected fingerprint, that the digital signature of
+	 *             the license file is not valid or that the license is bound to another host.
+	 * @throws NullPointerException
+	 * 	           If the given key, the given file, the given fingerprint, or the given cache is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static UnmodifiableLicense loadLicenseFile( final PublicKey aPublicKey, final File aFile, final Optional<byte[]> aFingerprint, final VerificationCache aVerificationCache ) throws LicenseException {
+		Objects.requireNonNull( aPublicKey, "The key must not be null." );
+		Objects.requireNonNull( aFile, "The file must not be null." );
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+		Objects.requireNonNull( aVerificationCache, "The cache must not be null." );
+
+		try {
+			return loadLicenseFileFromInputStream( Optional.of( aPublicKey ), new FileInputStream( aFile ), aFingerprint, true, Optional.of( aVerificationCache ), LICENSE_ENTRY );
+		} catch ( final FileNotFoundException ex ) {
+			throw new LicenseException( "Could not load the license", ex );
+		}
+	}
+
+	/**
+	 * This method loads the license from the given Base64-encoded string and verifies the digital signature with the public key.
+	 * See {@link VerificationCache} for how the given cache is used.
+	 *
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signature. Must not be {@code null}.
+	 * @param aString
+	 *            The string. Must not be {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 * @param aVerificationCache
+	 *            The verification cache. Must not be {@code null}.
+	 *
+	 * @return The license content.
+	 *
+	 * @throws LicenseException
+	 *             If the license could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime environment, that
+	 *             an IO error occurred, that the actual fingerprint of the public key does not match the expected fingerprint, that the digital signature of
+	 *             the license file is not valid or that the license is bound to another host.
+	 * @throws NullPointerException
+	 * 	           If the given key, the given string, the given fingerprint, or the given cache is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static UnmodifiableLicense loadLicenseFileFromString( final PublicKey aPublicKey, final String aString, final Optional<byte[]> aFingerprint, final VerificationCache aVerificationCache ) throws LicenseException {
+		Objects.requireNonNull( aPublicKey, "The key must not be null." );
+		Objects.requireNonNull( aString, "The string must not be null." );
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+		Objects.requireNonNull( aVerificationCache, "The cache must not be null." );
+
+		final byte[] stringBytes = aString.getBytes( LICENSE_ENCODING_CHARSET );
+		return loadLicenseFileFromInputStream( Optional.of( aPublicKey ), new ByteArrayInputStream( stringBytes ), aFingerprint, true, Optional.of( aVerificationCache ), LICENSE_ENTRY );
+	}
+
+	/**
+	 * This method loads the license from the given input stream and verifies the digital signature with the public key. The stream is closed afterwards.
+	 * See {@link VerificationCache} for how the given cache is used.
+	 *
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signature. Must not be {@code null}.
+	 * @param aStream
+	 *            The input stream. Must not be {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 * @param aVerificationCache
+	 *            The verification cache. Must not be {@code null}.
+	 *
+	 * @return The license content.
+	 *
+	 * @throws LicenseException
+	 *             If the license could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime environment, that
+	 *             an IO error occurred, that the actual fingerprint of the public key does not match the expected fingerprint, that the digital signature of
+	 *             the license file is not valid or that the license is bound to another host.
+	 * @throws NullPointerException
+	 * 	           If the given key, the given stream, the given fingerprint, or the given cache is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static UnmodifiableLicense loadLicenseFileFromInputStream( final PublicKey aPublicKey, final InputStream aStream, final Optional<byte[]> aFingerprint, final VerificationCache aVerificationCache ) throws LicenseException {
+		Objects.requireNonNull( aPublicKey, "The key must not be null." );
+		Objects.requireNonNull( aStream, "The stream must not be null." );
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+		Objects.requireNonNull( aVerificationCache, "The cache must not be null." );
+
+		return loadLicenseFileFromInputStream( Optional.of( aPublicKey ), aStream, aFingerprint, true, Optional.of( aVerificationCache ), LICENSE_ENTRY );
+	}
+
+	/**
+	 * This method loads the license from the given raw binary data (without Base64 encoding) and verifies the digital signature with the public key.
+	 * See {@link VerificationCache} for how the given cache is used.
+	 *
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signature. Must not be {@code null}.
+	 * @param aBinary
+	 *            The binary data as created by {@link #createBinaryLicenseFile(ModifiableLicense, PrivateKey)}. Must not be {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 * @param aVerificationCache
+	 *            The verification cache. Must not be {@code null}.
+	 *
+	 * @return The license content.
+	 *
+	 * @throws LicenseException
+	 *             If the license could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime environment, that
+	 *             an IO error occurred, that the actual fingerprint of the public key does not match the expected fingerprint, that the digital signature of
+	 *             the license file is not valid or that the license is bound to another host.
+	 * @throws NullPointerException
+	 * 	           If the given key, the given array, the given fingerprint, or the given cache is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static UnmodifiableLicense loadLicenseFileFromBinary( final PublicKey aPublicKey, final byte[] aBinary, final Optional<byte[]> aFingerprint, final VerificationCache aVerificationCache ) throws LicenseException {
+		Objects.requireNonNull( aPublicKey, "The key must not be null." );
+		Objects.requireNonNull( aBinary, "The array must not be null." );
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+		Objects.requireNonNull( aVerificationCache, "The cache must not be null." );
+
+		return loadLicenseFileFromArchive( Optional.of( aPublicKey ), new ByteArrayInputStream( aBinary ), aFingerprint, true, Optional.of( aVerificationCache ), LICENSE_ENTRY );
 	}
 
-	private static UnmodifiableLicense loadLicenseFileFromInputStream( final Optional<PublicKey> aPublicKey, final InputStream aStream, final Optional<byte[]> aFingerprint, final boolean aCheckValidity ) throws LicenseException {
+	/**
+	 * This method loads the license from the remaining raw binary data (without Base64 encoding) of the given heap or direct buffer and verifies the digital
+	 * signature with the public key. The content of the buffer is not copied and its position is not changed.
+	 * See {@link VerificationCache} for how the given cache is used.
+	 *
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signature. Must not be {@code null}.
+	 * @param aBuffer
+	 *            The buffer containing the binary data as created by {@link #createBinaryLicenseFile(ModifiableLicense, PrivateKey)}. Must not be
+	 *            {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 * @param aVerificationCache
+	 *            The verification cache. Must not be {@code null}.
+	 *
+	 * @return The license content.
+	 *
+	 * @throws LicenseException
+	 *             If the license could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime environment, that
+	 *             an IO error occurred, that the actual fingerprint of the public key does not match the expected fingerprint, that the digital signature of
+	 *             the license file is not valid or that the license is bound to another host.
+	 * @throws NullPointerException
+	 * 	           If the given key, the given buffer, the given fingerprint, or the given cache is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static UnmodifiableLicense loadLicenseFileFromByteBuffer( final PublicKey aPublicKey, final ByteBuffer aBuffer, final Optional<byte[]> aFingerprint, final VerificationCache aVerificationCache ) throws LicenseException {
+		Objects.requireNonNull( aPublicKey, "The key must not be null." );
+		Objects.requireNonNull( aBuffer, "The buffer must not be null." );
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+		Objects.requireNonNull( aVerificationCache, "The cache must not be null." );
+
+		return loadLicenseFileFromArchive( Optional.of( aPublicKey ), new ByteBufferInputStream( aBuffer ), aFingerprint, true, Optional.of( aVerificationCache ), LICENSE_ENTRY );
+	}
+
+	/**
+	 * Changes the limits which are enforced while loading licenses. The limits apply to all threads and to all subsequent loads.
+	 *
+	 * @param aLimits
+	 *            The new limits. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given limits are {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void setLimits( final LicenseLimits aLimits ) {
+		Objects.requireNonNull( aLimits, "The limits must not be null." );
+
+		LIMITS.set( aLimits );
+	}
+
+	/**
+	 * Delivers the limits which are enforced while loading licenses.
+	 *
+	 * @return The current limits. Initially these are the {@link LicenseLimits#DEFAULT default limits}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static LicenseLimits getLimits( ) {
+		return LIMITS.get( );
+	}
+
+	static String createRenewalFile( final ModifiableLicense aRenewal, final PrivateKey aPrivateKey ) throws LicenseException {
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream( );
+		try ( final OutputStream base64OutputStream = Base64.getEncoder( ).wrap( byteArrayOutputStream ) ) {
+			writeLicenseArchive( aRenewal, RENEWAL_ENTRY, aPrivateKey, base64OutputStream );
+		} catch ( final NoSuchAlgorithmException | IOException | InvalidKeyException | SignatureException ex ) {
+			throw new LicenseException( "Could not create the renewal", ex );
+		}
+		return new String( byteArrayOutputStream.toByteArray( ), LICENSE_ENCODING_CHARSET );
+	}
+
+	static UnmodifiableLicense loadRenewalFileFromString( final PublicKey aPublicKey, final String aString, final Optional<byte[]> aFingerprint ) throws LicenseException {
+		Objects.requireNonNull( aPublicKey, "The key must not be null." );
+		Objects.requireNonNull( aString, "The string must not be null." );
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+
+		final byte[] stringBytes = aString.getBytes( LICENSE_ENCODING_CHARSET );
+		return loadLicenseFileFromInputStream( Optional.of( aPublicKey ), new ByteArrayInputStream( stringBytes ), aFingerprint, true, Optional.empty( ), RENEWAL_ENTRY );
+	}
+
+	private static void writeLicenseArchive( final ModifiableLicense aLicense, final PrivateKey aPrivateKey, final OutputStream aStream ) throws IOException, NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+		writeLicenseArchive( aLicense, LICENSE_ENTRY, aPrivateKey, aStream );
+	}
+
+	private static void writeLicenseArchive( final ModifiableLicense aLicense, final String aContentEntry, final PrivateKey aPrivateKey, final OutputStream aStream ) throws IOException, NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+		final Signature signature = ProviderUtil.createSignature( );
+		signature.initSign( aPrivateKey );
+
+		writeLicenseArchive( aLicense, aContentEntry, new ArchiveSigner( ) {
+
+			@Override
+			public void update( final byte[] aBuffer, final int aOffset, final int aLength ) throws SignatureException {
+				signature.update( aBuffer, aOffset, aLength );
+			}
+
+			@Override
+			public byte[] sign( ) throws SignatureException {
+				return signature.sign( );
+			}
+
+		}, aStream );
+	}
+
+	private static ArchiveSigner createArchiveSigner( final LicenseSigner aSigner ) throws NoSuchAlgorithmException {
+		// The signer gets only the digest, which means that we have to calculate it here
+		final MessageDigest messageDigest = ProviderUtil.createMessageDigest( );
+
+		return new ArchiveSigner( ) {
+
+			@Override
+			public void update( final byte[] aBuffer, final int aOffset, final int aLength ) {
+				messageDigest.update( aBuffer, aOffset, aLength );
+			}
+
+			@Override
+			public byte[] sign( ) throws SignatureException {
+				try {
+					return aSigner.sign( messageDigest.digest( ) );
+				} catch ( final SignerException ex ) {
+					throw new SignatureException( ex.getMessage( ), ex );
+				}
+			}
+
+		};
+	}
+
+	private static void writeLicenseArchive( final ModifiableLicense aLicense, final String aContentEntry, final ArchiveSigner aSigner, final OutputStream aStream ) throws IOException, SignatureException {
+		try ( final ZipOutputStream zipOutputStream = new ZipOutputStream( new NonClosingOutputStream( aStream ) ) ) {
+			// The license is stored in the archive and fed into the signature at the same time
+			final ZipEntry licenseEntry = new ZipEntry( aContentEntry );
+			zipOutputStream.putNextEntry( licenseEntry );
+			aLicense.storeToXML( new SigningOutputStream( zipOutputStream, aSigner ), "liJense", LICENSE_ENCODING );
+			zipOutputStream.closeEntry( );
+
+			final ZipEntry signatureEntry = new ZipEntry( SIGNATURE_ENTRY );
+			zipOutputStream.putNextEntry( signatureEntry );
+			zipOutputStream.write( aSigner.sign( ) );
+			zipOutputStream.closeEntry( );
+		}
+	}
+
+	private static void saveLicenseFile( final File aFile, final ArchiveWriter aArchiveWriter ) throws LicenseException {
+		// The temporary file is located in the same directory, so that it can be moved atomically. An existing license remains untouched if anything fails.
+		final Path targetFile = aFile.getAbsoluteFile( ).toPath( );
+		final Path temporaryFile = targetFile.resolveSibling( "." + targetFile.getFileName( ) + "." + System.nanoTime( ) + ".tmp" );
+
+		try {
+			try ( final OutputStream fileOutputStream = new BufferedOutputStream( Files.newOutputStream( temporaryFile, StandardOpenOption.CREATE_NEW ) );
+					final OutputStream base64OutputStream = Base64.getEncoder( ).wrap( fileOutputStream ) ) {
+				aArchiveWriter.write( base64OutputStream );
+			}
+
+			try {
+				Files.move( temporaryFile, targetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+			} catch ( final AtomicMoveNotSupportedException ex ) {
+				Files.move( temporaryFile, targetFile, StandardCopyOption.REPLACE_EXISTING );
+			}
+		} catch ( final IOException ex ) {
+			throw new LicenseException( "Could not save the license", ex );
+		} catch ( final GeneralSecurityException ex ) {
+			throw new LicenseException( "Could not create the license", ex );
+		} finally {
+			try {
+				Files.deleteIfExists( temporaryFile );
+			} catch ( final IOException ex ) {
+				// Nothing we can do about it
+			}
+		}
+	}
+
+	private static OutputStream createChannelOutputStream( final WritableByteChannel aChannel ) {
+		// The stream of the channel writes each chunk directly, so we collect the small writes of the archive first
+		return new BufferedOutputStream( Channels.newOutputStream( aChannel ) );
+	}
+
+	private static UnmodifiableLicense loadLicenseFileFromInputStream( final Optional<PublicKey> aPublicKey, final InputStream aStream, final Optional<byte[]> aFingerprint, final boolean aCheckValidity, final Optional<VerificationCache> aVerificationCache, final String aContentEntry ) throws LicenseException {
+		final LicenseLimits limits = LIMITS.get( );
+
+		// Base64 decoding
+		final byte[] licenseData;
+		try {
+			try {
+				final byte[] binaryData = IOUtil.readAllBytes( aStream, limits.getMaximalEncodedSize( ) );
+				checkBase64Structure( binaryData, limits );
+				licenseData = Base64.getDecoder( ).decode( binaryData );
+			} finally {
+				aStream.close( );
+			}
+		} catch ( final SizeLimitExceededException ex ) {
+			throw new LicenseException( "The license exceeds the configured limits", ex );
+		} catch ( final IllegalArgumentException | IOException ex ) {
+			throw new LicenseException( "Could not load the license", ex );
+		}
+
+		return loadLicenseFileFromArchive( aPublicKey, new ByteArrayInputStream( licenseData ), aFingerprint, aCheckValidity, aVerificationCache, aContentEntry );
+	}
+
+	private static UnmodifiableLicense loadLicenseFileFromArchive( final Optional<PublicKey> aPublicKey, final InputStream aArchiveStream, final Optional<byte[]> aFingerprint, final boolean aCheckValidity, final Optional<VerificationCache> aVerificationCache, final String aContentEntry ) throws LicenseException {
 		try {
 			// Check the fingerprint of the public key - if necessary
 			if ( aFingerprint.isPresent( ) ) {
@@ -337,33 +1081,41 @@ public final class LicenseUtil {
 				}
 			}
 
-			// Base64 decoding
-			final byte[] licenseData;
-			try {
-				final byte[] binaryData = IOUtil.readAllBytes( aStream );
-				final String string = new String( binaryData, LICENSE_ENCODING_CHARSET );
-				licenseData = IOUtil.stringToBinary( string );
-			} finally {
-				aStream.close( );
+			// Now we should load both files in the archive. All archive streams are in memory, which means that the available bytes are the size of the archive.
+			final LicenseLimits limits = LIMITS.get( );
+			if ( aArchiveStream.available( ) > limits.getMaximalDecodedSize( ) ) {
+				throw new SizeLimitExceededException( "The license archive exceeds the maximal size of " + limits.getMaximalDecodedSize( ) + " bytes" );
 			}
 
-			// Now we should load both files in the archive
 			final byte[] binaryLicense;
 			final byte[] binarySignature;
 
-			try ( final ZipInputStream zipInputStream = new ZipInputStream( new ByteArrayInputStream( licenseData ) ) ) {
-				zipInputStream.getNextEntry( );
-				binaryLicense = IOUtil.readAllBytes( zipInputStream );
-				zipInputStream.closeEntry( );
+			try ( final ZipInputStream zipInputStream = new ZipInputStream( aArchiveStream ) ) {
+				// A RSA signature has always the length of the modulus, which is therefore an exact size hint
+				final int signatureSizeHint = aPublicKey.isPresent( ) ? getSignatureLength( aPublicKey.get( ) ) : 0;
+				binaryLicense = readArchiveEntry( zipInputStream, aContentEntry, 0, limits );
+				binarySignature = readArchiveEntry( zipInputStream, SIGNATURE_ENTRY, signatureSizeHint, limits );
 
-				zipInputStream.getNextEntry( );
-				binarySignature = IOUtil.readAllBytes( zipInputStream );
-				zipInputStream.closeEntry( );
+				// Further entries are not used, but they are still limited, as they could be used to consume memory or time
+				int entries = 2;
+				while ( zipInputStream.getNextEntry( ) != null ) {
+					entries++;
+					if ( entries > limits.getMaximalEntries( ) ) {
+						throw new SizeLimitExceededException( "The license archive exceeds the maximal number of " + limits.getMaximalEntries( ) + " entries" );
+					}
+					IOUtil.readAllBytes( zipInputStream, 0, limits.getMaximalInflatedSize( ) );
+				}
 			}
 
-			// Now we can verify the signature
-			if ( aCheckValidity ) {
-				final Signature signature = Signature.getInstance( Constants.SIGNATURE_ALGORITHM );
+			// Now we can verify the signature - unless the same license has already been verified with the same key
+			if ( aCheckValidity && !( aVerificationCache.isPresent( ) && aVerificationCache.get( ).isVerified( aPublicKey.get( ), binaryLicense ) ) ) {
+				// A RSA signature has always the length of the modulus, which allows us to reject broken signatures without any RSA operation
+				final int signatureLength = getSignatureLength( aPublicKey.get( ) );
+				if ( signatureLength > 0 && binarySignature.length != signatureLength ) {
+					throw new LicenseException( "The license is not valid" );
+				}
+
+				final Signature signature = ProviderUtil.createSignature( );
 				signature.initVerify( aPublicKey.get( ) );
 				signature.update( binaryLicense );
 				final boolean licenseValid = signature.verify( binarySignature );
@@ -371,22 +1123,149 @@ public final class LicenseUtil {
 				if ( !licenseValid ) {
 					throw new LicenseException( "The license is not valid" );
 				}
+
+				if ( aVerificationCache.isPresent( ) ) {
+					aVerificationCache.get( ).markVerified( aPublicKey.get( ), binaryLicense );
+				}
 			}
 
 			// If everything is valid, we can load the properties file
-			final Properties properties = new Properties( );
-			properties.loadFromXML( new ByteArrayInputStream( binaryLicense ) );
-
-			final Map<String, String> map = new HashMap<>( );
-			for ( final String key : properties.stringPropertyNames( ) ) {
-				map.put( key, properties.getProperty( key ) );
+			final UnmodifiableLicense license = createUnmodifiableLicense( binaryLicense, 0, binaryLicense.length );
+			if ( aCheckValidity ) {
+				checkBoundHost( license );
 			}
-
-			// Finally we can create the license with an unmodifiable map
-			return new UnmodifiableLicense( Collections.unmodifiableMap( map ) );
+			return license;
+		} catch ( final SizeLimitExceededException ex ) {
+			throw new LicenseException( "The license exceeds the configured limits", ex );
 		} catch ( final KeyException | IOException | NoSuchAlgorithmException | InvalidKeyException | SignatureException ex ) {
 			throw new LicenseException( "Could not load the license", ex );
 		}
 	}
 
+	static int getSignatureLength( final PublicKey aPublicKey ) {
+		return aPublicKey instanceof RSAKey ? ( ( ( RSAKey ) aPublicKey ).getModulus( ).bitLength( ) + 7 ) / 8 : 0;
+	}
+
+	private static byte[] readArchiveEntry( final ZipInputStream aZipInputStream, final String aName, final int aSizeHint, final LicenseLimits aLimits ) throws IOException {
+		final ZipEntry entry = aZipInputStream.getNextEntry( );
+		if ( entry == null || !aName.equals( entry.getName( ) ) ) {
+			throw new ZipException( "The license archive does not contain the " + aName + " entry" );
+		}
+
+		// The declared size is optional, but if it is present, we can reject the entry before inflating it
+		if ( entry.getSize( ) > aLimits.getMaximalInflatedSize( ) ) {
+			throw new SizeLimitExceededException( "The " + aName + " entry exceeds the maximal size of " + aLimits.getMaximalInflatedSize( ) + " bytes" );
+		}
+
+		// The available bytes of a zip stream are no size hint, but the declared size is exact if present
+		final int sizeHint = entry.getSize( ) > 0 ? ( int ) entry.getSize( ) : aSizeHint;
+		final byte[] content = IOUtil.readAllBytes( aZipInputStream, sizeHint, aLimits.getMaximalInflatedSize( ) );
+		aZipInputStream.closeEntry( );
+		return content;
+	}
+
+	static void checkBase64Structure( final byte[] aEncodedData, final LicenseLimits aLimits ) throws IOException {
+		if ( aEncodedData.length % 4 != 0 ) {
+			throw new IOException( "The license is not correctly Base64 encoded" );
+		}
+
+		int padding = 0;
+		while ( padding < 2 && padding < aEncodedData.length && aEncodedData[aEncodedData.length - 1 - padding] == '=' ) {
+			padding++;
+		}
+
+		final long decodedSize = aEncodedData.length / 4 * 3L - padding;
+		if ( decodedSize > aLimits.getMaximalDecodedSize( ) ) {
+			throw new SizeLimitExceededException( "The license archive exceeds the maximal size of " + aLimits.getMaximalDecodedSize( ) + " bytes" );
+		}
+	}
+
+	static void checkBoundHost( final UnmodifiableLicense aLicense ) throws LicenseException {
+		final Optional<byte[]> boundHost;
+		try {
+			boundHost = aLicense.getBoundHost( );
+		} catch ( final IllegalArgumentException ex ) {
+			throw new LicenseException( "The host binding of the license is malformed", ex );
+		}
+
+		if ( boundHost.isPresent( ) ) {
+			try {
+				if ( !MachineFingerprint.getDefault( ).matches( boundHost.get( ) ) ) {
+					throw new LicenseException( "The license is bound to another host" );
+				}
+			} catch ( final HostException ex ) {
+				throw new LicenseException( "Could not check the host binding of the license", ex );
+			}
+		}
+	}
+
+	static UnmodifiableLicense createUnmodifiableLicense( final byte[] aBinaryLicense, final int aOffset, final int aLength ) throws IOException {
+		final Properties properties = new Properties( );
+		properties.loadFromXML( new ByteArrayInputStream( aBinaryLicense, aOffset, aLength ) );
+
+		final Map<String, String> map = new HashMap<>( );
+		for ( final String key : properties.stringPropertyNames( ) ) {
+			map.put( key, properties.getProperty( key ) );
+		}
+
+		// Finally we can create the license with an unmodifiable map
+		return new UnmodifiableLicense( Collections.unmodifiableMap( map ) );
+	}
+
+	/**
+	 * This writes a complete license archive into a stream.
+	 */
+	@FunctionalInterface
+	private interface ArchiveWriter {
+
+		void write( OutputStream aStream ) throws IOException, GeneralSecurityException;
+
+	}
+
+	/**
+	 * This is the common interface of a signature created with a private key and a signature created by a {@link LicenseSigner}.
+	 */
+	private interface ArchiveSigner {
+
+		void update( byte[] aBuffer, int aOffset, int aLength ) throws SignatureException;
+
+		byte[] sign( ) throws SignatureException;
+
+	}
+
+	/**
+	 * This stream writes the content to the underlying stream and feeds it into the signer at the same time. It does not close the underlying stream.
+	 */
+	private static final class SigningOutputStream extends FilterOutputStream {
+
+		private final ArchiveSigner ivSigner;
+
+		SigningOutputStream( final OutputStream aStream, final ArchiveSigner aSigner ) {
+			super( aStream );
+
+			ivSigner = aSigner;
+		}
+
+		@Override
+		public void write( final int aByte ) throws IOException {
+			write( new byte[] { ( byte ) aByte }, 0, 1 );
+		}
+
+		@Override
+		public void write( final byte[] aBuffer, final int aOffset, final int aLength ) throws IOException {
+			try {
+				ivSigner.update( aBuffer, aOffset, aLength );
+			} catch ( final SignatureException ex ) {
+				throw new IOException( ex );
+			}
+			out.write( aBuffer, aOffset, aLength );
+		}
+
+		@Override
+		public void close( ) throws IOException {
+			out.flush( );
+		}
+
+	}
+
 }
@@ -0,0 +1,190 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * This is an immutable set of primitive {@code long} values. It uses open addressing with linear probing in a single array, which means that the membership
+ * check needs constant time, does not box the value, and does not allocate memory.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ *
+ * @see UnmodifiableLicense#getValueAsLongSet(String)
+ */
+public final class LongSet {
+
+	private static final LongSet EMPTY = new LongSet( new long[0] );
+
+	/**
+	 * The value zero marks free slots. Whether zero is contained in the set is therefore stored separately.
+	 */
+	private final long[] ivSlots;
+	private final boolean ivContainsZero;
+	private final int ivSize;
+
+	LongSet( final long[] aValues ) {
+		// Use a load factor of at most 0.5 to keep the probe sequences short
+		int capacity = 2;
+		while ( capacity < aValues.length * 2 ) {
+			capacity <<= 1;
+		}
+		ivSlots = new long[capacity];
+
+		boolean containsZero = false;
+		int size = 0;
+		for ( final long value : aValues ) {
+			if ( value == 0 ) {
+				if ( !containsZero ) {
+					containsZero = true;
+					size++;
+				}
+			} else if ( insert( value ) ) {
+				size++;
+			}
+		}
+
+		ivContainsZero = containsZero;
+		ivSize = size;
+	}
+
+	static LongSet empty( ) {
+		return EMPTY;
+	}
+
+	/**
+	 * Checks whether the given value is contained in this set.
+	 *
+	 * @param aValue
+	 *            The value.
+	 *
+	 * @return true if and only if the value is contained.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean contains( final long aValue ) {
+		if ( aValue == 0 ) {
+			return ivContainsZero;
+		}
+
+		final int mask = ivSlots.length - 1;
+		for ( int index = hash( aValue ) & mask;; index = index + 1 & mask ) {
+			final long slot = ivSlots[index];
+			if ( slot == aValue ) {
+				return true;
+			}
+			if ( slot == 0 ) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Delivers the number of values in this set.
+	 *
+	 * @return The number of values.
+	 *
+	 * @since 3.0.0
+	 */
+	public int size( ) {
+		return ivSize;
+	}
+
+	/**
+	 * Checks whether this set contains no values.
+	 *
+	 * @return true if and only if the set is empty.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean isEmpty( ) {
+		return ivSize == 0;
+	}
+
+	/**
+	 * Passes all values of this set in no particular order to the given consumer.
+	 *
+	 * @param aConsumer
+	 *            The consumer. Must not be {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public void forEach( final LongConsumer aConsumer ) {
+		if ( ivContainsZero ) {
+			aConsumer.accept( 0 );
+		}
+		for ( final long slot : ivSlots ) {
+			if ( slot != 0 ) {
+				aConsumer.accept( slot );
+			}
+		}
+	}
+
+	/**
+	 * Delivers the values of this set in ascending order.
+	 *
+	 * @return A new array with the values.
+	 *
+	 * @since 3.0.0
+	 */
+	public long[] toArray( ) {
+		final long[] values = new long[ivSize];
+		final int[] index = { 0 };
+		forEach( value -> values[index[0]++] = value );
+		Arrays.sort( values );
+		return values;
+	}
+
+	@Override
+	public String toString( ) {
+		return Arrays.toString( toArray( ) );
+	}
+
+	private boolean insert( final long aValue ) {
+		final int mask = ivSlots.length - 1;
+		for ( int index = hash( aValue ) & mask;; index = index + 1 & mask ) {
+			final long slot = ivSlots[index];
+			if ( slot == aValue ) {
+				return false;
+			}
+			if ( slot == 0 ) {
+				ivSlots[index] = aValue;
+				return true;
+			}
+		}
+	}
+
+	private static int hash( final long aValue ) {
+		// Spread the bits, as consecutive identifiers would otherwise cluster within the table
+		final long hash = aValue * 0x9E3779B97F4A7C15L;
+		return ( int ) ( hash ^ hash >>> 32 );
+	}
+
+}
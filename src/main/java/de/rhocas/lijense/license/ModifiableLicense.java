@@ -27,13 +27,19 @@
 package de.rhocas.lijense.license;
 
 import static de.rhocas.lijense.Constants.DATE_FORMAT;
+import static de.rhocas.lijense.Constants.LICENSE_KEY_BOUND_HOST;
 import static de.rhocas.lijense.Constants.LICENSE_KEY_EXPIRATION_DATE;
+import static de.rhocas.lijense.Constants.LICENSE_KEY_SEATS;
+import static de.rhocas.lijense.Constants.LICENSE_KEY_SERIAL;
 import static de.rhocas.lijense.Constants.LOCAL_DATE_FORMAT;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Properties;
 
+import de.rhocas.lijense.io.IOUtil;
+
 /**
  * This is a license container which can still be modified. It is usually used to create a new license file.
  *
@@ -217,6 +223,58 @@ public final class ModifiableLicense extends Properties {
 		setValue( aKey, value );
 	}
 
+	/**
+	 * Sets multiple values for the given key. The values are stored as a comma separated list, in which commas and backslashes are escaped with a backslash.
+	 * If the given collection is {@code null}, the mapping is simply removed from the properties map.
+	 *
+	 * @param aKey
+	 *            The key.
+	 * @param aValues
+	 *            The values.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given collection contains {@code null}.
+	 *
+	 * @since 3.0.0
+	 *
+	 * @see UnmodifiableLicense#getValueAsList(String)
+	 * @see UnmodifiableLicense#getValueAsSet(String)
+	 */
+	public void setValues( final String aKey, final Collection<String> aValues ) {
+		final String value;
+		if ( aValues != null ) {
+			value = MultiValueUtil.encode( aValues );
+		} else {
+			value = null;
+		}
+
+		setValue( aKey, value );
+	}
+
+	/**
+	 * Sets multiple numbers for the given key. The numbers are stored as a comma separated list. If the given array is {@code null}, the mapping is simply
+	 * removed from the properties map.
+	 *
+	 * @param aKey
+	 *            The key.
+	 * @param aValues
+	 *            The numbers.
+	 *
+	 * @since 3.0.0
+	 *
+	 * @see UnmodifiableLicense#getValueAsLongSet(String)
+	 */
+	public void setValues( final String aKey, final long[] aValues ) {
+		final String value;
+		if ( aValues != null ) {
+			value = MultiValueUtil.encode( aValues );
+		} else {
+			value = null;
+		}
+
+		setValue( aKey, value );
+	}
+
 	/**
 	 * Sets the expiration date of the license.
 	 *
@@ -229,4 +287,48 @@ public final class ModifiableLicense extends Properties {
 		setValue( LICENSE_KEY_EXPIRATION_DATE, aDate );
 	}
 
+	/**
+	 * Sets the serial identifier of the license. The serial can be used to revoke the license later.
+	 *
+	 * @param aSerial
+	 *            The serial identifier.
+	 *
+	 * @since 3.0.0
+	 */
+	public void setSerial( final String aSerial ) {
+		setValue( LICENSE_KEY_SERIAL, aSerial );
+	}
+
+	/**
+	 * Binds the license to a host. A license bound to a host can only be loaded with validation on the host with the given fingerprint. If the given fingerprint
+	 * is {@code null}, the binding is removed.
+	 *
+	 * @param aFingerprint
+	 *            The fingerprint of the host, as delivered by {@link de.rhocas.lijense.host.MachineFingerprint#get()} on the host.
+	 *
+	 * @since 3.0.0
+	 */
+	public void setBoundHost( final byte[] aFingerprint ) {
+		final String value;
+		if ( aFingerprint != null ) {
+			value = IOUtil.binaryToString( aFingerprint );
+		} else {
+			value = null;
+		}
+
+		setValue( LICENSE_KEY_BOUND_HOST, value );
+	}
+
+	/**
+	 * Sets the number of floating seats of the license. The seats are handed out by a {@link de.rhocas.lijense.lease.SeatLeaseServer}.
+	 *
+	 * @param aSeats
+	 *            The number of seats.
+	 *
+	 * @since 3.0.0
+	 */
+	public void setSeats( final int aSeats ) {
+		setValue( LICENSE_KEY_SEATS, aSeats );
+	}
+
 }
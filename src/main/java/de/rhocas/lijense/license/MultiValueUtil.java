@@ -0,0 +1,134 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This util class encodes multiple values into a single license value and decodes them again. The values are separated by commas. Commas and backslashes
+ * within the values are escaped with a backslash.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+final class MultiValueUtil {
+
+	private static final char SEPARATOR = ',';
+	private static final char ESCAPE = '\\';
+
+	private MultiValueUtil( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+	static String encode( final Collection<String> aValues ) {
+		final StringBuilder builder = new StringBuilder( );
+
+		boolean first = true;
+		for ( final String value : aValues ) {
+			if ( value == null ) {
+				throw new NullPointerException( "The values must not contain null." );
+			}
+
+			if ( !first ) {
+				builder.append( SEPARATOR );
+			}
+			first = false;
+
+			for ( int i = 0; i < value.length( ); i++ ) {
+				final char character = value.charAt( i );
+				if ( character == SEPARATOR || character == ESCAPE ) {
+					builder.append( ESCAPE );
+				}
+				builder.append( character );
+			}
+		}
+
+		return builder.toString( );
+	}
+
+	static String encode( final long[] aValues ) {
+		final StringBuilder builder = new StringBuilder( );
+
+		for ( int i = 0; i < aValues.length; i++ ) {
+			if ( i > 0 ) {
+				builder.append( SEPARATOR );
+			}
+			builder.append( aValues[i] );
+		}
+
+		return builder.toString( );
+	}
+
+	/**
+	 * Decodes the given value. The empty string is decoded to an empty list.
+	 */
+	static List<String> decode( final String aValue ) {
+		final List<String> values = new ArrayList<>( );
+		if ( aValue.isEmpty( ) ) {
+			return values;
+		}
+
+		final StringBuilder builder = new StringBuilder( );
+		boolean escaped = false;
+		for ( int i = 0; i < aValue.length( ); i++ ) {
+			final char character = aValue.charAt( i );
+			if ( escaped ) {
+				builder.append( character );
+				escaped = false;
+			} else if ( character == ESCAPE ) {
+				escaped = true;
+			} else if ( character == SEPARATOR ) {
+				values.add( builder.toString( ) );
+				builder.setLength( 0 );
+			} else {
+				builder.append( character );
+			}
+		}
+		values.add( builder.toString( ) );
+
+		return values;
+	}
+
+	/**
+	 * Decodes the given value into numbers. Surrounding whitespace of the single values is ignored.
+	 *
+	 * @throws NumberFormatException
+	 *             If one of the values is not a valid number.
+	 */
+	static LongSet decodeLongs( final String aValue ) {
+		final List<String> values = decode( aValue );
+		final long[] numbers = new long[values.size( )];
+		for ( int i = 0; i < numbers.length; i++ ) {
+			numbers[i] = Long.parseLong( values.get( i ).trim( ) );
+		}
+		return new LongSet( numbers );
+	}
+
+}
@@ -0,0 +1,136 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * This is an index over the entries of a license with the keys in lexicographical order. It allows to find all entries with a given prefix and single entries
+ * within a namespace with a binary search. None of the lookups allocate memory.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+final class SortedKeyIndex {
+
+	private final String[] ivKeys;
+	private final String[] ivValues;
+
+	SortedKeyIndex( final Map<String, String> aEntries ) {
+		ivKeys = aEntries.keySet( ).toArray( new String[aEntries.size( )] );
+		Arrays.sort( ivKeys );
+
+		ivValues = new String[ivKeys.length];
+		for ( int i = 0; i < ivKeys.length; i++ ) {
+			ivValues[i] = aEntries.get( ivKeys[i] );
+		}
+	}
+
+	/**
+	 * Delivers the index of the first key which starts with the given prefix or, if there is no such key, the index where such a key would be.
+	 */
+	int getStartOfPrefix( final String aPrefix ) {
+		int low = 0;
+		int high = ivKeys.length;
+		while ( low < high ) {
+			final int middle = low + high >>> 1;
+			if ( ivKeys[middle].compareTo( aPrefix ) < 0 ) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Delivers the index after the last key which starts with the given prefix. All keys with the prefix are stored in a contiguous block starting at the
+	 * given index.
+	 */
+	int getEndOfPrefix( final String aPrefix, final int aStart ) {
+		int low = aStart;
+		int high = ivKeys.length;
+		while ( low < high ) {
+			final int middle = low + high >>> 1;
+			if ( ivKeys[middle].startsWith( aPrefix ) ) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Delivers the value of the key which consists of the given prefix and suffix. Only the keys in the given range are searched.
+	 */
+	String getValue( final String aPrefix, final String aSuffix, final int aStart, final int aEnd ) {
+		int low = aStart;
+		int high = aEnd - 1;
+		while ( low <= high ) {
+			final int middle = low + high >>> 1;
+			final int comparison = compare( ivKeys[middle], aPrefix, aSuffix );
+			if ( comparison < 0 ) {
+				low = middle + 1;
+			} else if ( comparison > 0 ) {
+				high = middle - 1;
+			} else {
+				return ivValues[middle];
+			}
+		}
+		return null;
+	}
+
+	void forEach( final int aStart, final int aEnd, final BiConsumer<String, String> aConsumer ) {
+		for ( int i = aStart; i < aEnd; i++ ) {
+			aConsumer.accept( ivKeys[i], ivValues[i] );
+		}
+	}
+
+	/**
+	 * Compares the given key with the concatenation of the given prefix and suffix without performing the concatenation.
+	 */
+	private static int compare( final String aKey, final String aPrefix, final String aSuffix ) {
+		final int prefixLength = aPrefix.length( );
+		final int length = prefixLength + aSuffix.length( );
+		final int commonLength = Math.min( aKey.length( ), length );
+
+		for ( int i = 0; i < commonLength; i++ ) {
+			final char character = i < prefixLength ? aPrefix.charAt( i ) : aSuffix.charAt( i - prefixLength );
+			final int difference = aKey.charAt( i ) - character;
+			if ( difference != 0 ) {
+				return difference;
+			}
+		}
+
+		return aKey.length( ) - length;
+	}
+
+}
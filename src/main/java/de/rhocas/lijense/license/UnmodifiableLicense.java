@@ -27,7 +27,9 @@
 package de.rhocas.lijense.license;
 
 import static de.rhocas.lijense.Constants.DATE_FORMAT;
+import static de.rhocas.lijense.Constants.LICENSE_KEY_BOUND_HOST;
 import static de.rhocas.lijense.Constants.LICENSE_KEY_EXPIRATION_DATE;
+import static de.rhocas.lijense.Constants.LICENSE_KEY_SERIAL;
 import static de.rhocas.lijense.Constants.LOCAL_DATE_FORMAT;
 
 import java.text.ParseException;
@@ -38,7 +40,17 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+import de.rhocas.lijense.io.IOUtil;
 
 /**
  * This is a license container which can no longer be modified. It is usually used in the application after the license file has been verified and loaded.
@@ -50,6 +62,10 @@ import java.util.Map;
 public final class UnmodifiableLicense {
 
 	private final Map<String, String> ivInternalMap;
+	private final SortedKeyIndex ivSortedKeyIndex;
+	private final ConcurrentMap<String, List<String>> ivListValues = new ConcurrentHashMap<>( );
+	private final ConcurrentMap<String, Set<String>> ivSetValues = new ConcurrentHashMap<>( );
+	private final ConcurrentMap<String, LongSet> ivLongSetValues = new ConcurrentHashMap<>( );
 
 	/**
 	 * Creates a new instance of this class.
@@ -63,6 +79,7 @@ public final class UnmodifiableLicense {
 		// Copy the given map and make it immutable
 		final Map<String, String> newMap = new HashMap<>( aInternalMap );
 		ivInternalMap = Collections.unmodifiableMap( newMap );
+		ivSortedKeyIndex = new SortedKeyIndex( newMap );
 	}
 
 	/**
@@ -79,6 +96,17 @@ public final class UnmodifiableLicense {
 		return ivInternalMap.get( aKey );
 	}
 
+	/**
+	 * Returns all entries of this license.
+	 *
+	 * @return An unmodifiable view on the entries.
+	 *
+	 * @since 3.0.0
+	 */
+	public Map<String, String> getEntries( ) {
+		return ivInternalMap;
+	}
+
 	/**
 	 * This method checks whether a given feature is active or not. If the given key is not available or the value is {@code null}, empty or {@code false}, the
 	 * method returns {@code false}. Otherwise {@code true} is returned.
@@ -366,6 +394,205 @@ public final class UnmodifiableLicense {
 		return false;
 	}
 
+	/**
+	 * Returns the serial identifier of the license.
+	 *
+	 * @return The serial identifier or {@code null}, if the license has no serial.
+	 *
+	 * @since 3.0.0
+	 */
+	public String getSerial( ) {
+		return getValue( LICENSE_KEY_SERIAL );
+	}
+
+	/**
+	 * Returns the fingerprint of the host to which the license is bound.
+	 *
+	 * @return The fingerprint or an empty optional, if the license is not bound to a host.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If the stored fingerprint is not properly encoded.
+	 *
+	 * @since 3.0.0
+	 */
+	public Optional<byte[]> getBoundHost( ) throws IllegalArgumentException {
+		return Optional.ofNullable( getValue( LICENSE_KEY_BOUND_HOST ) ).map( IOUtil::stringToBinary );
+	}
+
+	/**
+	 * Returns the value for the given key as list of values, as written by {@link ModifiableLicense#setValues(String, java.util.Collection)}. The value is
+	 * decoded only once and the result is kept. If the key is not available, an empty list will be returned.
+	 *
+	 * @param aKey
+	 *            The key.
+	 *
+	 * @return An unmodifiable list of the values.
+	 *
+	 * @since 3.0.0
+	 */
+	public List<String> getValueAsList( final String aKey ) {
+		final List<String> list = ivListValues.get( aKey );
+		if ( list != null ) {
+			return list;
+		}
+
+		final String value = getValue( aKey );
+		if ( value == null ) {
+			return Collections.emptyList( );
+		}
+		return ivListValues.computeIfAbsent( aKey, key -> Collections.unmodifiableList( MultiValueUtil.decode( value ) ) );
+	}
+
+	/**
+	 * Returns the value for the given key as set of values, as written by {@link ModifiableLicense#setValues(String, java.util.Collection)}. The value is
+	 * decoded only once into a hash set and the result is kept. If the key is not available, an empty set will be returned.
+	 *
+	 * @param aKey
+	 *            The key.
+	 *
+	 * @return An unmodifiable set of the values.
+	 *
+	 * @since 3.0.0
+	 */
+	public Set<String> getValueAsSet( final String aKey ) {
+		final Set<String> set = ivSetValues.get( aKey );
+		if ( set != null ) {
+			return set;
+		}
+
+		final String value = getValue( aKey );
+		if ( value == null ) {
+			return Collections.emptySet( );
+		}
+		return ivSetValues.computeIfAbsent( aKey, key -> Collections.unmodifiableSet( new HashSet<>( MultiValueUtil.decode( value ) ) ) );
+	}
+
+	/**
+	 * Returns the value for the given key as set of numbers, as written by {@link ModifiableLicense#setValues(String, long[])}. The value is decoded only
+	 * once into a primitive set and the result is kept. If the key is not available, an empty set will be returned.
+	 *
+	 * @param aKey
+	 *            The key.
+	 *
+	 * @return The set of the numbers.
+	 *
+	 * @throws NumberFormatException
+	 *             If one of the values is not a valid number.
+	 *
+	 * @since 3.0.0
+	 */
+	public LongSet getValueAsLongSet( final String aKey ) throws NumberFormatException {
+		final LongSet set = ivLongSetValues.get( aKey );
+		if ( set != null ) {
+			return set;
+		}
+
+		final String value = getValue( aKey );
+		if ( value == null ) {
+			return LongSet.empty( );
+		}
+		return ivLongSetValues.computeIfAbsent( aKey, key -> MultiValueUtil.decodeLongs( value ) );
+	}
+
+	/**
+	 * Checks whether the list of values for the given key contains the given value. After the first call for a key, the check needs constant time and does
+	 * not allocate memory.
+	 *
+	 * @param aKey
+	 *            The key.
+	 * @param aValue
+	 *            The value.
+	 *
+	 * @return true if and only if the value is contained.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean containsValue( final String aKey, final String aValue ) {
+		return getValueAsSet( aKey ).contains( aValue );
+	}
+
+	/**
+	 * Checks whether the list of numbers for the given key contains the given number. After the first call for a key, the check needs constant time and does
+	 * not allocate memory.
+	 *
+	 * @param aKey
+	 *            The key.
+	 * @param aValue
+	 *            The number.
+	 *
+	 * @return true if and only if the number is contained.
+	 *
+	 * @throws NumberFormatException
+	 *             If one of the values is not a valid number.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean containsValue( final String aKey, final long aValue ) throws NumberFormatException {
+		return getValueAsLongSet( aKey ).contains( aValue );
+	}
+
+	/**
+	 * Counts the entries whose keys start with the given prefix. The method needs logarithmic time and does not allocate memory.
+	 *
+	 * @param aPrefix
+	 *            The prefix. Must not be {@code null}.
+	 *
+	 * @return The number of entries with the prefix.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given prefix is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public int countEntriesWithPrefix( final String aPrefix ) {
+		Objects.requireNonNull( aPrefix, "The prefix must not be null." );
+
+		final int start = ivSortedKeyIndex.getStartOfPrefix( aPrefix );
+		return ivSortedKeyIndex.getEndOfPrefix( aPrefix, start ) - start;
+	}
+
+	/**
+	 * Passes all entries whose keys start with the given prefix in lexicographical order of the keys to the given consumer. Finding the entries needs
+	 * logarithmic time and does not allocate memory.
+	 *
+	 * @param aPrefix
+	 *            The prefix. Must not be {@code null}.
+	 * @param aConsumer
+	 *            The consumer. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given prefix or the given consumer is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public void forEachEntryWithPrefix( final String aPrefix, final BiConsumer<String, String> aConsumer ) {
+		Objects.requireNonNull( aPrefix, "The prefix must not be null." );
+		Objects.requireNonNull( aConsumer, "The consumer must not be null." );
+
+		final int start = ivSortedKeyIndex.getStartOfPrefix( aPrefix );
+		ivSortedKeyIndex.forEach( start, ivSortedKeyIndex.getEndOfPrefix( aPrefix, start ), aConsumer );
+	}
+
+	/**
+	 * Creates a view on all entries within the given namespace. The namespace {@code module.reporting} contains for instance the entry
+	 * {@code module.reporting.export.pdf}, but not the entry {@code module.reportingTool}. The empty name denotes the whole license.
+	 *
+	 * @param aName
+	 *            The name of the namespace. Must not be {@code null}.
+	 *
+	 * @return The view on the namespace.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given name is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public LicenseNamespace getNamespace( final String aName ) {
+		Objects.requireNonNull( aName, "The name must not be null." );
+
+		return new LicenseNamespace( ivSortedKeyIndex, aName );
+	}
+
 	private void clearTimeFromCalendar( final GregorianCalendar aCalendar ) {
 		aCalendar.set( Calendar.HOUR_OF_DAY, 0 );
 		aCalendar.set( Calendar.MINUTE, 0 );
@@ -0,0 +1,224 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.Objects;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * This is an opt-in cache of successfully verified licenses which is stored in a memory-mapped file. The file can be shared by concurrent processes on the
+ * same host, so that the expensive verification of the digital signature is performed only once for each license and public key - even across restarts. The
+ * cache can be passed to the corresponding load methods of {@link LicenseUtil}. These methods skip the verification of the digital signature if the same
+ * license has already been verified with the same public key.<br>
+ * <br>
+ * Each verified license is stored as message authentication code (HMAC-SHA256) over the public key and the license content. The code is calculated with a
+ * secret which has to be held locally by the application. Without the secret, no entries can be forged by manipulating the file. Concurrent writes to the
+ * same slot of the file can only result in missing entries, but never in wrong entries. The cache has a fixed number of slots. When two licenses use the
+ * same slot, the older entry is overwritten.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class VerificationCache implements AutoCloseable {
+
+	private static final String MAC_ALGORITHM = "HmacSHA256";
+	private static final int MAGIC_NUMBER = 0x4C4A5643;
+	private static final int VERSION = 1;
+	private static final int HEADER_LENGTH = 16;
+	private static final int SLOT_LENGTH = 32;
+	private static final int MINIMAL_SECRET_LENGTH = 32;
+
+	private final FileChannel ivChannel;
+	private final MappedByteBuffer ivBuffer;
+	private final int ivSlots;
+	private final ThreadLocal<Mac> ivMac;
+
+	/**
+	 * Opens the verification cache in the given file. If the file does not exist or is empty, it is created with the given number of slots. If the file
+	 * exists already, the number of slots stored in the file is used.
+	 *
+	 * @param aFile
+	 *            The file of the cache. Must not be {@code null}.
+	 * @param aSecret
+	 *            The secret for the message authentication codes. Must not be {@code null} and must have at least 32 bytes.
+	 * @param aSlots
+	 *            The number of slots if the file is created. Must be positive.
+	 *
+	 * @throws LicenseException
+	 *             If the cache could not be opened. This could indicate that the algorithms are not provided by the underlying Java runtime environment, that
+	 *             an IO error occurred, or that the file is not a verification cache.
+	 * @throws NullPointerException
+	 * 	           If the given file or the given secret is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the secret is too short or if the number of slots is not positive.
+	 *
+	 * @since 3.0.0
+	 */
+	public VerificationCache( final File aFile, final byte[] aSecret, final int aSlots ) throws LicenseException {
+		Objects.requireNonNull( aFile, "The file must not be null." );
+		Objects.requireNonNull( aSecret, "The secret must not be null." );
+
+		if ( aSecret.length < MINIMAL_SECRET_LENGTH ) {
+			throw new IllegalArgumentException( "The secret must have at least 32 bytes." );
+		}
+		if ( aSlots <= 0 || aSlots > ( Integer.MAX_VALUE - HEADER_LENGTH ) / SLOT_LENGTH ) {
+			throw new IllegalArgumentException( "The number of slots must be positive." );
+		}
+
+		// Make sure that the algorithm is available before the first use
+		final SecretKeySpec secretKey = new SecretKeySpec( aSecret, MAC_ALGORITHM );
+		try {
+			Mac.getInstance( MAC_ALGORITHM ).init( secretKey );
+		} catch ( final NoSuchAlgorithmException | InvalidKeyException ex ) {
+			throw new LicenseException( "Could not open the verification cache", ex );
+		}
+		ivMac = ThreadLocal.withInitial( ( ) -> createMac( secretKey ) );
+
+		try {
+			ivChannel = FileChannel.open( aFile.toPath( ), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE );
+		} catch ( final IOException ex ) {
+			throw new LicenseException( "Could not open the verification cache", ex );
+		}
+
+		try {
+			// Other processes might initialize the file at the same time
+			final int slots;
+			final FileLock lock = ivChannel.lock( );
+			try {
+				if ( ivChannel.size( ) == 0 ) {
+					final ByteBuffer header = ByteBuffer.allocate( HEADER_LENGTH );
+					header.putInt( MAGIC_NUMBER ).putInt( VERSION ).putInt( aSlots ).putInt( 0 );
+					ivChannel.write( ( ByteBuffer ) ( ( Buffer ) header ).flip( ), 0 );
+					// Writing the last byte extends the file to its full size
+					ivChannel.write( ByteBuffer.allocate( 1 ), HEADER_LENGTH + ( long ) aSlots * SLOT_LENGTH - 1 );
+					slots = aSlots;
+				} else {
+					final ByteBuffer header = ByteBuffer.allocate( HEADER_LENGTH );
+					ivChannel.read( header, 0 );
+					slots = header.getInt( 8 );
+					if ( header.getInt( 0 ) != MAGIC_NUMBER || header.getInt( 4 ) != VERSION || slots <= 0
+							|| ivChannel.size( ) != HEADER_LENGTH + ( long ) slots * SLOT_LENGTH ) {
+						throw new LicenseException( "The verification cache is malformed" );
+					}
+				}
+			} finally {
+				lock.release( );
+			}
+
+			ivSlots = slots;
+			ivBuffer = ivChannel.map( MapMode.READ_WRITE, 0, HEADER_LENGTH + ( long ) slots * SLOT_LENGTH );
+		} catch ( final IOException | LicenseException ex ) {
+			try {
+				ivChannel.close( );
+			} catch ( final IOException closeException ) {
+				ex.addSuppressed( closeException );
+			}
+
+			if ( ex instanceof LicenseException ) {
+				throw ( LicenseException ) ex;
+			}
+			throw new LicenseException( "Could not open the verification cache", ex );
+		}
+	}
+
+	/**
+	 * Closes the file of the cache. The mapped memory is released by the Java runtime environment once the cache is no longer referenced.
+	 *
+	 * @throws IOException
+	 *             If the file could not be closed.
+	 *
+	 * @since 3.0.0
+	 */
+	@Override
+	public void close( ) throws IOException {
+		ivChannel.close( );
+	}
+
+	boolean isVerified( final PublicKey aPublicKey, final byte[] aBinaryLicense ) {
+		final byte[] code = calculateCode( aPublicKey, aBinaryLicense );
+		final int offset = getSlotOffset( code );
+
+		// The comparison is done on all bytes, so that the time does not depend on the content
+		int difference = 0;
+		for ( int i = 0; i < SLOT_LENGTH; i++ ) {
+			difference |= ivBuffer.get( offset + i ) ^ code[i];
+		}
+		return difference == 0;
+	}
+
+	void markVerified( final PublicKey aPublicKey, final byte[] aBinaryLicense ) {
+		final byte[] code = calculateCode( aPublicKey, aBinaryLicense );
+		final int offset = getSlotOffset( code );
+
+		for ( int i = 0; i < SLOT_LENGTH; i++ ) {
+			ivBuffer.put( offset + i, code[i] );
+		}
+	}
+
+	private byte[] calculateCode( final PublicKey aPublicKey, final byte[] aBinaryLicense ) {
+		final byte[] encodedKey = aPublicKey.getEncoded( );
+
+		// The length prefix makes sure that the key and the license cannot be shifted against each other
+		final Mac mac = ivMac.get( );
+		mac.update( ByteBuffer.allocate( Integer.BYTES ).putInt( encodedKey.length ).array( ) );
+		mac.update( encodedKey );
+		mac.update( aBinaryLicense );
+		return mac.doFinal( );
+	}
+
+	private int getSlotOffset( final byte[] aCode ) {
+		final int hash = ByteBuffer.wrap( aCode ).getInt( );
+		return HEADER_LENGTH + Math.floorMod( hash, ivSlots ) * SLOT_LENGTH;
+	}
+
+	private static Mac createMac( final SecretKeySpec aSecretKey ) {
+		try {
+			final Mac mac = Mac.getInstance( MAC_ALGORITHM );
+			mac.init( aSecretKey );
+			return mac;
+		} catch ( final NoSuchAlgorithmException | InvalidKeyException ex ) {
+			// This has already been checked in the constructor
+			throw new IllegalStateException( ex );
+		}
+	}
+
+}
@@ -0,0 +1,343 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.load;
+
+import static de.rhocas.lijense.Constants.LICENSE_KEY_EXPIRATION_DATE;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import de.rhocas.lijense.key.KeyException;
+import de.rhocas.lijense.key.KeyUtil;
+import de.rhocas.lijense.license.LicenseException;
+import de.rhocas.lijense.license.LicenseUtil;
+import de.rhocas.lijense.license.ModifiableLicense;
+import de.rhocas.lijense.license.UnmodifiableLicense;
+import de.rhocas.lijense.statistics.LatencyHistogram;
+
+/**
+ * This load generator measures how the operations of liJense scale with the number of threads. Each thread executes a random mix of {@link LoadOperation}s
+ * against a realistic license for a warmup period and a measurement period. Only the operations completed during the measurement period are recorded. Each thread
+ * records into its own histogram, which means that the generator itself does not introduce any contention.<br>
+ * <br>
+ * The results of all operations are checked. Wrong results are counted as failures, as they indicate that shared state (for instance
+ * {@link de.rhocas.lijense.Constants#DATE_FORMAT}) is not safe for concurrent use.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LoadGenerator {
+
+	private static final String CUSTOMER = "Customer, Inc.";
+	private static final int SEATS = 250;
+	private static final LocalDate EXPIRATION_DATE = LocalDate.of( 2099, 12, 31 );
+	private static final String[] FEATURES = { "module.reporting.active", "module.export.active", "module.import.active", "module.audit.active" };
+
+	private final PrivateKey ivPrivateKey;
+	private final PublicKey ivPublicKey;
+	private final byte[] ivFingerprint;
+	private final int[] ivCumulativeWeights;
+	private final long ivWarmup;
+	private final long ivMeasurement;
+
+	private final String ivLicense;
+	private final byte[] ivBinaryLicense;
+	private final UnmodifiableLicense ivLoadedLicense;
+	private final Date ivExpectedExpirationDate;
+
+	/**
+	 * Creates a new load generator.
+	 *
+	 * @param aPrivateKey
+	 *            The private key used to issue licenses. Must not be {@code null}.
+	 * @param aPublicKey
+	 *            The public key used to verify licenses. Must not be {@code null}.
+	 * @param aMix
+	 *            The relative weights of the operations. Operations without weight are not executed. Must not be {@code null}.
+	 * @param aWarmup
+	 *            The duration of the warmup at each concurrency level. Must not be {@code null}.
+	 * @param aMeasurement
+	 *            The duration of the measurement at each concurrency level. Must not be {@code null}.
+	 *
+	 * @throws LicenseException
+	 *             If the sample license could not be created or verified with the given keys.
+	 * @throws KeyException
+	 *             If the fingerprint of the public key could not be calculated.
+	 * @throws IllegalArgumentException
+	 *             If a weight is negative, if no operation has a positive weight, if the warmup is negative, or if the measurement is not positive.
+	 * @throws NullPointerException
+	 * 	           If any of the parameters is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public LoadGenerator( final PrivateKey aPrivateKey, final PublicKey aPublicKey, final Map<LoadOperation, Integer> aMix, final Duration aWarmup, final Duration aMeasurement )
+			throws LicenseException, KeyException {
+		ivPrivateKey = Objects.requireNonNull( aPrivateKey, "The private key must not be null." );
+		ivPublicKey = Objects.requireNonNull( aPublicKey, "The public key must not be null." );
+		Objects.requireNonNull( aMix, "The mix must not be null." );
+		Objects.requireNonNull( aWarmup, "The warmup must not be null." );
+		Objects.requireNonNull( aMeasurement, "The measurement must not be null." );
+
+		if ( aWarmup.isNegative( ) ) {
+			throw new IllegalArgumentException( "The warmup must not be negative." );
+		}
+		if ( aMeasurement.isNegative( ) || aMeasurement.isZero( ) ) {
+			throw new IllegalArgumentException( "The measurement must be positive." );
+		}
+
+		final LoadOperation[] operations = LoadOperation.values( );
+		ivCumulativeWeights = new int[operations.length];
+		int totalWeight = 0;
+		for ( final LoadOperation operation : operations ) {
+			final int weight = aMix.getOrDefault( operation, 0 );
+			if ( weight < 0 ) {
+				throw new IllegalArgumentException( "The weight of an operation must not be negative." );
+			}
+			totalWeight += weight;
+			ivCumulativeWeights[operation.ordinal( )] = totalWeight;
+		}
+		if ( totalWeight == 0 ) {
+			throw new IllegalArgumentException( "The mix must contain at least one operation with a positive weight." );
+		}
+
+		ivWarmup = aWarmup.toNanos( );
+		ivMeasurement = aMeasurement.toNanos( );
+		ivFingerprint = KeyUtil.calculateFingerprint( aPublicKey );
+		ivExpectedExpirationDate = Date.from( EXPIRATION_DATE.atStartOfDay( ZoneId.systemDefault( ) ).toInstant( ) );
+
+		final ModifiableLicense sampleLicense = createSampleLicense( );
+		ivLicense = LicenseUtil.createLicenseFile( sampleLicense, aPrivateKey );
+		ivBinaryLicense = LicenseUtil.createBinaryLicenseFile( sampleLicense, aPrivateKey );
+		ivLoadedLicense = LicenseUtil.loadLicenseFileFromBinary( aPublicKey, ivBinaryLicense, Optional.of( ivFingerprint ) );
+	}
+
+	/**
+	 * Runs the load at the given concurrency levels one after another.
+	 *
+	 * @param aLevels
+	 *            The numbers of threads. Must not be {@code null}.
+	 *
+	 * @return The results of the levels in the given order.
+	 *
+	 * @throws InterruptedException
+	 *             If the current thread is interrupted while waiting for the load threads.
+	 * @throws IllegalArgumentException
+	 *             If one of the levels is not positive.
+	 * @throws NullPointerException
+	 * 	           If the given levels are {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public List<LoadLevelResult> run( final int[] aLevels ) throws InterruptedException {
+		Objects.requireNonNull( aLevels, "The levels must not be null." );
+
+		final List<LoadLevelResult> results = new ArrayList<>( aLevels.length );
+		for ( final int threads : aLevels ) {
+			results.add( run( threads ) );
+		}
+		return results;
+	}
+
+	/**
+	 * Runs the load with the given number of threads.
+	 *
+	 * @param aThreads
+	 *            The number of threads. Must be positive.
+	 *
+	 * @return The result of the measurement.
+	 *
+	 * @throws InterruptedException
+	 *             If the current thread is interrupted while waiting for the load threads.
+	 * @throws IllegalArgumentException
+	 *             If the number of threads is not positive.
+	 *
+	 * @since 3.0.0
+	 */
+	public LoadLevelResult run( final int aThreads ) throws InterruptedException {
+		if ( aThreads <= 0 ) {
+			throw new IllegalArgumentException( "The number of threads must be positive." );
+		}
+
+		final LoadWorker[] workers = new LoadWorker[aThreads];
+		final Thread[] threads = new Thread[aThreads];
+		final long measurementStart = System.nanoTime( ) + ivWarmup;
+		final long measurementEnd = measurementStart + ivMeasurement;
+		for ( int index = 0; index < aThreads; index++ ) {
+			workers[index] = new LoadWorker( measurementStart, measurementEnd );
+			threads[index] = new Thread( workers[index], "lijense-load-" + index );
+			threads[index].setDaemon( true );
+			threads[index].start( );
+		}
+
+		try {
+			for ( final Thread thread : threads ) {
+				thread.join( );
+			}
+		} catch ( final InterruptedException ex ) {
+			for ( final Thread thread : threads ) {
+				thread.interrupt( );
+			}
+			throw ex;
+		}
+
+		// The join establishes the happens-before relation for the fields of the workers
+		final long[] operations = new long[LoadOperation.values( ).length];
+		final LatencyHistogram histogram = new LatencyHistogram( );
+		long failures = 0;
+		long totalLatency = 0;
+		for ( final LoadWorker worker : workers ) {
+			for ( int index = 0; index < operations.length; index++ ) {
+				operations[index] += worker.ivOperations[index];
+			}
+			histogram.add( worker.ivHistogram );
+			failures += worker.ivFailures;
+			totalLatency += worker.ivTotalLatency;
+		}
+
+		return new LoadLevelResult( aThreads, ivMeasurement, operations, failures, totalLatency, histogram );
+	}
+
+	private LoadOperation nextOperation( ) {
+		final int value = ThreadLocalRandom.current( ).nextInt( ivCumulativeWeights[ivCumulativeWeights.length - 1] );
+		final LoadOperation[] operations = LoadOperation.values( );
+		for ( int index = 0; index < ivCumulativeWeights.length; index++ ) {
+			if ( value < ivCumulativeWeights[index] ) {
+				return operations[index];
+			}
+		}
+
+		// Cannot happen, as the value is always smaller than the total weight
+		throw new IllegalStateException( );
+	}
+
+	boolean execute( final LoadOperation aOperation ) throws LicenseException, ParseException {
+		switch ( aOperation ) {
+			case LOAD:
+				return CUSTOMER.equals( LicenseUtil.loadLicenseFileWithoutValidationFromString( ivLicense ).getValue( "customer" ) );
+			case VERIFY:
+				return CUSTOMER.equals( LicenseUtil.loadLicenseFileFromBinary( ivPublicKey, ivBinaryLicense, Optional.of( ivFingerprint ) ).getValue( "customer" ) );
+			case LOOKUP:
+				return lookup( ivLoadedLicense );
+			case ISSUE:
+				return LicenseUtil.createBinaryLicenseFile( createSampleLicense( ), ivPrivateKey ).length > 0;
+			default:
+				throw new IllegalArgumentException( "Unknown operation: " + aOperation );
+		}
+	}
+
+	private boolean lookup( final UnmodifiableLicense aLicense ) throws ParseException {
+		if ( !ivExpectedExpirationDate.equals( aLicense.getValueAsDate( LICENSE_KEY_EXPIRATION_DATE, null ) ) ) {
+			return false;
+		}
+		if ( aLicense.getValueAsInt( "seats", 0 ) != SEATS ) {
+			return false;
+		}
+		for ( final String feature : FEATURES ) {
+			if ( !aLicense.isFeatureActive( feature ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static ModifiableLicense createSampleLicense( ) {
+		final ModifiableLicense license = new ModifiableLicense( );
+		license.setValue( "customer", CUSTOMER );
+		license.setValue( "seats", SEATS );
+		license.setValue( LICENSE_KEY_EXPIRATION_DATE, EXPIRATION_DATE.toString( ) );
+		license.setSerial( "0123456789abcdef" );
+		for ( final String feature : FEATURES ) {
+			license.setValue( feature, true );
+		}
+		license.setValues( "modules", Arrays.asList( "reporting", "export", "import", "audit" ) );
+		return license;
+	}
+
+	/**
+	 * The state of a single load thread. The fields are only written by the thread itself and read after the thread has been joined.
+	 */
+	private final class LoadWorker implements Runnable {
+
+		private final long ivMeasurementStart;
+		private final long ivMeasurementEnd;
+		private final long[] ivOperations = new long[LoadOperation.values( ).length];
+		private final LatencyHistogram ivHistogram = new LatencyHistogram( );
+		private long ivFailures;
+		private long ivTotalLatency;
+
+		LoadWorker( final long aMeasurementStart, final long aMeasurementEnd ) {
+			ivMeasurementStart = aMeasurementStart;
+			ivMeasurementEnd = aMeasurementEnd;
+		}
+
+		@Override
+		public void run( ) {
+			long now = System.nanoTime( );
+			while ( now < ivMeasurementEnd && !Thread.currentThread( ).isInterrupted( ) ) {
+				final LoadOperation operation = nextOperation( );
+				final long start = now;
+
+				boolean success;
+				try {
+					success = execute( operation );
+				} catch ( final LicenseException | ParseException | RuntimeException ex ) {
+					// Exceptions are expected when shared state is corrupted by concurrent access
+					success = false;
+				}
+
+				now = System.nanoTime( );
+				if ( start >= ivMeasurementStart && now <= ivMeasurementEnd ) {
+					record( operation, now - start, success );
+				}
+			}
+		}
+
+		private void record( final LoadOperation aOperation, final long aLatency, final boolean aSuccess ) {
+			ivOperations[aOperation.ordinal( )]++;
+			ivHistogram.record( aLatency );
+			ivTotalLatency += aLatency;
+			if ( !aSuccess ) {
+				ivFailures++;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,175 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.load;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import de.rhocas.lijense.key.KeyException;
+import de.rhocas.lijense.key.KeyUtil;
+import de.rhocas.lijense.license.LicenseException;
+
+/**
+ * This is the command line entry point for the {@link LoadGenerator}. If no keys are given, a new key pair is generated. Usage:
+ *
+ * <pre>
+ * java -cp lijense.jar de.rhocas.lijense.load.LoadGeneratorCommand [--private-key &lt;file&gt; --public-key &lt;file&gt;] [--threads &lt;n,n,...&gt;]
+ *      [--mix &lt;operation=weight,...&gt;] [--warmup-seconds &lt;n&gt;] [--seconds &lt;n&gt;]
+ * </pre>
+ *
+ * The default mix is {@code verify=60,lookup=30,load=5,issue=5} and the default levels are the powers of two up to the number of available processors.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LoadGeneratorCommand {
+
+	private static final String USAGE = "Usage: [--private-key <file> --public-key <file>] [--threads <n,n,...>] [--mix <operation=weight,...>] [--warmup-seconds <n>] [--seconds <n>]";
+	private static final String DEFAULT_MIX = "verify=60,lookup=30,load=5,issue=5";
+
+	private LoadGeneratorCommand( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+	/**
+	 * The main method of the command.
+	 *
+	 * @param aArguments
+	 *            The command line arguments.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void main( final String[] aArguments ) {
+		System.exit( run( aArguments, System.out, System.err ) );
+	}
+
+	static int run( final String[] aArguments, final PrintStream aOut, final PrintStream aErr ) {
+		final Map<String, String> options = new HashMap<>( );
+		for ( int index = 0; index < aArguments.length; index += 2 ) {
+			if ( !aArguments[index].startsWith( "--" ) || index + 1 >= aArguments.length ) {
+				aErr.println( USAGE );
+				return 1;
+			}
+			options.put( aArguments[index].substring( 2 ), aArguments[index + 1] );
+		}
+
+		final String privateKeyFile = options.get( "private-key" );
+		final String publicKeyFile = options.get( "public-key" );
+		if ( ( privateKeyFile == null ) != ( publicKeyFile == null ) ) {
+			aErr.println( USAGE );
+			return 1;
+		}
+
+		try {
+			final int[] levels = options.containsKey( "threads" ) ? parseLevels( options.get( "threads" ) ) : defaultLevels( );
+			final Map<LoadOperation, Integer> mix = parseMix( options.getOrDefault( "mix", DEFAULT_MIX ) );
+			final Duration warmup = Duration.ofSeconds( Long.parseLong( options.getOrDefault( "warmup-seconds", "2" ) ) );
+			final Duration measurement = Duration.ofSeconds( Long.parseLong( options.getOrDefault( "seconds", "10" ) ) );
+
+			final PrivateKey privateKey;
+			final PublicKey publicKey;
+			if ( privateKeyFile != null ) {
+				privateKey = KeyUtil.loadPrivateKeyFromFile( new File( privateKeyFile ) );
+				publicKey = KeyUtil.loadPublicKeyFromFile( new File( publicKeyFile ) );
+			} else {
+				final KeyPair keyPair = KeyUtil.generateNewKeyPair( );
+				privateKey = keyPair.getPrivate( );
+				publicKey = keyPair.getPublic( );
+			}
+
+			final LoadGenerator generator = new LoadGenerator( privateKey, publicKey, mix, warmup, measurement );
+			aOut.println( "mix=" + mix + ", warmup=" + warmup.getSeconds( ) + " s, measurement=" + measurement.getSeconds( ) + " s" );
+
+			LoadLevelResult baseline = null;
+			long failures = 0;
+			for ( final int threads : levels ) {
+				final LoadLevelResult result = generator.run( threads );
+				if ( baseline == null ) {
+					baseline = result;
+				}
+				failures += result.getFailures( );
+				aOut.println( String.format( Locale.ENGLISH, "%s, efficiency=%.2f", result, result.getScalingEfficiency( baseline ) ) );
+			}
+
+			return failures == 0 ? 0 : 2;
+		} catch ( final IllegalArgumentException | KeyException | LicenseException ex ) {
+			aErr.println( ex.getMessage( ) );
+			return 1;
+		} catch ( final InterruptedException ex ) {
+			Thread.currentThread( ).interrupt( );
+			aErr.println( ex.getMessage( ) );
+			return 1;
+		}
+	}
+
+	static int[] parseLevels( final String aLevels ) {
+		final String[] values = aLevels.split( "," );
+		final int[] levels = new int[values.length];
+		for ( int index = 0; index < values.length; index++ ) {
+			levels[index] = Integer.parseInt( values[index].trim( ) );
+			if ( levels[index] <= 0 ) {
+				throw new IllegalArgumentException( "The number of threads must be positive." );
+			}
+		}
+		return levels;
+	}
+
+	static Map<LoadOperation, Integer> parseMix( final String aMix ) {
+		final Map<LoadOperation, Integer> mix = new EnumMap<>( LoadOperation.class );
+		for ( final String entry : aMix.split( "," ) ) {
+			final int separatorIndex = entry.indexOf( '=' );
+			if ( separatorIndex < 0 ) {
+				throw new IllegalArgumentException( "The mix entry '" + entry + "' must have the form operation=weight" );
+			}
+			final LoadOperation operation = LoadOperation.valueOf( entry.substring( 0, separatorIndex ).trim( ).toUpperCase( Locale.ENGLISH ) );
+			mix.put( operation, Integer.valueOf( entry.substring( separatorIndex + 1 ).trim( ) ) );
+		}
+		return mix;
+	}
+
+	private static int[] defaultLevels( ) {
+		final int processors = Runtime.getRuntime( ).availableProcessors( );
+		final List<Integer> levels = new ArrayList<>( );
+		for ( int threads = 1; threads < processors; threads *= 2 ) {
+			levels.add( threads );
+		}
+		levels.add( processors );
+		return levels.stream( ).mapToInt( Integer::intValue ).toArray( );
+	}
+
+}
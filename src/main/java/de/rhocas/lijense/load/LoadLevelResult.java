@@ -0,0 +1,218 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.load;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import de.rhocas.lijense.statistics.LatencyHistogram;
+
+/**
+ * This is the result of a {@link LoadGenerator} run at a single concurrency level. The latencies are recorded in a {@link LatencyHistogram}.
+ * Percentiles are therefore approximations (the upper bound of the corresponding bucket).
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LoadLevelResult {
+
+	private final int ivThreads;
+	private final long ivElapsedTime;
+	private final long[] ivOperations;
+	private final long ivFailures;
+	private final long ivTotalLatency;
+	private final LatencyHistogram ivHistogram;
+
+	LoadLevelResult( final int aThreads, final long aElapsedTime, final long[] aOperations, final long aFailures, final long aTotalLatency, final LatencyHistogram aHistogram ) {
+		ivThreads = aThreads;
+		ivElapsedTime = aElapsedTime;
+		ivOperations = aOperations;
+		ivFailures = aFailures;
+		ivTotalLatency = aTotalLatency;
+		ivHistogram = aHistogram;
+	}
+
+	/**
+	 * Delivers the number of concurrently running threads.
+	 *
+	 * @return The number of threads.
+	 *
+	 * @since 3.0.0
+	 */
+	public int getThreads( ) {
+		return ivThreads;
+	}
+
+	/**
+	 * Delivers the number of operations completed during the measurement (including failed operations).
+	 *
+	 * @return The number of operations.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getOperations( ) {
+		long operations = 0;
+		for ( final long operationsOfType : ivOperations ) {
+			operations += operationsOfType;
+		}
+		return operations;
+	}
+
+	/**
+	 * Delivers the number of operations of the given type completed during the measurement (including failed operations).
+	 *
+	 * @param aOperation
+	 *            The type of the operation. Must not be {@code null}.
+	 *
+	 * @return The number of operations.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given operation is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getOperations( final LoadOperation aOperation ) {
+		Objects.requireNonNull( aOperation, "The operation must not be null." );
+
+		return ivOperations[aOperation.ordinal( )];
+	}
+
+	/**
+	 * Delivers the number of operations which failed or delivered a wrong result. Any failure indicates that the operation is not safe for concurrent use.
+	 *
+	 * @return The number of failed operations.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getFailures( ) {
+		return ivFailures;
+	}
+
+	/**
+	 * Returns the elapsed time of the measurement.
+	 *
+	 * @param aTimeUnit
+	 *            The time unit of the result.
+	 *
+	 * @return The elapsed time.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getElapsedTime( final TimeUnit aTimeUnit ) {
+		return aTimeUnit.convert( ivElapsedTime, TimeUnit.NANOSECONDS );
+	}
+
+	/**
+	 * Returns the throughput of all threads together.
+	 *
+	 * @return The number of operations per second.
+	 *
+	 * @since 3.0.0
+	 */
+	public double getThroughput( ) {
+		return getOperations( ) * 1e9 / Math.max( 1, ivElapsedTime );
+	}
+
+	/**
+	 * Returns the scaling efficiency compared to the given baseline. The efficiency is the throughput per thread of this level divided by the throughput per
+	 * thread of the baseline. A value of 1 means linear scaling, while smaller values indicate contention.
+	 *
+	 * @param aBaseline
+	 *            The baseline, usually the result of a single thread. Must not be {@code null}.
+	 *
+	 * @return The scaling efficiency.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given baseline is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public double getScalingEfficiency( final LoadLevelResult aBaseline ) {
+		Objects.requireNonNull( aBaseline, "The baseline must not be null." );
+
+		final double baselineThroughputPerThread = aBaseline.getThroughput( ) / aBaseline.getThreads( );
+		return baselineThroughputPerThread > 0 ? getThroughput( ) / ivThreads / baselineThroughputPerThread : 0;
+	}
+
+	/**
+	 * Returns the mean latency of a single operation.
+	 *
+	 * @param aTimeUnit
+	 *            The time unit of the result.
+	 *
+	 * @return The mean latency.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getMeanLatency( final TimeUnit aTimeUnit ) {
+		final long operations = getOperations( );
+		final long meanLatency = operations > 0 ? ivTotalLatency / operations : 0;
+		return aTimeUnit.convert( meanLatency, TimeUnit.NANOSECONDS );
+	}
+
+	/**
+	 * Returns the maximal latency of a single operation.
+	 *
+	 * @param aTimeUnit
+	 *            The time unit of the result.
+	 *
+	 * @return The maximal latency.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getMaximalLatency( final TimeUnit aTimeUnit ) {
+		return ivHistogram.getMaximalLatency( aTimeUnit );
+	}
+
+	/**
+	 * Returns an approximation for the given percentile of the latencies.
+	 *
+	 * @param aPercentile
+	 *            The percentile. Must be between 0 and 100.
+	 * @param aTimeUnit
+	 *            The time unit of the result.
+	 *
+	 * @return The upper bound of the histogram bucket containing the percentile.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If the given percentile is out of range.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getLatencyPercentile( final double aPercentile, final TimeUnit aTimeUnit ) {
+		return ivHistogram.getLatencyPercentile( aPercentile, aTimeUnit );
+	}
+
+	@Override
+	public String toString( ) {
+		return String.format( "threads=%d, operations=%d, failures=%d, throughput=%.1f/s, latency mean=%d us, p50=%d us, p99=%d us, p99.9=%d us, max=%d us", ivThreads,
+				getOperations( ), ivFailures, getThroughput( ), getMeanLatency( TimeUnit.MICROSECONDS ), getLatencyPercentile( 50, TimeUnit.MICROSECONDS ),
+				getLatencyPercentile( 99, TimeUnit.MICROSECONDS ), getLatencyPercentile( 99.9, TimeUnit.MICROSECONDS ), getMaximalLatency( TimeUnit.MICROSECONDS ) );
+	}
+
+}
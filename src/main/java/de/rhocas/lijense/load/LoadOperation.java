@@ -0,0 +1,67 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.load;
+
+import de.rhocas.lijense.license.LicenseUtil;
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * This enumeration contains the operations which can be mixed by the {@link LoadGenerator}.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public enum LoadOperation {
+
+	/**
+	 * The loading of a Base64 encoded license without verification of the signature.
+	 */
+	LOAD,
+
+	/**
+	 * The loading of a binary license including the verification of the signature and of the fingerprint of the public key.
+	 *
+	 * @see LicenseUtil#loadLicenseFileFromBinary(java.security.PublicKey, byte[], java.util.Optional)
+	 */
+	VERIFY,
+
+	/**
+	 * The typed lookup of values (date, integer, and feature flag) within an already loaded license.
+	 *
+	 * @see UnmodifiableLicense#getValueAsDate(String, java.util.Date)
+	 */
+	LOOKUP,
+
+	/**
+	 * The creation and signing of a new binary license.
+	 *
+	 * @see LicenseUtil#createBinaryLicenseFile(de.rhocas.lijense.license.ModifiableLicense, java.security.PrivateKey)
+	 */
+	ISSUE
+
+}
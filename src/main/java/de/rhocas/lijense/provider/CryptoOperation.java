@@ -0,0 +1,96 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.provider;
+
+import de.rhocas.lijense.Constants;
+
+/**
+ * This enumeration contains the cryptographic operations used by liJense for which the provider can be selected.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public enum CryptoOperation {
+
+	/**
+	 * The creation and verification of digital signatures with {@link Constants#SIGNATURE_ALGORITHM}.
+	 */
+	SIGNATURE( "Signature", Constants.SIGNATURE_ALGORITHM ),
+
+	/**
+	 * The creation of raw RSA signatures over a prepared digest info with {@code NONEwithRSA}, as used by signers which receive only the digest of a license.
+	 * The Java runtime environment creates these signatures with the {@code RSA} cipher of the provider.
+	 */
+	RAW_SIGNATURE( "Cipher", "RSA" ),
+
+	/**
+	 * The calculation of digests and fingerprints with {@link Constants#FINGERPRINT_ALGORITHM}.
+	 */
+	MESSAGE_DIGEST( "MessageDigest", Constants.FINGERPRINT_ALGORITHM ),
+
+	/**
+	 * The decoding of keys with {@link Constants#KEY_ALGORITHM}.
+	 */
+	KEY_FACTORY( "KeyFactory", Constants.KEY_ALGORITHM ),
+
+	/**
+	 * The generation of new key pairs with {@link Constants#KEY_ALGORITHM}.
+	 */
+	KEY_PAIR_GENERATOR( "KeyPairGenerator", Constants.KEY_ALGORITHM );
+
+	private final String ivServiceType;
+	private final String ivAlgorithm;
+
+	private CryptoOperation( final String aServiceType, final String aAlgorithm ) {
+		ivServiceType = aServiceType;
+		ivAlgorithm = aAlgorithm;
+	}
+
+	/**
+	 * Delivers the type of the service as used by the {@link java.security.Provider}, for instance {@code Signature}.
+	 *
+	 * @return The type of the service.
+	 *
+	 * @since 3.0.0
+	 */
+	public String getServiceType( ) {
+		return ivServiceType;
+	}
+
+	/**
+	 * Delivers the algorithm used for the operation.
+	 *
+	 * @return The algorithm.
+	 *
+	 * @since 3.0.0
+	 */
+	public String getAlgorithm( ) {
+		return ivAlgorithm;
+	}
+
+}
@@ -0,0 +1,101 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.provider;
+
+/**
+ * This is the result of the benchmark of a single provider for a single operation.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ *
+ * @see ProviderUtil#benchmarkProviders()
+ */
+public final class ProviderBenchmarkResult {
+
+	private final CryptoOperation ivOperation;
+	private final String ivProviderName;
+	private final long ivOperations;
+	private final double ivNanosPerOperation;
+
+	ProviderBenchmarkResult( final CryptoOperation aOperation, final String aProviderName, final long aOperations, final double aNanosPerOperation ) {
+		ivOperation = aOperation;
+		ivProviderName = aProviderName;
+		ivOperations = aOperations;
+		ivNanosPerOperation = aNanosPerOperation;
+	}
+
+	/**
+	 * Delivers the benchmarked operation.
+	 *
+	 * @return The operation.
+	 *
+	 * @since 3.0.0
+	 */
+	public CryptoOperation getOperation( ) {
+		return ivOperation;
+	}
+
+	/**
+	 * Delivers the name of the benchmarked provider.
+	 *
+	 * @return The name of the provider.
+	 *
+	 * @since 3.0.0
+	 */
+	public String getProviderName( ) {
+		return ivProviderName;
+	}
+
+	/**
+	 * Delivers the number of measured operations.
+	 *
+	 * @return The number of operations.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getOperations( ) {
+		return ivOperations;
+	}
+
+	/**
+	 * Delivers the average time of a single operation.
+	 *
+	 * @return The average time in nanoseconds.
+	 *
+	 * @since 3.0.0
+	 */
+	public double getNanosPerOperation( ) {
+		return ivNanosPerOperation;
+	}
+
+	@Override
+	public String toString( ) {
+		return String.format( "%s with %s: %.0f ns/op (%d ops)", ivOperation, ivProviderName, ivNanosPerOperation, ivOperations );
+	}
+
+}
@@ -0,0 +1,314 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.provider;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
+import java.security.Security;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import de.rhocas.lijense.Constants;
+
+/**
+ * This is a util class to select the cryptographic providers used by liJense. By default, the usual provider lookup of the Java runtime environment is used.
+ * The provider can be selected for each {@link CryptoOperation} either explicitly or by benchmarking the available providers once at startup.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class ProviderUtil {
+
+	private static final int WARMUP_OPERATIONS = 20;
+	private static final long BENCHMARK_DURATION = TimeUnit.MILLISECONDS.toNanos( 100 );
+	private static final int BENCHMARK_PAYLOAD_LENGTH = 4096;
+	private static final String RAW_SIGNATURE_ALGORITHM = "NONEwithRSA";
+
+	private static final AtomicReferenceArray<Provider> PROVIDERS = new AtomicReferenceArray<>( CryptoOperation.values( ).length );
+	private static final AtomicReference<List<ProviderBenchmarkResult>> BENCHMARK_RESULTS = new AtomicReference<>( Collections.emptyList( ) );
+
+	private ProviderUtil( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+	/**
+	 * Pins the provider for the given operation.
+	 *
+	 * @param aOperation
+	 *            The operation. Must not be {@code null}.
+	 * @param aProvider
+	 *            The provider. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given operation or the given provider is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the provider does not support the algorithm of the operation.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void setProvider( final CryptoOperation aOperation, final Provider aProvider ) {
+		Objects.requireNonNull( aOperation, "The operation must not be null." );
+		Objects.requireNonNull( aProvider, "The provider must not be null." );
+
+		if ( aProvider.getService( aOperation.getServiceType( ), aOperation.getAlgorithm( ) ) == null ) {
+			throw new IllegalArgumentException( "The provider does not support the operation." );
+		}
+
+		PROVIDERS.set( aOperation.ordinal( ), aProvider );
+	}
+
+	/**
+	 * Resets the provider for the given operation, so that the usual provider lookup of the Java runtime environment is used again.
+	 *
+	 * @param aOperation
+	 *            The operation. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given operation is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void resetProvider( final CryptoOperation aOperation ) {
+		Objects.requireNonNull( aOperation, "The operation must not be null." );
+
+		PROVIDERS.set( aOperation.ordinal( ), null );
+	}
+
+	/**
+	 * Delivers the provider pinned for the given operation.
+	 *
+	 * @param aOperation
+	 *            The operation. Must not be {@code null}.
+	 *
+	 * @return The pinned provider or an empty optional if the usual provider lookup is used.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given operation is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static Optional<Provider> getProvider( final CryptoOperation aOperation ) {
+		Objects.requireNonNull( aOperation, "The operation must not be null." );
+
+		return Optional.ofNullable( PROVIDERS.get( aOperation.ordinal( ) ) );
+	}
+
+	/**
+	 * Benchmarks all installed providers supporting {@link CryptoOperation#SIGNATURE} (verification of a signature) and {@link CryptoOperation#MESSAGE_DIGEST}
+	 * and pins the fastest one for each operation. As this takes some time, it should be called once at the startup of the application. Providers which fail
+	 * during the benchmark are not considered. The remaining operations are only used when keys are loaded or generated or when digests are signed and are not
+	 * benchmarked.
+	 *
+	 * @return The results of the benchmark. The results are also available via {@link #getBenchmarkResults()}.
+	 *
+	 * @throws GeneralSecurityException
+	 *             If the key pair or the signature for the benchmark could not be created.
+	 *
+	 * @since 3.0.0
+	 */
+	public static List<ProviderBenchmarkResult> benchmarkProviders( ) throws GeneralSecurityException {
+		final byte[] payload = new byte[BENCHMARK_PAYLOAD_LENGTH];
+		for ( int i = 0; i < payload.length; i++ ) {
+			payload[i] = ( byte ) i;
+		}
+
+		final KeyPairGenerator keyPairGenerator = createKeyPairGenerator( );
+		keyPairGenerator.initialize( Constants.KEY_SIZE );
+		final KeyPair keyPair = keyPairGenerator.generateKeyPair( );
+
+		final Signature referenceSignature = createSignature( );
+		referenceSignature.initSign( keyPair.getPrivate( ) );
+		referenceSignature.update( payload );
+		final byte[] binarySignature = referenceSignature.sign( );
+
+		final List<ProviderBenchmarkResult> results = new ArrayList<>( );
+		results.addAll( benchmark( CryptoOperation.SIGNATURE, aProvider -> {
+			final Signature signature = Signature.getInstance( Constants.SIGNATURE_ALGORITHM, aProvider );
+			signature.initVerify( keyPair.getPublic( ) );
+			signature.update( payload );
+			if ( !signature.verify( binarySignature ) ) {
+				throw new GeneralSecurityException( "The signature could not be verified" );
+			}
+		} ) );
+		results.addAll( benchmark( CryptoOperation.MESSAGE_DIGEST, aProvider -> MessageDigest.getInstance( Constants.FINGERPRINT_ALGORITHM, aProvider ).digest( payload ) ) );
+
+		final List<ProviderBenchmarkResult> unmodifiableResults = Collections.unmodifiableList( results );
+		BENCHMARK_RESULTS.set( unmodifiableResults );
+		return unmodifiableResults;
+	}
+
+	/**
+	 * Delivers the results of the last benchmark.
+	 *
+	 * @return The results of the last benchmark or an empty list if {@link #benchmarkProviders()} has not been called yet.
+	 *
+	 * @since 3.0.0
+	 */
+	public static List<ProviderBenchmarkResult> getBenchmarkResults( ) {
+		return BENCHMARK_RESULTS.get( );
+	}
+
+	/**
+	 * Creates a new signature object for {@link CryptoOperation#SIGNATURE} with the selected provider.
+	 *
+	 * @return A new signature object.
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             If the algorithm is not supported.
+	 *
+	 * @since 3.0.0
+	 */
+	public static Signature createSignature( ) throws NoSuchAlgorithmException {
+		final Provider provider = PROVIDERS.get( CryptoOperation.SIGNATURE.ordinal( ) );
+		return provider == null ? Signature.getInstance( Constants.SIGNATURE_ALGORITHM ) : Signature.getInstance( Constants.SIGNATURE_ALGORITHM, provider );
+	}
+
+	/**
+	 * Creates a new signature object for {@link CryptoOperation#RAW_SIGNATURE} with the selected provider.
+	 *
+	 * @return A new signature object.
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             If the algorithm is not supported.
+	 *
+	 * @since 3.0.0
+	 */
+	public static Signature createRawSignature( ) throws NoSuchAlgorithmException {
+		final Provider provider = PROVIDERS.get( CryptoOperation.RAW_SIGNATURE.ordinal( ) );
+		return provider == null ? Signature.getInstance( RAW_SIGNATURE_ALGORITHM ) : Signature.getInstance( RAW_SIGNATURE_ALGORITHM, provider );
+	}
+
+	/**
+	 * Creates a new message digest for {@link CryptoOperation#MESSAGE_DIGEST} with the selected provider.
+	 *
+	 * @return A new message digest.
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             If the algorithm is not supported.
+	 *
+	 * @since 3.0.0
+	 */
+	public static MessageDigest createMessageDigest( ) throws NoSuchAlgorithmException {
+		final Provider provider = PROVIDERS.get( CryptoOperation.MESSAGE_DIGEST.ordinal( ) );
+		return provider == null ? MessageDigest.getInstance( Constants.FINGERPRINT_ALGORITHM ) : MessageDigest.getInstance( Constants.FINGERPRINT_ALGORITHM, provider );
+	}
+
+	/**
+	 * Creates a new key factory for {@link CryptoOperation#KEY_FACTORY} with the selected provider.
+	 *
+	 * @return A new key factory.
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             If the algorithm is not supported.
+	 *
+	 * @since 3.0.0
+	 */
+	public static KeyFactory createKeyFactory( ) throws NoSuchAlgorithmException {
+		final Provider provider = PROVIDERS.get( CryptoOperation.KEY_FACTORY.ordinal( ) );
+		return provider == null ? KeyFactory.getInstance( Constants.KEY_ALGORITHM ) : KeyFactory.getInstance( Constants.KEY_ALGORITHM, provider );
+	}
+
+	/**
+	 * Creates a new key pair generator for {@link CryptoOperation#KEY_PAIR_GENERATOR} with the selected provider.
+	 *
+	 * @return A new key pair generator.
+	 *
+	 * @throws NoSuchAlgorithmException
+	 *             If the algorithm is not supported.
+	 *
+	 * @since 3.0.0
+	 */
+	public static KeyPairGenerator createKeyPairGenerator( ) throws NoSuchAlgorithmException {
+		final Provider provider = PROVIDERS.get( CryptoOperation.KEY_PAIR_GENERATOR.ordinal( ) );
+		return provider == null ? KeyPairGenerator.getInstance( Constants.KEY_ALGORITHM ) : KeyPairGenerator.getInstance( Constants.KEY_ALGORITHM, provider );
+	}
+
+	private static List<ProviderBenchmarkResult> benchmark( final CryptoOperation aOperation, final BenchmarkedOperation aBenchmarkedOperation ) {
+		final Provider[] providers = Security.getProviders( aOperation.getServiceType( ) + "." + aOperation.getAlgorithm( ) );
+		if ( providers == null ) {
+			return Collections.emptyList( );
+		}
+
+		final List<ProviderBenchmarkResult> results = new ArrayList<>( );
+		ProviderBenchmarkResult fastestResult = null;
+		Provider fastestProvider = null;
+
+		for ( final Provider provider : providers ) {
+			try {
+				for ( int i = 0; i < WARMUP_OPERATIONS; i++ ) {
+					aBenchmarkedOperation.run( provider );
+				}
+
+				long operations = 0;
+				long elapsedTime;
+				final long start = System.nanoTime( );
+				do {
+					aBenchmarkedOperation.run( provider );
+					operations++;
+					elapsedTime = System.nanoTime( ) - start;
+				} while ( elapsedTime < BENCHMARK_DURATION );
+
+				final ProviderBenchmarkResult result = new ProviderBenchmarkResult( aOperation, provider.getName( ), operations, ( double ) elapsedTime / operations );
+				results.add( result );
+
+				if ( fastestResult == null || result.getNanosPerOperation( ) < fastestResult.getNanosPerOperation( ) ) {
+					fastestResult = result;
+					fastestProvider = provider;
+				}
+			} catch ( final GeneralSecurityException | RuntimeException ex ) {
+				// The provider cannot be used for this operation (for instance, because it does not accept the keys of other providers)
+			}
+		}
+
+		if ( fastestProvider != null ) {
+			PROVIDERS.set( aOperation.ordinal( ), fastestProvider );
+		}
+
+		return results;
+	}
+
+	@FunctionalInterface
+	private interface BenchmarkedOperation {
+
+		void run( Provider aProvider ) throws GeneralSecurityException;
+
+	}
+
+}
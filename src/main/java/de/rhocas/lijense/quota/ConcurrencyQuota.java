@@ -0,0 +1,164 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.quota;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This quota limits the number of operations which are running at the same time (for instance the number of concurrent jobs). Each successful
+ * {@link #tryAcquire()} must be followed by exactly one {@link #release()}.<br>
+ * <br>
+ * The permits are split into stripes, each holding a share of the limit. A thread takes its permits from its own stripe first and from the other stripes only
+ * if its own stripe is empty. Released permits are returned in the same way. Each stripe is a single atomic counter, which means that the quota is lock-free
+ * and scales with the number of cores.<br>
+ * <br>
+ * This class is thread-safe.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class ConcurrencyQuota {
+
+	private final String ivKey;
+	private final long ivLimit;
+	private final int ivStripeCount;
+	private final long[] ivCapacities;
+	private final AtomicLongArray ivAvailablePermits;
+
+	ConcurrencyQuota( final String aKey, final long aLimit, final int aStripeCount ) {
+		ivKey = aKey;
+		ivLimit = aLimit;
+		ivStripeCount = StripeUtil.getStripeCount( aStripeCount, aLimit );
+
+		ivCapacities = new long[ivStripeCount];
+		ivAvailablePermits = new AtomicLongArray( ivStripeCount * StripeUtil.PADDING );
+		for ( int stripe = 0; stripe < ivStripeCount; stripe++ ) {
+			ivCapacities[stripe] = StripeUtil.getStripeLimit( aLimit, ivStripeCount, stripe );
+			ivAvailablePermits.set( stripe * StripeUtil.PADDING, ivCapacities[stripe] );
+		}
+	}
+
+	/**
+	 * Tries to take a permit from this quota.
+	 *
+	 * @return true if and only if a permit was available. Only in this case the permit has to be released afterwards.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean tryAcquire( ) {
+		final int homeStripe = StripeUtil.getHomeStripe( ivStripeCount );
+
+		for ( int i = 0; i < ivStripeCount; i++ ) {
+			final int index = ( homeStripe + i ) % ivStripeCount * StripeUtil.PADDING;
+
+			long availablePermits;
+			while ( ( availablePermits = ivAvailablePermits.get( index ) ) > 0 ) {
+				if ( ivAvailablePermits.compareAndSet( index, availablePermits, availablePermits - 1 ) ) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns a permit to this quota.
+	 *
+	 * @throws IllegalStateException
+	 *             If more permits are released than have been acquired.
+	 *
+	 * @since 3.0.0
+	 */
+	public void release( ) {
+		final int homeStripe = StripeUtil.getHomeStripe( ivStripeCount );
+
+		for ( int i = 0; i < ivStripeCount; i++ ) {
+			final int stripe = ( homeStripe + i ) % ivStripeCount;
+			final int index = stripe * StripeUtil.PADDING;
+
+			long availablePermits;
+			while ( ( availablePermits = ivAvailablePermits.get( index ) ) < ivCapacities[stripe] ) {
+				if ( ivAvailablePermits.compareAndSet( index, availablePermits, availablePermits + 1 ) ) {
+					return;
+				}
+			}
+		}
+
+		throw new IllegalStateException( "More permits have been released than acquired." );
+	}
+
+	/**
+	 * Delivers the number of permits which are currently available.
+	 *
+	 * @return The number of available permits.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getAvailablePermits( ) {
+		long availablePermits = 0;
+		for ( int stripe = 0; stripe < ivStripeCount; stripe++ ) {
+			availablePermits += ivAvailablePermits.get( stripe * StripeUtil.PADDING );
+		}
+		return availablePermits;
+	}
+
+	/**
+	 * Delivers the number of permits which are currently taken.
+	 *
+	 * @return The current usage.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getUsage( ) {
+		return ivLimit - getAvailablePermits( );
+	}
+
+	/**
+	 * Returns the key of the limit in the license.
+	 *
+	 * @return The key.
+	 *
+	 * @since 3.0.0
+	 */
+	public String getKey( ) {
+		return ivKey;
+	}
+
+	/**
+	 * Returns the maximal number of permits which can be taken at the same time.
+	 *
+	 * @return The limit.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getLimit( ) {
+		return ivLimit;
+	}
+
+}
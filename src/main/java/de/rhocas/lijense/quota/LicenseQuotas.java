@@ -0,0 +1,223 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.quota;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * This class provides the quotas for the limits contained in a license. A limit is an entry in the license with a non-negative number as value, for instance
+ * {@code api.callsPerMinute=1000} or {@code jobs.maxConcurrent=8}. A quota handle is created only once per key. It should be resolved once and kept, and all
+ * callers of the same key share the same handle.<br>
+ * <br>
+ * This class is thread-safe.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LicenseQuotas {
+
+	private final Map<String, RateQuota> ivRateQuotas = new ConcurrentHashMap<>( );
+	private final Map<String, ConcurrencyQuota> ivConcurrencyQuotas = new ConcurrentHashMap<>( );
+	private final UnmodifiableLicense ivLicense;
+	private final int ivStripeCount;
+	private final LongSupplier ivClock;
+
+	/**
+	 * Creates the quotas for the given license. The number of stripes of the quotas is the number of available processors.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given license is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public LicenseQuotas( final UnmodifiableLicense aLicense ) {
+		this( aLicense, StripeUtil.getDefaultStripeCount( ) );
+	}
+
+	/**
+	 * Creates the quotas for the given license.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 * @param aStripeCount
+	 *            The number of stripes of each quota. More stripes reduce the contention between threads. Must be positive.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given license is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the given number of stripes is not positive.
+	 *
+	 * @since 3.0.0
+	 */
+	public LicenseQuotas( final UnmodifiableLicense aLicense, final int aStripeCount ) {
+		this( aLicense, aStripeCount, System::nanoTime );
+	}
+
+	LicenseQuotas( final UnmodifiableLicense aLicense, final int aStripeCount, final LongSupplier aClock ) {
+		Objects.requireNonNull( aLicense, "The license must not be null." );
+		if ( aStripeCount <= 0 ) {
+			throw new IllegalArgumentException( "The number of stripes must be positive." );
+		}
+
+		ivLicense = aLicense;
+		ivStripeCount = aStripeCount;
+		ivClock = aClock;
+	}
+
+	/**
+	 * Returns the quota which limits the number of operations within the given period to the value of the given key. The same handle is returned for the same
+	 * key.
+	 *
+	 * @param aKey
+	 *            The key of the limit. Must not be {@code null}.
+	 * @param aPeriod
+	 *            The period of the limit. Must not be {@code null}.
+	 *
+	 * @return The quota.
+	 *
+	 * @throws QuotaException
+	 *             If the license does not contain the limit or if the limit is not a non-negative number.
+	 * @throws NullPointerException
+	 * 	           If the given key or the given period is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the given period is not positive or if the quota has already been created with another period.
+	 *
+	 * @since 3.0.0
+	 */
+	public RateQuota getRateQuota( final String aKey, final Duration aPeriod ) throws QuotaException {
+		Objects.requireNonNull( aKey, "The key must not be null." );
+		Objects.requireNonNull( aPeriod, "The period must not be null." );
+		if ( aPeriod.isNegative( ) || aPeriod.isZero( ) ) {
+			throw new IllegalArgumentException( "The period must be positive." );
+		}
+
+		RateQuota quota = ivRateQuotas.get( aKey );
+		if ( quota == null ) {
+			final long limit = getLimit( aKey );
+			quota = ivRateQuotas.computeIfAbsent( aKey, key -> new RateQuota( key, limit, aPeriod, ivStripeCount, ivClock ) );
+		}
+
+		if ( !quota.getPeriod( ).equals( aPeriod ) ) {
+			throw new IllegalArgumentException( "The quota '" + aKey + "' has already been created with another period." );
+		}
+
+		return quota;
+	}
+
+	/**
+	 * Returns the quota which limits the number of concurrent operations to the value of the given key. The same handle is returned for the same key.
+	 *
+	 * @param aKey
+	 *            The key of the limit. Must not be {@code null}.
+	 *
+	 * @return The quota.
+	 *
+	 * @throws QuotaException
+	 *             If the license does not contain the limit or if the limit is not a non-negative number.
+	 * @throws NullPointerException
+	 * 	           If the given key is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public ConcurrencyQuota getConcurrencyQuota( final String aKey ) throws QuotaException {
+		Objects.requireNonNull( aKey, "The key must not be null." );
+
+		final ConcurrencyQuota quota = ivConcurrencyQuotas.get( aKey );
+		if ( quota != null ) {
+			return quota;
+		}
+
+		final long limit = getLimit( aKey );
+		return ivConcurrencyQuotas.computeIfAbsent( aKey, key -> new ConcurrencyQuota( key, limit, ivStripeCount ) );
+	}
+
+	/**
+	 * Returns all rate quotas which have been created so far. This can be used to expose the current usage.
+	 *
+	 * @return An unmodifiable view on the rate quotas.
+	 *
+	 * @since 3.0.0
+	 */
+	public Collection<RateQuota> getRateQuotas( ) {
+		return Collections.unmodifiableCollection( ivRateQuotas.values( ) );
+	}
+
+	/**
+	 * Returns all concurrency quotas which have been created so far. This can be used to expose the current usage.
+	 *
+	 * @return An unmodifiable view on the concurrency quotas.
+	 *
+	 * @since 3.0.0
+	 */
+	public Collection<ConcurrencyQuota> getConcurrencyQuotas( ) {
+		return Collections.unmodifiableCollection( ivConcurrencyQuotas.values( ) );
+	}
+
+	/**
+	 * Returns the license of the quotas.
+	 *
+	 * @return The license.
+	 *
+	 * @since 3.0.0
+	 */
+	public UnmodifiableLicense getLicense( ) {
+		return ivLicense;
+	}
+
+	private long getLimit( final String aKey ) throws QuotaException {
+		final String value = ivLicense.getValue( aKey );
+		if ( value == null || value.isEmpty( ) ) {
+			throw new QuotaException( "The license does not contain the limit '" + aKey + "'" );
+		}
+
+		final long limit;
+		try {
+			limit = Long.parseLong( value.trim( ) );
+		} catch ( final NumberFormatException ex ) {
+			throw new QuotaException( "The limit '" + aKey + "' is not a number", ex );
+		}
+
+		if ( limit < 0 ) {
+			throw new QuotaException( "The limit '" + aKey + "' is negative" );
+		}
+
+		return limit;
+	}
+
+}
@@ -0,0 +1,191 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.quota;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * This quota limits the number of operations within a period (for instance the number of API calls per minute). It behaves like a token bucket which holds
+ * up to the limit and which is refilled continuously over the period.<br>
+ * <br>
+ * The bucket is split into stripes, each holding a share of the limit. A thread takes its permits from its own stripe first and from the other stripes only
+ * if its own stripe is empty. Each stripe is a single atomic value (the theoretical arrival time of the generic cell rate algorithm), which is updated with a
+ * single compare-and-set operation. The quota is therefore lock-free and scales with the number of cores.<br>
+ * <br>
+ * This class is thread-safe.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class RateQuota {
+
+	private final String ivKey;
+	private final long ivLimit;
+	private final Duration ivPeriod;
+	private final long ivPeriodNanos;
+	private final LongSupplier ivClock;
+	private final int ivStripeCount;
+	private final long[] ivIntervals;
+	private final AtomicLongArray ivArrivalTimes;
+
+	RateQuota( final String aKey, final long aLimit, final Duration aPeriod, final int aStripeCount, final LongSupplier aClock ) {
+		ivKey = aKey;
+		ivLimit = aLimit;
+		ivPeriod = aPeriod;
+		ivPeriodNanos = aPeriod.toNanos( );
+		ivClock = aClock;
+		ivStripeCount = StripeUtil.getStripeCount( aStripeCount, aLimit );
+
+		// Each stripe emits one permit per interval and starts with a full bucket
+		ivIntervals = new long[ivStripeCount];
+		for ( int stripe = 0; stripe < ivStripeCount; stripe++ ) {
+			final long stripeLimit = StripeUtil.getStripeLimit( aLimit, ivStripeCount, stripe );
+			ivIntervals[stripe] = stripeLimit > 0 ? Math.max( 1, ivPeriodNanos / stripeLimit ) : Long.MAX_VALUE;
+		}
+
+		final long now = aClock.getAsLong( );
+		ivArrivalTimes = new AtomicLongArray( ivStripeCount * StripeUtil.PADDING );
+		for ( int stripe = 0; stripe < ivStripeCount; stripe++ ) {
+			ivArrivalTimes.set( stripe * StripeUtil.PADDING, now );
+		}
+	}
+
+	/**
+	 * Tries to take a permit from this quota.
+	 *
+	 * @return true if and only if a permit was available.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean tryAcquire( ) {
+		if ( ivLimit == 0 ) {
+			return false;
+		}
+
+		final long now = ivClock.getAsLong( );
+		final int homeStripe = StripeUtil.getHomeStripe( ivStripeCount );
+
+		for ( int i = 0; i < ivStripeCount; i++ ) {
+			final int stripe = ( homeStripe + i ) % ivStripeCount;
+			if ( tryAcquire( stripe, now ) ) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private boolean tryAcquire( final int aStripe, final long aNow ) {
+		final int index = aStripe * StripeUtil.PADDING;
+		final long interval = ivIntervals[aStripe];
+
+		while ( true ) {
+			final long arrivalTime = ivArrivalTimes.get( index );
+			final long newArrivalTime = Math.max( arrivalTime - aNow, 0 ) + aNow + interval;
+
+			// The permit is only available if the bucket would not overflow
+			if ( newArrivalTime - aNow > ivPeriodNanos ) {
+				return false;
+			}
+
+			if ( ivArrivalTimes.compareAndSet( index, arrivalTime, newArrivalTime ) ) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Delivers the number of permits which are currently available.
+	 *
+	 * @return The number of available permits.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getAvailablePermits( ) {
+		if ( ivLimit == 0 ) {
+			return 0;
+		}
+
+		final long now = ivClock.getAsLong( );
+
+		long availablePermits = 0;
+		for ( int stripe = 0; stripe < ivStripeCount; stripe++ ) {
+			final long backlog = Math.max( ivArrivalTimes.get( stripe * StripeUtil.PADDING ) - now, 0 );
+			availablePermits += ( ivPeriodNanos - backlog ) / ivIntervals[stripe];
+		}
+
+		return Math.min( availablePermits, ivLimit );
+	}
+
+	/**
+	 * Delivers the number of permits which have been taken within the current period.
+	 *
+	 * @return The current usage.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getUsage( ) {
+		return ivLimit - getAvailablePermits( );
+	}
+
+	/**
+	 * Returns the key of the limit in the license.
+	 *
+	 * @return The key.
+	 *
+	 * @since 3.0.0
+	 */
+	public String getKey( ) {
+		return ivKey;
+	}
+
+	/**
+	 * Returns the maximal number of permits within a period.
+	 *
+	 * @return The limit.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getLimit( ) {
+		return ivLimit;
+	}
+
+	/**
+	 * Returns the period of this quota.
+	 *
+	 * @return The period.
+	 *
+	 * @since 3.0.0
+	 */
+	public Duration getPeriod( ) {
+		return ivPeriod;
+	}
+
+}
@@ -0,0 +1,77 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.quota;
+
+/**
+ * This util class contains helper methods for the striped counters of the quotas. Each stripe occupies its own cache line within an atomic array, which means
+ * that threads working on different stripes do not contend with each other.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+final class StripeUtil {
+
+	/**
+	 * This is the distance between two stripes within an atomic array of longs. Eight longs fill a cache line of 64 bytes.
+	 */
+	static final int PADDING = 8;
+
+	private StripeUtil( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+	/**
+	 * Delivers the default number of stripes, which is the number of available processors.
+	 */
+	static int getDefaultStripeCount( ) {
+		return Runtime.getRuntime( ).availableProcessors( );
+	}
+
+	/**
+	 * Delivers the number of stripes for the given limit. Each stripe must be able to hold at least one permit.
+	 */
+	static int getStripeCount( final int aRequestedStripeCount, final long aLimit ) {
+		return ( int ) Math.max( 1, Math.min( aRequestedStripeCount, aLimit ) );
+	}
+
+	/**
+	 * Delivers the share of the given limit for the given stripe. The remainder of the division is distributed over the first stripes.
+	 */
+	static long getStripeLimit( final long aLimit, final int aStripeCount, final int aStripe ) {
+		return aLimit / aStripeCount + ( aStripe < aLimit % aStripeCount ? 1 : 0 );
+	}
+
+	/**
+	 * Delivers the stripe which is tried first by the current thread.
+	 */
+	static int getHomeStripe( final int aStripeCount ) {
+		final long hash = Thread.currentThread( ).getId( ) * 0x9E3779B97F4A7C15L;
+		return ( int ) ( ( hash >>> 32 ) % aStripeCount );
+	}
+
+}
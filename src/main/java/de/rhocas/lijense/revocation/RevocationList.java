@@ -0,0 +1,173 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.revocation;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * This is a verified list of revoked license serials. It is usually loaded with
+ * {@link RevocationUtil#loadRevocationListFile(java.security.PublicKey, java.io.File, java.util.Optional)}. The list is backed by a memory-mapped file.
+ * A lookup hashes the serial without any allocation and asks a Bloom filter first. Only if the filter reports a possible match, the sorted hash array is
+ * searched. The common answer "not revoked" does therefore only need a few memory reads, even if the list contains millions of serials.<br>
+ * <br>
+ * This class is thread-safe.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class RevocationList {
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final LongBuffer ivBloomFilter;
+	private final long ivBloomFilterBits;
+	private final int ivHashFunctions;
+	private final LongBuffer ivSortedHashes;
+
+	RevocationList( final ByteBuffer aBloomFilter, final int aHashFunctions, final ByteBuffer aSortedHashes ) {
+		ivBloomFilter = aBloomFilter.asLongBuffer( );
+		ivBloomFilterBits = ( long ) ivBloomFilter.capacity( ) * Long.SIZE;
+		ivHashFunctions = aHashFunctions;
+		ivSortedHashes = aSortedHashes.asLongBuffer( );
+	}
+
+	/**
+	 * This method checks whether the given serial has been revoked.
+	 *
+	 * @param aSerial
+	 *            The serial. Can be {@code null}, in which case {@code false} is returned.
+	 *
+	 * @return true if and only if the serial is contained in the revocation list.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean isRevoked( final String aSerial ) {
+		if ( aSerial == null ) {
+			return false;
+		}
+
+		final long hash = hash( aSerial );
+		return mightContain( hash ) && binarySearch( hash );
+	}
+
+	/**
+	 * This method checks whether the given license has been revoked.
+	 *
+	 * @param aLicense
+	 *            The license. Must not be {@code null}.
+	 *
+	 * @return true if and only if the license has a serial and the serial is contained in the revocation list.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given license is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public boolean isRevoked( final UnmodifiableLicense aLicense ) {
+		return isRevoked( aLicense.getSerial( ) );
+	}
+
+	/**
+	 * Returns the number of revoked serials in this list.
+	 *
+	 * @return The number of revoked serials.
+	 *
+	 * @since 3.0.0
+	 */
+	public int size( ) {
+		return ivSortedHashes.capacity( );
+	}
+
+	static long hash( final String aSerial ) {
+		// FNV-1a over the characters followed by the finalizer of MurmurHash3 for a better distribution of the bits
+		long hash = FNV_OFFSET_BASIS;
+		for ( int index = 0; index < aSerial.length( ); index++ ) {
+			hash ^= aSerial.charAt( index );
+			hash *= FNV_PRIME;
+		}
+
+		return mix( hash );
+	}
+
+	static long mix( final long aHash ) {
+		long hash = aHash;
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	static long secondHash( final long aHash ) {
+		// Double hashing: The second hash is derived from the first one and made odd, so that it is never zero
+		return mix( aHash ^ 0x9e3779b97f4a7c15L ) | 1;
+	}
+
+	static long bloomFilterBit( final long aHash, final long aSecondHash, final int aIndex, final long aBloomFilterBits ) {
+		return Math.floorMod( aHash + aIndex * aSecondHash, aBloomFilterBits );
+	}
+
+	private boolean mightContain( final long aHash ) {
+		final long secondHash = secondHash( aHash );
+
+		for ( int index = 0; index < ivHashFunctions; index++ ) {
+			final long bit = bloomFilterBit( aHash, secondHash, index, ivBloomFilterBits );
+			if ( ( ivBloomFilter.get( ( int ) ( bit >>> 6 ) ) & 1L << bit ) == 0 ) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private boolean binarySearch( final long aHash ) {
+		int low = 0;
+		int high = ivSortedHashes.capacity( ) - 1;
+
+		while ( low <= high ) {
+			final int middle = low + high >>> 1;
+			final long middleHash = ivSortedHashes.get( middle );
+
+			if ( middleHash < aHash ) {
+				low = middle + 1;
+			} else if ( middleHash > aHash ) {
+				high = middle - 1;
+			} else {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+}
@@ -0,0 +1,239 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.revocation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+
+import de.rhocas.lijense.key.KeyException;
+import de.rhocas.lijense.key.KeyUtil;
+import de.rhocas.lijense.provider.ProviderUtil;
+
+/**
+ * This is a util class to create and load signed revocation lists within liJense. A revocation list file contains a header, a Bloom filter, and the sorted
+ * hashes of all revoked serials, followed by the signature of the content. The file is loaded as memory-mapped file. The signature is checked only once
+ * while loading. Note that the file stays mapped as long as the loaded {@link RevocationList} is in use.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class RevocationUtil {
+
+	private static final int MAGIC_NUMBER = 0x4C4A524C;
+	private static final int VERSION = 1;
+	private static final int HEADER_LENGTH = 24;
+	private static final int BLOOM_FILTER_BITS_PER_ENTRY = 10;
+	private static final int BLOOM_FILTER_HASH_FUNCTIONS = 7;
+
+	private RevocationUtil( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+	/**
+	 * This method creates a new revocation list file containing the given serials. The file is signed by using the given private key. If the file exists
+	 * already, it will be overwritten.
+	 *
+	 * @param aSerials
+	 *            The revoked serials. Must not be {@code null}.
+	 * @param aPrivateKey
+	 *            The private key for the signature. Must not be {@code null}.
+	 * @param aFile
+	 *            The target file for the revocation list. Must not be {@code null}.
+	 *
+	 * @throws RevocationException
+	 *             If something went wrong while creating the revocation list. This indicated usually that the algorithms are not provided by the underlying
+	 *             Java runtime environment or that an IO error occurred.
+	 * @throws NullPointerException
+	 * 	           If the given serials, the given key, or the given file is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void createRevocationListFile( final Collection<String> aSerials, final PrivateKey aPrivateKey, final File aFile ) throws RevocationException {
+		Objects.requireNonNull( aSerials, "The serials must not be null." );
+		Objects.requireNonNull( aPrivateKey, "The key must not be null." );
+		Objects.requireNonNull( aFile, "The file must not be null." );
+
+		// Calculate the sorted and distinct hashes of all serials
+		final long[] hashes = aSerials.stream( ).mapToLong( RevocationList::hash ).sorted( ).distinct( ).toArray( );
+
+		// Build the Bloom filter
+		final long bloomFilterBits = Math.max( Long.SIZE, ( long ) hashes.length * BLOOM_FILTER_BITS_PER_ENTRY );
+		final long[] bloomFilter = new long[( int ) ( ( bloomFilterBits + Long.SIZE - 1 ) / Long.SIZE )];
+		final long actualBloomFilterBits = ( long ) bloomFilter.length * Long.SIZE;
+		for ( final long hash : hashes ) {
+			final long secondHash = RevocationList.secondHash( hash );
+			for ( int index = 0; index < BLOOM_FILTER_HASH_FUNCTIONS; index++ ) {
+				final long bit = RevocationList.bloomFilterBit( hash, secondHash, index, actualBloomFilterBits );
+				bloomFilter[( int ) ( bit >>> 6 )] |= 1L << bit;
+			}
+		}
+
+		// Now we can write the content
+		final ByteBuffer content = ByteBuffer.allocate( HEADER_LENGTH + ( bloomFilter.length + hashes.length ) * Long.BYTES );
+		content.putInt( MAGIC_NUMBER );
+		content.putInt( VERSION );
+		content.putInt( hashes.length );
+		content.putInt( BLOOM_FILTER_HASH_FUNCTIONS );
+		content.putInt( bloomFilter.length );
+		content.putInt( 0 );
+		content.asLongBuffer( ).put( bloomFilter ).put( hashes );
+
+		try {
+			// Now calculate the signature
+			final Signature signature = ProviderUtil.createSignature( );
+			signature.initSign( aPrivateKey );
+			signature.update( content.array( ) );
+			final byte[] binarySignature = signature.sign( );
+
+			final ByteBuffer signatureBuffer = ByteBuffer.allocate( Integer.BYTES + binarySignature.length );
+			signatureBuffer.putInt( binarySignature.length );
+			signatureBuffer.put( binarySignature );
+
+			try ( final SeekableByteChannel channel = Files.newByteChannel( aFile.toPath( ), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE ) ) {
+				writeFully( channel, ( ByteBuffer ) ( ( Buffer ) content ).clear( ) );
+				writeFully( channel, ( ByteBuffer ) ( ( Buffer ) signatureBuffer ).flip( ) );
+			}
+		} catch ( final NoSuchAlgorithmException | InvalidKeyException | SignatureException | IOException ex ) {
+			throw new RevocationException( "Could not create the revocation list", ex );
+		}
+	}
+
+	/**
+	 * This method loads the revocation list from the given file and verifies the digital signature with the public key. Optionally, one can also verify the
+	 * public key with the fingerprint. It is strongly recommended to use this fingerprint in production environment.
+	 *
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signature. Must not be {@code null}.
+	 * @param aFile
+	 *            The revocation list file. Must not be {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 *
+	 * @return The revocation list.
+	 *
+	 * @throws RevocationException
+	 *             If the revocation list could not be loaded. This could indicate that the algorithms are not provided by the underlying Java runtime
+	 *             environment, that an IO error occurred, that the file is malformed, that the actual fingerprint of the public key does not match the
+	 *             expected fingerprint or that the digital signature of the file is not valid.
+	 * @throws NullPointerException
+	 * 	           If the given key, the given file, or the given fingerprint is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public static RevocationList loadRevocationListFile( final PublicKey aPublicKey, final File aFile, final Optional<byte[]> aFingerprint ) throws RevocationException {
+		Objects.requireNonNull( aPublicKey, "The key must not be null." );
+		Objects.requireNonNull( aFile, "The file must not be null." );
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+
+		try {
+			// Check the fingerprint of the public key - if necessary
+			if ( aFingerprint.isPresent( ) ) {
+				if ( !KeyUtil.isFingerprintValid( aPublicKey, aFingerprint.get( ) ) ) {
+					throw new RevocationException( "The actual fingerprint of the public key does not match the expected fingerprint." );
+				}
+			}
+
+			final MappedByteBuffer buffer;
+			try ( final FileChannel channel = FileChannel.open( aFile.toPath( ), StandardOpenOption.READ ) ) {
+				final long size = channel.size( );
+				if ( size < HEADER_LENGTH || size > Integer.MAX_VALUE ) {
+					throw new RevocationException( "The revocation list is malformed" );
+				}
+				buffer = channel.map( MapMode.READ_ONLY, 0, size );
+			}
+
+			// Check the structure before doing anything else
+			final int size = buffer.capacity( );
+			final int count = buffer.getInt( 8 );
+			final int hashFunctions = buffer.getInt( 12 );
+			final int bloomFilterLongs = buffer.getInt( 16 );
+			if ( buffer.getInt( 0 ) != MAGIC_NUMBER || buffer.getInt( 4 ) != VERSION || count < 0 || hashFunctions <= 0 || bloomFilterLongs <= 0 ) {
+				throw new RevocationException( "The revocation list is malformed" );
+			}
+
+			final long contentLength = HEADER_LENGTH + ( ( long ) bloomFilterLongs + count ) * Long.BYTES;
+			if ( contentLength + Integer.BYTES > size ) {
+				throw new RevocationException( "The revocation list is malformed" );
+			}
+
+			final int signatureLength = buffer.getInt( ( int ) contentLength );
+			if ( signatureLength < 0 || contentLength + Integer.BYTES + signatureLength != size ) {
+				throw new RevocationException( "The revocation list is malformed" );
+			}
+
+			// Now we can verify the signature
+			final byte[] binarySignature = new byte[signatureLength];
+			slice( buffer, ( int ) contentLength + Integer.BYTES, signatureLength ).get( binarySignature );
+
+			final Signature signature = ProviderUtil.createSignature( );
+			signature.initVerify( aPublicKey );
+			signature.update( slice( buffer, 0, ( int ) contentLength ) );
+			if ( !signature.verify( binarySignature ) ) {
+				throw new RevocationException( "The revocation list is not valid" );
+			}
+
+			final ByteBuffer bloomFilter = slice( buffer, HEADER_LENGTH, bloomFilterLongs * Long.BYTES );
+			final ByteBuffer sortedHashes = slice( buffer, HEADER_LENGTH + bloomFilterLongs * Long.BYTES, count * Long.BYTES );
+			return new RevocationList( bloomFilter, hashFunctions, sortedHashes );
+		} catch ( final KeyException | IOException | NoSuchAlgorithmException | InvalidKeyException | SignatureException ex ) {
+			throw new RevocationException( "Could not load the revocation list", ex );
+		}
+	}
+
+	private static ByteBuffer slice( final ByteBuffer aBuffer, final int aOffset, final int aLength ) {
+		// The casts to Buffer keep the byte code compatible with Java 8
+		final ByteBuffer duplicate = aBuffer.duplicate( );
+		( ( Buffer ) duplicate ).position( aOffset );
+		( ( Buffer ) duplicate ).limit( aOffset + aLength );
+		return duplicate.slice( );
+	}
+
+	private static void writeFully( final SeekableByteChannel aChannel, final ByteBuffer aBuffer ) throws IOException {
+		while ( aBuffer.hasRemaining( ) ) {
+			aChannel.write( aBuffer );
+		}
+	}
+
+}
@@ -0,0 +1,306 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.server;
+
+import static de.rhocas.lijense.Constants.LICENSE_ENCODING_CHARSET;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.io.SizeLimitExceededException;
+import de.rhocas.lijense.key.KeyException;
+import de.rhocas.lijense.key.KeyUtil;
+import de.rhocas.lijense.license.LicenseException;
+import de.rhocas.lijense.license.LicenseUtil;
+import de.rhocas.lijense.license.UnmodifiableLicense;
+import de.rhocas.lijense.provider.ProviderUtil;
+
+/**
+ * This is an embedded HTTP service which verifies licenses for applications which cannot use liJense directly. It is based on the HTTP server shipped with
+ * the JDK ({@code com.sun.net.httpserver}). A license is verified by sending its Base64 encoded content with a {@code POST} request to {@value #CONTEXT_PATH}.
+ * If the license is valid, the service responds with status code 200 and the entries of the license as {@code key=value} lines (sorted by key, with
+ * backslash, line breaks, and {@code =} in keys escaped by a backslash). If the license is not valid, the service responds with status code 422 and the
+ * reason.<br>
+ * <br>
+ * The fingerprint of the public key is checked only once when the service is created. The results of successful verifications are cached by the digest
+ * of the request body, which means that repeated checks of the same valid license do not cause any RSA operations. Failed verifications are not cached.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LicenseVerificationServer implements AutoCloseable {
+
+	/**
+	 * This is the path of the verification endpoint.
+	 *
+	 * @since 3.0.0
+	 */
+	public static final String CONTEXT_PATH = "/verify";
+
+	private static final int MAXIMAL_REQUEST_SIZE = 1024 * 1024;
+
+	private final PublicKey ivPublicKey;
+	private final HttpServer ivHttpServer;
+	private final Map<ByteBuffer, Response> ivCache;
+
+	/**
+	 * Creates a new service. The service is not started before {@link #start()} is called.
+	 *
+	 * @param aPublicKey
+	 *            The public key, which is used to check the digital signatures. Must not be {@code null}.
+	 * @param aFingerprint
+	 *            The expected fingerprint of the public key. Must not be {@code null}.
+	 * @param aAddress
+	 *            The address the service should be bound to. Must not be {@code null}. Use port 0 for an arbitrary free port.
+	 * @param aExecutorService
+	 *            The executor handling the requests. Must not be {@code null}. The executor is shut down when the service is closed. See
+	 *            {@link #createDefaultExecutorService(int)}.
+	 * @param aCacheSize
+	 *            The maximal number of cached successful verifications. Must not be negative. Use 0 to disable the cache.
+	 *
+	 * @throws LicenseException
+	 *             If the actual fingerprint of the public key does not match the expected fingerprint.
+	 * @throws IOException
+	 *             If the service could not be bound to the given address.
+	 * @throws NullPointerException
+	 * 	           If the given key, the given fingerprint, the given address, or the given executor is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the cache size is negative.
+	 *
+	 * @since 3.0.0
+	 */
+	public LicenseVerificationServer( final PublicKey aPublicKey, final Optional<byte[]> aFingerprint, final InetSocketAddress aAddress, final ExecutorService aExecutorService, final int aCacheSize ) throws LicenseException, IOException {
+		Objects.requireNonNull( aPublicKey, "The key must not be null." );
+		Objects.requireNonNull( aFingerprint, "The fingerprint must not be null." );
+		Objects.requireNonNull( aAddress, "The address must not be null." );
+		Objects.requireNonNull( aExecutorService, "The executor must not be null." );
+
+		if ( aCacheSize < 0 ) {
+			throw new IllegalArgumentException( "The cache size must not be negative." );
+		}
+
+		// Check the fingerprint of the public key - if necessary
+		try {
+			if ( aFingerprint.isPresent( ) && !KeyUtil.isFingerprintValid( aPublicKey, aFingerprint.get( ) ) ) {
+				throw new LicenseException( "The actual fingerprint of the public key does not match the expected fingerprint." );
+			}
+		} catch ( final KeyException ex ) {
+			throw new LicenseException( "Could not check the fingerprint", ex );
+		}
+
+		ivPublicKey = aPublicKey;
+		ivCache = Collections.synchronizedMap( new LinkedHashMap<ByteBuffer, Response>( 16, 0.75f, true ) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry( final Map.Entry<ByteBuffer, Response> aEldest ) {
+				return size( ) > aCacheSize;
+			}
+
+		} );
+
+		ivHttpServer = HttpServer.create( aAddress, 0 );
+		ivHttpServer.setExecutor( aExecutorService );
+		ivHttpServer.createContext( CONTEXT_PATH, this::handle );
+	}
+
+	/**
+	 * Creates the default executor for the service. On Java 21 or newer, the executor uses a new virtual thread for each request. On older versions, a thread
+	 * pool with the given number of threads is used.
+	 *
+	 * @param aThreads
+	 *            The number of threads if virtual threads are not available. Must be positive.
+	 *
+	 * @return A new executor.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If the number of threads is not positive.
+	 *
+	 * @since 3.0.0
+	 */
+	public static ExecutorService createDefaultExecutorService( final int aThreads ) {
+		if ( aThreads <= 0 ) {
+			throw new IllegalArgumentException( "The number of threads must be positive." );
+		}
+
+		return ExecutorSupport.createExecutorService( aThreads );
+	}
+
+	/**
+	 * Starts the service.
+	 *
+	 * @since 3.0.0
+	 */
+	public void start( ) {
+		ivHttpServer.start( );
+	}
+
+	/**
+	 * Returns the address the service is bound to.
+	 *
+	 * @return The address.
+	 *
+	 * @since 3.0.0
+	 */
+	public InetSocketAddress getAddress( ) {
+		return ivHttpServer.getAddress( );
+	}
+
+	/**
+	 * Stops the service and shuts down its executor.
+	 *
+	 * @since 3.0.0
+	 */
+	@Override
+	public void close( ) {
+		ivHttpServer.stop( 0 );
+		( ( ExecutorService ) ivHttpServer.getExecutor( ) ).shutdown( );
+	}
+
+	private void handle( final HttpExchange aExchange ) throws IOException {
+		try {
+			final Response response;
+			if ( !"POST".equals( aExchange.getRequestMethod( ) ) ) {
+				response = new Response( 405, "Only POST requests are supported" );
+			} else {
+				response = verify( aExchange.getRequestBody( ) );
+			}
+
+			aExchange.getResponseHeaders( ).set( "Content-Type", "text/plain; charset=UTF-8" );
+			aExchange.sendResponseHeaders( response.ivStatusCode, response.ivBody.length );
+			try ( final OutputStream outputStream = aExchange.getResponseBody( ) ) {
+				outputStream.write( response.ivBody );
+			}
+		} finally {
+			aExchange.close( );
+		}
+	}
+
+	private Response verify( final InputStream aRequestBody ) throws IOException {
+		final byte[] encodedLicense = readRequestBody( aRequestBody );
+		if ( encodedLicense == null ) {
+			return new Response( 413, "The license is too large" );
+		}
+
+		final ByteBuffer cacheKey = ByteBuffer.wrap( calculateDigest( encodedLicense ) );
+		final Response cachedResponse = ivCache.get( cacheKey );
+		if ( cachedResponse != null ) {
+			return cachedResponse;
+		}
+
+		final UnmodifiableLicense license;
+		try {
+			final String licenseString = new String( encodedLicense, LICENSE_ENCODING_CHARSET ).trim( );
+			license = LicenseUtil.loadLicenseFileFromString( ivPublicKey, licenseString, Optional.empty( ) );
+		} catch ( final LicenseException ex ) {
+			// Failures are not cached, as they could be transient (for instance due to changed limits) and as arbitrary garbage would displace valid licenses
+			return new Response( 422, ex.getMessage( ) );
+		}
+
+		final Response response = new Response( 200, formatEntries( license.getEntries( ) ) );
+		ivCache.put( cacheKey, response );
+		return response;
+	}
+
+	private static byte[] readRequestBody( final InputStream aRequestBody ) throws IOException {
+		try ( final InputStream inputStream = aRequestBody ) {
+			return IOUtil.readAllBytes( inputStream, MAXIMAL_REQUEST_SIZE );
+		} catch ( final SizeLimitExceededException ex ) {
+			return null;
+		}
+	}
+
+	private static byte[] calculateDigest( final byte[] aContent ) {
+		try {
+			return ProviderUtil.createMessageDigest( ).digest( aContent );
+		} catch ( final NoSuchAlgorithmException ex ) {
+			// SHA-512 is available in every Java runtime environment
+			throw new IllegalStateException( ex );
+		}
+	}
+
+	private static String formatEntries( final Map<String, String> aEntries ) {
+		final StringBuilder builder = new StringBuilder( );
+
+		aEntries.entrySet( ).stream( ).sorted( Map.Entry.comparingByKey( ) ).forEach( entry -> {
+			escape( builder, entry.getKey( ), true );
+			builder.append( '=' );
+			escape( builder, entry.getValue( ), false );
+			builder.append( '\n' );
+		} );
+
+		return builder.toString( );
+	}
+
+	private static void escape( final StringBuilder aBuilder, final String aString, final boolean aKey ) {
+		for ( int index = 0; index < aString.length( ); index++ ) {
+			final char character = aString.charAt( index );
+
+			if ( character == '\\' ) {
+				aBuilder.append( "\\\\" );
+			} else if ( character == '\n' ) {
+				aBuilder.append( "\\n" );
+			} else if ( character == '\r' ) {
+				aBuilder.append( "\\r" );
+			} else if ( character == '=' && aKey ) {
+				aBuilder.append( "\\=" );
+			} else {
+				aBuilder.append( character );
+			}
+		}
+	}
+
+	private static final class Response {
+
+		private final int ivStatusCode;
+		private final byte[] ivBody;
+
+		Response( final int aStatusCode, final String aBody ) {
+			ivStatusCode = aStatusCode;
+			ivBody = aBody.getBytes( LICENSE_ENCODING_CHARSET );
+		}
+
+	}
+
+}
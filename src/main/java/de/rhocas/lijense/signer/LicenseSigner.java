@@ -0,0 +1,95 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.signer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.rhocas.lijense.Constants;
+
+/**
+ * This is the interface for services which sign licenses. The issuing process calculates the digest of the license content and only the digest is passed to
+ * the signer. This means that the private key can be kept in a separate process (see {@link RemoteLicenseSigner}) or in a hardware security module.<br>
+ * <br>
+ * The digest is calculated with {@link Constants#FINGERPRINT_ALGORITHM} (SHA-512). The signer has to deliver the same signature as
+ * {@link Constants#SIGNATURE_ALGORITHM} would deliver for the content itself, which means a RSA signature with PKCS #1 v1.5 padding over the DER encoded
+ * digest info. Licenses signed with a signer are therefore verified exactly like other licenses. Implementations must be thread-safe.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ *
+ * @see PrivateKeySigner
+ * @see de.rhocas.lijense.license.LicenseUtil#createLicenseFile(de.rhocas.lijense.license.ModifiableLicense, LicenseSigner)
+ */
+public interface LicenseSigner {
+
+	/**
+	 * Signs the given digest.
+	 *
+	 * @param aDigest
+	 *            The SHA-512 digest of the license content. Must not be {@code null}.
+	 *
+	 * @return The signature.
+	 *
+	 * @throws SignerException
+	 *             If the digest could not be signed.
+	 * @throws NullPointerException
+	 * 	           If the given digest is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the given digest does not have the length of a SHA-512 digest.
+	 *
+	 * @since 3.0.0
+	 */
+	byte[] sign( byte[] aDigest ) throws SignerException;
+
+	/**
+	 * Signs the given digests. Implementations which communicate with other processes should override this method to sign all digests with a single request.
+	 *
+	 * @param aDigests
+	 *            The SHA-512 digests of the license contents. Must not be {@code null}.
+	 *
+	 * @return The signatures in the order of the digests.
+	 *
+	 * @throws SignerException
+	 *             If one of the digests could not be signed.
+	 * @throws NullPointerException
+	 * 	           If the given list or one of the digests is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If one of the given digests does not have the length of a SHA-512 digest.
+	 *
+	 * @since 3.0.0
+	 */
+	default List<byte[]> sign( final List<byte[]> aDigests ) throws SignerException {
+		final List<byte[]> signatures = new ArrayList<>( aDigests.size( ) );
+		for ( final byte[] digest : aDigests ) {
+			signatures.add( sign( digest ) );
+		}
+		return signatures;
+	}
+
+}
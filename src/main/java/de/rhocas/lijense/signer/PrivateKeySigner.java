@@ -0,0 +1,103 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.signer;
+
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Objects;
+
+import de.rhocas.lijense.provider.ProviderUtil;
+
+/**
+ * This is a {@link LicenseSigner} which signs the digests with a private key within the current process. It is used by the {@link SignerServer} and can be
+ * used as stand-in for remote signers in tests.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class PrivateKeySigner implements LicenseSigner {
+
+	/**
+	 * This is the length of a SHA-512 digest in bytes.
+	 */
+	static final int DIGEST_LENGTH = 64;
+
+	/**
+	 * This is the DER encoded prefix of a digest info with a SHA-512 digest (see RFC 8017, section 9.2). The raw RSA signature over the prefix and the digest is
+	 * identical to a SHA512withRSA signature over the content.
+	 */
+	private static final byte[] DIGEST_INFO_PREFIX = { 0x30, 0x51, 0x30, 0x0d, 0x06, 0x09, 0x60, ( byte ) 0x86, 0x48, 0x01, 0x65, 0x03, 0x04, 0x02, 0x03, 0x05, 0x00, 0x04,
+			0x40 };
+
+	private final PrivateKey ivPrivateKey;
+
+	/**
+	 * Creates a new signer.
+	 *
+	 * @param aPrivateKey
+	 *            The private key. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given key is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public PrivateKeySigner( final PrivateKey aPrivateKey ) {
+		ivPrivateKey = Objects.requireNonNull( aPrivateKey, "The key must not be null." );
+	}
+
+	@Override
+	public byte[] sign( final byte[] aDigest ) throws SignerException {
+		checkDigest( aDigest );
+
+		final byte[] digestInfo = new byte[DIGEST_INFO_PREFIX.length + DIGEST_LENGTH];
+		System.arraycopy( DIGEST_INFO_PREFIX, 0, digestInfo, 0, DIGEST_INFO_PREFIX.length );
+		System.arraycopy( aDigest, 0, digestInfo, DIGEST_INFO_PREFIX.length, DIGEST_LENGTH );
+
+		try {
+			final Signature signature = ProviderUtil.createRawSignature( );
+			signature.initSign( ivPrivateKey );
+			signature.update( digestInfo );
+			return signature.sign( );
+		} catch ( final NoSuchAlgorithmException | InvalidKeyException | SignatureException ex ) {
+			throw new SignerException( "Could not sign the digest", ex );
+		}
+	}
+
+	static void checkDigest( final byte[] aDigest ) {
+		Objects.requireNonNull( aDigest, "The digest must not be null." );
+
+		if ( aDigest.length != DIGEST_LENGTH ) {
+			throw new IllegalArgumentException( "The digest must have a length of " + DIGEST_LENGTH + " bytes." );
+		}
+	}
+
+}
@@ -0,0 +1,291 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.signer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is a {@link LicenseSigner} which sends the digests to a {@link SignerServer}. The digests of all threads are collected in a queue and a single
+ * dispatcher thread sends all digests which are waiting at the same time with a single request. While a request is in progress, new digests accumulate in the
+ * queue and are sent with the next request. This means that the costs of the communication are shared by more licenses the higher the load is, while a single
+ * license does not have to wait for a batch to be filled.<br>
+ * <br>
+ * This class is thread-safe.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class RemoteLicenseSigner implements LicenseSigner, AutoCloseable {
+
+	private final Socket ivSocket;
+	private final DataInputStream ivInputStream;
+	private final DataOutputStream ivOutputStream;
+	private final BlockingQueue<PendingSignature> ivPendingSignatures = new LinkedBlockingQueue<>( );
+	private final AtomicLong ivRequests = new AtomicLong( );
+	private final Thread ivDispatcherThread;
+	private volatile boolean ivClosed;
+
+	/**
+	 * Creates a new signer, connects it to the server with the given address, and authenticates it with the given secret.
+	 *
+	 * @param aAddress
+	 *            The address of the server. Must not be {@code null}.
+	 * @param aSecret
+	 *            The secret shared with the server. Must not be {@code null} and must have at least 32 bytes.
+	 *
+	 * @throws IOException
+	 *             If the signer could not connect to the server or if the server rejected the secret.
+	 * @throws NullPointerException
+	 * 	           If the given address or the given secret is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the secret is too short.
+	 *
+	 * @since 3.0.0
+	 */
+	public RemoteLicenseSigner( final InetSocketAddress aAddress, final byte[] aSecret ) throws IOException {
+		Objects.requireNonNull( aAddress, "The address must not be null." );
+		final byte[] secret = SignerProtocol.checkSecret( aSecret );
+
+		ivSocket = new Socket( );
+		try {
+			ivSocket.setTcpNoDelay( true );
+			ivSocket.setSoTimeout( SignerProtocol.HANDSHAKE_TIMEOUT );
+			ivSocket.connect( aAddress, SignerProtocol.HANDSHAKE_TIMEOUT );
+			ivInputStream = new DataInputStream( new BufferedInputStream( ivSocket.getInputStream( ) ) );
+			ivOutputStream = new DataOutputStream( new BufferedOutputStream( ivSocket.getOutputStream( ) ) );
+			authenticate( secret );
+			ivSocket.setSoTimeout( 0 );
+		} catch ( final IOException ex ) {
+			ivSocket.close( );
+			throw ex;
+		}
+
+		ivDispatcherThread = new Thread( this::dispatchRequests, "liJense remote signer" );
+		ivDispatcherThread.setDaemon( true );
+		ivDispatcherThread.start( );
+	}
+
+	@Override
+	public byte[] sign( final byte[] aDigest ) throws SignerException {
+		PrivateKeySigner.checkDigest( aDigest );
+
+		return await( submit( aDigest ) );
+	}
+
+	@Override
+	public List<byte[]> sign( final List<byte[]> aDigests ) throws SignerException {
+		Objects.requireNonNull( aDigests, "The digests must not be null." );
+		aDigests.forEach( PrivateKeySigner::checkDigest );
+
+		final List<PendingSignature> pendingSignatures = new ArrayList<>( aDigests.size( ) );
+		for ( final byte[] digest : aDigests ) {
+			pendingSignatures.add( submit( digest ) );
+		}
+
+		final List<byte[]> signatures = new ArrayList<>( aDigests.size( ) );
+		for ( final PendingSignature pendingSignature : pendingSignatures ) {
+			signatures.add( await( pendingSignature ) );
+		}
+		return signatures;
+	}
+
+	/**
+	 * Returns the number of requests which have been sent to the server so far. As each request can contain multiple digests, this number is usually smaller
+	 * than the number of signed digests.
+	 *
+	 * @return The number of requests.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getRequestCount( ) {
+		return ivRequests.get( );
+	}
+
+	/**
+	 * Closes the connection to the server. Digests which have not been signed yet are failed.
+	 *
+	 * @throws IOException
+	 *             If the connection could not be closed.
+	 *
+	 * @since 3.0.0
+	 */
+	@Override
+	public void close( ) throws IOException {
+		ivClosed = true;
+		ivDispatcherThread.interrupt( );
+		try {
+			ivSocket.close( );
+		} finally {
+			failPendingSignatures( new SignerException( "The signer has been closed" ) );
+		}
+	}
+
+	private void authenticate( final byte[] aSecret ) throws IOException {
+		final byte[] challenge = new byte[SignerProtocol.CHALLENGE_LENGTH];
+		ivInputStream.readFully( challenge );
+		ivOutputStream.write( SignerProtocol.calculateResponse( aSecret, challenge ) );
+		ivOutputStream.flush( );
+
+		final byte status = ivInputStream.readByte( );
+		if ( status == SignerProtocol.ERROR ) {
+			throw new IOException( ivInputStream.readUTF( ) );
+		}
+		if ( status != SignerProtocol.OK ) {
+			throw new IOException( "The server sent an unknown status" );
+		}
+	}
+
+	private PendingSignature submit( final byte[] aDigest ) throws SignerException {
+		if ( ivClosed ) {
+			throw new SignerException( "The signer has been closed" );
+		}
+
+		final PendingSignature pendingSignature = new PendingSignature( aDigest );
+		ivPendingSignatures.add( pendingSignature );
+
+		// The signer could have been closed concurrently, in which case nobody would complete the signature
+		if ( ivClosed ) {
+			failPendingSignatures( new SignerException( "The signer has been closed" ) );
+		}
+		return pendingSignature;
+	}
+
+	private static byte[] await( final PendingSignature aPendingSignature ) throws SignerException {
+		try {
+			return aPendingSignature.ivSignature.get( );
+		} catch ( final ExecutionException ex ) {
+			// We wrap the exception to get the stack trace of the calling thread
+			final Throwable cause = ex.getCause( );
+			throw new SignerException( cause.getMessage( ), cause );
+		} catch ( final InterruptedException ex ) {
+			Thread.currentThread( ).interrupt( );
+			throw new SignerException( "Interrupted while waiting for the signature", ex );
+		}
+	}
+
+	private void dispatchRequests( ) {
+		final List<PendingSignature> batch = new ArrayList<>( );
+		try {
+			while ( !ivClosed ) {
+				batch.add( ivPendingSignatures.take( ) );
+				ivPendingSignatures.drainTo( batch, SignerProtocol.MAXIMAL_BATCH_SIZE - 1 );
+
+				try {
+					sendRequest( batch );
+				} catch ( final Throwable ex ) {
+					// The state of the connection is unknown after an error, which means that we cannot use it any longer. The waiting threads must never be
+					// left behind, not even if the dispatcher thread dies due to an unexpected error.
+					ivClosed = true;
+					final SignerException exception = new SignerException( "Could not communicate with the signer server", ex );
+					batch.forEach( pendingSignature -> pendingSignature.ivSignature.completeExceptionally( exception ) );
+					failPendingSignatures( exception );
+					closeQuietly( ivSocket );
+
+					if ( ex instanceof Error ) {
+						throw ( Error ) ex;
+					}
+				}
+				batch.clear( );
+			}
+		} catch ( final InterruptedException ex ) {
+			// The signer has been closed
+		}
+	}
+
+	private void sendRequest( final List<PendingSignature> aBatch ) throws IOException {
+		ivRequests.incrementAndGet( );
+
+		ivOutputStream.writeInt( aBatch.size( ) );
+		for ( final PendingSignature pendingSignature : aBatch ) {
+			ivOutputStream.write( pendingSignature.ivDigest );
+		}
+		ivOutputStream.flush( );
+
+		final byte status = ivInputStream.readByte( );
+		if ( status == SignerProtocol.ERROR ) {
+			final SignerException exception = new SignerException( ivInputStream.readUTF( ) );
+			aBatch.forEach( pendingSignature -> pendingSignature.ivSignature.completeExceptionally( exception ) );
+			return;
+		}
+		if ( status != SignerProtocol.OK ) {
+			throw new IOException( "The server sent an unknown status" );
+		}
+
+		for ( final PendingSignature pendingSignature : aBatch ) {
+			final int length = ivInputStream.readInt( );
+			if ( length <= 0 || length > SignerProtocol.MAXIMAL_SIGNATURE_LENGTH ) {
+				throw new IOException( "The server sent a signature with an invalid length" );
+			}
+
+			final byte[] signature = new byte[length];
+			ivInputStream.readFully( signature );
+			pendingSignature.ivSignature.complete( signature );
+		}
+	}
+
+	private void failPendingSignatures( final SignerException aException ) {
+		PendingSignature pendingSignature;
+		while ( ( pendingSignature = ivPendingSignatures.poll( ) ) != null ) {
+			pendingSignature.ivSignature.completeExceptionally( aException );
+		}
+	}
+
+	private static void closeQuietly( final Socket aSocket ) {
+		try {
+			aSocket.close( );
+		} catch ( final IOException ex ) {
+			// Nothing we can do about it
+		}
+	}
+
+	private static final class PendingSignature {
+
+		private final byte[] ivDigest;
+		private final CompletableFuture<byte[]> ivSignature = new CompletableFuture<>( );
+
+		PendingSignature( final byte[] aDigest ) {
+			ivDigest = aDigest;
+		}
+
+	}
+
+}
@@ -0,0 +1,103 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.signer;
+
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * This class contains the constants of the binary protocol between {@link RemoteLicenseSigner} and {@link SignerServer}. Each connection starts with a
+ * handshake: The server sends a random challenge ({@value #CHALLENGE_LENGTH} bytes) and the client answers with the {@value #MAC_ALGORITHM} of the challenge,
+ * calculated with the shared secret. The server answers with a status byte as described below and closes the connection if the answer is wrong.<br>
+ * <br>
+ * Afterwards, the connection can be used for any number of requests. Each request contains the number of digests and the digests (each
+ * {@value PrivateKeySigner#DIGEST_LENGTH} bytes). The response starts with a single status byte:
+ *
+ * <ul>
+ * <li>{@link #OK}: The response contains the length and the content of each signature in the order of the digests.</li>
+ * <li>{@link #ERROR}: The response contains the error message in modified UTF-8. The connection can still be used.</li>
+ * </ul>
+ *
+ * All numbers are written in big-endian byte order. Counts and lengths are integers.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+final class SignerProtocol {
+
+	static final String MAC_ALGORITHM = "HmacSHA256";
+	static final int CHALLENGE_LENGTH = 32;
+	static final int MINIMAL_SECRET_LENGTH = 32;
+
+	/**
+	 * This is the maximal time in milliseconds a peer waits for the other side during the handshake.
+	 */
+	static final int HANDSHAKE_TIMEOUT = 10000;
+
+	static final byte OK = 0;
+	static final byte ERROR = 1;
+
+	/**
+	 * This is the maximal number of digests within a single request.
+	 */
+	static final int MAXIMAL_BATCH_SIZE = 4096;
+
+	/**
+	 * This is the maximal length of a single signature (the modulus of a RSA key with 16384 bits).
+	 */
+	static final int MAXIMAL_SIGNATURE_LENGTH = 2048;
+
+	private SignerProtocol( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+	static byte[] checkSecret( final byte[] aSecret ) {
+		Objects.requireNonNull( aSecret, "The secret must not be null." );
+
+		if ( aSecret.length < MINIMAL_SECRET_LENGTH ) {
+			throw new IllegalArgumentException( "The secret must have at least " + MINIMAL_SECRET_LENGTH + " bytes." );
+		}
+		return aSecret.clone( );
+	}
+
+	static byte[] calculateResponse( final byte[] aSecret, final byte[] aChallenge ) throws IOException {
+		try {
+			final Mac mac = Mac.getInstance( MAC_ALGORITHM );
+			mac.init( new SecretKeySpec( aSecret, MAC_ALGORITHM ) );
+			return mac.doFinal( aChallenge );
+		} catch ( final NoSuchAlgorithmException | InvalidKeyException ex ) {
+			throw new IOException( "Could not calculate the answer to the challenge", ex );
+		}
+	}
+
+}
@@ -0,0 +1,251 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.signer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * This is a lightweight server which signs digests for {@link RemoteLicenseSigner}s. It is usually started as a separate process with
+ * {@link SignerServerCommand} on the loopback interface, so that the private key is never loaded into the issuing process. Each request contains a batch of
+ * digests, which means that the costs of the communication are shared by all licenses within the batch.<br>
+ * <br>
+ * The server signs any digest it receives and could therefore be used to forge licenses. Binding it to the loopback interface does not prevent other local
+ * processes from connecting. Each client has therefore to prove that it knows a shared secret with a challenge-response handshake (see
+ * {@link SignerProtocol}) before the server signs anything. Everyone knowing the secret can sign arbitrary licenses, which means that the secret has to be
+ * protected like the private key itself. The connection is not encrypted. This is acceptable, because neither the digests nor the signatures are secret,
+ * and the secret itself is never sent.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class SignerServer implements AutoCloseable {
+
+	private final LicenseSigner ivSigner;
+	private final byte[] ivSecret;
+	private final SecureRandom ivRandom = new SecureRandom( );
+	private final ServerSocket ivServerSocket;
+	private final ExecutorService ivExecutorService;
+	private final Set<Socket> ivConnections = ConcurrentHashMap.newKeySet( );
+	private final Thread ivAcceptorThread;
+
+	/**
+	 * Creates a new server. The server is not started before {@link #start()} is called.
+	 *
+	 * @param aSigner
+	 *            The signer which actually signs the digests, usually a {@link PrivateKeySigner}. Must not be {@code null}.
+	 * @param aAddress
+	 *            The address the server should be bound to. Must not be {@code null}. Use port 0 for an arbitrary free port.
+	 * @param aSecret
+	 *            The secret which has to be known by the clients. Must not be {@code null} and must have at least 32 bytes.
+	 * @param aExecutorService
+	 *            The executor handling the connections. Must not be {@code null}. The executor is shut down when the server is closed. See
+	 *            {@link de.rhocas.lijense.server.LicenseVerificationServer#createDefaultExecutorService(int)}.
+	 *
+	 * @throws IOException
+	 *             If the server could not be bound to the given address.
+	 * @throws NullPointerException
+	 * 	           If the given signer, the given address, the given secret, or the given executor is {@code null}.
+	 * @throws IllegalArgumentException
+	 *             If the secret is too short.
+	 *
+	 * @since 3.0.0
+	 */
+	public SignerServer( final LicenseSigner aSigner, final InetSocketAddress aAddress, final byte[] aSecret, final ExecutorService aExecutorService ) throws IOException {
+		Objects.requireNonNull( aSigner, "The signer must not be null." );
+		Objects.requireNonNull( aAddress, "The address must not be null." );
+		Objects.requireNonNull( aExecutorService, "The executor must not be null." );
+
+		ivSigner = aSigner;
+		ivSecret = SignerProtocol.checkSecret( aSecret );
+		ivExecutorService = aExecutorService;
+		ivServerSocket = new ServerSocket( );
+		ivServerSocket.bind( aAddress );
+
+		ivAcceptorThread = new Thread( this::acceptConnections, "liJense signer server" );
+	}
+
+	/**
+	 * Starts the server.
+	 *
+	 * @since 3.0.0
+	 */
+	public void start( ) {
+		ivAcceptorThread.start( );
+	}
+
+	/**
+	 * Returns the address the server is bound to.
+	 *
+	 * @return The address.
+	 *
+	 * @since 3.0.0
+	 */
+	public InetSocketAddress getAddress( ) {
+		return ( InetSocketAddress ) ivServerSocket.getLocalSocketAddress( );
+	}
+
+	/**
+	 * Stops the server, closes all connections, and shuts down its executor.
+	 *
+	 * @throws IOException
+	 *             If the server socket could not be closed.
+	 *
+	 * @since 3.0.0
+	 */
+	@Override
+	public void close( ) throws IOException {
+		try {
+			ivServerSocket.close( );
+		} finally {
+			for ( final Socket connection : ivConnections ) {
+				closeQuietly( connection );
+			}
+			ivExecutorService.shutdown( );
+		}
+	}
+
+	private void acceptConnections( ) {
+		while ( !ivServerSocket.isClosed( ) ) {
+			final Socket connection;
+			try {
+				connection = ivServerSocket.accept( );
+			} catch ( final IOException ex ) {
+				// The server socket has been closed
+				return;
+			}
+
+			ivConnections.add( connection );
+			try {
+				ivExecutorService.execute( ( ) -> handleConnection( connection ) );
+			} catch ( final RejectedExecutionException ex ) {
+				ivConnections.remove( connection );
+				closeQuietly( connection );
+			}
+		}
+	}
+
+	private void handleConnection( final Socket aConnection ) {
+		try {
+			aConnection.setTcpNoDelay( true );
+			aConnection.setSoTimeout( SignerProtocol.HANDSHAKE_TIMEOUT );
+
+			final DataInputStream inputStream = new DataInputStream( new BufferedInputStream( aConnection.getInputStream( ) ) );
+			final DataOutputStream outputStream = new DataOutputStream( new BufferedOutputStream( aConnection.getOutputStream( ) ) );
+			if ( !authenticate( inputStream, outputStream ) ) {
+				return;
+			}
+
+			aConnection.setSoTimeout( 0 );
+			while ( handleRequest( inputStream, outputStream ) ) {
+				outputStream.flush( );
+			}
+		} catch ( final IOException ex ) {
+			// The client closed the connection or the connection is broken. Either way, all we can do is to close it.
+		} finally {
+			ivConnections.remove( aConnection );
+			closeQuietly( aConnection );
+		}
+	}
+
+	private boolean authenticate( final DataInputStream aInputStream, final DataOutputStream aOutputStream ) throws IOException {
+		final byte[] challenge = new byte[SignerProtocol.CHALLENGE_LENGTH];
+		ivRandom.nextBytes( challenge );
+		aOutputStream.write( challenge );
+		aOutputStream.flush( );
+
+		final byte[] expectedResponse = SignerProtocol.calculateResponse( ivSecret, challenge );
+		final byte[] response = new byte[expectedResponse.length];
+		aInputStream.readFully( response );
+
+		if ( !MessageDigest.isEqual( expectedResponse, response ) ) {
+			aOutputStream.writeByte( SignerProtocol.ERROR );
+			aOutputStream.writeUTF( "The client could not be authenticated" );
+			aOutputStream.flush( );
+			return false;
+		}
+
+		aOutputStream.writeByte( SignerProtocol.OK );
+		aOutputStream.flush( );
+		return true;
+	}
+
+	private boolean handleRequest( final DataInputStream aInputStream, final DataOutputStream aOutputStream ) throws IOException {
+		final int count = aInputStream.readInt( );
+		if ( count <= 0 || count > SignerProtocol.MAXIMAL_BATCH_SIZE ) {
+			return false;
+		}
+
+		final List<byte[]> digests = new ArrayList<>( count );
+		for ( int i = 0; i < count; i++ ) {
+			final byte[] digest = new byte[PrivateKeySigner.DIGEST_LENGTH];
+			aInputStream.readFully( digest );
+			digests.add( digest );
+		}
+
+		final List<byte[]> signatures;
+		try {
+			signatures = ivSigner.sign( digests );
+		} catch ( final SignerException ex ) {
+			aOutputStream.writeByte( SignerProtocol.ERROR );
+			aOutputStream.writeUTF( String.valueOf( ex.getMessage( ) ) );
+			return true;
+		}
+
+		aOutputStream.writeByte( SignerProtocol.OK );
+		for ( final byte[] signature : signatures ) {
+			aOutputStream.writeInt( signature.length );
+			aOutputStream.write( signature );
+		}
+		return true;
+	}
+
+	private static void closeQuietly( final Socket aSocket ) {
+		try {
+			aSocket.close( );
+		} catch ( final IOException ex ) {
+			// Nothing we can do about it
+		}
+	}
+
+}
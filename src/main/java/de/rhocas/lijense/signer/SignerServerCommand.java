@@ -0,0 +1,124 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.signer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.security.PrivateKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import de.rhocas.lijense.key.KeyException;
+import de.rhocas.lijense.key.KeyUtil;
+import de.rhocas.lijense.server.LicenseVerificationServer;
+
+/**
+ * This is the command line entry point for the {@link SignerServer}. The server is bound to the loopback interface and runs until the process is terminated.
+ * The secret file contains the secret which the clients have to know (at least 32 bytes) and should only be readable by the issuing user. Usage:
+ *
+ * <pre>
+ * java -cp lijense.jar de.rhocas.lijense.signer.SignerServerCommand --private-key &lt;file&gt; --secret &lt;file&gt; [--port &lt;n&gt;] [--threads &lt;n&gt;]
+ * </pre>
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class SignerServerCommand {
+
+	private static final String USAGE = "Usage: --private-key <file> --secret <file> [--port <n>] [--threads <n>]";
+
+	private SignerServerCommand( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+	/**
+	 * The main method of the command.
+	 *
+	 * @param aArguments
+	 *            The command line arguments.
+	 *
+	 * @since 3.0.0
+	 */
+	public static void main( final String[] aArguments ) {
+		final Optional<SignerServer> server = start( aArguments, System.out, System.err );
+		if ( !server.isPresent( ) ) {
+			System.exit( 1 );
+		}
+
+		Runtime.getRuntime( ).addShutdownHook( new Thread( ( ) -> {
+			try {
+				server.get( ).close( );
+			} catch ( final IOException ex ) {
+				System.err.println( ex.getMessage( ) );
+			}
+		} ) );
+	}
+
+	static Optional<SignerServer> start( final String[] aArguments, final PrintStream aOut, final PrintStream aErr ) {
+		final Map<String, String> options = new HashMap<>( );
+		for ( int index = 0; index < aArguments.length; index += 2 ) {
+			if ( !aArguments[index].startsWith( "--" ) || index + 1 >= aArguments.length ) {
+				aErr.println( USAGE );
+				return Optional.empty( );
+			}
+			options.put( aArguments[index].substring( 2 ), aArguments[index + 1] );
+		}
+
+		final String privateKeyFile = options.get( "private-key" );
+		final String secretFile = options.get( "secret" );
+		if ( privateKeyFile == null || secretFile == null ) {
+			aErr.println( USAGE );
+			return Optional.empty( );
+		}
+
+		try {
+			final int port = Integer.parseInt( options.getOrDefault( "port", "0" ) );
+			final int threads = Integer.parseInt( options.getOrDefault( "threads", Integer.toString( Runtime.getRuntime( ).availableProcessors( ) ) ) );
+
+			final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromFile( new File( privateKeyFile ) );
+			final byte[] secret = Files.readAllBytes( new File( secretFile ).toPath( ) );
+
+			final InetSocketAddress address = new InetSocketAddress( InetAddress.getLoopbackAddress( ), port );
+			final SignerServer server = new SignerServer( new PrivateKeySigner( privateKey ), address, secret,
+					LicenseVerificationServer.createDefaultExecutorService( threads ) );
+			server.start( );
+
+			aOut.println( "Signing on " + server.getAddress( ) );
+			return Optional.of( server );
+		} catch ( final IllegalArgumentException | KeyException | IOException ex ) {
+			aErr.println( ex.getMessage( ) );
+			return Optional.empty( );
+		}
+	}
+
+}
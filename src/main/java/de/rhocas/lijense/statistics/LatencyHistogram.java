@@ -0,0 +1,193 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.statistics;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This is a histogram for latencies in nanoseconds with a bounded relative error. Similar to an HdrHistogram, each power-of-two range is divided into 32
+ * linear sub-buckets. Latencies below 32 nanoseconds are recorded exactly, while larger latencies are recorded with a relative error of less than 1/32. The
+ * memory usage is fixed and does not depend on the number of recorded latencies.<br>
+ * <br>
+ * This class is thread-safe. Recording a latency is wait-free except for the update of the maximal latency.
+ *
+ * @author Nils Christian Ehmke
+ *
+ * @since 3.0.0
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * The first range contains the exact values below the number of sub-buckets. Each further range covers one power of two up to {@link Long#MAX_VALUE}.
+	 */
+	private static final int BUCKETS = ( Long.SIZE - SUB_BUCKET_BITS ) * SUB_BUCKETS;
+
+	private final AtomicLongArray ivCounts = new AtomicLongArray( BUCKETS );
+	private final AtomicLong ivMaximalLatency = new AtomicLong( );
+
+	/**
+	 * Records a single latency. Negative latencies (which can occur with adjusted clocks) are recorded as zero.
+	 *
+	 * @param aLatencyInNanos
+	 *            The latency in nanoseconds.
+	 *
+	 * @since 3.0.0
+	 */
+	public void record( final long aLatencyInNanos ) {
+		final long latency = Math.max( 0, aLatencyInNanos );
+		ivCounts.incrementAndGet( bucket( latency ) );
+		updateMaximalLatency( latency );
+	}
+
+	/**
+	 * Adds all latencies of the given histogram to this histogram.
+	 *
+	 * @param aHistogram
+	 *            The other histogram. Must not be {@code null}.
+	 *
+	 * @throws NullPointerException
+	 * 	           If the given histogram is {@code null}.
+	 *
+	 * @since 3.0.0
+	 */
+	public void add( final LatencyHistogram aHistogram ) {
+		Objects.requireNonNull( aHistogram, "The histogram must not be null." );
+
+		for ( int bucket = 0; bucket < BUCKETS; bucket++ ) {
+			final long count = aHistogram.ivCounts.get( bucket );
+			if ( count > 0 ) {
+				ivCounts.addAndGet( bucket, count );
+			}
+		}
+		updateMaximalLatency( aHistogram.ivMaximalLatency.get( ) );
+	}
+
+	/**
+	 * Delivers the number of recorded latencies.
+	 *
+	 * @return The number of latencies.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getCount( ) {
+		long count = 0;
+		for ( int bucket = 0; bucket < BUCKETS; bucket++ ) {
+			count += ivCounts.get( bucket );
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the maximal recorded latency. The maximal latency is recorded exactly.
+	 *
+	 * @param aTimeUnit
+	 *            The time unit of the result.
+	 *
+	 * @return The maximal latency.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getMaximalLatency( final TimeUnit aTimeUnit ) {
+		return aTimeUnit.convert( ivMaximalLatency.get( ), TimeUnit.NANOSECONDS );
+	}
+
+	/**
+	 * Returns an approximation for the given percentile of the recorded latencies.
+	 *
+	 * @param aPercentile
+	 *            The percentile. Must be between 0 and 100.
+	 * @param aTimeUnit
+	 *            The time unit of the result.
+	 *
+	 * @return The upper bound of the bucket containing the percentile (but not more than the maximal latency) or 0 if no latencies have been recorded.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If the given percentile is out of range.
+	 *
+	 * @since 3.0.0
+	 */
+	public long getLatencyPercentile( final double aPercentile, final TimeUnit aTimeUnit ) {
+		if ( aPercentile < 0 || aPercentile > 100 ) {
+			throw new IllegalArgumentException( "The percentile must be between 0 and 100." );
+		}
+
+		// The counts are copied first, so that concurrent recordings cannot move the threshold beyond the total
+		final long[] counts = new long[BUCKETS];
+		long totalCount = 0;
+		for ( int bucket = 0; bucket < BUCKETS; bucket++ ) {
+			counts[bucket] = ivCounts.get( bucket );
+			totalCount += counts[bucket];
+		}
+
+		final long threshold = Math.max( 1, ( long ) Math.ceil( totalCount * aPercentile / 100.0 ) );
+
+		long count = 0;
+		for ( int bucket = 0; bucket < BUCKETS; bucket++ ) {
+			count += counts[bucket];
+			if ( count >= threshold ) {
+				return aTimeUnit.convert( Math.min( upperBound( bucket ), ivMaximalLatency.get( ) ), TimeUnit.NANOSECONDS );
+			}
+		}
+
+		return 0;
+	}
+
+	private void updateMaximalLatency( final long aLatencyInNanos ) {
+		long maximalLatency = ivMaximalLatency.get( );
+		while ( aLatencyInNanos > maximalLatency && !ivMaximalLatency.compareAndSet( maximalLatency, aLatencyInNanos ) ) {
+			maximalLatency = ivMaximalLatency.get( );
+		}
+	}
+
+	static int bucket( final long aLatencyInNanos ) {
+		if ( aLatencyInNanos < SUB_BUCKETS ) {
+			return ( int ) aLatencyInNanos;
+		}
+
+		// The highest bit selects the range, the following bits select the sub-bucket within the range
+		final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros( aLatencyInNanos );
+		final int subBucket = ( int ) ( aLatencyInNanos >>> ( exponent - SUB_BUCKET_BITS ) ) & ( SUB_BUCKETS - 1 );
+		return ( exponent - SUB_BUCKET_BITS + 1 ) * SUB_BUCKETS + subBucket;
+	}
+
+	static long upperBound( final int aBucket ) {
+		if ( aBucket < SUB_BUCKETS ) {
+			return aBucket;
+		}
+
+		final int shift = aBucket / SUB_BUCKETS - 1;
+		final long lowerBound = ( long ) ( SUB_BUCKETS + aBucket % SUB_BUCKETS ) << shift;
+		return lowerBound + ( 1L << shift ) - 1;
+	}
+
+}
@@ -0,0 +1,245 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.accessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.rhocas.lijense.license.LicenseException;
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * Unit test for {@link LicenseAccessorProcessor}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LicenseAccessorProcessorTest {
+
+	private static final String PRODUCT_LICENSE = "package example;\n" //
+			+ "import de.rhocas.lijense.accessor.*;\n" //
+			+ "@LicenseAccessor\n" //
+			+ "public interface ProductLicense {\n" //
+			+ "  @LicenseKey( value = \"maxUsers\", defaultValue = \"5\" ) int getMaxUsers( );\n" //
+			+ "  @LicenseKey( \"module.reporting.active\" ) boolean isReportingActive( );\n" //
+			+ "  @LicenseKey( value = \"customer\", defaultValue = \"\\\"Unknown\\\"\\n\" ) String getCustomer( );\n" //
+			+ "  @LicenseKey( value = \"validUntil\", defaultValue = \"2030-01-01\" ) java.time.LocalDate getValidUntil( );\n" //
+			+ "  @LicenseKey( value = \"ratio\", defaultValue = \"0.5\" ) double ratio( );\n" //
+			+ "  default int getDoubleMaxUsers( ) { return getMaxUsers( ) * 2; }\n" //
+			+ "}\n";
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void testGeneratedAccessor( ) throws Exception {
+		final CompilationResult result = compile( "example/ProductLicense.java", PRODUCT_LICENSE );
+		assertThat( result.ivSuccess ).as( result.ivDiagnostics ).isTrue( );
+
+		try ( final URLClassLoader classLoader = new URLClassLoader( new URL[] { result.ivOutputDirectory.toURI( ).toURL( ) }, getClass( ).getClassLoader( ) ) ) {
+			final Class<?> accessorClass = classLoader.loadClass( "example.ProductLicenseAccessor" );
+			final Method bindMethod = accessorClass.getMethod( "bind", UnmodifiableLicense.class );
+
+			final Map<String, String> entries = new HashMap<>( );
+			entries.put( "module.reporting.active", "TRUE" );
+			entries.put( "validUntil", "2025-06-30" );
+			final Object accessor = bindMethod.invoke( null, new UnmodifiableLicense( entries ) );
+
+			assertThat( invoke( accessor, "getMaxUsers" ) ).isEqualTo( 5 );
+			assertThat( invoke( accessor, "getDoubleMaxUsers" ) ).isEqualTo( 10 );
+			assertThat( invoke( accessor, "isReportingActive" ) ).isEqualTo( true );
+			assertThat( invoke( accessor, "getCustomer" ) ).isEqualTo( "\"Unknown\"\n" );
+			assertThat( invoke( accessor, "getValidUntil" ) ).isEqualTo( LocalDate.of( 2025, 6, 30 ) );
+			assertThat( invoke( accessor, "ratio" ) ).isEqualTo( 0.5 );
+			assertThat( accessorClass.getDeclaredField( "ivGetMaxUsers" ).getType( ) ).isEqualTo( int.class );
+
+			// The values are validated when the accessor is bound
+			entries.put( "maxUsers", "many" );
+			assertThatExceptionOfType( InvocationTargetException.class )
+					.isThrownBy( ( ) -> bindMethod.invoke( null, new UnmodifiableLicense( entries ) ) )
+					.withCauseInstanceOf( LicenseException.class );
+			assertThatExceptionOfType( InvocationTargetException.class )
+					.isThrownBy( ( ) -> bindMethod.invoke( null, new UnmodifiableLicense( Collections.emptyMap( ) ) ) )
+					.satisfies( ex -> assertThat( ex.getCause( ) ).hasMessage( "The license does not contain the mandatory entry 'module.reporting.active'" ) );
+		}
+	}
+
+	@Test
+	public void testMethodsOfSameProperty( ) throws Exception {
+		final CompilationResult result = compile( "example/ProductLicense.java", "package example;\n" //
+				+ "import de.rhocas.lijense.accessor.*;\n" //
+				+ "@LicenseAccessor\n" //
+				+ "public interface ProductLicense {\n" //
+				+ "  @LicenseKey( value = \"users\", defaultValue = \"5\" ) int getUsers( );\n" //
+				+ "  @LicenseKey( value = \"users\", defaultValue = \"five\" ) String users( );\n" //
+				+ "  @LicenseKey( value = \"maxUsers\", defaultValue = \"10\" ) int getMaxUsers( );\n" //
+				+ "  @LicenseKey( value = \"totalUsers\", defaultValue = \"20\" ) int maxUsers( );\n" //
+				+ "}\n" );
+		assertThat( result.ivSuccess ).as( result.ivDiagnostics ).isTrue( );
+
+		try ( final URLClassLoader classLoader = new URLClassLoader( new URL[] { result.ivOutputDirectory.toURI( ).toURL( ) }, getClass( ).getClassLoader( ) ) ) {
+			final Class<?> accessorClass = classLoader.loadClass( "example.ProductLicenseAccessor" );
+			final Object accessor = accessorClass.getMethod( "bind", UnmodifiableLicense.class ).invoke( null, new UnmodifiableLicense( Collections.emptyMap( ) ) );
+
+			assertThat( invoke( accessor, "getUsers" ) ).isEqualTo( 5 );
+			assertThat( invoke( accessor, "users" ) ).isEqualTo( "five" );
+			assertThat( invoke( accessor, "getMaxUsers" ) ).isEqualTo( 10 );
+			assertThat( invoke( accessor, "maxUsers" ) ).isEqualTo( 20 );
+		}
+	}
+
+	@Test
+	public void testMethodWithoutLicenseKey( ) throws Exception {
+		final CompilationResult result = compile( "example/Invalid.java", "package example;\n" //
+				+ "@de.rhocas.lijense.accessor.LicenseAccessor\n" //
+				+ "public interface Invalid {\n" //
+				+ "  int getMaxUsers( );\n" //
+				+ "}\n" );
+
+		assertThat( result.ivSuccess ).isFalse( );
+		assertThat( result.ivDiagnostics ).contains( "The method must be annotated with @LicenseKey" );
+	}
+
+	@Test
+	public void testUnsupportedReturnType( ) throws Exception {
+		final CompilationResult result = compile( "example/Invalid.java", "package example;\n" //
+				+ "import de.rhocas.lijense.accessor.*;\n" //
+				+ "@LicenseAccessor\n" //
+				+ "public interface Invalid {\n" //
+				+ "  @LicenseKey( \"users\" ) java.util.List<String> getUsers( );\n" //
+				+ "}\n" );
+
+		assertThat( result.ivSuccess ).isFalse( );
+		assertThat( result.ivDiagnostics ).contains( "The return type java.util.List<java.lang.String> is not supported" );
+	}
+
+	@Test
+	public void testMethodWithParameters( ) throws Exception {
+		final CompilationResult result = compile( "example/Invalid.java", "package example;\n" //
+				+ "import de.rhocas.lijense.accessor.*;\n" //
+				+ "@LicenseAccessor\n" //
+				+ "public interface Invalid {\n" //
+				+ "  @LicenseKey( \"users\" ) int getUsers( int aFactor );\n" //
+				+ "}\n" );
+
+		assertThat( result.ivSuccess ).isFalse( );
+		assertThat( result.ivDiagnostics ).contains( "The method must not have parameters" );
+	}
+
+	@Test
+	public void testInvalidDefaultValue( ) throws Exception {
+		final CompilationResult result = compile( "example/Invalid.java", "package example;\n" //
+				+ "import de.rhocas.lijense.accessor.*;\n" //
+				+ "@LicenseAccessor\n" //
+				+ "public interface Invalid {\n" //
+				+ "  @LicenseKey( value = \"users\", defaultValue = \"five\" ) int getUsers( );\n" //
+				+ "}\n" );
+
+		assertThat( result.ivSuccess ).isFalse( );
+		assertThat( result.ivDiagnostics ).contains( "The default value 'five' is not a valid int" );
+	}
+
+	@Test
+	public void testAnnotatedClass( ) throws Exception {
+		final CompilationResult result = compile( "example/Invalid.java", "package example;\n" //
+				+ "@de.rhocas.lijense.accessor.LicenseAccessor\n" //
+				+ "public class Invalid {\n" //
+				+ "}\n" );
+
+		assertThat( result.ivSuccess ).isFalse( );
+		assertThat( result.ivDiagnostics ).contains( "@LicenseAccessor is only allowed on interfaces" );
+	}
+
+	@Test
+	public void testToLiteral( ) {
+		assertThat( LicenseAccessorProcessor.toLiteral( "a\"b\\c\nd\u00e4" ) ).isEqualTo( "\"a\\\"b\\\\c\\012d\\u00e4\"" );
+	}
+
+	private static Object invoke( final Object aObject, final String aMethodName ) throws ReflectiveOperationException {
+		return aObject.getClass( ).getMethod( aMethodName ).invoke( aObject );
+	}
+
+	private CompilationResult compile( final String aFileName, final String aSource ) throws Exception {
+		final File sourceDirectory = ivTemporaryFolder.newFolder( );
+		final File outputDirectory = ivTemporaryFolder.newFolder( );
+		final File sourceFile = new File( sourceDirectory, aFileName );
+		Files.createDirectories( sourceFile.getParentFile( ).toPath( ) );
+		Files.write( sourceFile.toPath( ), aSource.getBytes( StandardCharsets.UTF_8 ) );
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler( );
+		final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>( );
+		try ( final StandardJavaFileManager fileManager = compiler.getStandardFileManager( diagnostics, null, StandardCharsets.UTF_8 ) ) {
+			final JavaCompiler.CompilationTask task = compiler.getTask( new StringWriter( ), fileManager, diagnostics,
+					Arrays.asList( "-d", outputDirectory.getPath( ), "-classpath", System.getProperty( "java.class.path" ) ),
+					null, fileManager.getJavaFileObjects( sourceFile ) );
+			task.setProcessors( Collections.singletonList( new LicenseAccessorProcessor( ) ) );
+
+			final boolean success = task.call( );
+			final StringBuilder messages = new StringBuilder( );
+			diagnostics.getDiagnostics( ).forEach( diagnostic -> messages.append( diagnostic.getMessage( null ) ).append( '\n' ) );
+			return new CompilationResult( success, messages.toString( ), outputDirectory );
+		}
+	}
+
+	private static final class CompilationResult {
+
+		private final boolean ivSuccess;
+		private final String ivDiagnostics;
+		private final File ivOutputDirectory;
+
+		CompilationResult( final boolean aSuccess, final String aDiagnostics, final File aOutputDirectory ) {
+			ivSuccess = aSuccess;
+			ivDiagnostics = aDiagnostics;
+			ivOutputDirectory = aOutputDirectory;
+		}
+
+	}
+
+}
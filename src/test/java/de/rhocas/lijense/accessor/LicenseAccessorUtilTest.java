@@ -0,0 +1,127 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.accessor;
+
+import static de.rhocas.lijense.accessor.LicenseKey.NO_DEFAULT_VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import de.rhocas.lijense.license.LicenseException;
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * Unit test for {@link LicenseAccessorUtil}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LicenseAccessorUtilTest {
+
+	private final UnmodifiableLicense ivLicense = createLicense( );
+
+	@Test
+	public void testValues( ) throws LicenseException {
+		assertThat( LicenseAccessorUtil.toBoolean( ivLicense, "boolean", NO_DEFAULT_VALUE ) ).isTrue( );
+		assertThat( LicenseAccessorUtil.toByte( ivLicense, "number", NO_DEFAULT_VALUE ) ).isEqualTo( ( byte ) 42 );
+		assertThat( LicenseAccessorUtil.toShort( ivLicense, "number", NO_DEFAULT_VALUE ) ).isEqualTo( ( short ) 42 );
+		assertThat( LicenseAccessorUtil.toInt( ivLicense, "number", NO_DEFAULT_VALUE ) ).isEqualTo( 42 );
+		assertThat( LicenseAccessorUtil.toLong( ivLicense, "number", NO_DEFAULT_VALUE ) ).isEqualTo( 42L );
+		assertThat( LicenseAccessorUtil.toFloat( ivLicense, "number", NO_DEFAULT_VALUE ) ).isEqualTo( 42.0f );
+		assertThat( LicenseAccessorUtil.toDouble( ivLicense, "number", NO_DEFAULT_VALUE ) ).isEqualTo( 42.0 );
+		assertThat( LicenseAccessorUtil.toChar( ivLicense, "char", NO_DEFAULT_VALUE ) ).isEqualTo( 'x' );
+		assertThat( LicenseAccessorUtil.toString( ivLicense, "empty", NO_DEFAULT_VALUE ) ).isEmpty( );
+		assertThat( LicenseAccessorUtil.toLocalDate( ivLicense, "date", NO_DEFAULT_VALUE ) ).isEqualTo( LocalDate.of( 2020, 2, 29 ) );
+	}
+
+	@Test
+	public void testDefaultValues( ) throws LicenseException {
+		assertThat( LicenseAccessorUtil.toBoolean( ivLicense, "unknown", "false" ) ).isFalse( );
+		assertThat( LicenseAccessorUtil.toInt( ivLicense, "empty", "7" ) ).isEqualTo( 7 );
+		assertThat( LicenseAccessorUtil.toString( ivLicense, "unknown", "default" ) ).isEqualTo( "default" );
+	}
+
+	@Test
+	public void testMissingMandatoryEntry( ) {
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseAccessorUtil.toInt( ivLicense, "empty", NO_DEFAULT_VALUE ) )
+				.withMessage( "The license does not contain the mandatory entry 'empty'" );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseAccessorUtil.toString( ivLicense, "unknown", NO_DEFAULT_VALUE ) )
+				.withMessage( "The license does not contain the mandatory entry 'unknown'" );
+	}
+
+	@Test
+	public void testInvalidValues( ) {
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseAccessorUtil.toBoolean( ivLicense, "number", NO_DEFAULT_VALUE ) )
+				.withMessage( "The value of the entry 'number' is not a valid boolean" );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseAccessorUtil.toByte( ivLicense, "large", NO_DEFAULT_VALUE ) )
+				.withCauseInstanceOf( NumberFormatException.class )
+				.withMessage( "The value of the entry 'large' is not a valid byte" );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseAccessorUtil.toChar( ivLicense, "number", NO_DEFAULT_VALUE ) )
+				.withMessage( "The value of the entry 'number' is not a valid char" );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseAccessorUtil.toLocalDate( ivLicense, "number", NO_DEFAULT_VALUE ) )
+				.withCauseInstanceOf( DateTimeParseException.class )
+				.withMessage( "The value of the entry 'number' is not a valid date" );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseAccessorUtil.toDouble( ivLicense, "boolean", NO_DEFAULT_VALUE ) )
+				.withMessage( "The value of the entry 'boolean' is not a valid double" );
+	}
+
+	@Test
+	public void testConstructor( ) throws ReflectiveOperationException {
+		final Constructor<LicenseAccessorUtil> constructor = LicenseAccessorUtil.class.getDeclaredConstructor( );
+		constructor.setAccessible( true );
+
+		assertThatExceptionOfType( InvocationTargetException.class )
+				.isThrownBy( constructor::newInstance )
+				.withCauseInstanceOf( AssertionError.class );
+	}
+
+	private static UnmodifiableLicense createLicense( ) {
+		final Map<String, String> map = new HashMap<>( );
+		map.put( "boolean", "True" );
+		map.put( "number", "42" );
+		map.put( "large", "420" );
+		map.put( "char", "x" );
+		map.put( "empty", "" );
+		map.put( "date", "2020-02-29" );
+		return new UnmodifiableLicense( map );
+	}
+
+}
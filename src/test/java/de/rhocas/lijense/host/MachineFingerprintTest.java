@@ -0,0 +1,204 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.host;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link MachineFingerprint}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class MachineFingerprintTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	private final AtomicLong ivTime = new AtomicLong( );
+	private final AtomicInteger ivComputations = new AtomicInteger( );
+
+	@Test
+	public void testCompute( ) throws HostException {
+		assertThat( MachineFingerprint.compute( ) ).hasSize( 64 ).isEqualTo( MachineFingerprint.compute( ) );
+	}
+
+	@Test
+	public void testMachineIdIsUsedAlone( ) throws Exception {
+		final Path networkDevicesDirectory = ivTemporaryFolder.newFolder( ).toPath( );
+		final Map<String, byte[]> hardwareAddresses = new HashMap<>( );
+		hardwareAddresses.put( "eth0", new byte[] { 1, 2, 3, 4, 5, 6 } );
+		final byte[] fingerprint = MachineFingerprint.compute( "machine", hardwareAddresses, networkDevicesDirectory );
+
+		hardwareAddresses.put( "eth1", new byte[] { 6, 5, 4, 3, 2, 1 } );
+		hardwareAddresses.remove( "eth0" );
+		assertThat( MachineFingerprint.compute( "machine", hardwareAddresses, networkDevicesDirectory ) ).isEqualTo( fingerprint );
+		assertThat( MachineFingerprint.compute( "other", hardwareAddresses, networkDevicesDirectory ) ).isNotEqualTo( fingerprint );
+	}
+
+	@Test
+	public void testAddedInterfacesDoNotChangeFingerprint( ) throws Exception {
+		final Path networkDevicesDirectory = ivTemporaryFolder.newFolder( ).toPath( );
+		Files.createDirectories( networkDevicesDirectory.resolve( "eth0" ).resolve( "device" ) );
+		final Map<String, byte[]> hardwareAddresses = new HashMap<>( );
+		hardwareAddresses.put( "eth0", new byte[] { 1, 2, 3, 4, 5, 6 } );
+		final byte[] fingerprint = MachineFingerprint.compute( null, hardwareAddresses, networkDevicesDirectory );
+
+		// Container, bridge, and tunnel interfaces
+		hardwareAddresses.put( "docker0", new byte[] { 2, 2, 2, 2, 2, 2 } );
+		hardwareAddresses.put( "br-5f2a", new byte[] { 3, 3, 3, 3, 3, 3 } );
+		hardwareAddresses.put( "veth12ab", new byte[] { 4, 4, 4, 4, 4, 4 } );
+		hardwareAddresses.put( "tun0", new byte[] { 5, 5, 5, 5, 5, 5 } );
+		Files.createDirectories( networkDevicesDirectory.resolve( "docker0" ) );
+
+		// A wireless adapter
+		hardwareAddresses.put( "wlp2s0", new byte[] { 6, 6, 6, 6, 6, 6 } );
+		Files.createDirectories( networkDevicesDirectory.resolve( "wlp2s0" ).resolve( "device" ) );
+		Files.createDirectories( networkDevicesDirectory.resolve( "wlp2s0" ).resolve( "wireless" ) );
+
+		// A USB adapter
+		hardwareAddresses.put( "enx0a0b0c", new byte[] { 7, 7, 7, 7, 7, 7 } );
+		final Path usbDevice = Files.createDirectories( ivTemporaryFolder.getRoot( ).toPath( ).resolve( "devices" ).resolve( "usb1" ).resolve( "1-1" ) );
+		Files.createDirectories( networkDevicesDirectory.resolve( "enx0a0b0c" ) );
+		Files.createSymbolicLink( networkDevicesDirectory.resolve( "enx0a0b0c" ).resolve( "device" ), usbDevice );
+
+		assertThat( MachineFingerprint.compute( null, hardwareAddresses, networkDevicesDirectory ) ).isEqualTo( fingerprint );
+
+		// A second physical interface is part of the fingerprint though
+		hardwareAddresses.put( "eth1", new byte[] { 8, 8, 8, 8, 8, 8 } );
+		Files.createDirectories( networkDevicesDirectory.resolve( "eth1" ).resolve( "device" ) );
+		assertThat( MachineFingerprint.compute( null, hardwareAddresses, networkDevicesDirectory ) ).isNotEqualTo( fingerprint );
+	}
+
+	@Test
+	public void testGetDefault( ) throws HostException {
+		assertThat( MachineFingerprint.getDefault( ) ).isSameAs( MachineFingerprint.getDefault( ) );
+		assertThat( MachineFingerprint.getDefault( ).get( ) ).isEqualTo( MachineFingerprint.compute( ) );
+	}
+
+	@Test
+	public void testFingerprintIsCached( ) throws HostException {
+		final MachineFingerprint fingerprint = new MachineFingerprint( Duration.ofNanos( 100 ), this::computeFingerprint, ivTime::get );
+
+		assertThat( fingerprint.get( ) ).containsExactly( 1 );
+		ivTime.set( 99 );
+		assertThat( fingerprint.matches( new byte[] { 1 } ) ).isTrue( );
+		assertThat( ivComputations ).hasValue( 1 );
+
+		ivTime.set( 100 );
+		assertThat( fingerprint.matches( new byte[] { 2 } ) ).isTrue( );
+		assertThat( fingerprint.matches( new byte[] { 1 } ) ).isFalse( );
+		assertThat( ivComputations ).hasValue( 2 );
+	}
+
+	@Test
+	public void testGetReturnsCopy( ) throws HostException {
+		final MachineFingerprint fingerprint = new MachineFingerprint( Duration.ofNanos( 100 ), this::computeFingerprint, ivTime::get );
+
+		fingerprint.get( )[0] = 42;
+		assertThat( fingerprint.get( ) ).containsExactly( 1 );
+	}
+
+	@Test
+	public void testRefresh( ) throws HostException {
+		final MachineFingerprint fingerprint = new MachineFingerprint( Duration.ofNanos( 100 ), this::computeFingerprint, ivTime::get );
+
+		fingerprint.get( );
+		fingerprint.refresh( );
+		assertThat( fingerprint.get( ) ).containsExactly( 2 );
+	}
+
+	@Test
+	public void testSetRefreshInterval( ) throws HostException {
+		final MachineFingerprint fingerprint = new MachineFingerprint( Duration.ofNanos( 100 ), this::computeFingerprint, ivTime::get );
+		fingerprint.setRefreshInterval( Duration.ofNanos( 1000 ) );
+
+		fingerprint.get( );
+		ivTime.set( 999 );
+		assertThat( fingerprint.get( ) ).containsExactly( 1 );
+		ivTime.set( 1000 );
+		assertThat( fingerprint.get( ) ).containsExactly( 2 );
+	}
+
+	@Test
+	public void testFailedRefreshKeepsPreviousFingerprint( ) throws HostException {
+		final MachineFingerprint fingerprint = new MachineFingerprint( Duration.ofNanos( 100 ), ( ) -> {
+			if ( ivComputations.incrementAndGet( ) > 1 ) {
+				throw new IOException( );
+			}
+			return new byte[] { 1 };
+		}, ivTime::get );
+
+		fingerprint.get( );
+		ivTime.set( 100 );
+		assertThat( fingerprint.get( ) ).containsExactly( 1 );
+		assertThat( fingerprint.get( ) ).containsExactly( 1 );
+		assertThat( ivComputations ).hasValue( 2 );
+
+		assertThatExceptionOfType( HostException.class )
+				.isThrownBy( fingerprint::refresh )
+				.withCauseInstanceOf( IOException.class )
+				.withMessage( "Could not compute the fingerprint of the machine" );
+	}
+
+	@Test
+	public void testFailedInitialComputation( ) {
+		final MachineFingerprint fingerprint = new MachineFingerprint( Duration.ofNanos( 100 ), ( ) -> {
+			throw new HostException( "Failure" );
+		}, ivTime::get );
+
+		assertThatExceptionOfType( HostException.class ).isThrownBy( fingerprint::get ).withMessage( "Failure" );
+	}
+
+	@Test
+	public void testInvalidRefreshInterval( ) {
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new MachineFingerprint( Duration.ZERO ) )
+				.withMessage( "The interval must be positive." );
+		assertThatExceptionOfType( NullPointerException.class )
+				.isThrownBy( ( ) -> new MachineFingerprint( null ) )
+				.withMessage( "The interval must not be null." );
+	}
+
+	private byte[] computeFingerprint( ) {
+		return new byte[] { ( byte ) ivComputations.incrementAndGet( ) };
+	}
+
+}
@@ -0,0 +1,83 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ByteBufferInputStream}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class ByteBufferInputStreamTest {
+
+	@Test
+	public void testReadHeapBuffer( ) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.wrap( new byte[] { 1, 2, 3, ( byte ) 0xFF } );
+		buffer.position( 1 );
+
+		try ( final ByteBufferInputStream inputStream = new ByteBufferInputStream( buffer ) ) {
+			assertThat( inputStream.available( ) ).isEqualTo( 3 );
+			assertThat( inputStream.read( ) ).isEqualTo( 2 );
+			assertThat( inputStream.skip( 1 ) ).isEqualTo( 1 );
+			assertThat( inputStream.read( ) ).isEqualTo( 0xFF );
+			assertThat( inputStream.read( ) ).isEqualTo( -1 );
+		}
+
+		assertThat( buffer.position( ) ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testReadDirectBuffer( ) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect( 2000 );
+		for ( int i = 0; i < buffer.capacity( ); i++ ) {
+			buffer.put( ( byte ) ( i % 256 ) );
+		}
+		buffer.flip( );
+
+		try ( final ByteBufferInputStream inputStream = new ByteBufferInputStream( buffer ) ) {
+			final byte[] readBytes = IOUtil.readAllBytes( inputStream );
+			assertThat( readBytes ).hasSize( 2000 );
+			assertThat( readBytes[1999] ).isEqualTo( ( byte ) ( 1999 % 256 ) );
+		}
+	}
+
+	@Test
+	public void testReadWithInvalidRange( ) throws IOException {
+		try ( final ByteBufferInputStream inputStream = new ByteBufferInputStream( ByteBuffer.allocate( 1 ) ) ) {
+			assertThatExceptionOfType( IndexOutOfBoundsException.class )
+					.isThrownBy( ( ) -> inputStream.read( new byte[1], 1, 1 ) );
+		}
+	}
+
+}
@@ -33,6 +33,8 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -60,6 +62,75 @@ public final class IOUtilTest {
 		return buffer;
 	}
 
+	@Test
+	public void testReadAllBytesWithMaximalSize( ) throws IOException {
+		final byte[] data = new byte[3000];
+		data[2999] = 42;
+
+		assertThat( IOUtil.readAllBytes( new ByteArrayInputStream( data ), 3000 ) ).isEqualTo( data );
+		assertThatExceptionOfType( SizeLimitExceededException.class )
+				.isThrownBy( ( ) -> IOUtil.readAllBytes( new ByteArrayInputStream( data ), 2999 ) )
+				.withMessage( "The stream exceeds the maximal size of 2999 bytes" );
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> IOUtil.readAllBytes( new ByteArrayInputStream( data ), -1 ) );
+	}
+
+	@Test
+	public void testReadAllBytesWithSizeHint( ) throws IOException {
+		final byte[] data = new byte[3000];
+		data[0] = 1;
+		data[2999] = 42;
+
+		assertThat( IOUtil.readAllBytes( new ByteArrayInputStream( data ), 3000, 3000 ) ).isEqualTo( data );
+		assertThat( IOUtil.readAllBytes( new ByteArrayInputStream( data ), 10, 3000 ) ).isEqualTo( data );
+		assertThat( IOUtil.readAllBytes( new ByteArrayInputStream( data ), 5000, 3000 ) ).isEqualTo( data );
+		assertThat( IOUtil.readAllBytes( new ByteArrayInputStream( new byte[0] ), 0, 0 ) ).isEmpty( );
+		assertThatExceptionOfType( SizeLimitExceededException.class )
+				.isThrownBy( ( ) -> IOUtil.readAllBytes( new ByteArrayInputStream( data ), 3000, 2999 ) );
+	}
+
+	@Test
+	public void testReadAllBytesWithBufferPool( ) throws IOException {
+		final List<byte[]> acquiredBuffers = new ArrayList<>( );
+		final List<byte[]> releasedBuffers = new ArrayList<>( );
+		final BufferPool bufferPool = new BufferPool( ) {
+
+			@Override
+			public byte[] acquire( final int aMinimalSize ) {
+				final byte[] buffer = new byte[aMinimalSize + 7];
+				acquiredBuffers.add( buffer );
+				return buffer;
+			}
+
+			@Override
+			public void release( final byte[] aBuffer ) {
+				releasedBuffers.add( aBuffer );
+			}
+
+		};
+
+		final byte[] data = new byte[5000];
+		data[4999] = 42;
+
+		IOUtil.setBufferPool( bufferPool );
+		try {
+			assertThat( IOUtil.getBufferPool( ) ).contains( bufferPool );
+			assertThat( IOUtil.readAllBytes( new ByteArrayInputStream( data ), 0, 10000 ) ).isEqualTo( data );
+			assertThat( acquiredBuffers ).hasSize( 4 );
+			assertThat( releasedBuffers ).containsExactlyElementsOf( acquiredBuffers );
+
+			// Pooled buffers are larger than requested, but the limit is still exact
+			releasedBuffers.clear( );
+			assertThatExceptionOfType( SizeLimitExceededException.class )
+					.isThrownBy( ( ) -> IOUtil.readAllBytes( new ByteArrayInputStream( data ), 4995, 4995 ) );
+			assertThat( releasedBuffers ).hasSize( 1 );
+		} finally {
+			IOUtil.resetBufferPool( );
+		}
+
+		assertThat( IOUtil.getBufferPool( ) ).isEmpty( );
+	}
+
 	@Test
 	public void testBinaryToString( ) {
 		assertThat( IOUtil.binaryToString( "liJense".getBytes( ) ) ).isEqualTo( "bGlKZW5zZQ==" );
@@ -0,0 +1,78 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ThreadLocalBufferPool}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class ThreadLocalBufferPoolTest {
+
+	@Test
+	public void testAcquire( ) {
+		final ThreadLocalBufferPool bufferPool = new ThreadLocalBufferPool( 4096 );
+
+		assertThat( bufferPool.acquire( 0 ) ).hasSize( 1024 );
+		assertThat( bufferPool.acquire( 1025 ) ).hasSize( 2048 );
+		assertThat( bufferPool.acquire( 4096 ) ).hasSize( 4096 );
+		assertThat( bufferPool.acquire( 4097 ) ).hasSize( 4097 );
+	}
+
+	@Test
+	public void testRelease( ) throws Exception {
+		final ThreadLocalBufferPool bufferPool = new ThreadLocalBufferPool( 4000 );
+
+		final byte[] buffer = bufferPool.acquire( 3000 );
+		bufferPool.release( buffer );
+		bufferPool.release( new byte[3000] );
+		bufferPool.release( new byte[8192] );
+
+		assertThat( bufferPool.acquire( 2049 ) ).isSameAs( buffer );
+		assertThat( bufferPool.acquire( 2049 ) ).isNotSameAs( buffer );
+
+		// Each thread has its own buffers
+		bufferPool.release( buffer );
+		assertThat( CompletableFuture.supplyAsync( ( ) -> bufferPool.acquire( 4096 ) ).get( ) ).isNotSameAs( buffer );
+		assertThat( bufferPool.acquire( 4096 ) ).isSameAs( buffer );
+	}
+
+	@Test
+	public void testInvalidMaximalPooledSize( ) {
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new ThreadLocalBufferPool( 1023 ) )
+				.withMessage( "The maximal pooled size must be between 1 KiB and 1 GiB." );
+	}
+
+}
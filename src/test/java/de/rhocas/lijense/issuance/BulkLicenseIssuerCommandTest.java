@@ -0,0 +1,95 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.issuance;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadResourceAsStream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link BulkLicenseIssuerCommand}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class BulkLicenseIssuerCommandTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void testRun( ) throws Exception {
+		final File privateKeyFile = ivTemporaryFolder.newFile( );
+		try ( final InputStream inputStream = loadResourceAsStream( "key.private" ) ) {
+			Files.copy( inputStream, privateKeyFile.toPath( ), StandardCopyOption.REPLACE_EXISTING );
+		}
+
+		final File inputFile = ivTemporaryFolder.newFile( );
+		Files.write( inputFile.toPath( ), "customer=A\ncustomer=B\n".getBytes( "UTF-8" ) );
+
+		final File outputDirectory = new File( ivTemporaryFolder.getRoot( ), "output" );
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream( );
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final int exitCode = BulkLicenseIssuerCommand.run( new String[] { "--private-key", privateKeyFile.getPath( ), "--input", inputFile.getPath( ), "--output",
+				outputDirectory.getPath( ), "--format", "properties", "--threads", "2" }, new PrintStream( out ), new PrintStream( err ) );
+
+		assertThat( exitCode ).isZero( );
+		assertThat( err.toString( ) ).isEmpty( );
+		assertThat( out.toString( ) ).startsWith( "issued=2, failed=0" );
+		assertThat( outputDirectory.list( ) ).containsExactlyInAnyOrder( "license-1.dat", "license-2.dat" );
+	}
+
+	@Test
+	public void testRunWithMissingArguments( ) {
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final int exitCode = BulkLicenseIssuerCommand.run( new String[] { "--input", "input.csv" }, new PrintStream( new ByteArrayOutputStream( ) ),
+				new PrintStream( err ) );
+
+		assertThat( exitCode ).isEqualTo( 1 );
+		assertThat( err.toString( ) ).startsWith( "Usage:" );
+	}
+
+	@Test
+	public void testRunWithInvalidFormat( ) {
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final int exitCode = BulkLicenseIssuerCommand.run( new String[] { "--private-key", "key", "--input", "input", "--output", "output", "--format", "xml" },
+				new PrintStream( new ByteArrayOutputStream( ) ), new PrintStream( err ) );
+
+		assertThat( exitCode ).isEqualTo( 1 );
+	}
+
+}
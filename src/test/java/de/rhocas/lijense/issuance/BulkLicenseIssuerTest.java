@@ -0,0 +1,220 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.issuance;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPrivateKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.File;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.rhocas.lijense.license.LicenseUtil;
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * Unit test for {@link BulkLicenseIssuer}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class BulkLicenseIssuerTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void testIssueCsv( ) throws Exception {
+		final File outputDirectory = ivTemporaryFolder.newFolder( );
+		final BulkLicenseIssuer issuer = new BulkLicenseIssuer( loadPrivateKey( ), outputDirectory, 2, 1 );
+
+		final String input = "_FILE,customer,myFeature.active\n" //
+				+ "first.license,\"Customer, Inc.\",true\n" //
+				+ "\n" //
+				+ "second.license,\"The \"\"Other\"\" Customer\",\n";
+		final List<String> errors = new CopyOnWriteArrayList<>( );
+		final IssuanceStatistics statistics = issuer.issue( new StringReader( input ), RecordFormat.CSV, errors::add );
+
+		assertThat( errors ).isEmpty( );
+		assertThat( statistics.getIssuedCount( ) ).isEqualTo( 2 );
+		assertThat( statistics.getFailedCount( ) ).isZero( );
+		assertThat( statistics.getThroughput( ) ).isPositive( );
+		assertThat( statistics.getMaximalLatency( TimeUnit.NANOSECONDS ) ).isPositive( );
+		assertThat( statistics.getLatencyPercentile( 99, TimeUnit.NANOSECONDS ) ).isBetween( statistics.getMeanLatency( TimeUnit.NANOSECONDS ) / 2,
+				statistics.getMaximalLatency( TimeUnit.NANOSECONDS ) );
+		assertThat( statistics.toString( ) ).startsWith( "issued=2, failed=0" );
+
+		final UnmodifiableLicense firstLicense = loadLicense( new File( outputDirectory, "first.license" ) );
+		assertThat( firstLicense.getValue( "customer" ) ).isEqualTo( "Customer, Inc." );
+		assertThat( firstLicense.getValue( "myFeature.active" ) ).isEqualTo( "true" );
+		assertThat( firstLicense.getValue( BulkLicenseIssuer.FILE_KEY ) ).isNull( );
+
+		final UnmodifiableLicense secondLicense = loadLicense( new File( outputDirectory, "second.license" ) );
+		assertThat( secondLicense.getValue( "customer" ) ).isEqualTo( "The \"Other\" Customer" );
+		assertThat( secondLicense.getValue( "myFeature.active" ) ).isNull( );
+	}
+
+	@Test
+	public void testIssueProperties( ) throws Exception {
+		final File outputDirectory = ivTemporaryFolder.newFolder( );
+		final BulkLicenseIssuer issuer = new BulkLicenseIssuer( loadPrivateKey( ), outputDirectory, 1, 1 );
+
+		final String input = "customer=A\\;B; myFeature.active = true\n";
+		final List<String> errors = new CopyOnWriteArrayList<>( );
+		final IssuanceStatistics statistics = issuer.issue( new StringReader( input ), RecordFormat.PROPERTIES, errors::add );
+
+		assertThat( errors ).isEmpty( );
+		assertThat( statistics.getIssuedCount( ) ).isEqualTo( 1 );
+
+		final UnmodifiableLicense license = loadLicense( new File( outputDirectory, "license-1.dat" ) );
+		assertThat( license.getValue( "customer" ) ).isEqualTo( "A;B" );
+		assertThat( license.getValue( "myFeature.active" ) ).isEqualTo( "true" );
+	}
+
+	@Test
+	public void testIssueInvalidRecords( ) throws Exception {
+		final File outputDirectory = ivTemporaryFolder.newFolder( );
+		final BulkLicenseIssuer issuer = new BulkLicenseIssuer( loadPrivateKey( ), outputDirectory, 2, 2 );
+
+		final String input = "customer\n" //
+				+ "A,B\n" //
+				+ "\"C\n" //
+				+ "D\n";
+		final List<String> errors = new CopyOnWriteArrayList<>( );
+		final IssuanceStatistics statistics = issuer.issue( new StringReader( input ), RecordFormat.CSV, errors::add );
+
+		assertThat( statistics.getIssuedCount( ) ).isEqualTo( 1 );
+		assertThat( statistics.getFailedCount( ) ).isEqualTo( 2 );
+		assertThat( errors ).containsExactlyInAnyOrder( "Record 1: The record contains more values than the header",
+				"Record 2: The record contains an unterminated quote" );
+	}
+
+	@Test
+	public void testIssueFileOutsideOfOutputDirectory( ) throws Exception {
+		final File outputDirectory = ivTemporaryFolder.newFolder( );
+		final BulkLicenseIssuer issuer = new BulkLicenseIssuer( loadPrivateKey( ), outputDirectory, 1, 1 );
+
+		final List<String> errors = new CopyOnWriteArrayList<>( );
+		final IssuanceStatistics statistics = issuer.issue( new StringReader( "_FILE=../escaped.license" ), RecordFormat.PROPERTIES, errors::add );
+
+		assertThat( statistics.getFailedCount( ) ).isEqualTo( 1 );
+		assertThat( errors ).containsExactly( "Record 1: The file name '../escaped.license' points outside of the output directory" );
+	}
+
+	@Test
+	public void testIssueDuplicateFileNames( ) throws Exception {
+		final File outputDirectory = ivTemporaryFolder.newFolder( );
+		final BulkLicenseIssuer issuer = new BulkLicenseIssuer( loadPrivateKey( ), outputDirectory, 1, 1 );
+
+		final String input = "_FILE=first.license; customer=A\n" //
+				+ "_FILE=./first.license; customer=B\n" //
+				+ "_FILE=license-4.dat; customer=C\n" //
+				+ "customer=D\n";
+		final List<String> errors = new CopyOnWriteArrayList<>( );
+		final IssuanceStatistics statistics = issuer.issue( new StringReader( input ), RecordFormat.PROPERTIES, errors::add );
+
+		assertThat( statistics.getIssuedCount( ) ).isEqualTo( 2 );
+		assertThat( statistics.getFailedCount( ) ).isEqualTo( 2 );
+		assertThat( errors ).containsExactly( "Record 2: The file './first.license' exists already", "Record 4: The file 'license-4.dat' exists already" );
+		assertThat( loadLicense( new File( outputDirectory, "first.license" ) ).getValue( "customer" ) ).isEqualTo( "A" );
+		assertThat( loadLicense( new File( outputDirectory, "license-4.dat" ) ).getValue( "customer" ) ).isEqualTo( "C" );
+	}
+
+	@Test
+	public void testIssueExistingFile( ) throws Exception {
+		final File outputDirectory = ivTemporaryFolder.newFolder( );
+		final File existingFile = new File( outputDirectory, "existing.license" );
+		Files.write( existingFile.toPath( ), new byte[] { 1, 2, 3 } );
+		final BulkLicenseIssuer issuer = new BulkLicenseIssuer( loadPrivateKey( ), outputDirectory, 1, 1 );
+
+		final List<String> errors = new CopyOnWriteArrayList<>( );
+		final IssuanceStatistics statistics = issuer.issue( new StringReader( "_FILE=existing.license; customer=A\n" ), RecordFormat.PROPERTIES, errors::add );
+
+		assertThat( statistics.getIssuedCount( ) ).isEqualTo( 0 );
+		assertThat( statistics.getFailedCount( ) ).isEqualTo( 1 );
+		assertThat( errors ).containsExactly( "Record 1: The file 'existing.license' exists already" );
+		assertThat( Files.readAllBytes( existingFile.toPath( ) ) ).containsExactly( 1, 2, 3 );
+	}
+
+	@Test
+	public void testIssueInterrupted( ) throws Exception {
+		final File outputDirectory = ivTemporaryFolder.newFolder( );
+		final BulkLicenseIssuer issuer = new BulkLicenseIssuer( loadPrivateKey( ), outputDirectory, 1, 1 );
+
+		final StringBuilder input = new StringBuilder( );
+		for ( int index = 0; index < 100; index++ ) {
+			input.append( "customer=" ).append( index ).append( '\n' );
+		}
+
+		// The reading thread is interrupted as soon as it has to wait for the signing thread
+		Thread.currentThread( ).interrupt( );
+		try {
+			assertThatExceptionOfType( InterruptedException.class )
+					.isThrownBy( ( ) -> issuer.issue( new StringReader( input.toString( ) ), RecordFormat.PROPERTIES, error -> {
+					} ) );
+			assertThat( Thread.currentThread( ).isInterrupted( ) ).isTrue( );
+		} finally {
+			Thread.interrupted( );
+		}
+
+		assertThat( outputDirectory.list( ).length ).isLessThan( 100 );
+	}
+
+	@Test
+	public void testInvalidThreads( ) throws Exception {
+		final PrivateKey privateKey = loadPrivateKey( );
+		final File outputDirectory = ivTemporaryFolder.getRoot( );
+
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new BulkLicenseIssuer( privateKey, outputDirectory, 0, 1 ) )
+				.withMessage( "The number of threads must be positive." );
+	}
+
+	@Test
+	public void testParsePropertiesRecordWithValueWithoutKey( ) {
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> BulkLicenseIssuer.parsePropertiesRecord( "=value" ) )
+				.withMessage( "The record contains a value without key" );
+	}
+
+	private UnmodifiableLicense loadLicense( final File aFile ) throws Exception {
+		final PublicKey publicKey = loadPublicKey( );
+		return LicenseUtil.loadLicenseFile( publicKey, aFile, Optional.empty( ) );
+	}
+
+}
@@ -0,0 +1,85 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link JournalIndex}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class JournalIndexTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void testPutAndGetWithResize( ) throws IOException {
+		final Path path = ivTemporaryFolder.newFile( ).toPath( );
+
+		try ( final JournalIndex index = JournalIndex.open( path, 0 ) ) {
+			assertThat( index.isRebuildRequired( ) ).isTrue( );
+
+			for ( int i = 0; i < 10000; i++ ) {
+				assertThat( index.put( JournalIndex.hash( "key" + i ), i ) ).isEqualTo( JournalIndex.NO_POSITION );
+			}
+			assertThat( index.put( JournalIndex.hash( "key42" ), 100000 ) ).isEqualTo( 42 );
+
+			assertThat( index.get( JournalIndex.hash( "key42" ) ) ).isEqualTo( 100000 );
+			assertThat( index.get( JournalIndex.hash( "key9999" ) ) ).isEqualTo( 9999 );
+			assertThat( index.get( JournalIndex.hash( "unknown" ) ) ).isEqualTo( JournalIndex.NO_POSITION );
+
+			index.close( 123 );
+		}
+
+		// The index can be used again for a journal with the same length only
+		try ( final JournalIndex index = JournalIndex.open( path, 123 ) ) {
+			assertThat( index.isRebuildRequired( ) ).isFalse( );
+			assertThat( index.get( JournalIndex.hash( "key9999" ) ) ).isEqualTo( 9999 );
+			index.markModified( );
+		}
+		try ( final JournalIndex index = JournalIndex.open( path, 123 ) ) {
+			assertThat( index.isRebuildRequired( ) ).isTrue( );
+			assertThat( index.get( JournalIndex.hash( "key9999" ) ) ).isEqualTo( JournalIndex.NO_POSITION );
+		}
+	}
+
+	@Test
+	public void testHashIsNeverEmpty( ) {
+		assertThat( JournalIndex.hash( "" ) ).isNotZero( );
+		assertThat( JournalIndex.hash( "a" ) ).isNotEqualTo( JournalIndex.hash( "b" ) );
+	}
+
+}
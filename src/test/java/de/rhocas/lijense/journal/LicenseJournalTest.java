@@ -0,0 +1,273 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.journal;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPrivateKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.rhocas.lijense.license.LicenseUtil;
+import de.rhocas.lijense.license.ModifiableLicense;
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * Unit test for {@link LicenseJournal}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LicenseJournalTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void testAppendAndFind( ) throws Exception {
+		final File directory = ivTemporaryFolder.newFolder( );
+		final PrivateKey privateKey = loadPrivateKey( );
+
+		try ( final LicenseJournal journal = new LicenseJournal( directory, "customer" ) ) {
+			journal.append( createLicense( "1", "first" ), privateKey );
+			journal.append( createLicense( "2", "second" ), privateKey );
+			final byte[] binaryLicense = journal.append( createLicense( "3", "first" ), privateKey );
+
+			assertThat( loadLicense( journal.findBySerial( "3" ).get( ) ).getValue( "customer" ) ).isEqualTo( "first" );
+			assertThat( journal.findBySerial( "3" ).get( ) ).isEqualTo( binaryLicense );
+			assertThat( journal.findBySerial( "4" ) ).isEmpty( );
+
+			assertThat( getSerials( journal.findByCustomer( "first" ) ) ).containsExactly( "3", "1" );
+			assertThat( getSerials( journal.findByCustomer( "second" ) ) ).containsExactly( "2" );
+			assertThat( journal.findByCustomer( "third" ) ).isEmpty( );
+		}
+
+		// The indexes are still valid after reopening the journal
+		try ( final LicenseJournal journal = new LicenseJournal( directory, "customer" ) ) {
+			journal.append( createLicense( "4", "first" ), privateKey );
+
+			assertThat( journal.findBySerial( "2" ) ).isPresent( );
+			assertThat( getSerials( journal.findByCustomer( "first" ) ) ).containsExactly( "4", "3", "1" );
+
+			final List<byte[]> licenses = new ArrayList<>( );
+			journal.forEach( licenses::add );
+			assertThat( getSerials( licenses ) ).containsExactly( "1", "2", "3", "4" );
+		}
+	}
+
+	@Test
+	public void testRecoverFromIncompleteRecord( ) throws Exception {
+		final File directory = ivTemporaryFolder.newFolder( );
+		final PrivateKey privateKey = loadPrivateKey( );
+
+		try ( final LicenseJournal journal = new LicenseJournal( directory, "customer" ) ) {
+			journal.append( createLicense( "1", "first" ), privateKey );
+			journal.append( createLicense( "2", "first" ), privateKey );
+		}
+
+		// Simulate a crash while writing a record
+		final File logFile = new File( directory, "licenses.journal" );
+		final long logLength = logFile.length( );
+		Files.write( logFile.toPath( ), new byte[] { 0, 0, 1, 0, 42 }, StandardOpenOption.APPEND );
+
+		try ( final LicenseJournal journal = new LicenseJournal( directory, "customer" ) ) {
+			assertThat( logFile.length( ) ).isEqualTo( logLength );
+			assertThat( getSerials( journal.findByCustomer( "first" ) ) ).containsExactly( "2", "1" );
+
+			journal.append( createLicense( "3", "first" ), privateKey );
+			assertThat( journal.findBySerial( "3" ) ).isPresent( );
+		}
+	}
+
+	@Test
+	public void testRecoverFromDamagedRecord( ) throws Exception {
+		final File directory = ivTemporaryFolder.newFolder( );
+		final PrivateKey privateKey = loadPrivateKey( );
+
+		try ( final LicenseJournal journal = new LicenseJournal( directory, "customer" ) ) {
+			journal.append( createLicense( "1", "first" ), privateKey );
+			journal.append( createLicense( "2", "first" ), privateKey );
+		}
+
+		// Damage the first record and simulate a crash, so that the indexes have to be rebuilt
+		final File logFile = new File( directory, "licenses.journal" );
+		final long logLength = logFile.length( );
+		damageLog( logFile, 20 );
+		Files.delete( new File( directory, "serial.index" ).toPath( ) );
+
+		assertThatExceptionOfType( JournalException.class )
+				.isThrownBy( ( ) -> new LicenseJournal( directory, "customer" ) )
+				.withMessage( "The journal contains a damaged record at position 0" );
+		assertThat( logFile.length( ) ).isEqualTo( logLength );
+	}
+
+	@Test
+	public void testRecoverFromDamagedLengthField( ) throws Exception {
+		final File directory = ivTemporaryFolder.newFolder( );
+		final PrivateKey privateKey = loadPrivateKey( );
+
+		try ( final LicenseJournal journal = new LicenseJournal( directory, "customer" ) ) {
+			journal.append( createLicense( "1", "first" ), privateKey );
+			journal.append( createLicense( "2", "first" ), privateKey );
+		}
+
+		// The damaged length exceeds the limits, so that the next record cannot be located by the length
+		final File logFile = new File( directory, "licenses.journal" );
+		final long logLength = logFile.length( );
+		damageLog( logFile, 0 );
+		Files.delete( new File( directory, "serial.index" ).toPath( ) );
+
+		assertThatExceptionOfType( JournalException.class )
+				.isThrownBy( ( ) -> new LicenseJournal( directory, "customer" ) )
+				.withMessage( "The journal contains a damaged record at position 0" );
+		assertThat( logFile.length( ) ).isEqualTo( logLength );
+	}
+
+	@Test
+	public void testRecoverFromDamagedLengthFieldOfLastRecord( ) throws Exception {
+		final File directory = ivTemporaryFolder.newFolder( );
+		final PrivateKey privateKey = loadPrivateKey( );
+
+		try ( final LicenseJournal journal = new LicenseJournal( directory, "customer" ) ) {
+			journal.append( createLicense( "1", "first" ), privateKey );
+			journal.append( createLicense( "2", "first" ), privateKey );
+		}
+
+		final File logFile = new File( directory, "licenses.journal" );
+		final int firstRecordLength = 16 + ByteBuffer.wrap( Files.readAllBytes( logFile.toPath( ) ) ).getInt( 0 );
+		damageLog( logFile, firstRecordLength );
+		Files.delete( new File( directory, "serial.index" ).toPath( ) );
+
+		try ( final LicenseJournal journal = new LicenseJournal( directory, "customer" ) ) {
+			assertThat( logFile.length( ) ).isEqualTo( firstRecordLength );
+			assertThat( getSerials( journal.findByCustomer( "first" ) ) ).containsExactly( "1" );
+		}
+	}
+
+	@Test
+	public void testFindDamagedRecord( ) throws Exception {
+		final File directory = ivTemporaryFolder.newFolder( );
+		final PrivateKey privateKey = loadPrivateKey( );
+
+		try ( final LicenseJournal journal = new LicenseJournal( directory, "customer" ) ) {
+			journal.append( createLicense( "1", "first" ), privateKey );
+		}
+
+		damageLog( new File( directory, "licenses.journal" ), 20 );
+
+		try ( final LicenseJournal journal = new LicenseJournal( directory, "customer" ) ) {
+			assertThatExceptionOfType( JournalException.class )
+					.isThrownBy( ( ) -> journal.findBySerial( "1" ) )
+					.withMessage( "The journal contains a damaged record at position 0" );
+			assertThatExceptionOfType( JournalException.class )
+					.isThrownBy( ( ) -> journal.findByCustomer( "first" ) )
+					.withMessage( "The journal contains a damaged record at position 0" );
+		}
+	}
+
+	@Test
+	public void testConcurrentAppends( ) throws Exception {
+		final File directory = ivTemporaryFolder.newFolder( );
+		final PrivateKey privateKey = loadPrivateKey( );
+		final ExecutorService executorService = Executors.newFixedThreadPool( 4 );
+
+		try ( final LicenseJournal journal = new LicenseJournal( directory, "customer" ) ) {
+			final List<Future<byte[]>> futures = new ArrayList<>( );
+			for ( int i = 0; i < 20; i++ ) {
+				final ModifiableLicense license = createLicense( Integer.toString( i ), "customer" + i % 3 );
+				futures.add( executorService.submit( ( ) -> journal.append( license, privateKey ) ) );
+			}
+			for ( final Future<byte[]> future : futures ) {
+				future.get( 1, TimeUnit.MINUTES );
+			}
+
+			for ( int i = 0; i < 20; i++ ) {
+				assertThat( journal.findBySerial( Integer.toString( i ) ) ).isPresent( );
+			}
+			assertThat( journal.findByCustomer( "customer0" ) ).hasSize( 7 );
+			assertThat( journal.findByCustomer( "customer1" ) ).hasSize( 7 );
+			assertThat( journal.findByCustomer( "customer2" ) ).hasSize( 6 );
+		} finally {
+			executorService.shutdownNow( );
+		}
+	}
+
+	@Test
+	public void testAppendAfterClose( ) throws Exception {
+		final LicenseJournal journal = new LicenseJournal( ivTemporaryFolder.newFolder( ), "customer" );
+		journal.close( );
+
+		final PrivateKey privateKey = loadPrivateKey( );
+		assertThatIllegalStateException( )
+				.isThrownBy( ( ) -> journal.append( createLicense( "1", "first" ), privateKey ) )
+				.withMessage( "The journal has already been closed." );
+	}
+
+	private void damageLog( final File aLogFile, final int aPosition ) throws Exception {
+		final byte[] content = Files.readAllBytes( aLogFile.toPath( ) );
+		content[aPosition] ^= 0x01;
+		Files.write( aLogFile.toPath( ), content );
+	}
+
+	private ModifiableLicense createLicense( final String aSerial, final String aCustomer ) {
+		final ModifiableLicense license = new ModifiableLicense( );
+		license.setSerial( aSerial );
+		license.setValue( "customer", aCustomer );
+		return license;
+	}
+
+	private List<String> getSerials( final List<byte[]> aBinaryLicenses ) throws Exception {
+		final List<String> serials = new ArrayList<>( );
+		for ( final byte[] binaryLicense : aBinaryLicenses ) {
+			serials.add( loadLicense( binaryLicense ).getSerial( ) );
+		}
+		return serials;
+	}
+
+	private UnmodifiableLicense loadLicense( final byte[] aBinaryLicense ) throws Exception {
+		final PublicKey publicKey = loadPublicKey( );
+		return LicenseUtil.loadLicenseFileFromBinary( publicKey, aBinaryLicense, Optional.empty( ) );
+	}
+
+}
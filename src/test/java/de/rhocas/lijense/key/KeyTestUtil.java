@@ -0,0 +1,56 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.key;
+
+import java.io.InputStream;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * This is a util class for the tests which need the key pair and the other resources of the test class path.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class KeyTestUtil {
+
+	private KeyTestUtil( ) {
+		throw new AssertionError( "This util class must not be initialized." );
+	}
+
+	public static PrivateKey loadPrivateKey( ) throws KeyException {
+		return KeyUtil.loadPrivateKeyFromStream( loadResourceAsStream( "key.private" ) );
+	}
+
+	public static PublicKey loadPublicKey( ) throws KeyException {
+		return KeyUtil.loadPublicKeyFromStream( loadResourceAsStream( "key.public" ) );
+	}
+
+	public static InputStream loadResourceAsStream( final String aResourceName ) {
+		return KeyTestUtil.class.getClassLoader( ).getResourceAsStream( aResourceName );
+	}
+
+}
@@ -0,0 +1,109 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.lease;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPrivateKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadResourceAsStream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.PrivateKey;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.rhocas.lijense.license.LicenseUtil;
+import de.rhocas.lijense.license.ModifiableLicense;
+
+/**
+ * Unit test for {@link SeatLeaseServerCommand}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class SeatLeaseServerCommandTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void testStart( ) throws Exception {
+		final File publicKeyFile = ivTemporaryFolder.newFile( );
+		try ( final InputStream inputStream = loadResourceAsStream( "key.public" ) ) {
+			Files.copy( inputStream, publicKeyFile.toPath( ), StandardCopyOption.REPLACE_EXISTING );
+		}
+
+		final PrivateKey privateKey = loadPrivateKey( );
+		final ModifiableLicense license = new ModifiableLicense( );
+		license.setSeats( 5 );
+		final File licenseFile = ivTemporaryFolder.newFile( );
+		LicenseUtil.saveLicenseFile( license, privateKey, licenseFile );
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream( );
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final Optional<SeatLeaseServer> server = SeatLeaseServerCommand.start( new String[] { "--public-key", publicKeyFile.getPath( ), "--license",
+				licenseFile.getPath( ), "--lease-seconds", "30", "--threads", "2" }, new PrintStream( out ), new PrintStream( err ) );
+
+		assertThat( server ).isPresent( );
+		try ( final SeatLeaseServer seatLeaseServer = server.get( ) ) {
+			assertThat( err.toString( ) ).isEmpty( );
+			assertThat( out.toString( ) ).startsWith( "Leasing 5 seats on " );
+			assertThat( seatLeaseServer.getAddress( ).getAddress( ).isLoopbackAddress( ) ).isTrue( );
+
+			try ( final SeatLeaseClient client = new SeatLeaseClient( seatLeaseServer.getAddress( ) ) ) {
+				assertThat( client.acquire( 10 ) ).hasSize( 5 );
+			}
+		}
+	}
+
+	@Test
+	public void testStartWithMissingArguments( ) {
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final Optional<SeatLeaseServer> server = SeatLeaseServerCommand.start( new String[] { "--license", "license.dat" },
+				new PrintStream( new ByteArrayOutputStream( ) ), new PrintStream( err ) );
+
+		assertThat( server ).isEmpty( );
+		assertThat( err.toString( ) ).startsWith( "Usage:" );
+	}
+
+	@Test
+	public void testStartWithMissingKey( ) {
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final Optional<SeatLeaseServer> server = SeatLeaseServerCommand.start( new String[] { "--public-key", "unknown", "--license", "license.dat" },
+				new PrintStream( new ByteArrayOutputStream( ) ), new PrintStream( err ) );
+
+		assertThat( server ).isEmpty( );
+		assertThat( err.toString( ) ).isNotEmpty( );
+	}
+
+}
@@ -0,0 +1,211 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.lease;
+
+import static de.rhocas.lijense.Constants.LICENSE_KEY_SEATS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * Unit test for {@link SeatLeaseServer}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class SeatLeaseServerTest {
+
+	private static final int SERVER_THREADS = 2;
+
+	private SeatLeaseServer ivServer;
+
+	@Before
+	public void setUp( ) throws Exception {
+		final UnmodifiableLicense license = new UnmodifiableLicense( Collections.singletonMap( LICENSE_KEY_SEATS, "3" ) );
+		ivServer = new SeatLeaseServer( license, Duration.ofMinutes( 1 ), createLoopbackAddress( ), Executors.newFixedThreadPool( SERVER_THREADS ) );
+		ivServer.start( );
+	}
+
+	@After
+	public void tearDown( ) throws IOException {
+		ivServer.close( );
+	}
+
+	@Test
+	public void testAcquireAndRelease( ) throws IOException {
+		try ( final SeatLeaseClient client = new SeatLeaseClient( ivServer.getAddress( ) ) ) {
+			final long lease = client.acquire( );
+
+			assertThat( lease ).isNotEqualTo( SeatLeaseTable.NO_LEASE );
+			assertThat( client.getLeases( ) ).containsExactly( lease );
+			assertThat( ivServer.getLeaseTable( ).getActiveLeases( ) ).isEqualTo( 1 );
+
+			assertThat( client.release( lease ) ).isTrue( );
+			assertThat( client.release( lease ) ).isFalse( );
+			assertThat( client.getLeases( ) ).isEmpty( );
+			assertThat( ivServer.getLeaseTable( ).getActiveLeases( ) ).isZero( );
+		}
+	}
+
+	@Test
+	public void testSeatsAreShared( ) throws IOException {
+		try ( final SeatLeaseClient firstClient = new SeatLeaseClient( ivServer.getAddress( ) ); final SeatLeaseClient secondClient = new SeatLeaseClient( ivServer.getAddress( ) ) ) {
+			assertThat( firstClient.acquire( 2 ) ).hasSize( 2 );
+			assertThat( secondClient.acquire( 2 ) ).hasSize( 1 );
+			assertThat( secondClient.acquire( ) ).isEqualTo( SeatLeaseTable.NO_LEASE );
+			assertThat( ivServer.getLeaseTable( ).acquire( ) ).isEqualTo( SeatLeaseTable.NO_LEASE );
+		}
+
+		// Closing the clients releases their leases
+		assertThat( ivServer.getLeaseTable( ).getActiveLeases( ) ).isZero( );
+	}
+
+	@Test
+	public void testRenewAll( ) throws IOException {
+		try ( final SeatLeaseClient client = new SeatLeaseClient( ivServer.getAddress( ) ) ) {
+			final long[] leases = client.acquire( 3 );
+			ivServer.getLeaseTable( ).release( leases[1] );
+
+			assertThat( client.renewAll( ) ).containsExactly( leases[1] );
+			assertThat( client.getLeases( ) ).containsExactly( leases[0], leases[2] );
+			assertThat( client.renewAll( ) ).isEmpty( );
+		}
+	}
+
+	@Test
+	public void testMoreClientsThanServerThreads( ) throws Exception {
+		final int clients = SERVER_THREADS * 5;
+		final ExecutorService executorService = Executors.newFixedThreadPool( clients );
+		final List<SeatLeaseClient> openClients = new ArrayList<>( );
+
+		try {
+			for ( int i = 0; i < clients; i++ ) {
+				openClients.add( new SeatLeaseClient( ivServer.getAddress( ) ) );
+			}
+
+			// All clients are open at the same time and are served nevertheless
+			final List<Future<Integer>> futures = new ArrayList<>( );
+			for ( final SeatLeaseClient client : openClients ) {
+				futures.add( executorService.submit( ( ) -> {
+					final int acquired = client.acquire( 1 ).length;
+					client.renewAll( );
+					return acquired;
+				} ) );
+			}
+
+			int acquired = 0;
+			for ( final Future<Integer> future : futures ) {
+				acquired += future.get( 30, TimeUnit.SECONDS );
+			}
+			assertThat( acquired ).isEqualTo( 3 );
+		} finally {
+			for ( final SeatLeaseClient client : openClients ) {
+				client.close( );
+			}
+			executorService.shutdownNow( );
+		}
+
+		assertThat( ivServer.getLeaseTable( ).getActiveLeases( ) ).isZero( );
+	}
+
+	@Test
+	public void testInvalidRequestClosesConnection( ) throws IOException {
+		try ( final Socket socket = new Socket( ivServer.getAddress( ).getAddress( ), ivServer.getAddress( ).getPort( ) ) ) {
+			final DataOutputStream outputStream = new DataOutputStream( socket.getOutputStream( ) );
+			outputStream.writeByte( 42 );
+			outputStream.writeInt( 0 );
+			outputStream.flush( );
+
+			assertThat( socket.getInputStream( ).read( ) ).isEqualTo( -1 );
+		}
+
+		try ( final SeatLeaseClient client = new SeatLeaseClient( ivServer.getAddress( ) ) ) {
+			assertThat( client.acquire( ) ).isNotEqualTo( SeatLeaseTable.NO_LEASE );
+		}
+	}
+
+	@Test
+	public void testInvalidBatchSize( ) throws IOException {
+		try ( final SeatLeaseClient client = new SeatLeaseClient( ivServer.getAddress( ) ) ) {
+			assertThatExceptionOfType( IllegalArgumentException.class )
+					.isThrownBy( ( ) -> client.acquire( -1 ) )
+					.withMessage( "The number of seats must be between 0 and 65536." );
+		}
+	}
+
+	@Test
+	public void testLicenseWithoutSeats( ) {
+		final UnmodifiableLicense license = new UnmodifiableLicense( Collections.emptyMap( ) );
+		final ExecutorService executorService = Executors.newCachedThreadPool( );
+
+		try {
+			assertThatExceptionOfType( LeaseException.class )
+					.isThrownBy( ( ) -> new SeatLeaseServer( license, Duration.ofMinutes( 1 ), createLoopbackAddress( ), executorService ) )
+					.withMessage( "The license does not contain a number of seats" );
+		} finally {
+			executorService.shutdown( );
+		}
+	}
+
+	@Test
+	public void testLicenseWithInvalidSeats( ) {
+		final UnmodifiableLicense license = new UnmodifiableLicense( Collections.singletonMap( LICENSE_KEY_SEATS, "many" ) );
+		final ExecutorService executorService = Executors.newCachedThreadPool( );
+
+		try {
+			assertThatExceptionOfType( LeaseException.class )
+					.isThrownBy( ( ) -> new SeatLeaseServer( license, Duration.ofMinutes( 1 ), createLoopbackAddress( ), executorService ) )
+					.withCauseInstanceOf( NumberFormatException.class )
+					.withMessage( "The number of seats in the license is not a number" );
+		} finally {
+			executorService.shutdown( );
+		}
+	}
+
+	private static InetSocketAddress createLoopbackAddress( ) {
+		return new InetSocketAddress( InetAddress.getLoopbackAddress( ), 0 );
+	}
+
+}
@@ -0,0 +1,168 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.lease;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link SeatLeaseTable}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class SeatLeaseTableTest {
+
+	private final AtomicLong ivTime = new AtomicLong( );
+
+	@Test
+	public void testAcquireAllSeats( ) {
+		final SeatLeaseTable table = new SeatLeaseTable( 3, Duration.ofSeconds( 10 ), ivTime::get );
+
+		final long firstLease = table.acquire( );
+		final long secondLease = table.acquire( );
+		final long thirdLease = table.acquire( );
+
+		assertThat( new long[] { firstLease, secondLease, thirdLease } ).doesNotContain( SeatLeaseTable.NO_LEASE ).doesNotHaveDuplicates( );
+		assertThat( table.acquire( ) ).isEqualTo( SeatLeaseTable.NO_LEASE );
+		assertThat( table.getSeats( ) ).isEqualTo( 3 );
+		assertThat( table.getActiveLeases( ) ).isEqualTo( 3 );
+	}
+
+	@Test
+	public void testRelease( ) {
+		final SeatLeaseTable table = new SeatLeaseTable( 1, Duration.ofSeconds( 10 ), ivTime::get );
+
+		final long lease = table.acquire( );
+		assertThat( table.release( lease ) ).isTrue( );
+		assertThat( table.release( lease ) ).isFalse( );
+		assertThat( table.renew( lease ) ).isFalse( );
+		assertThat( table.getActiveLeases( ) ).isZero( );
+
+		final long newLease = table.acquire( );
+		assertThat( newLease ).isNotEqualTo( SeatLeaseTable.NO_LEASE ).isNotEqualTo( lease );
+	}
+
+	@Test
+	public void testExpiration( ) {
+		final SeatLeaseTable table = new SeatLeaseTable( 1, Duration.ofSeconds( 10 ), ivTime::get );
+
+		final long lease = table.acquire( );
+		ivTime.set( TimeUnit.SECONDS.toNanos( 9 ) );
+		assertThat( table.renew( lease ) ).isTrue( );
+
+		ivTime.set( TimeUnit.SECONDS.toNanos( 18 ) );
+		assertThat( table.getActiveLeases( ) ).isEqualTo( 1 );
+		assertThat( table.acquire( ) ).isEqualTo( SeatLeaseTable.NO_LEASE );
+
+		ivTime.set( TimeUnit.SECONDS.toNanos( 19 ) );
+		assertThat( table.getActiveLeases( ) ).isZero( );
+		assertThat( table.renew( lease ) ).isFalse( );
+
+		final long newLease = table.acquire( );
+		assertThat( newLease ).isNotEqualTo( SeatLeaseTable.NO_LEASE );
+		assertThat( table.renew( lease ) ).isFalse( );
+		assertThat( table.release( lease ) ).isFalse( );
+		assertThat( table.renew( newLease ) ).isTrue( );
+	}
+
+	@Test
+	public void testRenewBatch( ) {
+		final SeatLeaseTable table = new SeatLeaseTable( 2, Duration.ofSeconds( 10 ), ivTime::get );
+
+		final long firstLease = table.acquire( );
+		final long secondLease = table.acquire( );
+		table.release( secondLease );
+
+		assertThat( table.renew( new long[] { firstLease, secondLease, -1, Long.MAX_VALUE } ) ).containsExactly( true, false, false, false );
+	}
+
+	@Test
+	public void testNoSeats( ) {
+		final SeatLeaseTable table = new SeatLeaseTable( 0, Duration.ofSeconds( 10 ) );
+
+		assertThat( table.acquire( ) ).isEqualTo( SeatLeaseTable.NO_LEASE );
+		assertThat( table.getActiveLeases( ) ).isZero( );
+		assertThat( table.getLeaseDuration( ) ).isEqualTo( Duration.ofSeconds( 10 ) );
+	}
+
+	@Test
+	public void testInvalidArguments( ) {
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new SeatLeaseTable( -1, Duration.ofSeconds( 1 ) ) )
+				.withMessage( "The number of seats must not be negative." );
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new SeatLeaseTable( 1, Duration.ofNanos( 1 ) ) )
+				.withMessage( "The duration must be at least one millisecond." );
+		assertThatExceptionOfType( NullPointerException.class )
+				.isThrownBy( ( ) -> new SeatLeaseTable( 1, null ) )
+				.withMessage( "The duration must not be null." );
+	}
+
+	@Test
+	public void testConcurrentAcquisitionsDoNotExceedSeats( ) throws Exception {
+		final SeatLeaseTable table = new SeatLeaseTable( 100, Duration.ofHours( 1 ) );
+		final Set<Long> leases = ConcurrentHashMap.newKeySet( );
+
+		final ExecutorService executorService = Executors.newFixedThreadPool( 8 );
+		try {
+			final List<Future<?>> futures = new ArrayList<>( );
+			for ( int i = 0; i < 8; i++ ) {
+				futures.add( executorService.submit( ( ) -> {
+					for ( int j = 0; j < 50; j++ ) {
+						final long lease = table.acquire( );
+						if ( lease != SeatLeaseTable.NO_LEASE ) {
+							assertThat( leases.add( lease ) ).isTrue( );
+						}
+					}
+				} ) );
+			}
+			for ( final Future<?> future : futures ) {
+				future.get( );
+			}
+		} finally {
+			executorService.shutdown( );
+			executorService.awaitTermination( 10, TimeUnit.SECONDS );
+		}
+
+		assertThat( leases ).hasSize( 100 );
+		assertThat( table.getActiveLeases( ) ).isEqualTo( 100 );
+	}
+
+}
@@ -0,0 +1,120 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import de.rhocas.lijense.license.FeatureGate.Feature;
+
+/**
+ * Unit test for {@link FeatureGate}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class FeatureGateTest {
+
+	@Test
+	public void testFeatureActive( ) {
+		final FeatureGate gate = new FeatureGate( createLicense( "true" ) );
+		final Feature feature = gate.getFeature( "myFeature.active" );
+
+		assertThat( feature.getKey( ) ).isEqualTo( "myFeature.active" );
+		assertThat( feature.isActive( ) ).isTrue( );
+		assertThat( gate.getFeature( "otherFeature.active" ).isActive( ) ).isFalse( );
+	}
+
+	@Test
+	public void testSameHandleForSameKey( ) {
+		final FeatureGate gate = new FeatureGate( createLicense( "true" ) );
+
+		assertThat( gate.getFeature( "myFeature.active" ) ).isSameAs( gate.getFeature( "myFeature.active" ) );
+	}
+
+	@Test
+	public void testGateWithoutLicense( ) {
+		final FeatureGate gate = new FeatureGate( );
+
+		assertThat( gate.getLicense( ) ).isEmpty( );
+		assertThat( gate.getFeature( "myFeature.active" ).isActive( ) ).isFalse( );
+	}
+
+	@Test
+	public void testSetLicenseUpdatesAllHandles( ) {
+		final FeatureGate gate = new FeatureGate( createLicense( "false" ) );
+		final Feature feature = gate.getFeature( "myFeature.active" );
+		assertThat( feature.isActive( ) ).isFalse( );
+
+		final UnmodifiableLicense newLicense = createLicense( "true" );
+		gate.setLicense( newLicense );
+		assertThat( feature.isActive( ) ).isTrue( );
+		assertThat( gate.getLicense( ) ).containsSame( newLicense );
+
+		gate.setLicense( null );
+		assertThat( feature.isActive( ) ).isFalse( );
+	}
+
+	@Test
+	public void testConcurrentSetLicenseAndNewHandles( ) throws Exception {
+		final FeatureGate gate = new FeatureGate( createLicense( "false" ) );
+		final UnmodifiableLicense activeLicense = createLicense( "true" );
+		final UnmodifiableLicense inactiveLicense = createLicense( "false" );
+
+		final Thread writer = new Thread( ( ) -> {
+			for ( int i = 0; i < 10000; i++ ) {
+				gate.setLicense( i % 2 == 0 ? activeLicense : inactiveLicense );
+			}
+		} );
+		writer.start( );
+
+		final List<Feature> features = new ArrayList<>( );
+		for ( int i = 0; i < 1000; i++ ) {
+			final Feature feature = gate.getFeature( "feature" + i + ".active" );
+			assertThat( feature.isActive( ) ).isFalse( );
+			features.add( feature );
+		}
+		writer.join( );
+
+		// A feature which is not contained in the license is inactive in all states, while the known feature follows the last license
+		gate.setLicense( activeLicense );
+		assertThat( features ).noneMatch( Feature::isActive );
+		assertThat( gate.getFeature( "myFeature.active" ).isActive( ) ).isTrue( );
+	}
+
+	private UnmodifiableLicense createLicense( final String aValue ) {
+		final Map<String, String> map = new HashMap<>( );
+		map.put( "myFeature.active", aValue );
+		return new UnmodifiableLicense( map );
+	}
+
+}
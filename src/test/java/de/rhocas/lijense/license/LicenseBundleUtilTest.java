@@ -0,0 +1,168 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPrivateKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.key.KeyException;
+
+/**
+ * Unit test for {@link LicenseBundleUtil} and {@link LicenseBundleVerifier}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LicenseBundleUtilTest {
+
+	@Test
+	public void testCreateAndLoadBundles( ) throws KeyException, LicenseException {
+		final PrivateKey privateKey = loadPrivateKey( );
+		final LicenseBundleVerifier verifier = new LicenseBundleVerifier( loadPublicKey( ), Optional.empty( ) );
+
+		for ( int size = 1; size <= 9; size++ ) {
+			final List<String> bundle = LicenseBundleUtil.createLicenseBundle( createLicenses( size ), privateKey );
+			assertThat( bundle ).hasSize( size );
+
+			for ( int index = 0; index < size; index++ ) {
+				final UnmodifiableLicense license = verifier.loadBundledLicense( bundle.get( index ) );
+				assertThat( license.getValue( "device" ) ).isEqualTo( "device-" + index );
+			}
+		}
+	}
+
+	@Test
+	public void testCreateEmptyBundle( ) throws KeyException, LicenseException {
+		assertThat( LicenseBundleUtil.createLicenseBundle( Collections.emptyList( ), loadPrivateKey( ) ) ).isEmpty( );
+	}
+
+	@Test
+	public void testRootSignatureIsCheckedOnlyOnce( ) throws KeyException, LicenseException {
+		final List<String> bundle = LicenseBundleUtil.createLicenseBundle( createLicenses( 2 ), loadPrivateKey( ) );
+		final LicenseBundleVerifier verifier = new LicenseBundleVerifier( loadPublicKey( ), Optional.empty( ) );
+
+		// The signature of the second license is broken. As the root has already been verified, the signature is not checked again.
+		final String secondLicense = corruptLastByte( bundle.get( 1 ) );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> new LicenseBundleVerifier( loadPublicKey( ), Optional.empty( ) ).loadBundledLicense( secondLicense ) )
+				.withMessage( "The license is not valid" );
+
+		verifier.loadBundledLicense( bundle.get( 0 ) );
+		assertThat( verifier.loadBundledLicense( secondLicense ).getValue( "device" ) ).isEqualTo( "device-1" );
+	}
+
+	@Test
+	public void testLoadTamperedBundledLicense( ) throws KeyException, LicenseException {
+		final List<String> bundle = LicenseBundleUtil.createLicenseBundle( createLicenses( 3 ), loadPrivateKey( ) );
+		final LicenseBundleVerifier verifier = new LicenseBundleVerifier( loadPublicKey( ), Optional.empty( ) );
+		verifier.loadBundledLicense( bundle.get( 0 ) );
+
+		// Change the payload of the license. This changes the recalculated root.
+		final byte[] binaryLicense = IOUtil.stringToBinary( bundle.get( 2 ) );
+		final String content = new String( binaryLicense, StandardCharsets.ISO_8859_1 );
+		binaryLicense[content.indexOf( "device-2" ) + "device-".length( )] = '0';
+		final String tamperedLicense = IOUtil.binaryToString( binaryLicense );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> verifier.loadBundledLicense( tamperedLicense ) )
+				.withMessage( "The license is not valid" );
+	}
+
+	@Test
+	public void testLoadBundledLicenseBoundToOtherHost( ) throws KeyException, LicenseException {
+		final ModifiableLicense boundLicense = new ModifiableLicense( );
+		boundLicense.setBoundHost( new byte[] { 1, 2, 3 } );
+		final List<String> bundle = LicenseBundleUtil.createLicenseBundle( Collections.singletonList( boundLicense ), loadPrivateKey( ) );
+		final LicenseBundleVerifier verifier = new LicenseBundleVerifier( loadPublicKey( ), Optional.empty( ) );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> verifier.loadBundledLicense( bundle.get( 0 ) ) )
+				.withMessage( "The license is bound to another host" );
+	}
+
+	@Test
+	public void testLoadMalformedBundledLicense( ) throws KeyException, LicenseException {
+		final LicenseBundleVerifier verifier = new LicenseBundleVerifier( loadPublicKey( ), Optional.empty( ) );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> verifier.loadBundledLicense( "bGlKZW5zZQ==" ) )
+				.withMessage( "The bundled license is malformed" );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> verifier.loadBundledLicense( "AAAA" ) )
+				.withMessage( "Could not load the bundled license" );
+	}
+
+	@Test
+	public void testVerifierWithInvalidFingerprint( ) throws KeyException {
+		final PublicKey publicKey = loadPublicKey( );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> new LicenseBundleVerifier( publicKey, Optional.of( new byte[64] ) ) )
+				.withMessage( "The actual fingerprint of the public key does not match the expected fingerprint." );
+	}
+
+	@Test
+	public void testConstructor( ) throws ReflectiveOperationException {
+		final Constructor<LicenseBundleUtil> constructor = LicenseBundleUtil.class.getDeclaredConstructor( );
+		constructor.setAccessible( true );
+
+		assertThatExceptionOfType( InvocationTargetException.class )
+				.isThrownBy( constructor::newInstance )
+				.withCauseInstanceOf( AssertionError.class );
+	}
+
+	private List<ModifiableLicense> createLicenses( final int aSize ) {
+		final List<ModifiableLicense> licenses = new ArrayList<>( );
+		for ( int index = 0; index < aSize; index++ ) {
+			final ModifiableLicense license = new ModifiableLicense( );
+			license.setValue( "device", "device-" + index );
+			licenses.add( license );
+		}
+		return licenses;
+	}
+
+	private String corruptLastByte( final String aBundledLicense ) {
+		final byte[] binaryLicense = IOUtil.stringToBinary( aBundledLicense );
+		binaryLicense[binaryLicense.length - 1] ^= 1;
+		return IOUtil.binaryToString( binaryLicense );
+	}
+
+}
@@ -0,0 +1,69 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link LicenseLimits}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LicenseLimitsTest {
+
+	@Test
+	public void testGetters( ) {
+		final LicenseLimits limits = new LicenseLimits( 4, 3, 2, 1 );
+
+		assertThat( limits.getMaximalEncodedSize( ) ).isEqualTo( 4 );
+		assertThat( limits.getMaximalDecodedSize( ) ).isEqualTo( 3 );
+		assertThat( limits.getMaximalEntries( ) ).isEqualTo( 2 );
+		assertThat( limits.getMaximalInflatedSize( ) ).isEqualTo( 1 );
+		assertThat( limits ).hasToString( "encoded=4, decoded=3, entries=2, inflated=1" );
+	}
+
+	@Test
+	public void testDefault( ) {
+		assertThat( LicenseLimits.DEFAULT.getMaximalEncodedSize( ) ).isEqualTo( 1 << 20 );
+		assertThat( LicenseLimits.DEFAULT.getMaximalDecodedSize( ) ).isEqualTo( 3 << 18 );
+		assertThat( LicenseLimits.DEFAULT.getMaximalEntries( ) ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void testInvalidLimits( ) {
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new LicenseLimits( 0, 1, 2, 1 ) )
+				.withMessage( "The maximal sizes must be positive." );
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new LicenseLimits( 1, 1, 1, 1 ) )
+				.withMessage( "The maximal number of entries must be at least 2." );
+	}
+
+}
@@ -0,0 +1,108 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link LicenseNamespace}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LicenseNamespaceTest {
+
+	private final UnmodifiableLicense ivLicense = new UnmodifiableLicense( UnmodifiableLicenseTest.createHierarchicalMap( ) );
+
+	@Test
+	public void testGetValue( ) {
+		final LicenseNamespace namespace = ivLicense.getNamespace( "module.reporting" );
+
+		assertThat( namespace.getValue( "export.pdf" ) ).isEqualTo( "true" );
+		assertThat( namespace.getValue( "maxPages" ) ).isEqualTo( "100" );
+		assertThat( namespace.getValue( "export" ) ).isNull( );
+		assertThat( namespace.getValue( "export.pdfs" ) ).isNull( );
+		assertThat( namespace.getValue( "" ) ).isNull( );
+	}
+
+	@Test
+	public void testNamespaceDoesNotContainSiblingsWithSamePrefix( ) {
+		final LicenseNamespace namespace = ivLicense.getNamespace( "module.reporting" );
+
+		final List<String> keys = new ArrayList<>( );
+		namespace.forEach( ( key, value ) -> keys.add( key ) );
+
+		assertThat( keys ).containsExactly( "module.reporting.export.csv", "module.reporting.export.pdf", "module.reporting.maxPages" );
+		assertThat( ivLicense.getNamespace( "module" ).getValue( "reportingTool" ) ).isEqualTo( "true" );
+	}
+
+	@Test
+	public void testIsFeatureActive( ) {
+		final LicenseNamespace namespace = ivLicense.getNamespace( "module.reporting.export" );
+
+		assertThat( namespace.isFeatureActive( "pdf" ) ).isTrue( );
+		assertThat( namespace.isFeatureActive( "csv" ) ).isFalse( );
+		assertThat( namespace.isFeatureActive( "xls" ) ).isFalse( );
+	}
+
+	@Test
+	public void testGetNamespace( ) {
+		final LicenseNamespace namespace = ivLicense.getNamespace( "module" ).getNamespace( "reporting" ).getNamespace( "export" );
+
+		assertThat( namespace.getName( ) ).isEqualTo( "module.reporting.export" );
+		assertThat( namespace.size( ) ).isEqualTo( 2 );
+		assertThat( namespace.getValue( "csv" ) ).isEqualTo( "false" );
+	}
+
+	@Test
+	public void testEmptyNamespace( ) {
+		final LicenseNamespace namespace = ivLicense.getNamespace( "unknown" );
+
+		assertThat( namespace.isEmpty( ) ).isTrue( );
+		assertThat( namespace.size( ) ).isZero( );
+		assertThat( namespace.getValue( "key" ) ).isNull( );
+		assertThat( new UnmodifiableLicense( new HashMap<>( ) ).getNamespace( "" ).isEmpty( ) ).isTrue( );
+	}
+
+	@Test
+	public void testNullArguments( ) {
+		final LicenseNamespace namespace = ivLicense.getNamespace( "module" );
+
+		assertThatExceptionOfType( NullPointerException.class ).isThrownBy( ( ) -> namespace.getValue( null ) ).withMessage( "The key must not be null." );
+		assertThatExceptionOfType( NullPointerException.class ).isThrownBy( ( ) -> namespace.getNamespace( null ) )
+				.withMessage( "The name must not be null." );
+		assertThatExceptionOfType( NullPointerException.class ).isThrownBy( ( ) -> namespace.forEach( null ) )
+				.withMessage( "The consumer must not be null." );
+	}
+
+}
@@ -0,0 +1,259 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPrivateKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.rhocas.lijense.key.KeyException;
+
+/**
+ * Unit test for {@link LicenseRegistry}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LicenseRegistryTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void testLoadLicenseFromFiles( ) throws KeyException, LicenseException, IOException {
+		final File directory = ivTemporaryFolder.newFolder( );
+		final PrivateKey privateKey = loadPrivateKey( );
+		final PublicKey publicKey = loadPublicKey( );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValue( "customer", "first" );
+		LicenseUtil.saveLicenseFile( modifiableLicense, privateKey, new File( directory, "first.license" ) );
+
+		final LicenseLoader loader = LicenseLoader.fromFiles( publicKey, tenant -> new File( directory, tenant + ".license" ), Optional.empty( ) );
+		final LicenseRegistry registry = new LicenseRegistry( loader, 1024 * 1024, Duration.ofHours( 1 ) );
+
+		assertThat( registry.getLicenseIfLoaded( "first" ) ).isEmpty( );
+		assertThat( registry.getLicense( "first" ).getValue( "customer" ) ).isEqualTo( "first" );
+		assertThat( registry.getLicenseIfLoaded( "first" ) ).isPresent( );
+		assertThat( registry.size( ) ).isEqualTo( 1 );
+		assertThat( registry.getEstimatedMemoryUsage( ) ).isPositive( );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> registry.getLicense( "second" ) )
+				.withMessage( "Could not load the license" );
+		assertThat( registry.size( ) ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testConcurrentLoadsAreCollapsed( ) throws Exception {
+		final int threads = 8;
+		final AtomicInteger loads = new AtomicInteger( );
+		final CountDownLatch loadStarted = new CountDownLatch( 1 );
+		final CountDownLatch loadReleased = new CountDownLatch( 1 );
+
+		final LicenseRegistry registry = new LicenseRegistry( tenant -> {
+			loads.incrementAndGet( );
+			loadStarted.countDown( );
+			awaitQuietly( loadReleased );
+			return createLicense( tenant );
+		}, 1024 * 1024, Duration.ofHours( 1 ) );
+
+		final ExecutorService executorService = Executors.newFixedThreadPool( threads );
+		try {
+			final List<Future<UnmodifiableLicense>> futures = new ArrayList<>( );
+			for ( int i = 0; i < threads; i++ ) {
+				futures.add( executorService.submit( ( ) -> registry.getLicense( "tenant" ) ) );
+			}
+
+			assertThat( loadStarted.await( 10, TimeUnit.SECONDS ) ).isTrue( );
+			loadReleased.countDown( );
+
+			for ( final Future<UnmodifiableLicense> future : futures ) {
+				assertThat( future.get( 10, TimeUnit.SECONDS ).getValue( "customer" ) ).isEqualTo( "tenant" );
+			}
+		} finally {
+			executorService.shutdownNow( );
+		}
+
+		assertThat( loads ).hasValue( 1 );
+	}
+
+	@Test
+	public void testFailuresAreNotCached( ) throws LicenseException {
+		final AtomicInteger loads = new AtomicInteger( );
+		final LicenseRegistry registry = new LicenseRegistry( tenant -> {
+			if ( loads.incrementAndGet( ) == 1 ) {
+				throw new LicenseException( "The license is not valid" );
+			}
+			return createLicense( tenant );
+		}, 1024 * 1024, Duration.ofHours( 1 ) );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> registry.getLicense( "tenant" ) )
+				.withMessage( "The license is not valid" );
+		assertThat( registry.getLicense( "tenant" ).getValue( "customer" ) ).isEqualTo( "tenant" );
+		assertThat( loads ).hasValue( 2 );
+	}
+
+	@Test
+	public void testMemoryBudget( ) throws LicenseException, InterruptedException {
+		final LicenseRegistry registry = new LicenseRegistry( LicenseRegistryTest::createLicense, 1, Duration.ofHours( 1 ) );
+
+		registry.getLicense( "first" );
+		registry.getLicense( "second" );
+
+		// Every single license exceeds the budget
+		assertThat( registry.size( ) ).isZero( );
+		assertThat( registry.getEstimatedMemoryUsage( ) ).isZero( );
+
+		final LicenseRegistry largerRegistry = new LicenseRegistry( LicenseRegistryTest::createLicense, 500, Duration.ofHours( 1 ) );
+		largerRegistry.getLicense( "first" );
+		Thread.sleep( 20 );
+		largerRegistry.getLicense( "second" );
+		Thread.sleep( 20 );
+		largerRegistry.getLicense( "first" );
+		largerRegistry.getLicense( "third" );
+
+		// The least recently used license is evicted
+		assertThat( largerRegistry.getLicenseIfLoaded( "first" ) ).isPresent( );
+		assertThat( largerRegistry.getLicenseIfLoaded( "second" ) ).isEmpty( );
+		assertThat( largerRegistry.getLicenseIfLoaded( "third" ) ).isPresent( );
+		assertThat( largerRegistry.getEstimatedMemoryUsage( ) ).isLessThanOrEqualTo( 500 );
+	}
+
+	@Test
+	public void testMemoryBudgetWithManyTenants( ) throws Exception {
+		// All licenses have the same estimated memory usage
+		final LicenseRegistry probe = new LicenseRegistry( LicenseRegistryTest::createLicense, 1024 * 1024, Duration.ofHours( 1 ) );
+		probe.getLicense( "tenant-0000" );
+		final long licenseMemoryUsage = probe.getEstimatedMemoryUsage( );
+
+		final LicenseRegistry registry = new LicenseRegistry( LicenseRegistryTest::createLicense, 10 * licenseMemoryUsage, Duration.ofHours( 1 ) );
+
+		// Other threads keep touching licenses while licenses are evicted
+		final AtomicBoolean running = new AtomicBoolean( true );
+		final ExecutorService executorService = Executors.newFixedThreadPool( 2 );
+		try {
+			final List<Future<?>> futures = new ArrayList<>( );
+			for ( int thread = 0; thread < 2; thread++ ) {
+				futures.add( executorService.submit( ( ) -> {
+					while ( running.get( ) ) {
+						for ( int i = 0; i < 1000; i++ ) {
+							registry.getLicenseIfLoaded( String.format( "tenant-%04d", i ) );
+						}
+					}
+					return null;
+				} ) );
+			}
+
+			for ( int i = 0; i < 1000; i++ ) {
+				registry.getLicense( String.format( "tenant-%04d", i ) );
+				assertThat( registry.getEstimatedMemoryUsage( ) ).isLessThanOrEqualTo( 10 * licenseMemoryUsage );
+			}
+
+			running.set( false );
+			for ( final Future<?> future : futures ) {
+				future.get( 10, TimeUnit.SECONDS );
+			}
+		} finally {
+			executorService.shutdownNow( );
+		}
+
+		assertThat( registry.size( ) ).isLessThanOrEqualTo( 10 );
+		assertThat( registry.getLicenseIfLoaded( "tenant-0999" ) ).isPresent( );
+	}
+
+	@Test
+	public void testEvictIdleLicenses( ) throws LicenseException, InterruptedException {
+		final LicenseRegistry registry = new LicenseRegistry( LicenseRegistryTest::createLicense, 1024 * 1024, Duration.ofMillis( 10 ) );
+
+		registry.getLicense( "tenant" );
+		Thread.sleep( 50 );
+		registry.evictIdleLicenses( );
+
+		assertThat( registry.size( ) ).isZero( );
+		assertThat( registry.getEstimatedMemoryUsage( ) ).isZero( );
+	}
+
+	@Test
+	public void testInvalidate( ) throws LicenseException {
+		final AtomicInteger loads = new AtomicInteger( );
+		final LicenseRegistry registry = new LicenseRegistry( tenant -> {
+			loads.incrementAndGet( );
+			return createLicense( tenant );
+		}, 1024 * 1024, Duration.ofHours( 1 ) );
+
+		registry.getLicense( "tenant" );
+		registry.getLicense( "tenant" );
+		registry.invalidate( "tenant" );
+		assertThat( registry.getEstimatedMemoryUsage( ) ).isZero( );
+
+		registry.getLicense( "tenant" );
+		assertThat( loads ).hasValue( 2 );
+	}
+
+	@Test
+	public void testInvalidMemoryBudget( ) {
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new LicenseRegistry( LicenseRegistryTest::createLicense, 0, Duration.ofHours( 1 ) ) )
+				.withMessage( "The memory budget must be positive." );
+	}
+
+	private static UnmodifiableLicense createLicense( final String aTenant ) {
+		return new UnmodifiableLicense( Collections.singletonMap( "customer", aTenant ) );
+	}
+
+	private static void awaitQuietly( final CountDownLatch aLatch ) {
+		try {
+			aLatch.await( );
+		} catch ( final InterruptedException ex ) {
+			Thread.currentThread( ).interrupt( );
+		}
+	}
+
+}
@@ -0,0 +1,182 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPrivateKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.PublicKey;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.ZipException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.rhocas.lijense.Constants;
+import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.key.KeyException;
+
+/**
+ * Unit test for {@link LicenseRenewalUtil}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LicenseRenewalUtilTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void testCreateAndApplyRenewal( ) throws KeyException, LicenseException {
+		final UnmodifiableLicense baseLicense = createBaseLicense( );
+
+		final ModifiableLicense changes = new ModifiableLicense( );
+		changes.setValue( "_EXPIRATION_DATE", LocalDate.of( 2030, 1, 1 ) );
+		final String renewal = LicenseRenewalUtil.createRenewalFile( baseLicense, changes, loadPrivateKey( ) );
+
+		final UnmodifiableLicense renewedLicense = LicenseRenewalUtil.applyRenewal( baseLicense, loadPublicKey( ), renewal, Optional.empty( ) );
+		assertThat( renewedLicense.getValue( "myFeature.active" ) ).isEqualTo( "true" );
+		assertThat( renewedLicense.getValue( "_EXPIRATION_DATE" ) ).isEqualTo( "2030-01-01" );
+		assertThat( renewedLicense.getValue( "_BASE_LICENSE_DIGEST" ) ).isNull( );
+
+		// A renewed license can be renewed again
+		final ModifiableLicense secondChanges = new ModifiableLicense( );
+		secondChanges.setValue( "_EXPIRATION_DATE", LocalDate.of( 2031, 1, 1 ) );
+		final String secondRenewal = LicenseRenewalUtil.createRenewalFile( renewedLicense, secondChanges, loadPrivateKey( ) );
+
+		final UnmodifiableLicense secondRenewedLicense = LicenseRenewalUtil.applyRenewal( renewedLicense, loadPublicKey( ), secondRenewal, Optional.empty( ) );
+		assertThat( secondRenewedLicense.getValue( "_EXPIRATION_DATE" ) ).isEqualTo( "2031-01-01" );
+	}
+
+	@Test
+	public void testApplyRenewalToOtherLicense( ) throws KeyException, LicenseException {
+		final UnmodifiableLicense baseLicense = createBaseLicense( );
+		final String renewal = LicenseRenewalUtil.createRenewalFile( baseLicense, new ModifiableLicense( ), loadPrivateKey( ) );
+
+		final Map<String, String> map = new HashMap<>( baseLicense.getEntries( ) );
+		map.put( "myFeature.active", "false" );
+		final UnmodifiableLicense otherLicense = new UnmodifiableLicense( map );
+		final PublicKey publicKey = loadPublicKey( );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseRenewalUtil.applyRenewal( otherLicense, publicKey, renewal, Optional.empty( ) ) )
+				.withMessage( "The renewal does not belong to the given base license" );
+	}
+
+	@Test
+	public void testApplyRegularLicenseAsRenewal( ) throws KeyException, LicenseException {
+		final UnmodifiableLicense baseLicense = createBaseLicense( );
+		final String regularLicense = LicenseUtil.createLicenseFile( new ModifiableLicense( ), loadPrivateKey( ) );
+		final PublicKey publicKey = loadPublicKey( );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseRenewalUtil.applyRenewal( baseLicense, publicKey, regularLicense, Optional.empty( ) ) )
+				.withCauseInstanceOf( ZipException.class )
+				.withMessage( "Could not load the license" );
+	}
+
+	@Test
+	public void testApplyRenewalToLicenseBoundToOtherHost( ) throws KeyException, LicenseException {
+		final Map<String, String> entries = new HashMap<>( createBaseLicense( ).getEntries( ) );
+		entries.put( Constants.LICENSE_KEY_BOUND_HOST, IOUtil.binaryToString( new byte[] { 1, 2, 3 } ) );
+		final UnmodifiableLicense baseLicense = new UnmodifiableLicense( entries );
+		final String renewal = LicenseRenewalUtil.createRenewalFile( baseLicense, new ModifiableLicense( ), loadPrivateKey( ) );
+		final PublicKey publicKey = loadPublicKey( );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseRenewalUtil.applyRenewal( baseLicense, publicKey, renewal, Optional.empty( ) ) )
+				.withMessage( "The license is bound to another host" );
+	}
+
+	@Test
+	public void testLoadRenewalAsLicense( ) throws KeyException, LicenseException, IOException {
+		final String renewal = LicenseRenewalUtil.createRenewalFile( createBaseLicense( ), new ModifiableLicense( ), loadPrivateKey( ) );
+		final PublicKey publicKey = loadPublicKey( );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileFromString( publicKey, renewal, Optional.empty( ) ) )
+				.withCauseInstanceOf( ZipException.class )
+				.withMessage( "Could not load the license" );
+
+		final File renewalFile = ivTemporaryFolder.newFile( );
+		Files.write( renewalFile.toPath( ), renewal.getBytes( StandardCharsets.UTF_8 ) );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFile( publicKey, renewalFile, Optional.empty( ) ) )
+				.withMessage( "Could not load the license" );
+
+		try ( final LicenseRevalidator revalidator = new LicenseRevalidator( publicKey, renewalFile, Optional.empty( ) ) ) {
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withMessage( "The license archive is malformed" );
+		}
+	}
+
+	@Test
+	public void testCalculateLicenseDigest( ) {
+		final Map<String, String> firstMap = new HashMap<>( );
+		firstMap.put( "ab", "c" );
+		final Map<String, String> secondMap = new HashMap<>( );
+		secondMap.put( "a", "bc" );
+
+		final byte[] firstDigest = LicenseRenewalUtil.calculateLicenseDigest( new UnmodifiableLicense( firstMap ) );
+		assertThat( firstDigest ).hasSize( 64 );
+		assertThat( firstDigest ).isEqualTo( LicenseRenewalUtil.calculateLicenseDigest( new UnmodifiableLicense( firstMap ) ) );
+		assertThat( firstDigest ).isNotEqualTo( LicenseRenewalUtil.calculateLicenseDigest( new UnmodifiableLicense( secondMap ) ) );
+	}
+
+	@Test
+	public void testConstructor( ) throws ReflectiveOperationException {
+		final Constructor<LicenseRenewalUtil> constructor = LicenseRenewalUtil.class.getDeclaredConstructor( );
+		constructor.setAccessible( true );
+
+		assertThatExceptionOfType( InvocationTargetException.class )
+				.isThrownBy( constructor::newInstance )
+				.withCauseInstanceOf( AssertionError.class );
+	}
+
+	private UnmodifiableLicense createBaseLicense( ) throws KeyException, LicenseException {
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValue( "myFeature.active", "true" );
+		modifiableLicense.setValue( "_EXPIRATION_DATE", LocalDate.of( 2020, 1, 1 ) );
+
+		final String license = LicenseUtil.createLicenseFile( modifiableLicense, loadPrivateKey( ) );
+		return LicenseUtil.loadLicenseFileFromString( loadPublicKey( ), license, Optional.empty( ) );
+	}
+
+}
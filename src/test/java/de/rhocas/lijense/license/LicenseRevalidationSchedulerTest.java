@@ -0,0 +1,265 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import static de.rhocas.lijense.Constants.LICENSE_KEY_EXPIRATION_DATE;
+import static de.rhocas.lijense.key.KeyTestUtil.loadPrivateKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadResourceAsStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.key.KeyException;
+import de.rhocas.lijense.license.LicenseRevalidationScheduler.Registration;
+
+/**
+ * Unit test for {@link LicenseRevalidationScheduler}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LicenseRevalidationSchedulerTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void testLicenseLoaded( ) throws Exception {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		writeLicense( targetFile, "true", LocalDate.now( ).plusDays( 10 ) );
+
+		final RecordingListener listener = new RecordingListener( );
+		try ( final LicenseRevalidationScheduler scheduler = new LicenseRevalidationScheduler( Duration.ofMillis( 20 ), Duration.ofMillis( 5 ) ) ) {
+			final Registration registration = scheduler.register( loadPublicKey( ), targetFile, Optional.empty( ), listener );
+
+			assertThat( listener.ivEvents.poll( 10, TimeUnit.SECONDS ) ).isEqualTo( "loaded:true" );
+			assertThat( registration.getLicense( ) ).isPresent( );
+			assertThat( registration.getFile( ) ).isEqualTo( targetFile );
+
+			// Unchanged files must not lead to further notifications
+			assertThat( listener.ivEvents.poll( 200, TimeUnit.MILLISECONDS ) ).isNull( );
+		}
+	}
+
+	@Test
+	public void testLicenseChanged( ) throws Exception {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		writeLicense( targetFile, "true", null );
+
+		final RecordingListener listener = new RecordingListener( );
+		try ( final LicenseRevalidationScheduler scheduler = new LicenseRevalidationScheduler( Duration.ofMillis( 20 ), Duration.ZERO ) ) {
+			scheduler.register( loadPublicKey( ), targetFile, Optional.empty( ), listener );
+			assertThat( listener.ivEvents.poll( 10, TimeUnit.SECONDS ) ).isEqualTo( "loaded:true" );
+
+			writeLicense( targetFile, "false", null );
+			assertThat( listener.ivEvents.poll( 10, TimeUnit.SECONDS ) ).isEqualTo( "loaded:false" );
+		}
+	}
+
+	@Test
+	public void testLicenseExpired( ) throws Exception {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		writeLicense( targetFile, "true", LocalDate.now( ).minusDays( 1 ) );
+
+		final RecordingListener listener = new RecordingListener( );
+		try ( final LicenseRevalidationScheduler scheduler = new LicenseRevalidationScheduler( Duration.ofMillis( 20 ), Duration.ZERO ) ) {
+			scheduler.register( loadPublicKey( ), targetFile, Optional.empty( ), listener );
+
+			assertThat( listener.ivEvents.poll( 10, TimeUnit.SECONDS ) ).isEqualTo( "loaded:true" );
+			assertThat( listener.ivEvents.poll( 10, TimeUnit.SECONDS ) ).isEqualTo( "expired:true" );
+			assertThat( listener.ivEvents.poll( 200, TimeUnit.MILLISECONDS ) ).isNull( );
+		}
+	}
+
+	@Test
+	public void testFailingListener( ) throws Exception {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		writeLicense( targetFile, "true", LocalDate.now( ).minusDays( 1 ) );
+
+		final RecordingListener listener = new RecordingListener( true );
+		try ( final LicenseRevalidationScheduler scheduler = new LicenseRevalidationScheduler( Duration.ofMillis( 20 ), Duration.ZERO ) ) {
+			final Registration registration = scheduler.register( loadPublicKey( ), targetFile, Optional.empty( ), listener );
+
+			// The exceptions of the listener must neither prevent the expiration nor the further revalidation
+			assertThat( listener.ivEvents.poll( 10, TimeUnit.SECONDS ) ).isEqualTo( "loaded:true" );
+			assertThat( listener.ivEvents.poll( 10, TimeUnit.SECONDS ) ).isEqualTo( "expired:true" );
+			assertThat( registration.getLicense( ) ).isPresent( );
+
+			writeLicense( targetFile, "false", null );
+			assertThat( listener.ivEvents.poll( 10, TimeUnit.SECONDS ) ).isEqualTo( "loaded:false" );
+		}
+	}
+
+	@Test
+	public void testLicenseTampered( ) throws Exception {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		writeLicense( targetFile, "true", null );
+
+		final RecordingListener listener = new RecordingListener( );
+		try ( final LicenseRevalidationScheduler scheduler = new LicenseRevalidationScheduler( Duration.ofMillis( 20 ), Duration.ZERO ) ) {
+			final Registration registration = scheduler.register( loadPublicKey( ), targetFile, Optional.empty( ), listener );
+			assertThat( listener.ivEvents.poll( 10, TimeUnit.SECONDS ) ).isEqualTo( "loaded:true" );
+
+			Files.write( targetFile.toPath( ), IOUtil.readAllBytes( loadResourceAsStream( "invalid.license" ) ), StandardOpenOption.TRUNCATE_EXISTING );
+			assertThat( listener.ivEvents.poll( 10, TimeUnit.SECONDS ) ).isEqualTo( "invalid:The license is not valid" );
+			assertThat( registration.getLicense( ) ).isEmpty( );
+
+			// Tampering is reported only once
+			assertThat( listener.ivEvents.poll( 200, TimeUnit.MILLISECONDS ) ).isNull( );
+		}
+	}
+
+	@Test
+	public void testLicensePartiallyWritten( ) throws Exception {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		writeLicense( targetFile, "true", null );
+		final byte[] content = Files.readAllBytes( targetFile.toPath( ) );
+
+		final RecordingListener listener = new RecordingListener( );
+		try ( final LicenseRevalidationScheduler scheduler = new LicenseRevalidationScheduler( Duration.ofMillis( 20 ), Duration.ZERO ) ) {
+			final Registration registration = scheduler.register( loadPublicKey( ), targetFile, Optional.empty( ), listener );
+			assertThat( listener.ivEvents.poll( 10, TimeUnit.SECONDS ) ).isEqualTo( "loaded:true" );
+
+			// A partially written file must not be reported as long as the writer finishes in time
+			Files.write( targetFile.toPath( ), Arrays.copyOf( content, content.length / 2 ), StandardOpenOption.TRUNCATE_EXISTING );
+			assertThat( listener.ivEvents.poll( 100, TimeUnit.MILLISECONDS ) ).isNull( );
+			assertThat( registration.getLicense( ) ).isPresent( );
+
+			writeLicense( targetFile, "false", null );
+			assertThat( listener.ivEvents.poll( 10, TimeUnit.SECONDS ) ).isEqualTo( "loaded:false" );
+		}
+	}
+
+	@Test
+	public void testCancel( ) throws Exception {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		writeLicense( targetFile, "true", null );
+
+		final RecordingListener listener = new RecordingListener( );
+		try ( final LicenseRevalidationScheduler scheduler = new LicenseRevalidationScheduler( Duration.ofMillis( 20 ), Duration.ZERO ) ) {
+			final Registration registration = scheduler.register( loadPublicKey( ), targetFile, Optional.empty( ), listener );
+			assertThat( listener.ivEvents.poll( 10, TimeUnit.SECONDS ) ).isEqualTo( "loaded:true" );
+
+			registration.cancel( );
+			writeLicense( targetFile, "false", null );
+			assertThat( listener.ivEvents.poll( 200, TimeUnit.MILLISECONDS ) ).isNull( );
+		}
+	}
+
+	@Test
+	public void testRegisterAfterClose( ) throws Exception {
+		final LicenseRevalidationScheduler scheduler = new LicenseRevalidationScheduler( Duration.ofMillis( 20 ), Duration.ZERO );
+		scheduler.close( );
+
+		final PublicKey publicKey = loadPublicKey( );
+		assertThatExceptionOfType( IllegalStateException.class )
+				.isThrownBy( ( ) -> scheduler.register( publicKey, new File( "notExisting" ), Optional.empty( ), new RecordingListener( ) ) );
+	}
+
+	@Test
+	public void testInvalidPeriod( ) {
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new LicenseRevalidationScheduler( Duration.ZERO, Duration.ZERO ) )
+				.withMessage( "The period must be positive." );
+	}
+
+	@Test
+	public void testInvalidJitter( ) {
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new LicenseRevalidationScheduler( Duration.ofSeconds( 1 ), Duration.ofSeconds( 1 ) ) )
+				.withMessage( "The jitter must not be negative and must be smaller than the period." );
+	}
+
+	private void writeLicense( final File aFile, final String aValue, final LocalDate aExpirationDate ) throws KeyException, LicenseException, IOException {
+		final PrivateKey privateKey = loadPrivateKey( );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setProperty( "myFeature.active", aValue );
+		if ( aExpirationDate != null ) {
+			modifiableLicense.setValue( LICENSE_KEY_EXPIRATION_DATE, aExpirationDate );
+		}
+
+		final String encodedLicense = LicenseUtil.createLicenseFile( modifiableLicense, privateKey );
+		Files.write( aFile.toPath( ), encodedLicense.getBytes( "UTF-8" ), StandardOpenOption.TRUNCATE_EXISTING );
+	}
+
+	private static final class RecordingListener implements LicenseListener {
+
+		private final BlockingQueue<String> ivEvents = new LinkedBlockingQueue<>( );
+		private final boolean ivFailing;
+
+		RecordingListener( ) {
+			this( false );
+		}
+
+		RecordingListener( final boolean aFailing ) {
+			ivFailing = aFailing;
+		}
+
+		@Override
+		public void licenseLoaded( final File aFile, final UnmodifiableLicense aLicense ) {
+			record( "loaded:" + aLicense.getValue( "myFeature.active" ) );
+		}
+
+		@Override
+		public void licenseExpired( final File aFile, final UnmodifiableLicense aLicense ) {
+			record( "expired:" + aLicense.getValue( "myFeature.active" ) );
+		}
+
+		@Override
+		public void licenseInvalid( final File aFile, final LicenseException aException ) {
+			record( "invalid:" + aException.getMessage( ) );
+		}
+
+		private void record( final String aEvent ) {
+			ivEvents.add( aEvent );
+			if ( ivFailing ) {
+				throw new IllegalStateException( "Listener failure" );
+			}
+		}
+
+	}
+
+}
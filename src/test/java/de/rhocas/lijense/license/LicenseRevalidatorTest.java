@@ -0,0 +1,288 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPrivateKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadResourceAsStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.io.SizeLimitExceededException;
+import de.rhocas.lijense.key.KeyException;
+
+/**
+ * Unit test for {@link LicenseRevalidator}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LicenseRevalidatorTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@After
+	public void resetLimits( ) {
+		LicenseUtil.setLimits( LicenseLimits.DEFAULT );
+	}
+
+	@Test
+	public void testRevalidateUnchangedFile( ) throws KeyException, LicenseException, IOException {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		writeLicense( targetFile, "true" );
+
+		try ( final LicenseRevalidator revalidator = new LicenseRevalidator( loadPublicKey( ), targetFile, Optional.empty( ) ) ) {
+			assertThat( revalidator.getLicense( ) ).isEmpty( );
+
+			final UnmodifiableLicense firstLicense = revalidator.revalidate( );
+			assertThat( firstLicense.getValue( "myFeature.active" ) ).isEqualTo( "true" );
+
+			final UnmodifiableLicense secondLicense = revalidator.revalidate( );
+			assertThat( secondLicense ).isSameAs( firstLicense );
+			assertThat( revalidator.getLicense( ) ).containsSame( firstLicense );
+		}
+	}
+
+	@Test
+	public void testRevalidateChangedFile( ) throws KeyException, LicenseException, IOException {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		writeLicense( targetFile, "true" );
+
+		try ( final LicenseRevalidator revalidator = new LicenseRevalidator( loadPublicKey( ), targetFile, Optional.empty( ) ) ) {
+			assertThat( revalidator.revalidate( ).getValue( "myFeature.active" ) ).isEqualTo( "true" );
+
+			writeLicense( targetFile, "false" );
+			assertThat( revalidator.revalidate( ).getValue( "myFeature.active" ) ).isEqualTo( "false" );
+		}
+	}
+
+	@Test
+	public void testRevalidateTamperedFile( ) throws KeyException, LicenseException, IOException {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		writeLicense( targetFile, "true" );
+
+		try ( final LicenseRevalidator revalidator = new LicenseRevalidator( loadPublicKey( ), targetFile, Optional.empty( ) ) ) {
+			revalidator.revalidate( );
+
+			Files.write( targetFile.toPath( ), IOUtil.readAllBytes( loadResourceAsStream( "invalid.license" ) ), StandardOpenOption.TRUNCATE_EXISTING );
+
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withMessage( "The license is not valid" );
+			assertThat( revalidator.getLicense( ) ).isEmpty( );
+
+			// The failed verification must not be hidden by the next run
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withMessage( "The license is not valid" );
+		}
+	}
+
+	@Test
+	public void testRevalidateMalformedFile( ) throws KeyException, LicenseException, IOException {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		Files.write( targetFile.toPath( ), "bGlKZW5zZQ==".getBytes( ) );
+
+		try ( final LicenseRevalidator revalidator = new LicenseRevalidator( loadPublicKey( ), targetFile, Optional.empty( ) ) ) {
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withMessage( "The license archive is malformed" );
+		}
+	}
+
+	@Test
+	public void testRevalidateFileWithInvalidHeaderLengths( ) throws KeyException, LicenseException, IOException {
+		// A local file header whose name length points far behind the end of the archive
+		final byte[] archive = new byte[36];
+		archive[0] = 0x50;
+		archive[1] = 0x4b;
+		archive[2] = 0x03;
+		archive[3] = 0x04;
+		archive[8] = 8;
+		archive[26] = ( byte ) 0xFF;
+		archive[27] = ( byte ) 0xFF;
+
+		final File targetFile = ivTemporaryFolder.newFile( );
+		Files.write( targetFile.toPath( ), Base64.getEncoder( ).encode( archive ) );
+
+		try ( final LicenseRevalidator revalidator = new LicenseRevalidator( loadPublicKey( ), targetFile, Optional.empty( ) ) ) {
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withMessage( "The license archive is malformed" );
+		}
+	}
+
+	@Test
+	public void testRevalidateFileWithOversizedEntry( ) throws KeyException, LicenseException, IOException {
+		// Two MiB of zeros are deflated to a few kilobytes
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream( );
+		try ( final ZipOutputStream zipOutputStream = new ZipOutputStream( outputStream ) ) {
+			zipOutputStream.putNextEntry( new ZipEntry( "license" ) );
+			zipOutputStream.write( new byte[2 << 20] );
+			zipOutputStream.closeEntry( );
+		}
+
+		final File targetFile = ivTemporaryFolder.newFile( );
+		Files.write( targetFile.toPath( ), Base64.getEncoder( ).encode( outputStream.toByteArray( ) ) );
+
+		try ( final LicenseRevalidator revalidator = new LicenseRevalidator( loadPublicKey( ), targetFile, Optional.empty( ) ) ) {
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withMessage( "The license exceeds the configured limits" );
+		}
+	}
+
+	@Test
+	public void testRevalidateFileExceedingLimits( ) throws KeyException, LicenseException, IOException {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		writeLicense( targetFile, "true" );
+		final int encodedLength = ( int ) targetFile.length( );
+
+		try ( final LicenseRevalidator revalidator = new LicenseRevalidator( loadPublicKey( ), targetFile, Optional.empty( ) ) ) {
+			LicenseUtil.setLimits( new LicenseLimits( encodedLength - 1, 1 << 20, 2, 1 << 20 ) );
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withCauseInstanceOf( SizeLimitExceededException.class )
+					.withMessage( "The license exceeds the configured limits" );
+
+			LicenseUtil.setLimits( new LicenseLimits( 1 << 20, encodedLength / 4 * 3 - 3, 2, 1 << 20 ) );
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withMessage( "The license exceeds the configured limits" );
+
+			LicenseUtil.setLimits( new LicenseLimits( 1 << 20, 1 << 20, 2, 100 ) );
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withMessage( "The license exceeds the configured limits" );
+
+			LicenseUtil.setLimits( LicenseLimits.DEFAULT );
+			assertThat( revalidator.revalidate( ).getValue( "myFeature.active" ) ).isEqualTo( "true" );
+		}
+	}
+
+	@Test
+	public void testRevalidateFileWithUnexpectedEntries( ) throws KeyException, LicenseException, IOException {
+		final File targetFile = ivTemporaryFolder.newFile( );
+
+		try ( final LicenseRevalidator revalidator = new LicenseRevalidator( loadPublicKey( ), targetFile, Optional.empty( ) ) ) {
+			Files.write( targetFile.toPath( ), createEncodedArchive( "unknown", "signature" ) );
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withMessage( "The license archive is malformed" );
+
+			Files.write( targetFile.toPath( ), createEncodedArchive( "license", "signature", "additional" ) );
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withCauseInstanceOf( SizeLimitExceededException.class )
+					.withMessage( "The license exceeds the configured limits" );
+
+			// With a higher limit, the additional entry is skipped and the (invalid) signature is checked
+			LicenseUtil.setLimits( new LicenseLimits( 1 << 20, 3 << 18, 3, 1 << 20 ) );
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withMessage( "The license is not valid" );
+		}
+	}
+
+	@Test
+	public void testRevalidateFileBoundToOtherHost( ) throws KeyException, LicenseException, IOException {
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setBoundHost( new byte[] { 1, 2, 3 } );
+		final String encodedLicense = LicenseUtil.createLicenseFile( modifiableLicense, loadPrivateKey( ) );
+
+		final File targetFile = ivTemporaryFolder.newFile( );
+		Files.write( targetFile.toPath( ), encodedLicense.getBytes( StandardCharsets.UTF_8 ) );
+
+		try ( final LicenseRevalidator revalidator = new LicenseRevalidator( loadPublicKey( ), targetFile, Optional.empty( ) ) ) {
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withMessage( "The license is bound to another host" );
+			assertThat( revalidator.getLicense( ) ).isEmpty( );
+		}
+	}
+
+	@Test
+	public void testRevalidateNonExistingFile( ) throws KeyException, LicenseException {
+		try ( final LicenseRevalidator revalidator = new LicenseRevalidator( loadPublicKey( ), new File( "notExisting" ), Optional.empty( ) ) ) {
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( revalidator::revalidate )
+					.withCauseInstanceOf( IOException.class )
+					.withMessage( "Could not load the license" );
+		}
+	}
+
+	@Test
+	public void testConstructorWithInvalidFingerprint( ) throws KeyException {
+		final PublicKey publicKey = loadPublicKey( );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> new LicenseRevalidator( publicKey, new File( "notExisting" ), Optional.of( new byte[64] ) ) )
+				.withMessage( "The actual fingerprint of the public key does not match the expected fingerprint." );
+	}
+
+	private void writeLicense( final File aFile, final String aValue ) throws KeyException, LicenseException, IOException {
+		final PrivateKey privateKey = loadPrivateKey( );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setProperty( "myFeature.active", aValue );
+
+		final String encodedLicense = LicenseUtil.createLicenseFile( modifiableLicense, privateKey );
+		Files.write( aFile.toPath( ), encodedLicense.getBytes( "UTF-8" ), StandardOpenOption.TRUNCATE_EXISTING );
+	}
+
+	private static byte[] createEncodedArchive( final String... aEntryNames ) throws IOException {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream( );
+		try ( final ZipOutputStream zipOutputStream = new ZipOutputStream( outputStream ) ) {
+			for ( final String entryName : aEntryNames ) {
+				zipOutputStream.putNextEntry( new ZipEntry( entryName ) );
+				zipOutputStream.write( entryName.getBytes( StandardCharsets.UTF_8 ) );
+				zipOutputStream.closeEntry( );
+			}
+		}
+		return Base64.getEncoder( ).encode( outputStream.toByteArray( ) );
+	}
+
+}
@@ -27,33 +27,49 @@
 package de.rhocas.lijense.license;
 
 import static de.rhocas.lijense.Constants.LICENSE_ENCODING_CHARSET;
+import static de.rhocas.lijense.Constants.LICENSE_KEY_BOUND_HOST;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.mock;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.security.InvalidKeyException;
 import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.SignatureException;
 import java.text.ParseException;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
 
+import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import de.rhocas.lijense.host.MachineFingerprint;
 import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.io.SizeLimitExceededException;
 import de.rhocas.lijense.key.KeyException;
 import de.rhocas.lijense.key.KeyUtil;
 import de.rhocas.lijense.key.KeyUtilTest;
+import de.rhocas.lijense.signer.PrivateKeySigner;
+import de.rhocas.lijense.signer.SignerException;
 
 /**
  * Unit test for {@link LicenseUtil}.
@@ -65,6 +81,11 @@ public final class LicenseUtilTest {
 	@Rule
 	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
 
+	@After
+	public void resetLimits( ) {
+		LicenseUtil.setLimits( LicenseLimits.DEFAULT );
+	}
+
 	@Test
 	@SuppressWarnings( "deprecation" )
 	public void testSaveAndLoadLicense( ) throws KeyException, LicenseException, IOException, ParseException {
@@ -196,6 +217,112 @@ public final class LicenseUtilTest {
 		assertThat( license.getValue( "myFeature.active" ) ).isEqualTo( "false" );
 	}
 
+	@Test
+	public void testCreateAndLoadBinaryLicense( ) throws KeyException, LicenseException {
+		final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromStream( loadResourceAsStream( "key.private" ) );
+		final PublicKey publicKey = KeyUtil.loadPublicKeyFromStream( loadResourceAsStream( "key.public" ) );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValue( "myFeature.active", "true" );
+		final byte[] binaryLicense = LicenseUtil.createBinaryLicenseFile( modifiableLicense, privateKey );
+
+		// The binary license is the archive without the Base64 encoding
+		assertThat( IOUtil.stringToBinary( LicenseUtil.createLicenseFile( modifiableLicense, privateKey ) ) ).hasSameSizeAs( binaryLicense );
+
+		final UnmodifiableLicense license = LicenseUtil.loadLicenseFileFromBinary( publicKey, binaryLicense, Optional.empty( ) );
+		assertThat( license.getValue( "myFeature.active" ) ).isEqualTo( "true" );
+
+		final UnmodifiableLicense unvalidatedLicense = LicenseUtil.loadLicenseFileWithoutValidationFromBinary( binaryLicense );
+		assertThat( unvalidatedLicense.getValue( "myFeature.active" ) ).isEqualTo( "true" );
+	}
+
+	@Test
+	public void testLoadLicenseFromByteBuffer( ) throws KeyException, LicenseException {
+		final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromStream( loadResourceAsStream( "key.private" ) );
+		final PublicKey publicKey = KeyUtil.loadPublicKeyFromStream( loadResourceAsStream( "key.public" ) );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValue( "myFeature.active", "true" );
+		final byte[] binaryLicense = LicenseUtil.createBinaryLicenseFile( modifiableLicense, privateKey );
+
+		// The license is embedded within other data in a direct buffer
+		final ByteBuffer directBuffer = ByteBuffer.allocateDirect( binaryLicense.length + 8 );
+		directBuffer.putInt( 42 ).put( binaryLicense ).putInt( 42 );
+		directBuffer.position( 4 ).limit( 4 + binaryLicense.length );
+
+		final UnmodifiableLicense license = LicenseUtil.loadLicenseFileFromByteBuffer( publicKey, directBuffer, Optional.empty( ) );
+		assertThat( license.getValue( "myFeature.active" ) ).isEqualTo( "true" );
+		assertThat( directBuffer.position( ) ).isEqualTo( 4 );
+
+		final UnmodifiableLicense unvalidatedLicense = LicenseUtil.loadLicenseFileWithoutValidationFromByteBuffer( ByteBuffer.wrap( binaryLicense ) );
+		assertThat( unvalidatedLicense.getValue( "myFeature.active" ) ).isEqualTo( "true" );
+	}
+
+	@Test
+	public void testLoadLicenseFromManipulatedByteBuffer( ) throws KeyException, LicenseException {
+		final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromStream( loadResourceAsStream( "key.private" ) );
+		final PublicKey publicKey = KeyUtil.loadPublicKeyFromStream( loadResourceAsStream( "key.public" ) );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValue( "myFeature.active", "true" );
+		final byte[] binaryLicense = LicenseUtil.createBinaryLicenseFile( modifiableLicense, privateKey );
+
+		// Manipulate a byte within the compressed license entry
+		final ByteBuffer buffer = ByteBuffer.wrap( binaryLicense );
+		buffer.put( 60, ( byte ) ( buffer.get( 60 ) ^ 0x01 ) );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileFromByteBuffer( publicKey, buffer, Optional.empty( ) ) );
+	}
+
+	@Test
+	public void testWriteLicenseFile( ) throws KeyException, LicenseException, IOException {
+		final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromStream( loadResourceAsStream( "key.private" ) );
+		final PublicKey publicKey = KeyUtil.loadPublicKeyFromStream( loadResourceAsStream( "key.public" ) );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValue( "myFeature.active", "true" );
+
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream( );
+		outputStream.write( 'x' );
+		LicenseUtil.writeLicenseFile( modifiableLicense, privateKey, outputStream );
+
+		// The stream is not closed, so that more content can be written
+		outputStream.write( 'x' );
+
+		final String content = new String( outputStream.toByteArray( ), LICENSE_ENCODING_CHARSET );
+		final String license = content.substring( 1, content.length( ) - 1 );
+		assertThat( LicenseUtil.loadLicenseFileFromString( publicKey, license, Optional.empty( ) ).getValue( "myFeature.active" ) ).isEqualTo( "true" );
+
+		final ByteArrayOutputStream binaryOutputStream = new ByteArrayOutputStream( );
+		LicenseUtil.writeBinaryLicenseFile( modifiableLicense, privateKey, binaryOutputStream );
+		assertThat( LicenseUtil.loadLicenseFileFromBinary( publicKey, binaryOutputStream.toByteArray( ), Optional.empty( ) ).getValue( "myFeature.active" ) )
+				.isEqualTo( "true" );
+	}
+
+	@Test
+	public void testWriteLicenseFileToChannel( ) throws KeyException, LicenseException, IOException {
+		final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromStream( loadResourceAsStream( "key.private" ) );
+		final PublicKey publicKey = KeyUtil.loadPublicKeyFromStream( loadResourceAsStream( "key.public" ) );
+		final File licenseFile = ivTemporaryFolder.newFile( );
+		final File binaryLicenseFile = ivTemporaryFolder.newFile( );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValue( "myFeature.active", "true" );
+
+		try ( final FileChannel channel = FileChannel.open( licenseFile.toPath( ), StandardOpenOption.WRITE ) ) {
+			LicenseUtil.writeLicenseFile( modifiableLicense, privateKey, channel );
+			assertThat( channel.isOpen( ) ).isTrue( );
+		}
+		try ( final FileChannel channel = FileChannel.open( binaryLicenseFile.toPath( ), StandardOpenOption.WRITE ) ) {
+			LicenseUtil.writeBinaryLicenseFile( modifiableLicense, privateKey, channel );
+		}
+
+		assertThat( LicenseUtil.loadLicenseFile( publicKey, licenseFile, Optional.empty( ) ).getValue( "myFeature.active" ) ).isEqualTo( "true" );
+		final byte[] binaryLicense = Files.readAllBytes( binaryLicenseFile.toPath( ) );
+		assertThat( LicenseUtil.loadLicenseFileFromBinary( publicKey, binaryLicense, Optional.empty( ) ).getValue( "myFeature.active" ) ).isEqualTo( "true" );
+	}
+
 	@Test
 	public void testLoadLicenseFromEmptyInputStream( ) throws LicenseException, IOException {
 		final InputStream licenseInputStream = new ByteArrayInputStream( new byte[0] );
@@ -240,6 +367,39 @@ public final class LicenseUtilTest {
 				.withMessage( "Could not save the license" );
 	}
 
+	@Test
+	public void testSaveLicenseFileReplacesExistingFile( ) throws KeyException, LicenseException, IOException {
+		final InputStream keyInputStream = loadResourceAsStream( "key.private" );
+		final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromStream( keyInputStream );
+		final File licenseFile = ivTemporaryFolder.newFile( );
+		final ModifiableLicense longLicense = new ModifiableLicense( );
+		longLicense.setValue( "key", String.join( "", Collections.nCopies( 1000, "value" ) ) );
+
+		LicenseUtil.saveLicenseFile( longLicense, privateKey, licenseFile );
+		LicenseUtil.saveLicenseFile( new ModifiableLicense( ), privateKey, licenseFile );
+
+		final InputStream publicKeyInputStream = loadResourceAsStream( "key.public" );
+		final PublicKey publicKey = KeyUtil.loadPublicKeyFromStream( publicKeyInputStream );
+		assertThat( LicenseUtil.loadLicenseFile( publicKey, licenseFile, Optional.empty( ) ).getValue( "key" ) ).isNull( );
+		assertThat( ivTemporaryFolder.getRoot( ).list( ) ).containsExactly( licenseFile.getName( ) );
+	}
+
+	@Test
+	public void testSaveLicenseFileWithInvalidKeyKeepsExistingFile( ) throws KeyException, LicenseException, IOException {
+		final InputStream keyInputStream = loadResourceAsStream( "key.private" );
+		final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromStream( keyInputStream );
+		final File licenseFile = ivTemporaryFolder.newFile( );
+		LicenseUtil.saveLicenseFile( new ModifiableLicense( ), privateKey, licenseFile );
+		final byte[] content = Files.readAllBytes( licenseFile.toPath( ) );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.saveLicenseFile( new ModifiableLicense( ), mock( PrivateKey.class ), licenseFile ) )
+				.withCauseInstanceOf( InvalidKeyException.class )
+				.withMessage( "Could not create the license" );
+		assertThat( Files.readAllBytes( licenseFile.toPath( ) ) ).isEqualTo( content );
+		assertThat( ivTemporaryFolder.getRoot( ).list( ) ).containsExactly( licenseFile.getName( ) );
+	}
+
 	@Test
 	public void testConstructor( ) throws ReflectiveOperationException {
 		final Constructor<LicenseUtil> constructor = LicenseUtil.class.getDeclaredConstructor( );
@@ -258,6 +418,159 @@ public final class LicenseUtilTest {
 				.withMessage( "Could not create the license" );
 	}
 
+	@Test
+	public void testCreateAndLoadLicenseWithSigner( ) throws KeyException, LicenseException, IOException {
+		final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromStream( loadResourceAsStream( "key.private" ) );
+		final PublicKey publicKey = KeyUtil.loadPublicKeyFromStream( loadResourceAsStream( "key.public" ) );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValue( "myFeature.active", "true" );
+		final PrivateKeySigner signer = new PrivateKeySigner( privateKey );
+
+		final String licenseFile = LicenseUtil.createLicenseFile( modifiableLicense, signer );
+		assertThat( LicenseUtil.loadLicenseFileFromString( publicKey, licenseFile, Optional.empty( ) ).getValue( "myFeature.active" ) ).isEqualTo( "true" );
+
+		final byte[] binaryLicense = LicenseUtil.createBinaryLicenseFile( modifiableLicense, signer );
+		assertThat( LicenseUtil.loadLicenseFileFromBinary( publicKey, binaryLicense, Optional.empty( ) ).getValue( "myFeature.active" ) ).isEqualTo( "true" );
+
+		final File file = ivTemporaryFolder.newFile( );
+		LicenseUtil.saveLicenseFile( modifiableLicense, signer, file );
+		assertThat( LicenseUtil.loadLicenseFile( publicKey, file, Optional.empty( ) ).getValue( "myFeature.active" ) ).isEqualTo( "true" );
+	}
+
+	@Test
+	public void testCreateLicenseFileWithFailingSigner( ) {
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.createLicenseFile( new ModifiableLicense( ), aDigest -> {
+					throw new SignerException( "The signer is not available" );
+				} ) )
+				.withCauseInstanceOf( SignatureException.class )
+				.withMessage( "Could not create the license" );
+	}
+
+	@Test
+	public void testLoadLicenseBoundToCurrentHost( ) throws Exception {
+		final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromStream( loadResourceAsStream( "key.private" ) );
+		final PublicKey publicKey = KeyUtil.loadPublicKeyFromStream( loadResourceAsStream( "key.public" ) );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setBoundHost( MachineFingerprint.getDefault( ).get( ) );
+		final String licenseFile = LicenseUtil.createLicenseFile( modifiableLicense, privateKey );
+
+		final UnmodifiableLicense license = LicenseUtil.loadLicenseFileFromString( publicKey, licenseFile, Optional.empty( ) );
+		assertThat( license.getBoundHost( ).get( ) ).isEqualTo( MachineFingerprint.getDefault( ).get( ) );
+	}
+
+	@Test
+	public void testLoadLicenseBoundToOtherHost( ) throws Exception {
+		final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromStream( loadResourceAsStream( "key.private" ) );
+		final PublicKey publicKey = KeyUtil.loadPublicKeyFromStream( loadResourceAsStream( "key.public" ) );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setBoundHost( new byte[] { 1, 2, 3 } );
+		final String licenseFile = LicenseUtil.createLicenseFile( modifiableLicense, privateKey );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileFromString( publicKey, licenseFile, Optional.empty( ) ) )
+				.withMessage( "The license is bound to another host" );
+		assertThat( LicenseUtil.loadLicenseFileWithoutValidationFromString( licenseFile ).getBoundHost( ).get( ) ).containsExactly( 1, 2, 3 );
+	}
+
+	@Test
+	public void testLoadLicenseWithMalformedHostBinding( ) throws Exception {
+		final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromStream( loadResourceAsStream( "key.private" ) );
+		final PublicKey publicKey = KeyUtil.loadPublicKeyFromStream( loadResourceAsStream( "key.public" ) );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValue( LICENSE_KEY_BOUND_HOST, "#" );
+		final String licenseFile = LicenseUtil.createLicenseFile( modifiableLicense, privateKey );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileFromString( publicKey, licenseFile, Optional.empty( ) ) )
+				.withCauseInstanceOf( IllegalArgumentException.class )
+				.withMessage( "The host binding of the license is malformed" );
+	}
+
+	@Test
+	public void testLoadLicenseExceedingLimits( ) throws Exception {
+		final PrivateKey privateKey = KeyUtil.loadPrivateKeyFromStream( loadResourceAsStream( "key.private" ) );
+		final PublicKey publicKey = KeyUtil.loadPublicKeyFromStream( loadResourceAsStream( "key.public" ) );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValue( "customer", "Customer, Inc." );
+		final String licenseFile = LicenseUtil.createLicenseFile( modifiableLicense, privateKey );
+		final byte[] binaryLicenseFile = LicenseUtil.createBinaryLicenseFile( modifiableLicense, privateKey );
+
+		LicenseUtil.setLimits( new LicenseLimits( licenseFile.length( ) - 1, 1 << 20, 2, 1 << 20 ) );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileFromString( publicKey, licenseFile, Optional.empty( ) ) )
+				.withCauseInstanceOf( SizeLimitExceededException.class )
+				.withMessage( "The license exceeds the configured limits" );
+
+		LicenseUtil.setLimits( new LicenseLimits( 1 << 20, binaryLicenseFile.length - 1, 2, 1 << 20 ) );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileFromString( publicKey, licenseFile, Optional.empty( ) ) )
+				.withMessage( "The license exceeds the configured limits" );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileFromByteBuffer( publicKey, ByteBuffer.wrap( binaryLicenseFile ), Optional.empty( ) ) )
+				.withMessage( "The license exceeds the configured limits" );
+
+		LicenseUtil.setLimits( new LicenseLimits( 1 << 20, 1 << 20, 2, 100 ) );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileWithoutValidationFromBinary( binaryLicenseFile ) )
+				.withMessage( "The license exceeds the configured limits" );
+
+		LicenseUtil.setLimits( LicenseLimits.DEFAULT );
+		assertThat( LicenseUtil.getLimits( ) ).isSameAs( LicenseLimits.DEFAULT );
+		assertThat( LicenseUtil.loadLicenseFileFromBinary( publicKey, binaryLicenseFile, Optional.empty( ) ).getValue( "customer" ) ).isEqualTo( "Customer, Inc." );
+	}
+
+	@Test
+	public void testLoadLicenseWithInvalidBase64( ) {
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileWithoutValidationFromString( "abc" ) )
+				.withMessage( "Could not load the license" );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileWithoutValidationFromString( "ab#?" ) )
+				.withCauseInstanceOf( IllegalArgumentException.class )
+				.withMessage( "Could not load the license" );
+	}
+
+	@Test
+	public void testLoadLicenseWithUnexpectedEntries( ) throws Exception {
+		final PublicKey publicKey = KeyUtil.loadPublicKeyFromStream( loadResourceAsStream( "key.public" ) );
+
+		final byte[] archiveWithUnknownEntry = createArchive( "unknown" );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileFromBinary( publicKey, archiveWithUnknownEntry, Optional.empty( ) ) )
+				.withCauseInstanceOf( ZipException.class )
+				.withMessage( "Could not load the license" );
+
+		final byte[] archiveWithAdditionalEntry = createArchive( "license", "signature", "additional" );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileFromBinary( publicKey, archiveWithAdditionalEntry, Optional.empty( ) ) )
+				.withCauseInstanceOf( SizeLimitExceededException.class )
+				.withMessage( "The license exceeds the configured limits" );
+
+		// The length of the signature does not match the key, which means that the archive is rejected without verification
+		final byte[] archiveWithShortSignature = createArchive( "license", "signature" );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileFromBinary( publicKey, archiveWithShortSignature, Optional.empty( ) ) )
+				.withMessage( "The license is not valid" );
+	}
+
+	private static byte[] createArchive( final String... aEntryNames ) throws IOException {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream( );
+		try ( final ZipOutputStream zipOutputStream = new ZipOutputStream( outputStream ) ) {
+			for ( final String entryName : aEntryNames ) {
+				zipOutputStream.putNextEntry( new ZipEntry( entryName ) );
+				zipOutputStream.write( entryName.getBytes( LICENSE_ENCODING_CHARSET ) );
+				zipOutputStream.closeEntry( );
+			}
+		}
+		return outputStream.toByteArray( );
+	}
+
 	private InputStream loadResourceAsStream( final String aResourceName ) {
 		return KeyUtilTest.class.getClassLoader( ).getResourceAsStream( aResourceName );
 	}
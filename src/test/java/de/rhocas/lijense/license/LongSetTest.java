@@ -0,0 +1,96 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link LongSet}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LongSetTest {
+
+	@Test
+	public void testContains( ) {
+		final LongSet set = new LongSet( new long[] { 1, 2, 3, Long.MIN_VALUE, Long.MAX_VALUE } );
+
+		assertThat( set.size( ) ).isEqualTo( 5 );
+		assertThat( set.contains( 2 ) ).isTrue( );
+		assertThat( set.contains( Long.MIN_VALUE ) ).isTrue( );
+		assertThat( set.contains( Long.MAX_VALUE ) ).isTrue( );
+		assertThat( set.contains( 0 ) ).isFalse( );
+		assertThat( set.contains( 4 ) ).isFalse( );
+	}
+
+	@Test
+	public void testZeroAndDuplicates( ) {
+		final LongSet set = new LongSet( new long[] { 0, 5, 0, 5 } );
+
+		assertThat( set.size( ) ).isEqualTo( 2 );
+		assertThat( set.contains( 0 ) ).isTrue( );
+		assertThat( set.toArray( ) ).containsExactly( 0, 5 );
+		assertThat( set ).hasToString( "[0, 5]" );
+	}
+
+	@Test
+	public void testEmpty( ) {
+		final LongSet set = LongSet.empty( );
+
+		assertThat( set.isEmpty( ) ).isTrue( );
+		assertThat( set.contains( 0 ) ).isFalse( );
+		assertThat( set.contains( 1 ) ).isFalse( );
+		assertThat( set.toArray( ) ).isEmpty( );
+	}
+
+	@Test
+	public void testManyValues( ) {
+		final Random random = new Random( 42 );
+		final Set<Long> expected = new HashSet<>( );
+		final long[] values = new long[10000];
+		for ( int i = 0; i < values.length; i++ ) {
+			values[i] = i % 2 == 0 ? i : random.nextLong( );
+			expected.add( values[i] );
+		}
+
+		final LongSet set = new LongSet( values );
+		assertThat( set.size( ) ).isEqualTo( expected.size( ) );
+		for ( final long value : values ) {
+			assertThat( set.contains( value ) ).isTrue( );
+		}
+		for ( int i = 1; i < values.length; i += 2 ) {
+			assertThat( set.contains( i ) ).isEqualTo( expected.contains( ( long ) i ) );
+		}
+	}
+
+}
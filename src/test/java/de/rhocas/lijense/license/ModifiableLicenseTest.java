@@ -29,7 +29,9 @@ package de.rhocas.lijense.license;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
 import java.util.GregorianCalendar;
 
@@ -145,4 +147,54 @@ public final class ModifiableLicenseTest {
 		assertThat( license.get( "key" ) ).isNull( );
 	}
 
+	@Test
+	public void testSetSerial( ) {
+		final ModifiableLicense license = new ModifiableLicense( );
+
+		license.setSerial( "4711" );
+
+		assertThat( license.get( "_SERIAL" ) ).isEqualTo( "4711" );
+	}
+
+	@Test
+	public void testSetValues( ) {
+		final ModifiableLicense license = new ModifiableLicense( );
+		license.setValues( "key", Arrays.asList( "host1", "a,b", "c\\d" ) );
+
+		assertThat( license.get( "key" ) ).isEqualTo( "host1,a\\,b,c\\\\d" );
+
+		license.setValues( "key", ( Collection<String> ) null );
+		assertThat( license.get( "key" ) ).isNull( );
+	}
+
+	@Test
+	public void testSetValuesLong( ) {
+		final ModifiableLicense license = new ModifiableLicense( );
+		license.setValues( "key", new long[] { 1, -2, 3 } );
+
+		assertThat( license.get( "key" ) ).isEqualTo( "1,-2,3" );
+
+		license.setValues( "key", ( long[] ) null );
+		assertThat( license.get( "key" ) ).isNull( );
+	}
+
+	@Test
+	public void testSetBoundHost( ) {
+		final ModifiableLicense license = new ModifiableLicense( );
+		license.setBoundHost( new byte[] { 1, 2, 3 } );
+
+		assertThat( license.get( "_BOUND_HOST" ) ).isEqualTo( "AQID" );
+
+		license.setBoundHost( null );
+		assertThat( license.get( "_BOUND_HOST" ) ).isNull( );
+	}
+
+	@Test
+	public void testSetSeats( ) {
+		final ModifiableLicense license = new ModifiableLicense( );
+		license.setSeats( 25 );
+
+		assertThat( license.get( "_SEATS" ) ).isEqualTo( "25" );
+	}
+
 }
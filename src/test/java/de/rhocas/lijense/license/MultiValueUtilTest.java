@@ -0,0 +1,84 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link MultiValueUtil}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class MultiValueUtilTest {
+
+	@Test
+	public void testRoundTrip( ) {
+		final List<String> values = Arrays.asList( "", "a,b", "\\", "\\,", "x", "" );
+
+		assertThat( MultiValueUtil.decode( MultiValueUtil.encode( values ) ) ).isEqualTo( values );
+	}
+
+	@Test
+	public void testDecodeEmptyValue( ) {
+		assertThat( MultiValueUtil.decode( "" ) ).isEmpty( );
+	}
+
+	@Test
+	public void testDecodeTrailingEscape( ) {
+		assertThat( MultiValueUtil.decode( "a,b\\" ) ).containsExactly( "a", "b" );
+	}
+
+	@Test
+	public void testEncodeNullValue( ) {
+		assertThatExceptionOfType( NullPointerException.class ).isThrownBy( ( ) -> MultiValueUtil.encode( Arrays.asList( "a", null ) ) )
+				.withMessage( "The values must not contain null." );
+	}
+
+	@Test
+	public void testDecodeLongs( ) {
+		assertThat( MultiValueUtil.decodeLongs( " 1, 2 ,3" ).toArray( ) ).containsExactly( 1, 2, 3 );
+	}
+
+	@Test
+	public void testConstructor( ) throws ReflectiveOperationException {
+		final Constructor<MultiValueUtil> constructor = MultiValueUtil.class.getDeclaredConstructor( );
+		constructor.setAccessible( true );
+
+		assertThatExceptionOfType( InvocationTargetException.class )
+				.isThrownBy( constructor::newInstance )
+				.withCauseInstanceOf( AssertionError.class );
+	}
+
+}
@@ -29,11 +29,17 @@ package de.rhocas.lijense.license;
 import static de.rhocas.lijense.Constants.DATE_FORMAT;
 import static de.rhocas.lijense.Constants.LICENSE_KEY_EXPIRATION_DATE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
 
 import java.text.ParseException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
@@ -45,6 +51,16 @@ import org.junit.Test;
  */
 public class UnmodifiableLicenseTest {
 
+	@Test
+	public void testGetEntries( ) {
+		final Map<String, String> map = new HashMap<>( );
+		map.put( "key", "42" );
+
+		final UnmodifiableLicense license = new UnmodifiableLicense( map );
+		assertThat( license.getEntries( ) ).containsOnly( entry( "key", "42" ) );
+		assertThatExceptionOfType( UnsupportedOperationException.class ).isThrownBy( ( ) -> license.getEntries( ).clear( ) );
+	}
+
 	@Test
 	public void testGetValueByte( ) {
 		final Map<String, String> map = new HashMap<>( );
@@ -405,4 +421,136 @@ public class UnmodifiableLicenseTest {
 		assertThat( license.isFeatureActive( "feature" ) ).isFalse( );
 	}
 
+	@Test
+	public void testGetSerial( ) {
+		final Map<String, String> map = new HashMap<>( );
+		map.put( "_SERIAL", "4711" );
+
+		assertThat( new UnmodifiableLicense( map ).getSerial( ) ).isEqualTo( "4711" );
+		assertThat( new UnmodifiableLicense( new HashMap<>( ) ).getSerial( ) ).isNull( );
+	}
+
+	@Test
+	public void testCountEntriesWithPrefix( ) {
+		final UnmodifiableLicense license = new UnmodifiableLicense( createHierarchicalMap( ) );
+
+		assertThat( license.countEntriesWithPrefix( "module.reporting" ) ).isEqualTo( 4 );
+		assertThat( license.countEntriesWithPrefix( "module.reporting." ) ).isEqualTo( 3 );
+		assertThat( license.countEntriesWithPrefix( "module.z" ) ).isZero( );
+		assertThat( license.countEntriesWithPrefix( "" ) ).isEqualTo( 6 );
+	}
+
+	@Test
+	public void testForEachEntryWithPrefix( ) {
+		final UnmodifiableLicense license = new UnmodifiableLicense( createHierarchicalMap( ) );
+
+		final List<String> keys = new ArrayList<>( );
+		license.forEachEntryWithPrefix( "module.reporting.export", ( key, value ) -> keys.add( key + "=" + value ) );
+
+		assertThat( keys ).containsExactly( "module.reporting.export.csv=false", "module.reporting.export.pdf=true" );
+	}
+
+	@Test
+	public void testGetNamespace( ) {
+		final UnmodifiableLicense license = new UnmodifiableLicense( createHierarchicalMap( ) );
+
+		final LicenseNamespace namespace = license.getNamespace( "module.reporting" );
+		assertThat( namespace.getName( ) ).isEqualTo( "module.reporting" );
+		assertThat( namespace.size( ) ).isEqualTo( 3 );
+		assertThat( namespace.getValue( "export.pdf" ) ).isEqualTo( "true" );
+		assertThat( license.getNamespace( "" ).size( ) ).isEqualTo( 6 );
+	}
+
+	@Test
+	public void testPrefixQueriesWithManyEntries( ) {
+		final Map<String, String> map = new HashMap<>( );
+		for ( int i = 0; i < 20000; i++ ) {
+			map.put( "module" + i % 100 + ".feature" + i, Integer.toString( i ) );
+		}
+
+		final UnmodifiableLicense license = new UnmodifiableLicense( map );
+		assertThat( license.countEntriesWithPrefix( "module42." ) ).isEqualTo( 200 );
+		assertThat( license.getNamespace( "module42" ).getValue( "feature4242" ) ).isEqualTo( "4242" );
+		assertThat( license.getNamespace( "module42" ).getValue( "feature4243" ) ).isNull( );
+	}
+
+	@Test
+	public void testPrefixQueriesWithNullArguments( ) {
+		final UnmodifiableLicense license = new UnmodifiableLicense( new HashMap<>( ) );
+
+		assertThatExceptionOfType( NullPointerException.class ).isThrownBy( ( ) -> license.countEntriesWithPrefix( null ) )
+				.withMessage( "The prefix must not be null." );
+		assertThatExceptionOfType( NullPointerException.class ).isThrownBy( ( ) -> license.forEachEntryWithPrefix( "", null ) )
+				.withMessage( "The consumer must not be null." );
+		assertThatExceptionOfType( NullPointerException.class ).isThrownBy( ( ) -> license.getNamespace( null ) )
+				.withMessage( "The name must not be null." );
+	}
+
+	@Test
+	public void testGetValueAsList( ) {
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValues( "hosts", Arrays.asList( "b", "a,1", "", "b" ) );
+
+		final UnmodifiableLicense license = new UnmodifiableLicense( toMap( modifiableLicense ) );
+		assertThat( license.getValueAsList( "hosts" ) ).containsExactly( "b", "a,1", "", "b" );
+		assertThat( license.getValueAsList( "hosts" ) ).isSameAs( license.getValueAsList( "hosts" ) );
+		assertThat( license.getValueAsList( "unknown" ) ).isEmpty( );
+		assertThatExceptionOfType( UnsupportedOperationException.class ).isThrownBy( ( ) -> license.getValueAsList( "hosts" ).clear( ) );
+	}
+
+	@Test
+	public void testGetValueAsSet( ) {
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValues( "hosts", Arrays.asList( "b", "a,1", "b" ) );
+		modifiableLicense.setValues( "empty", Collections.emptyList( ) );
+
+		final UnmodifiableLicense license = new UnmodifiableLicense( toMap( modifiableLicense ) );
+		assertThat( license.getValueAsSet( "hosts" ) ).containsOnly( "a,1", "b" );
+		assertThat( license.getValueAsSet( "hosts" ) ).isSameAs( license.getValueAsSet( "hosts" ) );
+		assertThat( license.getValueAsSet( "empty" ) ).isEmpty( );
+		assertThat( license.getValueAsSet( "unknown" ) ).isEmpty( );
+		assertThat( license.containsValue( "hosts", "a,1" ) ).isTrue( );
+		assertThat( license.containsValue( "hosts", "a" ) ).isFalse( );
+		assertThat( license.containsValue( "unknown", "a" ) ).isFalse( );
+	}
+
+	@Test
+	public void testGetValueAsLongSet( ) {
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValues( "devices", new long[] { 42, 0, -7, 42 } );
+
+		final UnmodifiableLicense license = new UnmodifiableLicense( toMap( modifiableLicense ) );
+		assertThat( license.getValueAsLongSet( "devices" ).toArray( ) ).containsExactly( -7, 0, 42 );
+		assertThat( license.getValueAsLongSet( "devices" ) ).isSameAs( license.getValueAsLongSet( "devices" ) );
+		assertThat( license.getValueAsLongSet( "unknown" ).isEmpty( ) ).isTrue( );
+		assertThat( license.containsValue( "devices", 0 ) ).isTrue( );
+		assertThat( license.containsValue( "devices", 43 ) ).isFalse( );
+	}
+
+	@Test
+	public void testGetValueAsLongSetInvalid( ) {
+		final Map<String, String> map = new HashMap<>( );
+		map.put( "devices", "1, 2,x" );
+
+		final UnmodifiableLicense license = new UnmodifiableLicense( map );
+		assertThatExceptionOfType( NumberFormatException.class ).isThrownBy( ( ) -> license.getValueAsLongSet( "devices" ) );
+	}
+
+	private static Map<String, String> toMap( final ModifiableLicense aLicense ) {
+		final Map<String, String> map = new HashMap<>( );
+		aLicense.stringPropertyNames( ).forEach( key -> map.put( key, aLicense.getProperty( key ) ) );
+		return map;
+	}
+
+	static Map<String, String> createHierarchicalMap( ) {
+		final Map<String, String> map = new HashMap<>( );
+		map.put( "module.reporting.export.pdf", "true" );
+		map.put( "module.reporting.export.csv", "false" );
+		map.put( "module.reporting.maxPages", "100" );
+		map.put( "module.reportingTool", "true" );
+		map.put( "module.admin", "true" );
+		map.put( "customer", "Customer" );
+		return map;
+	}
+
 }
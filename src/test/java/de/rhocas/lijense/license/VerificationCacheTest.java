@@ -0,0 +1,154 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.license;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPrivateKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.key.KeyException;
+
+/**
+ * Unit test for {@link VerificationCache}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class VerificationCacheTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void testVerificationIsSkippedForCachedLicenses( ) throws KeyException, LicenseException, IOException {
+		final File cacheFile = ivTemporaryFolder.newFile( );
+		final PublicKey publicKey = loadPublicKey( );
+		final byte[] binaryLicense = createBinaryLicense( );
+
+		// The license with a broken signature is only accepted once the identical content has been verified
+		final byte[] licenseWithBrokenSignature = replaceSignature( binaryLicense );
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileFromBinary( publicKey, licenseWithBrokenSignature, Optional.empty( ) ) );
+
+		try ( final VerificationCache verificationCache = new VerificationCache( cacheFile, createSecret( 1 ), 16 ) ) {
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileFromBinary( publicKey, licenseWithBrokenSignature, Optional.empty( ), verificationCache ) )
+					.withMessage( "The license is not valid" );
+
+			LicenseUtil.loadLicenseFileFromBinary( publicKey, binaryLicense, Optional.empty( ), verificationCache );
+
+			final UnmodifiableLicense license = LicenseUtil.loadLicenseFileFromBinary( publicKey, licenseWithBrokenSignature, Optional.empty( ), verificationCache );
+			assertThat( license.getValue( "myFeature.active" ) ).isEqualTo( "true" );
+		}
+
+		// The cache is persistent and can be used by other processes with the same secret
+		try ( final VerificationCache verificationCache = new VerificationCache( cacheFile, createSecret( 1 ), 1 ) ) {
+			final String license = IOUtil.binaryToString( licenseWithBrokenSignature );
+			assertThat( LicenseUtil.loadLicenseFileFromString( publicKey, license, Optional.empty( ), verificationCache ).getValue( "myFeature.active" ) )
+					.isEqualTo( "true" );
+		}
+
+		// The entries cannot be used without the secret
+		try ( final VerificationCache verificationCache = new VerificationCache( cacheFile, createSecret( 2 ), 16 ) ) {
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( ( ) -> LicenseUtil.loadLicenseFileFromBinary( publicKey, licenseWithBrokenSignature, Optional.empty( ), verificationCache ) )
+					.withMessage( "The license is not valid" );
+		}
+	}
+
+	@Test
+	public void testMalformedCache( ) throws IOException {
+		final File cacheFile = ivTemporaryFolder.newFile( );
+		Files.write( cacheFile.toPath( ), "liJense".getBytes( ) );
+
+		assertThatExceptionOfType( LicenseException.class )
+				.isThrownBy( ( ) -> new VerificationCache( cacheFile, createSecret( 1 ), 16 ) )
+				.withMessage( "The verification cache is malformed" );
+	}
+
+	@Test
+	public void testShortSecret( ) throws IOException {
+		final File cacheFile = ivTemporaryFolder.newFile( );
+
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new VerificationCache( cacheFile, new byte[16], 16 ) )
+				.withMessage( "The secret must have at least 32 bytes." );
+	}
+
+	private byte[] createBinaryLicense( ) throws KeyException, LicenseException {
+		final PrivateKey privateKey = loadPrivateKey( );
+
+		final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+		modifiableLicense.setValue( "myFeature.active", "true" );
+		return LicenseUtil.createBinaryLicenseFile( modifiableLicense, privateKey );
+	}
+
+	private byte[] replaceSignature( final byte[] aBinaryLicense ) throws IOException {
+		final byte[] license;
+		final byte[] signature;
+		try ( final ZipInputStream zipInputStream = new ZipInputStream( new ByteArrayInputStream( aBinaryLicense ) ) ) {
+			zipInputStream.getNextEntry( );
+			license = IOUtil.readAllBytes( zipInputStream );
+			zipInputStream.getNextEntry( );
+			signature = IOUtil.readAllBytes( zipInputStream );
+		}
+
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream( );
+		try ( final ZipOutputStream zipOutputStream = new ZipOutputStream( outputStream ) ) {
+			zipOutputStream.putNextEntry( new ZipEntry( "license" ) );
+			zipOutputStream.write( license );
+			zipOutputStream.putNextEntry( new ZipEntry( "signature" ) );
+			zipOutputStream.write( new byte[signature.length] );
+		}
+		return outputStream.toByteArray( );
+	}
+
+	private byte[] createSecret( final int aValue ) {
+		final byte[] secret = new byte[32];
+		Arrays.fill( secret, ( byte ) aValue );
+		return secret;
+	}
+
+}
@@ -0,0 +1,105 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.rhocas.lijense.key.KeyUtilTest;
+
+/**
+ * Unit test for {@link LoadGeneratorCommand}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LoadGeneratorCommandTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void testRun( ) throws Exception {
+		final File privateKeyFile = copyResource( "key.private" );
+		final File publicKeyFile = copyResource( "key.public" );
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream( );
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final int exitCode = LoadGeneratorCommand.run( new String[] { "--private-key", privateKeyFile.getPath( ), "--public-key", publicKeyFile.getPath( ), "--threads",
+				"1", "--mix", "verify=3, lookup=1", "--warmup-seconds", "0", "--seconds", "1" }, new PrintStream( out ), new PrintStream( err ) );
+
+		assertThat( exitCode ).isZero( );
+		assertThat( err.toString( ) ).isEmpty( );
+		assertThat( out.toString( ) ).startsWith( "mix={VERIFY=3, LOOKUP=1}, warmup=0 s, measurement=1 s" ).contains( "threads=1, operations=" )
+				.contains( "efficiency=1.00" );
+	}
+
+	@Test
+	public void testRunWithOnlyOneKey( ) {
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final int exitCode = LoadGeneratorCommand.run( new String[] { "--private-key", "key" }, new PrintStream( new ByteArrayOutputStream( ) ), new PrintStream( err ) );
+
+		assertThat( exitCode ).isEqualTo( 1 );
+		assertThat( err.toString( ) ).startsWith( "Usage:" );
+	}
+
+	@Test
+	public void testRunWithInvalidMix( ) {
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final int exitCode = LoadGeneratorCommand.run( new String[] { "--mix", "verify" }, new PrintStream( new ByteArrayOutputStream( ) ), new PrintStream( err ) );
+
+		assertThat( exitCode ).isEqualTo( 1 );
+		assertThat( err.toString( ) ).startsWith( "The mix entry 'verify' must have the form operation=weight" );
+	}
+
+	@Test
+	public void testParseLevels( ) {
+		assertThat( LoadGeneratorCommand.parseLevels( "1, 2,8" ) ).containsExactly( 1, 2, 8 );
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> LoadGeneratorCommand.parseLevels( "1,0" ) )
+				.withMessage( "The number of threads must be positive." );
+	}
+
+	private File copyResource( final String aResourceName ) throws Exception {
+		final File file = ivTemporaryFolder.newFile( );
+		try ( final InputStream inputStream = KeyUtilTest.class.getClassLoader( ).getResourceAsStream( aResourceName ) ) {
+			Files.copy( inputStream, file.toPath( ), StandardCopyOption.REPLACE_EXISTING );
+		}
+		return file;
+	}
+
+}
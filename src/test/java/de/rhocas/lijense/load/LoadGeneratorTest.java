@@ -0,0 +1,160 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.load;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPrivateKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import de.rhocas.lijense.statistics.LatencyHistogram;
+
+/**
+ * Unit test for {@link LoadGenerator}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LoadGeneratorTest {
+
+	@Test
+	public void testRun( ) throws Exception {
+		final Map<LoadOperation, Integer> mix = new EnumMap<>( LoadOperation.class );
+		mix.put( LoadOperation.LOAD, 1 );
+		mix.put( LoadOperation.VERIFY, 1 );
+		mix.put( LoadOperation.LOOKUP, 1 );
+		mix.put( LoadOperation.ISSUE, 1 );
+		final LoadGenerator generator = new LoadGenerator( loadPrivateKey( ), loadPublicKey( ), mix, Duration.ofMillis( 50 ), Duration.ofMillis( 300 ) );
+
+		// The number of operations depends on the speed of the machine, which is why only the invariants are checked here
+		final LoadLevelResult result = generator.run( 1 );
+
+		assertThat( result.getThreads( ) ).isEqualTo( 1 );
+		assertThat( result.getFailures( ) ).isZero( );
+		assertThat( result.getElapsedTime( TimeUnit.MILLISECONDS ) ).isEqualTo( 300 );
+		long operations = 0;
+		for ( final LoadOperation operation : LoadOperation.values( ) ) {
+			operations += result.getOperations( operation );
+		}
+		assertThat( result.getOperations( ) ).isEqualTo( operations );
+		assertThat( result.getLatencyPercentile( 99, TimeUnit.NANOSECONDS ) ).isLessThanOrEqualTo( result.getMaximalLatency( TimeUnit.NANOSECONDS ) );
+		assertThat( result.toString( ) ).startsWith( "threads=1, operations=" );
+	}
+
+	@Test
+	public void testExecute( ) throws Exception {
+		final LoadGenerator generator = new LoadGenerator( loadPrivateKey( ), loadPublicKey( ), Collections.singletonMap( LoadOperation.LOAD, 1 ), Duration.ZERO,
+				Duration.ofMillis( 1 ) );
+
+		for ( final LoadOperation operation : LoadOperation.values( ) ) {
+			assertThat( generator.execute( operation ) ).as( operation.name( ) ).isTrue( );
+		}
+	}
+
+	@Test
+	public void testResult( ) {
+		final LatencyHistogram histogram = new LatencyHistogram( );
+		for ( int index = 0; index < 99; index++ ) {
+			histogram.record( TimeUnit.MICROSECONDS.toNanos( 10 ) );
+		}
+		histogram.record( TimeUnit.MICROSECONDS.toNanos( 1000 ) );
+		final long[] operations = new long[LoadOperation.values( ).length];
+		operations[LoadOperation.VERIFY.ordinal( )] = 60;
+		operations[LoadOperation.LOOKUP.ordinal( )] = 40;
+		final LoadLevelResult result = new LoadLevelResult( 2, TimeUnit.SECONDS.toNanos( 1 ), operations, 1, TimeUnit.MICROSECONDS.toNanos( 1990 ), histogram );
+		final LoadLevelResult baseline = new LoadLevelResult( 1, TimeUnit.SECONDS.toNanos( 1 ), operations, 0, TimeUnit.MICROSECONDS.toNanos( 1990 ), histogram );
+
+		assertThat( result.getOperations( ) ).isEqualTo( 100 );
+		assertThat( result.getOperations( LoadOperation.VERIFY ) ).isEqualTo( 60 );
+		assertThat( result.getFailures( ) ).isEqualTo( 1 );
+		assertThat( result.getThroughput( ) ).isEqualTo( 100.0 );
+		assertThat( result.getScalingEfficiency( baseline ) ).isEqualTo( 0.5 );
+		assertThat( result.getMeanLatency( TimeUnit.MICROSECONDS ) ).isEqualTo( 19 );
+		assertThat( result.getLatencyPercentile( 50, TimeUnit.MICROSECONDS ) ).isEqualTo( 10 );
+		assertThat( result.getLatencyPercentile( 100, TimeUnit.MICROSECONDS ) ).isEqualTo( 1000 );
+		assertThat( result.getMaximalLatency( TimeUnit.MICROSECONDS ) ).isEqualTo( 1000 );
+		assertThat( result.toString( ) ).isEqualTo( "threads=2, operations=100, failures=1, throughput=100.0/s, latency mean=19 us, p50=10 us, p99=10 us, p99.9=1000 us, max=1000 us" );
+	}
+
+	@Test
+	public void testRunWithMultipleLevels( ) throws Exception {
+		final LoadGenerator generator = new LoadGenerator( loadPrivateKey( ), loadPublicKey( ), Collections.singletonMap( LoadOperation.VERIFY, 1 ), Duration.ZERO,
+				Duration.ofMillis( 200 ) );
+
+		final List<LoadLevelResult> results = generator.run( new int[] { 1, 2 } );
+
+		assertThat( results ).hasSize( 2 );
+		assertThat( results.get( 0 ).getThreads( ) ).isEqualTo( 1 );
+		assertThat( results.get( 1 ).getThreads( ) ).isEqualTo( 2 );
+		assertThat( results.get( 1 ).getOperations( LoadOperation.VERIFY ) ).isEqualTo( results.get( 1 ).getOperations( ) );
+		assertThat( results.get( 1 ).getOperations( LoadOperation.ISSUE ) ).isZero( );
+		assertThat( results.get( 1 ).getFailures( ) ).isZero( );
+	}
+
+	@Test
+	public void testEmptyMix( ) throws Exception {
+		final PrivateKey privateKey = loadPrivateKey( );
+		final PublicKey publicKey = loadPublicKey( );
+
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new LoadGenerator( privateKey, publicKey, Collections.singletonMap( LoadOperation.LOAD, 0 ), Duration.ZERO, Duration.ofSeconds( 1 ) ) )
+				.withMessage( "The mix must contain at least one operation with a positive weight." );
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new LoadGenerator( privateKey, publicKey, Collections.singletonMap( LoadOperation.LOAD, -1 ), Duration.ZERO, Duration.ofSeconds( 1 ) ) )
+				.withMessage( "The weight of an operation must not be negative." );
+	}
+
+	@Test
+	public void testInvalidDurationsAndThreads( ) throws Exception {
+		final PrivateKey privateKey = loadPrivateKey( );
+		final PublicKey publicKey = loadPublicKey( );
+		final Map<LoadOperation, Integer> mix = Collections.singletonMap( LoadOperation.LOOKUP, 1 );
+
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new LoadGenerator( privateKey, publicKey, mix, Duration.ofSeconds( -1 ), Duration.ofSeconds( 1 ) ) )
+				.withMessage( "The warmup must not be negative." );
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new LoadGenerator( privateKey, publicKey, mix, Duration.ZERO, Duration.ZERO ) )
+				.withMessage( "The measurement must be positive." );
+
+		final LoadGenerator generator = new LoadGenerator( privateKey, publicKey, mix, Duration.ZERO, Duration.ofMillis( 1 ) );
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> generator.run( 0 ) )
+				.withMessage( "The number of threads must be positive." );
+	}
+
+}
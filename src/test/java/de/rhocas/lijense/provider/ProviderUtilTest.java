@@ -0,0 +1,127 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.Security;
+import java.security.Signature;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ProviderUtil}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class ProviderUtilTest {
+
+	@After
+	public void resetProviders( ) {
+		for ( final CryptoOperation operation : CryptoOperation.values( ) ) {
+			ProviderUtil.resetProvider( operation );
+		}
+	}
+
+	@Test
+	public void testSetProvider( ) throws GeneralSecurityException {
+		final Provider provider = Security.getProviders( "Signature.SHA512withRSA" )[0];
+		ProviderUtil.setProvider( CryptoOperation.SIGNATURE, provider );
+
+		assertThat( ProviderUtil.getProvider( CryptoOperation.SIGNATURE ) ).contains( provider );
+		assertThat( ProviderUtil.createSignature( ).getProvider( ) ).isSameAs( provider );
+
+		ProviderUtil.resetProvider( CryptoOperation.SIGNATURE );
+		assertThat( ProviderUtil.getProvider( CryptoOperation.SIGNATURE ) ).isEmpty( );
+	}
+
+	@Test
+	public void testSetRawSignatureProvider( ) throws GeneralSecurityException {
+		final Provider provider = Security.getProviders( "Cipher.RSA" )[0];
+		ProviderUtil.setProvider( CryptoOperation.RAW_SIGNATURE, provider );
+		assertThat( ProviderUtil.getProvider( CryptoOperation.RAW_SIGNATURE ) ).contains( provider );
+		assertThat( ProviderUtil.getProvider( CryptoOperation.SIGNATURE ) ).isEmpty( );
+
+		final KeyPairGenerator keyPairGenerator = ProviderUtil.createKeyPairGenerator( );
+		keyPairGenerator.initialize( 1024 );
+		final Signature signature = ProviderUtil.createRawSignature( );
+		signature.initSign( keyPairGenerator.generateKeyPair( ).getPrivate( ) );
+		signature.update( new byte[] { 1, 2, 3 } );
+		assertThat( signature.sign( ) ).hasSize( 128 );
+	}
+
+	@Test
+	@SuppressWarnings( "deprecation" )
+	public void testSetUnsupportedProvider( ) {
+		final Provider provider = new Provider( "liJense", 1.0, "Empty provider" ) {
+
+			private static final long serialVersionUID = 1L;
+
+		};
+
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> ProviderUtil.setProvider( CryptoOperation.MESSAGE_DIGEST, provider ) )
+				.withMessage( "The provider does not support the operation." );
+	}
+
+	@Test
+	public void testBenchmarkProviders( ) throws GeneralSecurityException {
+		final List<ProviderBenchmarkResult> results = ProviderUtil.benchmarkProviders( );
+
+		assertThat( results ).extracting( ProviderBenchmarkResult::getOperation ).contains( CryptoOperation.SIGNATURE, CryptoOperation.MESSAGE_DIGEST );
+		assertThat( results ).allSatisfy( result -> {
+			assertThat( result.getOperations( ) ).isPositive( );
+			assertThat( result.getNanosPerOperation( ) ).isPositive( );
+			assertThat( result.toString( ) ).contains( result.getProviderName( ) );
+		} );
+		assertThat( ProviderUtil.getBenchmarkResults( ) ).isEqualTo( results );
+
+		// The fastest providers are pinned
+		assertThat( ProviderUtil.getProvider( CryptoOperation.SIGNATURE ) ).isPresent( );
+		assertThat( ProviderUtil.getProvider( CryptoOperation.MESSAGE_DIGEST ) ).isPresent( );
+		assertThat( ProviderUtil.getProvider( CryptoOperation.KEY_FACTORY ) ).isEmpty( );
+	}
+
+	@Test
+	public void testConstructor( ) throws ReflectiveOperationException {
+		final Constructor<ProviderUtil> constructor = ProviderUtil.class.getDeclaredConstructor( );
+		constructor.setAccessible( true );
+
+		assertThatExceptionOfType( InvocationTargetException.class )
+				.isThrownBy( constructor::newInstance )
+				.withCauseInstanceOf( AssertionError.class );
+	}
+
+}
@@ -0,0 +1,114 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.quota;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ConcurrencyQuota}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class ConcurrencyQuotaTest {
+
+	@Test
+	public void testAcquireAndRelease( ) {
+		final ConcurrencyQuota quota = new ConcurrencyQuota( "key", 5, 4 );
+
+		for ( int i = 0; i < 5; i++ ) {
+			assertThat( quota.tryAcquire( ) ).isTrue( );
+		}
+		assertThat( quota.tryAcquire( ) ).isFalse( );
+		assertThat( quota.getUsage( ) ).isEqualTo( 5 );
+
+		quota.release( );
+		assertThat( quota.getUsage( ) ).isEqualTo( 4 );
+		assertThat( quota.getAvailablePermits( ) ).isEqualTo( 1 );
+		assertThat( quota.tryAcquire( ) ).isTrue( );
+	}
+
+	@Test
+	public void testReleaseWithoutAcquire( ) {
+		final ConcurrencyQuota quota = new ConcurrencyQuota( "key", 2, 2 );
+
+		assertThatExceptionOfType( IllegalStateException.class )
+				.isThrownBy( quota::release )
+				.withMessage( "More permits have been released than acquired." );
+	}
+
+	@Test
+	public void testZeroLimit( ) {
+		final ConcurrencyQuota quota = new ConcurrencyQuota( "key", 0, 4 );
+
+		assertThat( quota.tryAcquire( ) ).isFalse( );
+		assertThat( quota.getUsage( ) ).isZero( );
+	}
+
+	@Test
+	public void testConcurrentUsageDoesNotExceedLimit( ) throws Exception {
+		final ConcurrencyQuota quota = new ConcurrencyQuota( "key", 3, 8 );
+		final AtomicInteger running = new AtomicInteger( );
+		final AtomicInteger maximalRunning = new AtomicInteger( );
+
+		final ExecutorService executorService = Executors.newFixedThreadPool( 8 );
+		try {
+			final List<Future<?>> futures = new ArrayList<>( );
+			for ( int i = 0; i < 8; i++ ) {
+				futures.add( executorService.submit( ( ) -> {
+					for ( int j = 0; j < 10000; j++ ) {
+						if ( quota.tryAcquire( ) ) {
+							maximalRunning.accumulateAndGet( running.incrementAndGet( ), Math::max );
+							running.decrementAndGet( );
+							quota.release( );
+						}
+					}
+				} ) );
+			}
+			for ( final Future<?> future : futures ) {
+				future.get( );
+			}
+		} finally {
+			executorService.shutdown( );
+			executorService.awaitTermination( 10, TimeUnit.SECONDS );
+		}
+
+		assertThat( maximalRunning.get( ) ).isBetween( 1, 3 );
+		assertThat( quota.getUsage( ) ).isZero( );
+	}
+
+}
@@ -0,0 +1,135 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.quota;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * Unit test for {@link LicenseQuotas}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LicenseQuotasTest {
+
+	private final LicenseQuotas ivQuotas = new LicenseQuotas( createLicense( ), 4 );
+
+	@Test
+	public void testGetRateQuota( ) throws QuotaException {
+		final RateQuota quota = ivQuotas.getRateQuota( "api.callsPerMinute", Duration.ofMinutes( 1 ) );
+
+		assertThat( quota.getKey( ) ).isEqualTo( "api.callsPerMinute" );
+		assertThat( quota.getLimit( ) ).isEqualTo( 1000 );
+		assertThat( quota.getPeriod( ) ).isEqualTo( Duration.ofMinutes( 1 ) );
+		assertThat( quota.tryAcquire( ) ).isTrue( );
+		assertThat( ivQuotas.getRateQuota( "api.callsPerMinute", Duration.ofMinutes( 1 ) ) ).isSameAs( quota );
+		assertThat( ivQuotas.getRateQuotas( ) ).containsExactly( quota );
+	}
+
+	@Test
+	public void testGetRateQuotaWithOtherPeriod( ) throws QuotaException {
+		ivQuotas.getRateQuota( "api.callsPerMinute", Duration.ofMinutes( 1 ) );
+
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> ivQuotas.getRateQuota( "api.callsPerMinute", Duration.ofHours( 1 ) ) )
+				.withMessage( "The quota 'api.callsPerMinute' has already been created with another period." );
+	}
+
+	@Test
+	public void testGetRateQuotaWithInvalidPeriod( ) {
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> ivQuotas.getRateQuota( "api.callsPerMinute", Duration.ZERO ) )
+				.withMessage( "The period must be positive." );
+	}
+
+	@Test
+	public void testGetConcurrencyQuota( ) throws QuotaException {
+		final ConcurrencyQuota quota = ivQuotas.getConcurrencyQuota( "jobs.maxConcurrent" );
+
+		assertThat( quota.getKey( ) ).isEqualTo( "jobs.maxConcurrent" );
+		assertThat( quota.getLimit( ) ).isEqualTo( 2 );
+		assertThat( quota.tryAcquire( ) ).isTrue( );
+		assertThat( ivQuotas.getConcurrencyQuota( "jobs.maxConcurrent" ).getUsage( ) ).isEqualTo( 1 );
+		assertThat( ivQuotas.getConcurrencyQuotas( ) ).containsExactly( quota );
+	}
+
+	@Test
+	public void testMissingLimit( ) {
+		assertThatExceptionOfType( QuotaException.class )
+				.isThrownBy( ( ) -> ivQuotas.getConcurrencyQuota( "unknown" ) )
+				.withMessage( "The license does not contain the limit 'unknown'" );
+	}
+
+	@Test
+	public void testInvalidLimit( ) {
+		assertThatExceptionOfType( QuotaException.class )
+				.isThrownBy( ( ) -> ivQuotas.getConcurrencyQuota( "invalid" ) )
+				.withCauseInstanceOf( NumberFormatException.class )
+				.withMessage( "The limit 'invalid' is not a number" );
+	}
+
+	@Test
+	public void testNegativeLimit( ) {
+		assertThatExceptionOfType( QuotaException.class )
+				.isThrownBy( ( ) -> ivQuotas.getRateQuota( "negative", Duration.ofSeconds( 1 ) ) )
+				.withMessage( "The limit 'negative' is negative" );
+	}
+
+	@Test
+	public void testInvalidStripeCount( ) {
+		final UnmodifiableLicense license = createLicense( );
+
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new LicenseQuotas( license, 0 ) )
+				.withMessage( "The number of stripes must be positive." );
+	}
+
+	@Test
+	public void testNullLicense( ) {
+		assertThatExceptionOfType( NullPointerException.class )
+				.isThrownBy( ( ) -> new LicenseQuotas( null ) )
+				.withMessage( "The license must not be null." );
+	}
+
+	private static UnmodifiableLicense createLicense( ) {
+		final Map<String, String> map = new HashMap<>( );
+		map.put( "api.callsPerMinute", "1000" );
+		map.put( "jobs.maxConcurrent", " 2 " );
+		map.put( "invalid", "many" );
+		map.put( "negative", "-1" );
+		return new UnmodifiableLicense( map );
+	}
+
+}
@@ -0,0 +1,131 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.quota;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RateQuota}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class RateQuotaTest {
+
+	private final AtomicLong ivTime = new AtomicLong( );
+
+	@Test
+	public void testBurstUpToLimit( ) {
+		final RateQuota quota = new RateQuota( "key", 10, Duration.ofNanos( 1000 ), 4, ivTime::get );
+
+		for ( int i = 0; i < 10; i++ ) {
+			assertThat( quota.tryAcquire( ) ).isTrue( );
+		}
+		assertThat( quota.tryAcquire( ) ).isFalse( );
+		assertThat( quota.getAvailablePermits( ) ).isZero( );
+		assertThat( quota.getUsage( ) ).isEqualTo( 10 );
+	}
+
+	@Test
+	public void testRefill( ) {
+		final RateQuota quota = new RateQuota( "key", 10, Duration.ofNanos( 1000 ), 1, ivTime::get );
+
+		while ( quota.tryAcquire( ) ) {
+			// Drain the quota
+		}
+
+		ivTime.set( 100 );
+		assertThat( quota.getAvailablePermits( ) ).isEqualTo( 1 );
+		assertThat( quota.tryAcquire( ) ).isTrue( );
+		assertThat( quota.tryAcquire( ) ).isFalse( );
+
+		ivTime.set( 10000 );
+		assertThat( quota.getAvailablePermits( ) ).isEqualTo( 10 );
+		assertThat( quota.getUsage( ) ).isZero( );
+	}
+
+	@Test
+	public void testZeroLimit( ) {
+		final RateQuota quota = new RateQuota( "key", 0, Duration.ofNanos( 1000 ), 4, ivTime::get );
+
+		assertThat( quota.tryAcquire( ) ).isFalse( );
+		assertThat( quota.getAvailablePermits( ) ).isZero( );
+		assertThat( quota.getUsage( ) ).isZero( );
+	}
+
+	@Test
+	public void testLimitSmallerThanStripes( ) {
+		final RateQuota quota = new RateQuota( "key", 3, Duration.ofNanos( 1000 ), 16, ivTime::get );
+
+		assertThat( quota.getAvailablePermits( ) ).isEqualTo( 3 );
+		assertThat( quota.tryAcquire( ) ).isTrue( );
+		assertThat( quota.tryAcquire( ) ).isTrue( );
+		assertThat( quota.tryAcquire( ) ).isTrue( );
+		assertThat( quota.tryAcquire( ) ).isFalse( );
+	}
+
+	@Test
+	public void testConcurrentAcquisitionsDoNotExceedLimit( ) throws Exception {
+		final RateQuota quota = new RateQuota( "key", 10000, Duration.ofDays( 1 ), 8, System::nanoTime );
+		final AtomicInteger acquired = new AtomicInteger( );
+
+		final ExecutorService executorService = Executors.newFixedThreadPool( 8 );
+		try {
+			final List<Future<?>> futures = new ArrayList<>( );
+			for ( int i = 0; i < 8; i++ ) {
+				futures.add( executorService.submit( ( ) -> {
+					for ( int j = 0; j < 2000; j++ ) {
+						if ( quota.tryAcquire( ) ) {
+							acquired.incrementAndGet( );
+						}
+					}
+				} ) );
+			}
+			for ( final Future<?> future : futures ) {
+				future.get( );
+			}
+		} finally {
+			executorService.shutdown( );
+			executorService.awaitTermination( 10, TimeUnit.SECONDS );
+		}
+
+		assertThat( acquired ).hasValue( 10000 );
+		assertThat( quota.getUsage( ) ).isEqualTo( 10000 );
+	}
+
+}
@@ -0,0 +1,74 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.quota;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StripeUtil}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class StripeUtilTest {
+
+	@Test
+	public void testGetStripeCount( ) {
+		assertThat( StripeUtil.getStripeCount( 8, 100 ) ).isEqualTo( 8 );
+		assertThat( StripeUtil.getStripeCount( 8, 3 ) ).isEqualTo( 3 );
+		assertThat( StripeUtil.getStripeCount( 8, 0 ) ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testGetStripeLimit( ) {
+		assertThat( StripeUtil.getStripeLimit( 10, 4, 0 ) ).isEqualTo( 3 );
+		assertThat( StripeUtil.getStripeLimit( 10, 4, 1 ) ).isEqualTo( 3 );
+		assertThat( StripeUtil.getStripeLimit( 10, 4, 2 ) ).isEqualTo( 2 );
+		assertThat( StripeUtil.getStripeLimit( 10, 4, 3 ) ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void testGetHomeStripe( ) {
+		assertThat( StripeUtil.getHomeStripe( 5 ) ).isBetween( 0, 4 ).isEqualTo( StripeUtil.getHomeStripe( 5 ) );
+	}
+
+	@Test
+	public void testConstructor( ) throws ReflectiveOperationException {
+		final Constructor<StripeUtil> constructor = StripeUtil.class.getDeclaredConstructor( );
+		constructor.setAccessible( true );
+
+		assertThatExceptionOfType( InvocationTargetException.class )
+				.isThrownBy( constructor::newInstance )
+				.withCauseInstanceOf( AssertionError.class );
+	}
+
+}
@@ -0,0 +1,177 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.revocation;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPrivateKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.rhocas.lijense.license.UnmodifiableLicense;
+
+/**
+ * Unit test for {@link RevocationUtil} and {@link RevocationList}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class RevocationUtilTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void testSaveAndLoadRevocationList( ) throws Exception {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		RevocationUtil.createRevocationListFile( Arrays.asList( "serial-1", "serial-2", "serial-2" ), loadPrivateKey( ), targetFile );
+
+		final RevocationList revocationList = RevocationUtil.loadRevocationListFile( loadPublicKey( ), targetFile, Optional.empty( ) );
+		assertThat( revocationList.size( ) ).isEqualTo( 2 );
+		assertThat( revocationList.isRevoked( "serial-1" ) ).isTrue( );
+		assertThat( revocationList.isRevoked( "serial-2" ) ).isTrue( );
+		assertThat( revocationList.isRevoked( "serial-3" ) ).isFalse( );
+		assertThat( revocationList.isRevoked( ( String ) null ) ).isFalse( );
+	}
+
+	@Test
+	public void testIsRevokedForLicense( ) throws Exception {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		RevocationUtil.createRevocationListFile( Collections.singleton( "serial-1" ), loadPrivateKey( ), targetFile );
+		final RevocationList revocationList = RevocationUtil.loadRevocationListFile( loadPublicKey( ), targetFile, Optional.empty( ) );
+
+		final Map<String, String> map = new HashMap<>( );
+		assertThat( revocationList.isRevoked( new UnmodifiableLicense( map ) ) ).isFalse( );
+
+		map.put( "_SERIAL", "serial-1" );
+		assertThat( revocationList.isRevoked( new UnmodifiableLicense( map ) ) ).isTrue( );
+	}
+
+	@Test
+	public void testManySerials( ) throws Exception {
+		final List<String> serials = new ArrayList<>( );
+		for ( int index = 0; index < 100000; index++ ) {
+			serials.add( "revoked-" + index );
+		}
+
+		final File targetFile = ivTemporaryFolder.newFile( );
+		RevocationUtil.createRevocationListFile( serials, loadPrivateKey( ), targetFile );
+		final RevocationList revocationList = RevocationUtil.loadRevocationListFile( loadPublicKey( ), targetFile, Optional.empty( ) );
+
+		for ( final String serial : serials ) {
+			assertThat( revocationList.isRevoked( serial ) ).isTrue( );
+		}
+		for ( int index = 0; index < 100000; index++ ) {
+			assertThat( revocationList.isRevoked( "valid-" + index ) ).isFalse( );
+		}
+	}
+
+	@Test
+	public void testEmptyRevocationList( ) throws Exception {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		RevocationUtil.createRevocationListFile( Collections.emptyList( ), loadPrivateKey( ), targetFile );
+
+		final RevocationList revocationList = RevocationUtil.loadRevocationListFile( loadPublicKey( ), targetFile, Optional.empty( ) );
+		assertThat( revocationList.size( ) ).isZero( );
+		assertThat( revocationList.isRevoked( "serial-1" ) ).isFalse( );
+	}
+
+	@Test
+	public void testLoadTamperedRevocationList( ) throws Exception {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		RevocationUtil.createRevocationListFile( Collections.singleton( "serial-1" ), loadPrivateKey( ), targetFile );
+
+		// Remove the revoked serial from the Bloom filter
+		try ( final RandomAccessFile randomAccessFile = new RandomAccessFile( targetFile, "rw" ) ) {
+			randomAccessFile.seek( 24 );
+			randomAccessFile.writeLong( 0 );
+		}
+
+		final PublicKey publicKey = loadPublicKey( );
+		assertThatExceptionOfType( RevocationException.class )
+				.isThrownBy( ( ) -> RevocationUtil.loadRevocationListFile( publicKey, targetFile, Optional.empty( ) ) )
+				.withMessage( "The revocation list is not valid" );
+	}
+
+	@Test
+	public void testLoadMalformedRevocationList( ) throws Exception {
+		final File targetFile = ivTemporaryFolder.newFile( );
+		Files.write( targetFile.toPath( ), new byte[100] );
+
+		final PublicKey publicKey = loadPublicKey( );
+		assertThatExceptionOfType( RevocationException.class )
+				.isThrownBy( ( ) -> RevocationUtil.loadRevocationListFile( publicKey, targetFile, Optional.empty( ) ) )
+				.withMessage( "The revocation list is malformed" );
+	}
+
+	@Test
+	public void testLoadRevocationListWithInvalidFingerprint( ) throws Exception {
+		final PublicKey publicKey = loadPublicKey( );
+
+		assertThatExceptionOfType( RevocationException.class )
+				.isThrownBy( ( ) -> RevocationUtil.loadRevocationListFile( publicKey, new File( "notExisting" ), Optional.of( new byte[64] ) ) )
+				.withMessage( "The actual fingerprint of the public key does not match the expected fingerprint." );
+	}
+
+	@Test
+	public void testLoadNonExistingRevocationList( ) throws Exception {
+		final PublicKey publicKey = loadPublicKey( );
+
+		assertThatExceptionOfType( RevocationException.class )
+				.isThrownBy( ( ) -> RevocationUtil.loadRevocationListFile( publicKey, new File( "notExisting" ), Optional.empty( ) ) )
+				.withCauseInstanceOf( IOException.class )
+				.withMessage( "Could not load the revocation list" );
+	}
+
+	@Test
+	public void testConstructor( ) throws ReflectiveOperationException {
+		final Constructor<RevocationUtil> constructor = RevocationUtil.class.getDeclaredConstructor( );
+		constructor.setAccessible( true );
+
+		assertThatExceptionOfType( InvocationTargetException.class )
+				.isThrownBy( constructor::newInstance )
+				.withCauseInstanceOf( AssertionError.class );
+	}
+
+}
@@ -0,0 +1,197 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.server;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadResourceAsStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.security.PublicKey;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.rhocas.lijense.io.IOUtil;
+import de.rhocas.lijense.license.LicenseException;
+import de.rhocas.lijense.license.LicenseLimits;
+import de.rhocas.lijense.license.LicenseUtil;
+
+/**
+ * Unit test for {@link LicenseVerificationServer}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LicenseVerificationServerTest {
+
+	private LicenseVerificationServer ivServer;
+
+	@Before
+	public void setUp( ) throws Exception {
+		final PublicKey publicKey = loadPublicKey( );
+		final InetSocketAddress address = new InetSocketAddress( InetAddress.getLoopbackAddress( ), 0 );
+
+		ivServer = new LicenseVerificationServer( publicKey, Optional.empty( ), address, LicenseVerificationServer.createDefaultExecutorService( 2 ), 10 );
+		ivServer.start( );
+	}
+
+	@After
+	public void tearDown( ) {
+		ivServer.close( );
+	}
+
+	@Test
+	public void testVerifyValidLicense( ) throws IOException {
+		final byte[] license = IOUtil.readAllBytes( loadResourceAsStream( "valid.license" ) );
+
+		final Result firstResult = post( license );
+		assertThat( firstResult.ivStatusCode ).isEqualTo( 200 );
+		assertThat( firstResult.ivBody ).contains( "myFeature.active=true\n" );
+
+		// The second request is answered from the cache
+		final Result secondResult = post( license );
+		assertThat( secondResult.ivStatusCode ).isEqualTo( 200 );
+		assertThat( secondResult.ivBody ).isEqualTo( firstResult.ivBody );
+	}
+
+	@Test
+	public void testVerifyInvalidLicense( ) throws IOException {
+		final Result result = post( IOUtil.readAllBytes( loadResourceAsStream( "invalid.license" ) ) );
+
+		assertThat( result.ivStatusCode ).isEqualTo( 422 );
+		assertThat( result.ivBody ).isEqualTo( "The license is not valid" );
+	}
+
+	@Test
+	public void testFailedVerificationIsNotCached( ) throws IOException {
+		final byte[] license = IOUtil.readAllBytes( loadResourceAsStream( "valid.license" ) );
+
+		LicenseUtil.setLimits( new LicenseLimits( 16, 16, 2, 16 ) );
+		try {
+			final Result result = post( license );
+			assertThat( result.ivStatusCode ).isEqualTo( 422 );
+			assertThat( result.ivBody ).isEqualTo( "The license exceeds the configured limits" );
+		} finally {
+			LicenseUtil.setLimits( LicenseLimits.DEFAULT );
+		}
+
+		assertThat( post( license ).ivStatusCode ).isEqualTo( 200 );
+	}
+
+	@Test
+	public void testVerifyTooLargeLicense( ) throws IOException {
+		final Result result = post( new byte[1024 * 1024 + 1] );
+
+		assertThat( result.ivStatusCode ).isEqualTo( 413 );
+		assertThat( result.ivBody ).isEqualTo( "The license is too large" );
+	}
+
+	@Test
+	public void testVerifyMalformedLicense( ) throws IOException {
+		final Result result = post( "no license".getBytes( "UTF-8" ) );
+
+		assertThat( result.ivStatusCode ).isEqualTo( 422 );
+		assertThat( result.ivBody ).isEqualTo( "Could not load the license" );
+	}
+
+	@Test
+	public void testUnsupportedMethod( ) throws IOException {
+		final HttpURLConnection connection = openConnection( );
+		connection.setRequestMethod( "GET" );
+
+		assertThat( connection.getResponseCode( ) ).isEqualTo( 405 );
+	}
+
+	@Test
+	public void testInvalidFingerprint( ) throws Exception {
+		final PublicKey publicKey = loadPublicKey( );
+		final ExecutorService executorService = LicenseVerificationServer.createDefaultExecutorService( 1 );
+
+		try {
+			assertThatExceptionOfType( LicenseException.class )
+					.isThrownBy( ( ) -> new LicenseVerificationServer( publicKey, Optional.of( new byte[64] ), new InetSocketAddress( 0 ), executorService, 0 ) )
+					.withMessage( "The actual fingerprint of the public key does not match the expected fingerprint." );
+		} finally {
+			executorService.shutdown( );
+		}
+	}
+
+	@Test
+	public void testInvalidNumberOfThreads( ) {
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> LicenseVerificationServer.createDefaultExecutorService( 0 ) )
+				.withMessage( "The number of threads must be positive." );
+	}
+
+	private Result post( final byte[] aBody ) throws IOException {
+		final HttpURLConnection connection = openConnection( );
+		connection.setRequestMethod( "POST" );
+		connection.setDoOutput( true );
+
+		try ( final OutputStream outputStream = connection.getOutputStream( ) ) {
+			outputStream.write( aBody );
+		}
+
+		final int statusCode = connection.getResponseCode( );
+		final ByteArrayOutputStream body = new ByteArrayOutputStream( );
+		try ( final InputStream inputStream = statusCode < 400 ? connection.getInputStream( ) : connection.getErrorStream( ) ) {
+			body.write( IOUtil.readAllBytes( inputStream ) );
+		}
+
+		return new Result( statusCode, new String( body.toByteArray( ), "UTF-8" ) );
+	}
+
+	private HttpURLConnection openConnection( ) throws IOException {
+		final InetSocketAddress address = ivServer.getAddress( );
+		final URL url = new URL( "http", address.getHostString( ), address.getPort( ), LicenseVerificationServer.CONTEXT_PATH );
+		return ( HttpURLConnection ) url.openConnection( );
+	}
+
+	private static final class Result {
+
+		private final int ivStatusCode;
+		private final String ivBody;
+
+		Result( final int aStatusCode, final String aBody ) {
+			ivStatusCode = aStatusCode;
+			ivBody = aBody;
+		}
+
+	}
+
+}
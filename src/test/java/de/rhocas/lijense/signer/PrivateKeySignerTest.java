@@ -0,0 +1,105 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.signer;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPrivateKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.rhocas.lijense.Constants;
+
+/**
+ * Unit test for {@link PrivateKeySigner}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class PrivateKeySignerTest {
+
+	@Test
+	public void testSignatureIsEqualToSignatureOfContent( ) throws Exception {
+		final PrivateKey privateKey = loadPrivateKey( );
+		final PublicKey publicKey = loadPublicKey( );
+		final byte[] content = "liJense".getBytes( StandardCharsets.UTF_8 );
+
+		final byte[] signature = new PrivateKeySigner( privateKey ).sign( MessageDigest.getInstance( Constants.FINGERPRINT_ALGORITHM ).digest( content ) );
+
+		final Signature expectedSignature = Signature.getInstance( Constants.SIGNATURE_ALGORITHM );
+		expectedSignature.initSign( privateKey );
+		expectedSignature.update( content );
+		assertThat( signature ).isEqualTo( expectedSignature.sign( ) );
+
+		final Signature verification = Signature.getInstance( Constants.SIGNATURE_ALGORITHM );
+		verification.initVerify( publicKey );
+		verification.update( content );
+		assertThat( verification.verify( signature ) ).isTrue( );
+	}
+
+	@Test
+	public void testSignMultipleDigests( ) throws Exception {
+		final PrivateKeySigner signer = new PrivateKeySigner( loadPrivateKey( ) );
+		final byte[] firstDigest = new byte[PrivateKeySigner.DIGEST_LENGTH];
+		final byte[] secondDigest = new byte[PrivateKeySigner.DIGEST_LENGTH];
+		secondDigest[0] = 1;
+
+		final List<byte[]> signatures = signer.sign( Arrays.asList( firstDigest, secondDigest ) );
+
+		assertThat( signatures ).hasSize( 2 );
+		assertThat( signatures.get( 0 ) ).isEqualTo( signer.sign( firstDigest ) );
+		assertThat( signatures.get( 1 ) ).isEqualTo( signer.sign( secondDigest ) );
+	}
+
+	@Test
+	public void testSignDigestWithInvalidLength( ) throws Exception {
+		final PrivateKeySigner signer = new PrivateKeySigner( loadPrivateKey( ) );
+
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> signer.sign( new byte[32] ) )
+				.withMessage( "The digest must have a length of 64 bytes." );
+	}
+
+	@Test
+	public void testSignWithInvalidKey( ) {
+		final PrivateKeySigner signer = new PrivateKeySigner( mock( PrivateKey.class ) );
+
+		assertThatExceptionOfType( SignerException.class )
+				.isThrownBy( ( ) -> signer.sign( new byte[PrivateKeySigner.DIGEST_LENGTH] ) )
+				.withMessage( "Could not sign the digest" );
+	}
+
+}
@@ -0,0 +1,109 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.signer;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadResourceAsStream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.PublicKey;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.rhocas.lijense.license.LicenseUtil;
+import de.rhocas.lijense.license.ModifiableLicense;
+
+/**
+ * Unit test for {@link SignerServerCommand}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class SignerServerCommandTest {
+
+	@Rule
+	public TemporaryFolder ivTemporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void testStart( ) throws Exception {
+		final File privateKeyFile = ivTemporaryFolder.newFile( );
+		try ( final InputStream inputStream = loadResourceAsStream( "key.private" ) ) {
+			Files.copy( inputStream, privateKeyFile.toPath( ), StandardCopyOption.REPLACE_EXISTING );
+		}
+		final byte[] secret = "The secret of the signer server!".getBytes( StandardCharsets.US_ASCII );
+		final File secretFile = ivTemporaryFolder.newFile( );
+		Files.write( secretFile.toPath( ), secret );
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream( );
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final String[] arguments = { "--private-key", privateKeyFile.getPath( ), "--secret", secretFile.getPath( ), "--threads", "2" };
+		final Optional<SignerServer> server = SignerServerCommand.start( arguments, new PrintStream( out ), new PrintStream( err ) );
+
+		assertThat( server ).isPresent( );
+		try ( final SignerServer signerServer = server.get( ) ) {
+			assertThat( err.toString( ) ).isEmpty( );
+			assertThat( out.toString( ) ).startsWith( "Signing on " );
+			assertThat( signerServer.getAddress( ).getAddress( ).isLoopbackAddress( ) ).isTrue( );
+
+			try ( final RemoteLicenseSigner signer = new RemoteLicenseSigner( signerServer.getAddress( ), secret ) ) {
+				final PublicKey publicKey = loadPublicKey( );
+				final String licenseFile = LicenseUtil.createLicenseFile( new ModifiableLicense( ), signer );
+				assertThat( LicenseUtil.loadLicenseFileFromString( publicKey, licenseFile, Optional.empty( ) ) ).isNotNull( );
+			}
+		}
+	}
+
+	@Test
+	public void testStartWithMissingArguments( ) {
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final Optional<SignerServer> server = SignerServerCommand.start( new String[] { "--port", "0" }, new PrintStream( new ByteArrayOutputStream( ) ),
+				new PrintStream( err ) );
+
+		assertThat( server ).isEmpty( );
+		assertThat( err.toString( ) ).startsWith( "Usage:" );
+	}
+
+	@Test
+	public void testStartWithMissingKey( ) {
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final String[] arguments = { "--private-key", "unknown", "--secret", "unknown" };
+		final Optional<SignerServer> server = SignerServerCommand.start( arguments, new PrintStream( new ByteArrayOutputStream( ) ), new PrintStream( err ) );
+
+		assertThat( server ).isEmpty( );
+		assertThat( err.toString( ) ).isNotEmpty( );
+	}
+
+}
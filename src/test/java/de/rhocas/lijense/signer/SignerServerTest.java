@@ -0,0 +1,237 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.signer;
+
+import static de.rhocas.lijense.key.KeyTestUtil.loadPrivateKey;
+import static de.rhocas.lijense.key.KeyTestUtil.loadPublicKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import de.rhocas.lijense.license.LicenseUtil;
+import de.rhocas.lijense.license.ModifiableLicense;
+import de.rhocas.lijense.license.UnmodifiableLicense;
+import de.rhocas.lijense.server.LicenseVerificationServer;
+
+/**
+ * Unit test for {@link SignerServer} and {@link RemoteLicenseSigner}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class SignerServerTest {
+
+	private static final byte[] SECRET = "The secret of the signer server!".getBytes( StandardCharsets.US_ASCII );
+
+	@Test
+	public void testCreateLicenseWithRemoteSigner( ) throws Exception {
+		final PublicKey publicKey = loadPublicKey( );
+
+		try ( final SignerServer server = startServer( new PrivateKeySigner( loadPrivateKey( ) ) );
+				final RemoteLicenseSigner signer = new RemoteLicenseSigner( server.getAddress( ), SECRET ) ) {
+			final ModifiableLicense modifiableLicense = new ModifiableLicense( );
+			modifiableLicense.setValue( "myFeature.active", "true" );
+
+			final String licenseFile = LicenseUtil.createLicenseFile( modifiableLicense, signer );
+
+			final UnmodifiableLicense license = LicenseUtil.loadLicenseFileFromString( publicKey, licenseFile, Optional.empty( ) );
+			assertThat( license.getValue( "myFeature.active" ) ).isEqualTo( "true" );
+			assertThat( signer.getRequestCount( ) ).isEqualTo( 1 );
+		}
+	}
+
+	@Test
+	public void testSignMultipleDigestsWithSingleRequest( ) throws Exception {
+		final PrivateKeySigner localSigner = new PrivateKeySigner( loadPrivateKey( ) );
+
+		try ( final SignerServer server = startServer( localSigner );
+				final RemoteLicenseSigner signer = new RemoteLicenseSigner( server.getAddress( ), SECRET ) ) {
+			final List<byte[]> digests = new ArrayList<>( );
+			for ( int i = 0; i < 100; i++ ) {
+				final byte[] digest = new byte[PrivateKeySigner.DIGEST_LENGTH];
+				digest[0] = ( byte ) i;
+				digests.add( digest );
+			}
+
+			final List<byte[]> signatures = signer.sign( digests );
+
+			assertThat( signatures ).hasSize( 100 );
+			assertThat( signatures.get( 42 ) ).isEqualTo( localSigner.sign( digests.get( 42 ) ) );
+			// The dispatcher might take the first digest before the others have been queued
+			assertThat( signer.getRequestCount( ) ).isBetween( 1L, 2L );
+		}
+	}
+
+	@Test
+	public void testSignConcurrently( ) throws Exception {
+		final PrivateKeySigner localSigner = new PrivateKeySigner( loadPrivateKey( ) );
+		final ExecutorService executorService = Executors.newFixedThreadPool( 8 );
+
+		try ( final SignerServer server = startServer( localSigner );
+				final RemoteLicenseSigner signer = new RemoteLicenseSigner( server.getAddress( ), SECRET ) ) {
+			final CountDownLatch startLatch = new CountDownLatch( 1 );
+			final List<Future<byte[]>> futures = new ArrayList<>( );
+			for ( int i = 0; i < 64; i++ ) {
+				final byte[] digest = new byte[PrivateKeySigner.DIGEST_LENGTH];
+				digest[0] = ( byte ) i;
+				futures.add( executorService.submit( ( ) -> {
+					startLatch.await( );
+					return signer.sign( digest );
+				} ) );
+			}
+			startLatch.countDown( );
+
+			for ( int i = 0; i < futures.size( ); i++ ) {
+				final byte[] digest = new byte[PrivateKeySigner.DIGEST_LENGTH];
+				digest[0] = ( byte ) i;
+				assertThat( futures.get( i ).get( ) ).isEqualTo( localSigner.sign( digest ) );
+			}
+			assertThat( signer.getRequestCount( ) ).isBetween( 1L, 64L );
+		} finally {
+			executorService.shutdownNow( );
+		}
+	}
+
+	@Test
+	public void testSignerFailure( ) throws Exception {
+		final LicenseSigner failingSigner = aDigest -> {
+			throw new SignerException( "The key is not available" );
+		};
+
+		try ( final SignerServer server = startServer( failingSigner );
+				final RemoteLicenseSigner signer = new RemoteLicenseSigner( server.getAddress( ), SECRET ) ) {
+			final byte[] digest = new byte[PrivateKeySigner.DIGEST_LENGTH];
+
+			assertThatExceptionOfType( SignerException.class )
+					.isThrownBy( ( ) -> signer.sign( digest ) )
+					.withMessage( "The key is not available" );
+
+			// The connection can still be used after an error
+			assertThatExceptionOfType( SignerException.class )
+					.isThrownBy( ( ) -> signer.sign( Collections.singletonList( digest ) ) )
+					.withMessage( "The key is not available" );
+		}
+	}
+
+	@Test
+	public void testSignAfterClose( ) throws Exception {
+		try ( final SignerServer server = startServer( new PrivateKeySigner( loadPrivateKey( ) ) ) ) {
+			final RemoteLicenseSigner signer = new RemoteLicenseSigner( server.getAddress( ), SECRET );
+			signer.close( );
+
+			assertThatExceptionOfType( SignerException.class )
+					.isThrownBy( ( ) -> signer.sign( new byte[PrivateKeySigner.DIGEST_LENGTH] ) )
+					.withMessage( "The signer has been closed" );
+		}
+	}
+
+	@Test
+	public void testSignAfterServerClosed( ) throws Exception {
+		final SignerServer server = startServer( new PrivateKeySigner( loadPrivateKey( ) ) );
+
+		try ( final RemoteLicenseSigner signer = new RemoteLicenseSigner( server.getAddress( ), SECRET ) ) {
+			signer.sign( new byte[PrivateKeySigner.DIGEST_LENGTH] );
+			server.close( );
+
+			assertThatExceptionOfType( SignerException.class ).isThrownBy( ( ) -> signer.sign( new byte[PrivateKeySigner.DIGEST_LENGTH] ) );
+		}
+	}
+
+	@Test
+	public void testUnauthenticatedClientIsRejected( ) throws Exception {
+		try ( final SignerServer server = startServer( new PrivateKeySigner( loadPrivateKey( ) ) );
+				final Socket socket = new Socket( server.getAddress( ).getAddress( ), server.getAddress( ).getPort( ) ) ) {
+			final DataInputStream inputStream = new DataInputStream( socket.getInputStream( ) );
+			final DataOutputStream outputStream = new DataOutputStream( socket.getOutputStream( ) );
+			inputStream.readFully( new byte[SignerProtocol.CHALLENGE_LENGTH] );
+
+			// A client without the secret sends a request right away
+			outputStream.writeInt( 1 );
+			outputStream.write( new byte[PrivateKeySigner.DIGEST_LENGTH] );
+			outputStream.flush( );
+
+			assertThat( inputStream.readByte( ) ).isEqualTo( SignerProtocol.ERROR );
+			assertThat( inputStream.readUTF( ) ).isEqualTo( "The client could not be authenticated" );
+			assertThat( inputStream.read( ) ).isEqualTo( -1 );
+		}
+	}
+
+	@Test
+	public void testConnectWithWrongSecret( ) throws Exception {
+		try ( final SignerServer server = startServer( new PrivateKeySigner( loadPrivateKey( ) ) ) ) {
+			final byte[] wrongSecret = new byte[SECRET.length];
+
+			assertThatExceptionOfType( IOException.class )
+					.isThrownBy( ( ) -> new RemoteLicenseSigner( server.getAddress( ), wrongSecret ) )
+					.withMessage( "The client could not be authenticated" );
+		}
+	}
+
+	@Test
+	public void testShortSecret( ) throws Exception {
+		final InetSocketAddress address = new InetSocketAddress( InetAddress.getLoopbackAddress( ), 0 );
+
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> new RemoteLicenseSigner( address, new byte[31] ) )
+				.withMessage( "The secret must have at least 32 bytes." );
+	}
+
+	@Test
+	public void testSignDigestWithInvalidLength( ) throws Exception {
+		try ( final SignerServer server = startServer( new PrivateKeySigner( loadPrivateKey( ) ) );
+				final RemoteLicenseSigner signer = new RemoteLicenseSigner( server.getAddress( ), SECRET ) ) {
+			assertThatExceptionOfType( IllegalArgumentException.class )
+					.isThrownBy( ( ) -> signer.sign( new byte[1] ) )
+					.withMessage( "The digest must have a length of 64 bytes." );
+		}
+	}
+
+	private SignerServer startServer( final LicenseSigner aSigner ) throws Exception {
+		final InetSocketAddress address = new InetSocketAddress( InetAddress.getLoopbackAddress( ), 0 );
+		final SignerServer server = new SignerServer( aSigner, address, SECRET, LicenseVerificationServer.createDefaultExecutorService( 2 ) );
+		server.start( );
+		return server;
+	}
+
+}
@@ -0,0 +1,123 @@
+////////////////////////////////////////////////////////////////////////////////////
+//                                                                                //
+// MIT License                                                                    //
+//                                                                                //
+// Copyright (c) 2017 Nils Christian Ehmke                                        //
+//                                                                                //
+// Permission is hereby granted, free of charge, to any person obtaining a copy   //
+// of this software and associated documentation files (the "Software"), to deal  //
+// in the Software without restriction, including without limitation the rights   //
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell      //
+// copies of the Software, and to permit persons to whom the Software is          //
+// furnished to do so, subject to the following conditions:                       //
+//                                                                                //
+// The above copyright notice and this permission notice shall be included in all //
+// copies or substantial portions of the Software.                                //
+//                                                                                //
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR     //
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,       //
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE    //
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER         //
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,  //
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  //
+// SOFTWARE.                                                                      //
+//                                                                                //
+////////////////////////////////////////////////////////////////////////////////////
+
+package de.rhocas.lijense.statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.data.Percentage;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link LatencyHistogram}.
+ *
+ * @author Nils Christian Ehmke
+ */
+public final class LatencyHistogramTest {
+
+	@Test
+	public void testSmallLatenciesAreExact( ) {
+		final LatencyHistogram histogram = new LatencyHistogram( );
+		for ( int latency = 1; latency <= 20; latency++ ) {
+			histogram.record( latency );
+		}
+
+		assertThat( histogram.getCount( ) ).isEqualTo( 20 );
+		assertThat( histogram.getLatencyPercentile( 0, TimeUnit.NANOSECONDS ) ).isEqualTo( 1 );
+		assertThat( histogram.getLatencyPercentile( 50, TimeUnit.NANOSECONDS ) ).isEqualTo( 10 );
+		assertThat( histogram.getLatencyPercentile( 95, TimeUnit.NANOSECONDS ) ).isEqualTo( 19 );
+		assertThat( histogram.getLatencyPercentile( 100, TimeUnit.NANOSECONDS ) ).isEqualTo( 20 );
+	}
+
+	@Test
+	public void testRelativeError( ) {
+		for ( long latency = 1; latency > 0 && latency < Long.MAX_VALUE / 3; latency = latency * 3 + 1 ) {
+			final int bucket = LatencyHistogram.bucket( latency );
+			assertThat( LatencyHistogram.upperBound( bucket ) ).isGreaterThanOrEqualTo( latency ).isCloseTo( latency, Percentage.withPercentage( 100.0 / 32 ) );
+			assertThat( LatencyHistogram.bucket( LatencyHistogram.upperBound( bucket ) ) ).isEqualTo( bucket );
+			assertThat( LatencyHistogram.bucket( LatencyHistogram.upperBound( bucket ) + 1 ) ).isEqualTo( bucket + 1 );
+		}
+		assertThat( LatencyHistogram.upperBound( LatencyHistogram.bucket( Long.MAX_VALUE ) ) ).isEqualTo( Long.MAX_VALUE );
+	}
+
+	@Test
+	public void testPercentiles( ) {
+		final LatencyHistogram histogram = new LatencyHistogram( );
+		for ( int index = 0; index < 990; index++ ) {
+			histogram.record( TimeUnit.MICROSECONDS.toNanos( 100 ) );
+		}
+		for ( int index = 0; index < 10; index++ ) {
+			histogram.record( TimeUnit.MILLISECONDS.toNanos( 10 ) );
+		}
+
+		assertThat( histogram.getLatencyPercentile( 50, TimeUnit.MICROSECONDS ) ).isEqualTo( 100 );
+		assertThat( histogram.getLatencyPercentile( 99, TimeUnit.MICROSECONDS ) ).isEqualTo( 100 );
+		assertThat( histogram.getLatencyPercentile( 99.9, TimeUnit.MICROSECONDS ) ).isEqualTo( 10000 );
+		assertThat( histogram.getMaximalLatency( TimeUnit.MILLISECONDS ) ).isEqualTo( 10 );
+	}
+
+	@Test
+	public void testAdd( ) {
+		final LatencyHistogram first = new LatencyHistogram( );
+		first.record( 10 );
+		first.record( -5 );
+		final LatencyHistogram second = new LatencyHistogram( );
+		second.record( 1000 );
+
+		first.add( second );
+
+		assertThat( first.getCount( ) ).isEqualTo( 3 );
+		assertThat( first.getLatencyPercentile( 0, TimeUnit.NANOSECONDS ) ).isEqualTo( 0 );
+		assertThat( first.getLatencyPercentile( 100, TimeUnit.NANOSECONDS ) ).isEqualTo( 1000 );
+		assertThat( first.getMaximalLatency( TimeUnit.NANOSECONDS ) ).isEqualTo( 1000 );
+		assertThat( second.getCount( ) ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testEmptyHistogram( ) {
+		final LatencyHistogram histogram = new LatencyHistogram( );
+
+		assertThat( histogram.getCount( ) ).isZero( );
+		assertThat( histogram.getLatencyPercentile( 99, TimeUnit.NANOSECONDS ) ).isZero( );
+		assertThat( histogram.getMaximalLatency( TimeUnit.NANOSECONDS ) ).isZero( );
+	}
+
+	@Test
+	public void testInvalidPercentile( ) {
+		final LatencyHistogram histogram = new LatencyHistogram( );
+
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( ( ) -> histogram.getLatencyPercentile( 100.1, TimeUnit.NANOSECONDS ) )
+				.withMessage( "The percentile must be between 0 and 100." );
+		assertThatExceptionOfType( NullPointerException.class )
+				.isThrownBy( ( ) -> histogram.add( null ) )
+				.withMessage( "The histogram must not be null." );
+	}
+
+}